@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Measures time to first request: from JVM launch until GET /api/vehicles
+# answers. Each mode is started RUNS times; the median, min and max are
+# appended to startup-benchmark.csv so results can be compared across releases.
+#
+#   default     fat jar, default profile (create-drop schema generation)
+#   prod        fat jar, prod profile (no schema generation)
+#   fast-start  prod profile with Spring AOT and the CDS archive
+#
+# Prerequisites: mvn -Pfast-start clean package -DskipTests, and a reachable
+# database (docker compose up -d) whose schema exists for the prod modes.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [modes...]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+shift || true
+if (( $# > 0 )); then
+    MODES=("$@")
+else
+    MODES=(default prod fast-start)
+fi
+
+PORT="${PORT:-8080}"
+RESULTS="${RESULTS:-startup-benchmark.csv}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+VERSION="$(sed -n 's:^    <version>\(.*\)</version>:\1:p' pom.xml | head -1)"
+FAT_JAR="target/smart-logistic-${VERSION}.jar"
+CDS_DIR="target/cds"
+REVISION="$(git rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+command_for() {
+    case "$1" in
+        default)
+            echo "java -jar ${FAT_JAR} --server.port=${PORT}" ;;
+        prod)
+            echo "java -jar ${FAT_JAR} --spring.profiles.active=prod --server.port=${PORT}" ;;
+        fast-start)
+            echo "java -XX:SharedArchiveFile=${CDS_DIR}/application.jsa -Xlog:cds=error -Dspring.aot.enabled=true" \
+                 "-jar ${CDS_DIR}/smart-logistic-${VERSION}-cds.jar --spring.profiles.active=prod --server.port=${PORT}" ;;
+        *)
+            echo "Unknown mode: $1" >&2
+            exit 1 ;;
+    esac
+}
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+measure() {
+    local command="$1" started pid elapsed
+    started="$(now_ms)"
+    $command > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:${PORT}/api/vehicles" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null || (( $(now_ms) - started > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid" 2> /dev/null || true
+            echo "Application did not answer: ${command}" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - started ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+[[ -f "$RESULTS" ]] || echo "date,revision,version,mode,runs,median_ms,min_ms,max_ms" > "$RESULTS"
+
+for mode in "${MODES[@]}"; do
+    command="$(command_for "$mode")"
+    samples=()
+    for ((run = 1; run <= RUNS; run++)); do
+        samples+=("$(measure "$command")")
+    done
+    sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+    median="${sorted[$(( RUNS / 2 ))]}"
+    line="$(date -u +%Y-%m-%dT%H:%M:%SZ),${REVISION},${VERSION},${mode},${RUNS},${median},${sorted[0]},${sorted[-1]}"
+    echo "$line" >> "$RESULTS"
+    echo "${mode}: median ${median} ms (min ${sorted[0]}, max ${sorted[-1]})"
+done
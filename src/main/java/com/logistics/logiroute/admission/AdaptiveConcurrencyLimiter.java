@@ -0,0 +1,71 @@
+package com.logistics.logiroute.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to latency (AIMD). A request slower than the
+ * target multiplies the limit by {@code backoffRatio}; a request within it
+ * adds one, but only while the limit is nearly used up, so an idle service
+ * does not inflate it. Priority requests may use the whole limit, others only
+ * the part not reserved for priority traffic.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long targetLatencyNanos;
+    private final double priorityReserve;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                               long targetLatencyNanos, double priorityReserve) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.priorityReserve = priorityReserve;
+    }
+
+    boolean tryAcquire(boolean priority) {
+        int allowed = priority ? (int) limit : Math.max(1, (int) (limit * (1 - priorityReserve)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot without adjusting the limit, for requests whose latency
+     * says nothing about load (bulk imports, simulations).
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void release(long latencyNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (wasInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,142 @@
+package com.logistics.logiroute.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.logiroute.config.AdmissionProperties;
+import com.logistics.logiroute.dto.response.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of the API. Each client draws tokens from its
+ * own bucket (1 per request, {@code expensiveCost} for expensive ones plus
+ * one per KiB of body) and is answered 429 when it runs dry. Admitted
+ * requests then need a slot from the adaptive concurrency limit and are
+ * answered 503 when none is free, so overload is shed at once instead of
+ * queueing in the servlet container. Only standard and priority requests
+ * adjust the limit; expensive ones are slow by nature.
+ * <p>
+ * Clients are told apart by {@code clientHeader} when set (behind a trusted
+ * proxy), otherwise by remote address.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoTime;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<AdmissionLane, Counter> rateLimited = new EnumMap<>(AdmissionLane.class);
+    private final Map<AdmissionLane, Counter> shed = new EnumMap<>(AdmissionLane.class);
+
+    public AdmissionFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry registry,
+                           LongSupplier nanoTime) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.nanoTime = nanoTime;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getBackoffRatio(),
+                TimeUnit.MILLISECONDS.toNanos(properties.getTargetLatencyMs()), properties.getPriorityReserve());
+
+        Gauge.builder("logiroute.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("logiroute.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted").register(registry);
+        Gauge.builder("logiroute.admission.clients", buckets, Map::size)
+                .description("Clients with a rate limit bucket").register(registry);
+        for (AdmissionLane lane : AdmissionLane.values()) {
+            rateLimited.put(lane, Counter.builder("logiroute.admission.rejected")
+                    .tag("reason", "rate-limit").tag("lane", lane.name()).register(registry));
+            shed.put(lane, Counter.builder("logiroute.admission.rejected")
+                    .tag("reason", "concurrency").tag("lane", lane.name()).register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionLane lane = AdmissionLane.of(request);
+        long now = nanoTime.getAsLong();
+
+        long waitNanos = bucket(clientOf(request), now).tryAcquire(cost(lane, request), now);
+        if (waitNanos > 0) {
+            rateLimited.get(lane).increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate Limit Exceeded",
+                    "Too many requests from this client", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+            return;
+        }
+        if (!limiter.tryAcquire(lane == AdmissionLane.PRIORITY)) {
+            shed.get(lane).increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Overloaded",
+                    "Server is at capacity, retry shortly", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (lane == AdmissionLane.EXPENSIVE) {
+                limiter.release();
+            } else {
+                limiter.release(nanoTime.getAsLong() - now);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    private TokenBucket bucket(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxClients()) {
+            // A full bucket carries no state worth keeping
+            buckets.values().removeIf(idle -> idle.isFull(now));
+        }
+        return buckets.computeIfAbsent(client, key ->
+                new TokenBucket(properties.getBurst(), properties.getRequestsPerSecond(), now));
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String header = properties.getClientHeader();
+        String client = header != null ? request.getHeader(header) : null;
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    private double cost(AdmissionLane lane, HttpServletRequest request) {
+        if (lane != AdmissionLane.EXPENSIVE) {
+            return 1;
+        }
+        return properties.getExpensiveCost() + Math.max(0L, request.getContentLengthLong()) / 1024d;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String error, String message, long retryAfterSeconds) throws IOException {
+        log.debug("{} {} rejected with {}", request.getMethod(), request.getRequestURI(), status.value());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponse.of(status.value(), error, message, request.getRequestURI()));
+    }
+}
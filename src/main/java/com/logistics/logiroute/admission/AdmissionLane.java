@@ -0,0 +1,40 @@
+package com.logistics.logiroute.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * How a request is admitted. Driver status updates and breakdown reports are
+ * {@code PRIORITY}: they are cheap, and dropping them leaves packages and
+ * routes in the wrong state.
+ * Dispatch planning, bulk import/export, full package lists, simulation and
+ * analytics are {@code EXPENSIVE} and cost more tokens. Polling or cancelling
+ * a solver job is {@code STANDARD}; only starting one is expensive.
+ */
+public enum AdmissionLane {
+    PRIORITY,
+    STANDARD,
+    EXPENSIVE;
+
+    static AdmissionLane of(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("PATCH".equals(method) && (path.matches("/api/packages/[^/]+/status")
+                || path.matches("/api/delivery/routes/[^/]+/(dispatch|complete)"))) {
+            return PRIORITY;
+        }
+        if ("POST".equals(method) && path.matches("/api/vehicles/[^/]+/breakdown")) {
+            return PRIORITY;
+        }
+        if (!"POST".equals(method) && path.startsWith("/api/simulation/solver-jobs/")) {
+            return STANDARD;
+        }
+        if (path.equals("/api/delivery/assign") || path.equals("/api/delivery/schedule")
+                || path.equals("/api/delivery/dispatch-next")
+                || path.endsWith("/import") || path.endsWith("/export")
+                || ("GET".equals(method) && path.equals("/api/packages"))
+                || path.startsWith("/api/simulation") || path.startsWith("/api/analytics")) {
+            return EXPENSIVE;
+        }
+        return STANDARD;
+    }
+}
@@ -0,0 +1,51 @@
+package com.logistics.logiroute.admission;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled continuously at
+ * {@code refillPerSecond}. Time is passed in by the caller in nanoseconds.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes {@code cost} tokens if the bucket holds them. Returns 0 on success,
+     * otherwise the nanoseconds until it will.
+     */
+    synchronized long tryAcquire(double cost, long now) {
+        refill(now);
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0L;
+        }
+        // A cost above capacity can never be met in full; wait for a full bucket
+        double missing = Math.min(cost, capacity) - tokens;
+        if (missing <= 0) {
+            tokens = 0;
+            return 0L;
+        }
+        return (long) Math.ceil(missing / refillPerNano);
+    }
+
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.logistics.logiroute.analytics;
+
+/**
+ * Increment applied to one vehicle's KPI rollup buckets.
+ */
+public record KpiDelta(
+        int routesCompleted,
+        int packagesOnRoutes,
+        int packagesDelivered,
+        int packagesOnTime,
+        double loadKg,
+        double capacityKg,
+        long routeSeconds) {
+
+    public static KpiDelta forRoute(int packages, double loadKg, double capacityKg, long routeSeconds) {
+        return new KpiDelta(1, packages, 0, 0, loadKg, capacityKg, routeSeconds);
+    }
+
+    public static KpiDelta forDelivery(boolean onTime) {
+        return new KpiDelta(0, 0, 1, onTime ? 1 : 0, 0.0, 0.0, 0L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.logistics.logiroute.analytics;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
+import com.logistics.logiroute.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the KPI rollups current: route completions and deliveries of
+ * committed transactions are folded into the vehicle's hour and day buckets.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KpiRollupRecorder {
+
+    private final AnalyticsService analyticsService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRouteCompleted(RouteCompletedEvent event) {
+        apply(event.vehicleId(), event.completedAt(), event.toDelta());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PackageStatusChangedEvent event) {
+        if (event.toStatus() != PackageStatus.DELIVERED) {
+            return;
+        }
+        Long vehicleId = event.toRow().vehicleId();
+        if (vehicleId == null) {
+            return;
+        }
+        boolean onTime = event.deliveryDeadline() == null || !event.occurredAt().isAfter(event.deliveryDeadline());
+        apply(vehicleId, event.occurredAt(), KpiDelta.forDelivery(onTime));
+    }
+
+    /**
+     * The business transaction has already committed, so a failure here is
+     * logged rather than propagated to the caller.
+     */
+    private void apply(Long vehicleId, LocalDateTime at, KpiDelta delta) {
+        try {
+            try {
+                analyticsService.applyDelta(vehicleId, at, delta);
+            } catch (DataIntegrityViolationException ex) {
+                // Another transaction created the bucket first; it exists now, so the update path succeeds
+                analyticsService.applyDelta(vehicleId, at, delta);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to update KPI rollups of vehicle {} at {}", vehicleId, at, ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.logistics.logiroute.analytics;
+
+/**
+ * Rollup counters summed over a range of buckets, or over one bucket.
+ */
+public record KpiTotals(
+        Long vehicleId,
+        Long routesCompleted,
+        Long packagesOnRoutes,
+        Long packagesDelivered,
+        Long packagesOnTime,
+        Double loadKg,
+        Double capacityKg,
+        Long routeSeconds) {
+}
@@ -0,0 +1,36 @@
+package com.logistics.logiroute.analytics;
+
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a delivery route is completed, with the figures the KPI
+ * rollups need captured at that moment.
+ */
+public record RouteCompletedEvent(
+        Long routeId,
+        Long vehicleId,
+        int packageCount,
+        double loadKg,
+        double capacityKg,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt) {
+
+    public static RouteCompletedEvent of(DeliveryRoute route) {
+        return new RouteCompletedEvent(
+                route.getId(),
+                route.getVehicle().getId(),
+                route.getPackages().size(),
+                route.getTotalWeight(),
+                route.getVehicle().getCapacityKg(),
+                route.getCreatedAt(),
+                route.getCompletedAt());
+    }
+
+    public KpiDelta toDelta() {
+        long seconds = Math.max(0L, Duration.between(createdAt, completedAt).getSeconds());
+        return KpiDelta.forRoute(packageCount, loadKg, capacityKg, seconds);
+    }
+}
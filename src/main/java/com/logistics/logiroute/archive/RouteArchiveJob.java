@@ -0,0 +1,35 @@
+package com.logistics.logiroute.archive;
+
+import com.logistics.logiroute.config.ArchiveProperties;
+import com.logistics.logiroute.service.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nightly archival of completed routes, one transaction per batch so that a
+ * large backlog never holds locks on the live tables for long.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RouteArchiveJob {
+
+    private final ArchiveService archiveService;
+    private final ArchiveProperties archiveProperties;
+
+    @Scheduled(cron = "${logiroute.archive.cron:0 45 2 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveProperties.getRetentionDays());
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveService.archiveBatch(cutoff);
+            total += archived;
+        } while (archived > 0);
+        log.info("Route archival finished: {} routes completed before {} archived", total, cutoff);
+    }
+}
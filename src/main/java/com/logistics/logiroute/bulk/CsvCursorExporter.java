@@ -0,0 +1,58 @@
+package com.logistics.logiroute.bulk;
+
+import com.logistics.logiroute.config.BulkProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+
+/**
+ * Streams a query result as CSV through a forward-only cursor, so exports
+ * never hold more than one fetch of rows in memory. Callers must run inside a
+ * transaction for drivers (such as PostgreSQL) that only honour the fetch size
+ * with auto-commit off.
+ */
+@Component
+@RequiredArgsConstructor
+public class CsvCursorExporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BulkProperties bulkProperties;
+
+    /**
+     * Writes the header and one record per row; the query must select exactly
+     * the header's columns, in order.
+     */
+    public void export(String sql, String[] header, OutputStream output) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        csv.record((Object[]) header);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(bulkProperties.getFetchSize());
+            return statement;
+        }, (ResultSet rs) -> {
+            try {
+                for (int i = 1; i <= header.length; i++) {
+                    Object value = rs.getObject(i);
+                    csv.field(value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+                }
+                csv.endRecord();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        csv.flush();
+    }
+}
@@ -0,0 +1,201 @@
+package com.logistics.logiroute.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV reader over a byte channel.
+ * <p>
+ * Input is decoded through fixed-size byte and char buffers, so memory use is
+ * independent of the input size. The field array and field builder are reused
+ * across records; the only per-record allocations are the field strings
+ * themselves. Quoted fields may contain separators, doubled quotes and line
+ * breaks; blank lines are skipped.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final StringBuilder field = new StringBuilder(64);
+
+    private boolean endOfInput;
+    private boolean drained;
+    private boolean started;
+    private String[] fields = new String[16];
+    private int fieldCount;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(ReadableByteChannel channel, Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(ReadableByteChannel channel, Charset charset, int bufferSize) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize).flip();
+        this.chars = CharBuffer.allocate(bufferSize).flip();
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return false at end of input
+     * @throws IllegalArgumentException if a quoted field is not terminated or
+     *                                  the input is not valid in the charset
+     */
+    public boolean next() throws IOException {
+        if (!started) {
+            started = true;
+            if (peek() == '\uFEFF') {
+                read();
+            }
+        }
+
+        fieldCount = 0;
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean quoted = false;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                if (inQuotes) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (fieldCount == 0 && field.length() == 0 && !quoted) {
+                    return false;
+                }
+                endField();
+                return true;
+            }
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                endField();
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                if (fieldCount == 0 && field.length() == 0 && !quoted) {
+                    recordLine = line;
+                    continue;
+                }
+                endField();
+                return true;
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Field of the current record, or an empty string past the last field.
+     */
+    public String field(int index) {
+        return index >= 0 && index < fieldCount ? fields[index] : "";
+    }
+
+    /**
+     * Line number on which the current record starts.
+     */
+    public long lineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void endField() {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fieldCount * 2);
+        }
+        fields[fieldCount++] = field.toString();
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    private int peek() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    private boolean fill() throws IOException {
+        if (drained) {
+            return false;
+        }
+        chars.clear();
+        while (true) {
+            if (!endOfInput) {
+                bytes.compact();
+                int read = channel.read(bytes);
+                bytes.flip();
+                endOfInput = read < 0;
+            }
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                throw new IllegalArgumentException(String.format(
+                        "Input is not valid %s near line %d", decoder.charset().name(), line));
+            }
+            if (result.isOverflow()) {
+                break;
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+                drained = true;
+                break;
+            }
+            if (chars.position() > 0) {
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
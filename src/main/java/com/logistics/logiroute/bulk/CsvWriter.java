@@ -0,0 +1,72 @@
+package com.logistics.logiroute.bulk;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer; fields containing separators, quotes or line
+ * breaks are quoted. Null values are written as empty fields.
+ */
+public final class CsvWriter implements Flushable {
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter field(Object value) throws IOException {
+        if (!firstField) {
+            out.write(',');
+        }
+        firstField = false;
+        if (value == null) {
+            return this;
+        }
+
+        String text = value.toString();
+        if (needsQuotes(text)) {
+            out.write('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+        return this;
+    }
+
+    public void endRecord() throws IOException {
+        out.write('\n');
+        firstField = true;
+    }
+
+    public void record(Object... values) throws IOException {
+        for (Object value : values) {
+            field(value);
+        }
+        endRecord();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
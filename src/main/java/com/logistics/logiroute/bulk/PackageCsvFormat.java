@@ -0,0 +1,160 @@
+package com.logistics.logiroute.bulk;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.dto.PackageDto;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Column layout of package manifests. Columns are matched by header name,
+ * case-insensitively and in any order; unknown columns are ignored.
+ */
+public final class PackageCsvFormat {
+
+    public static final String[] COLUMNS = {
+            "id", "deliveryAddress", "weightKg", "volumeM3", "palletSlots", "hazmatClass", "status",
+            "deliveryDeadline", "earliestDelivery", "latestDelivery", "latitude", "longitude",
+            "depotId", "deliveryRouteId", "stopSequence", "serviceTier"
+    };
+
+    private static final String[] REQUIRED = {"deliveryAddress", "weightKg", "deliveryDeadline"};
+
+    private final int address;
+    private final int weight;
+    private final int volume;
+    private final int palletSlots;
+    private final int hazmat;
+    private final int tier;
+    private final int deadline;
+    private final int earliest;
+    private final int latest;
+    private final int latitude;
+    private final int longitude;
+    private final int depot;
+
+    private PackageCsvFormat(CsvReader header) {
+        address = indexOf(header, "deliveryAddress");
+        weight = indexOf(header, "weightKg");
+        volume = indexOf(header, "volumeM3");
+        palletSlots = indexOf(header, "palletSlots");
+        hazmat = indexOf(header, "hazmatClass");
+        tier = indexOf(header, "serviceTier");
+        deadline = indexOf(header, "deliveryDeadline");
+        earliest = indexOf(header, "earliestDelivery");
+        latest = indexOf(header, "latestDelivery");
+        latitude = indexOf(header, "latitude");
+        longitude = indexOf(header, "longitude");
+        depot = indexOf(header, "depotId");
+    }
+
+    /**
+     * Resolves column positions from the header record the reader is on.
+     *
+     * @throws IllegalArgumentException if a required column is missing
+     */
+    public static PackageCsvFormat fromHeader(CsvReader header) {
+        for (String column : REQUIRED) {
+            if (indexOf(header, column) < 0) {
+                throw new IllegalArgumentException("Manifest header is missing required column " + column);
+            }
+        }
+        return new PackageCsvFormat(header);
+    }
+
+    /**
+     * Parses the current record. Values are only converted here; validation
+     * against the {@link PackageDto} constraints is the caller's job.
+     *
+     * @throws IllegalArgumentException if a value cannot be converted
+     */
+    public PackageDto parse(CsvReader record) {
+        return PackageDto.builder()
+                .deliveryAddress(text(record, address))
+                .weightKg(decimal(record, weight, "weightKg"))
+                .volumeM3(decimal(record, volume, "volumeM3"))
+                .palletSlots(integer(record, palletSlots, "palletSlots"))
+                .hazmatClass(hazmatClass(record))
+                .serviceTier(serviceTier(record))
+                .deliveryDeadline(dateTime(record, deadline, "deliveryDeadline"))
+                .earliestDelivery(dateTime(record, earliest, "earliestDelivery"))
+                .latestDelivery(dateTime(record, latest, "latestDelivery"))
+                .latitude(decimal(record, latitude, "latitude"))
+                .longitude(decimal(record, longitude, "longitude"))
+                .depotId(whole(record, depot, "depotId"))
+                .build();
+    }
+
+    private static int indexOf(CsvReader header, String column) {
+        for (int i = 0; i < header.fieldCount(); i++) {
+            if (header.field(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String text(CsvReader record, int index) {
+        String value = record.field(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double decimal(CsvReader record, int index, String column) {
+        String value = text(record, index);
+        try {
+            return value != null ? Double.valueOf(value) : null;
+        } catch (NumberFormatException ex) {
+            throw invalid(column, value);
+        }
+    }
+
+    private static Integer integer(CsvReader record, int index, String column) {
+        String value = text(record, index);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException ex) {
+            throw invalid(column, value);
+        }
+    }
+
+    private static Long whole(CsvReader record, int index, String column) {
+        String value = text(record, index);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException ex) {
+            throw invalid(column, value);
+        }
+    }
+
+    private static LocalDateTime dateTime(CsvReader record, int index, String column) {
+        String value = text(record, index);
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (RuntimeException ex) {
+            throw invalid(column, value);
+        }
+    }
+
+    private HazmatClass hazmatClass(CsvReader record) {
+        String value = text(record, hazmat);
+        try {
+            return value != null ? HazmatClass.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException ex) {
+            throw invalid("hazmatClass", value);
+        }
+    }
+
+    private ServiceTier serviceTier(CsvReader record) {
+        String value = text(record, tier);
+        try {
+            return value != null ? ServiceTier.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException ex) {
+            throw invalid("serviceTier", value);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String column, String value) {
+        return new IllegalArgumentException(String.format("%s: invalid value '%s'", column, value));
+    }
+}
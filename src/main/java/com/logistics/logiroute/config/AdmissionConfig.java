@@ -0,0 +1,28 @@
+package com.logistics.logiroute.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.logiroute.admission.AdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "logiroute.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    /**
+     * Runs first, so rejected requests cost no further filter work.
+     */
+    @Bean
+    FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionProperties properties, ObjectMapper objectMapper,
+                                                            MeterRegistry registry) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(properties, objectMapper, registry, System::nanoTime));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
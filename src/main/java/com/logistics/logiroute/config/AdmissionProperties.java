@@ -0,0 +1,45 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control for {@code /api}. Each client may burst to {@code burst}
+ * tokens and refills at {@code requestsPerSecond}; expensive requests cost
+ * {@code expensiveCost}. The concurrency limit starts at {@code initialLimit}
+ * and moves between {@code minLimit} and {@code maxLimit}: a request slower
+ * than {@code targetLatencyMs} multiplies it by {@code backoffRatio}.
+ * {@code priorityReserve} of it is kept for driver status updates.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.admission")
+@Getter
+@Setter
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private double requestsPerSecond = 50;
+
+    private double burst = 200;
+
+    private double expensiveCost = 10;
+
+    private String clientHeader;
+
+    private int maxClients = 10_000;
+
+    private int initialLimit = 50;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 400;
+
+    private double backoffRatio = 0.9;
+
+    private long targetLatencyMs = 500;
+
+    private double priorityReserve = 0.1;
+}
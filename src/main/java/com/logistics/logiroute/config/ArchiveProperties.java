@@ -0,0 +1,23 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Completed routes older than {@code retentionDays} move, with their packages,
+ * to the archive tables in batches of {@code batchSize} routes.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.archive")
+@Getter
+@Setter
+public class ArchiveProperties {
+
+    private int retentionDays = 90;
+
+    private int batchSize = 200;
+
+    private String cron = "0 45 2 * * *";
+}
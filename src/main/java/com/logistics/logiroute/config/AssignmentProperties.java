@@ -0,0 +1,23 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits for package-to-vehicle assignment. Requests over {@code maxPackages}
+ * are rejected; requests over {@code chunkSize} are validated and applied
+ * {@code chunkSize} packages per transaction, which bounds how long rows stay
+ * locked.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.assignment")
+@Getter
+@Setter
+public class AssignmentProperties {
+
+    private int chunkSize = 500;
+
+    private int maxPackages = 50_000;
+}
@@ -0,0 +1,71 @@
+package com.logistics.logiroute.config;
+
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.datasource.ReplicaRouting;
+import com.logistics.logiroute.dto.PackageDto;
+import com.logistics.logiroute.dto.VehicleDto;
+import com.logistics.logiroute.loader.BatchLoader;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.mapper.VehicleMapper;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class BatchLoaderConfig {
+
+    /**
+     * Loads and maps packages by id in one read-only transaction per batch.
+     * Requests pinned to the primary after a write load on their own thread,
+     * so the read is routed with the request's pin.
+     */
+    @Bean(destroyMethod = "close")
+    BatchLoader<Long, PackageDto> packageLoader(BatchLoaderProperties properties,
+                                                PackageRepository packageRepository,
+                                                PackageMapper packageMapper,
+                                                PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnly = readOnly(transactionManager);
+        return new BatchLoader<>("package", ids -> readOnly.execute(status -> {
+            Map<Long, PackageDto> packages = new HashMap<>();
+            for (Package pkg : packageRepository.findAllById(ids)) {
+                packages.put(pkg.getId(), packageMapper.toDto(pkg));
+            }
+            return packages;
+        }), properties.getWindowMicros(), batchSize(properties), properties.getParallelism(),
+                ReplicaRouting::isPinnedToPrimary);
+    }
+
+    @Bean(destroyMethod = "close")
+    BatchLoader<Long, VehicleDto> vehicleLoader(BatchLoaderProperties properties,
+                                                VehicleRepository vehicleRepository,
+                                                VehicleMapper vehicleMapper,
+                                                PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnly = readOnly(transactionManager);
+        return new BatchLoader<>("vehicle", ids -> readOnly.execute(status -> {
+            Map<Long, VehicleDto> vehicles = new HashMap<>();
+            for (Vehicle vehicle : vehicleRepository.findAllById(ids)) {
+                vehicles.put(vehicle.getId(), vehicleMapper.toDto(vehicle));
+            }
+            return vehicles;
+        }), properties.getWindowMicros(), batchSize(properties), properties.getParallelism(),
+                ReplicaRouting::isPinnedToPrimary);
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    // A batch size of 1 makes the loader call straight through on the request thread
+    private static int batchSize(BatchLoaderProperties properties) {
+        return properties.isEnabled() ? properties.getMaxBatchSize() : 1;
+    }
+}
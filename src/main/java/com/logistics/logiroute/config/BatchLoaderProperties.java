@@ -0,0 +1,26 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalescing of concurrent by-id package and vehicle reads. Lookups arriving
+ * within {@code windowMicros} of each other, up to {@code maxBatchSize}, share
+ * one query; {@code parallelism} batches run at a time per entity type.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.batch-loader")
+@Getter
+@Setter
+public class BatchLoaderProperties {
+
+    private boolean enabled = true;
+
+    private long windowMicros = 1000;
+
+    private int maxBatchSize = 100;
+
+    private int parallelism = 4;
+}
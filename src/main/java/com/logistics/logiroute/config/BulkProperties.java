@@ -0,0 +1,26 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming import and export. The parser hands batches of {@code batchSize}
+ * rows to the writer through a queue of {@code queueCapacity} batches; a full
+ * queue blocks the parser and therefore the upload.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.bulk")
+@Getter
+@Setter
+public class BulkProperties {
+
+    private int batchSize = 1000;
+
+    private int queueCapacity = 4;
+
+    private int fetchSize = 1000;
+
+    private int maxReportedErrors = 100;
+}
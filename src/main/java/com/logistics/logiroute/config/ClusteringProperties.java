@@ -0,0 +1,25 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clustering pre-pass. K-means stops after {@code maxIterations}, or once an
+ * iteration shortens the sum of squared distances to the centroids by less
+ * than {@code minImprovement}. Each package is first tried against its
+ * {@code nearestCentroids} closest clusters before a wider search.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.clustering")
+@Getter
+@Setter
+public class ClusteringProperties {
+
+    private int maxIterations = 20;
+
+    private int nearestCentroids = 8;
+
+    private double minImprovement = 0.01;
+}
@@ -6,21 +6,26 @@ import com.logistics.logiroute.domain.enums.PackageStatus;
 import com.logistics.logiroute.domain.enums.VehicleStatus;
 import com.logistics.logiroute.repository.PackageRepository;
 import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.service.GeocodingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Configuration
+@Profile("!prod")
 @RequiredArgsConstructor
 @Slf4j
 public class DataLoader {
 
     @Bean
-    CommandLineRunner loadData(VehicleRepository vehicleRepository, PackageRepository packageRepository) {
+    CommandLineRunner loadData(VehicleRepository vehicleRepository, PackageRepository packageRepository,
+                               GeocodingService geocodingService) {
         return args -> {
             if (vehicleRepository.count() == 0 && packageRepository.count() == 0) {
                 log.info("Loading seed data...");
@@ -85,6 +90,8 @@ public class DataLoader {
                         .deliveryDeadline(now.plusHours(3))
                         .build();
 
+                List.of(package1, package2, package3, package4, package5).forEach(geocodingService::apply);
+
                 packageRepository.save(package1);
                 packageRepository.save(package2);
                 packageRepository.save(package3);
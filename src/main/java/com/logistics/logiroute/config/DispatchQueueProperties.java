@@ -0,0 +1,27 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Weights of the dispatch queue score: each minute of deadline slack costs
+ * {@code slackWeight}, each minute of waiting earns {@code waitWeight}, on top
+ * of the service tier's head start. {@code maxSkips} bounds how many packages
+ * too big for the vehicle one dispatch looks past.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.dispatch-queue")
+@Getter
+@Setter
+public class DispatchQueueProperties {
+
+    private double slackWeight = 1.0;
+
+    private double waitWeight = 0.25;
+
+    private int defaultBatchSize = 50;
+
+    private int maxSkips = 100;
+}
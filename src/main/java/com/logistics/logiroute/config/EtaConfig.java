@@ -0,0 +1,18 @@
+package com.logistics.logiroute.config;
+
+import com.logistics.logiroute.eta.SpeedProfile;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EtaConfig {
+
+    /**
+     * Falls back to the scheduler's average speed where no history exists.
+     */
+    @Bean
+    SpeedProfile speedProfile(EtaProperties etaProperties, SchedulingProperties schedulingProperties) {
+        return new SpeedProfile(schedulingProperties.getAverageSpeedKmh(), etaProperties.getCellDegrees(),
+                etaProperties.getMinSamples(), etaProperties.getMinGapSeconds(), etaProperties.getMaxGapSeconds());
+    }
+}
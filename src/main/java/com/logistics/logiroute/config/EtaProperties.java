@@ -0,0 +1,33 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ETA prediction. Driving speeds are learned per grid cell of
+ * {@code cellDegrees} and hour of day from consecutive GPS fixes between
+ * {@code minGapSeconds} and {@code maxGapSeconds} apart, seeded from the last
+ * {@code historyDays} of stored positions. A cell needs {@code minSamples}
+ * before it is trusted; until then the hour's fleet-wide speed, and then
+ * {@code logiroute.scheduling.average-speed-kmh}, is used.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.eta")
+@Getter
+@Setter
+public class EtaProperties {
+
+    private double cellDegrees = 0.05;
+
+    private int minSamples = 3;
+
+    private long minGapSeconds = 10;
+
+    private long maxGapSeconds = 900;
+
+    private int historyDays = 7;
+
+    private long refreshIntervalMs = 1000;
+}
@@ -0,0 +1,20 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written JSON for package and route responses. The output matches
+ * Jackson with the settings in application.yml; turn this off before
+ * changing {@code spring.jackson} serialization settings.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.fast-json")
+@Getter
+@Setter
+public class FastJsonProperties {
+
+    private boolean enabled = true;
+}
@@ -0,0 +1,34 @@
+package com.logistics.logiroute.config;
+
+import com.logistics.logiroute.geocoding.GazetteerGeocoder;
+import com.logistics.logiroute.geocoding.GeocodeCache;
+import com.logistics.logiroute.geocoding.Geocoder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+@Configuration
+public class GeocodingConfig {
+
+    /**
+     * Local gazetteer lookup; declare another {@link Geocoder} bean to use a
+     * real geocoding service instead.
+     */
+    @Bean
+    @ConditionalOnMissingBean(Geocoder.class)
+    Geocoder gazetteerGeocoder(GeocodingProperties properties, ResourceLoader resourceLoader) throws IOException {
+        try (InputStream input = resourceLoader.getResource(properties.getGazetteer()).getInputStream()) {
+            return GazetteerGeocoder.load(input);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    GeocodeCache geocodeCache(GeocodingProperties properties) throws IOException {
+        return GeocodeCache.open(Path.of(properties.getCacheFile()), properties.getCacheEntries());
+    }
+}
@@ -0,0 +1,29 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Address geocoding at ingest. {@code gazetteer} is the CSV read by the local
+ * geocoder; the cache file holds at most {@code cacheEntries} addresses
+ * (rounded up to a power of two, 24 bytes each). Uncached addresses are
+ * geocoded {@code batchSize} at a time on {@code parallelism} threads.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.geocoding")
+@Getter
+@Setter
+public class GeocodingProperties {
+
+    private String gazetteer = "classpath:gazetteer.csv";
+
+    private String cacheFile = System.getProperty("java.io.tmpdir") + "/logiroute/geocode.cache";
+
+    private int cacheEntries = 1 << 20;
+
+    private int batchSize = 50;
+
+    private int parallelism = 4;
+}
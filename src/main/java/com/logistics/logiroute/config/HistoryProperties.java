@@ -0,0 +1,30 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Package status history: events are buffered and written in batches, and days
+ * older than {@code hotDays} are compacted into per-vehicle segments.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.history")
+@Getter
+@Setter
+public class HistoryProperties {
+
+    private int batchSize = 500;
+
+    /**
+     * Events buffered while waiting to be written; further events are dropped.
+     */
+    private int queueCapacity = 100_000;
+
+    private long flushIntervalMs = 1000;
+
+    private int hotDays = 7;
+
+    private String compactionCron = "0 15 2 * * *";
+}
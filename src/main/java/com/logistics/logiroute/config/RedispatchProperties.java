@@ -0,0 +1,20 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-dispatch after a breakdown. Each transferred package is tried against
+ * the {@code candidateVehicles} nearest vehicles of its depot that are out on
+ * a route and still have room for it.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.redispatch")
+@Getter
+@Setter
+public class RedispatchProperties {
+
+    private int candidateVehicles = 5;
+}
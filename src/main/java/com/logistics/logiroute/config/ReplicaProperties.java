@@ -0,0 +1,48 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. Each replica's lag is measured
+ * with {@code lagQuery} every {@code lagCheckIntervalMs}; replicas more than
+ * {@code maxLagMs} behind, or not yet measured, are skipped. Replicas without
+ * credentials use the primary's.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private long maxLagMs = 1000;
+
+    private long lagCheckIntervalMs = 1000;
+
+    /**
+     * PostgreSQL standby lag in milliseconds; 0 when all received WAL has been
+     * replayed, so an idle primary does not make the replica look stale.
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
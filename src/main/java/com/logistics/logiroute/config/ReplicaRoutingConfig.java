@@ -0,0 +1,64 @@
+package com.logistics.logiroute.config;
+
+import com.logistics.logiroute.datasource.ReplicaLagMonitor;
+import com.logistics.logiroute.datasource.ReplicaRoutingDataSource;
+import com.logistics.logiroute.datasource.ReplicaRoutingFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "logiroute.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Pools for the primary ({@code spring.datasource}) and each replica. The
+     * replica pools hand out read-only connections.
+     */
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primary, ReplicaProperties properties) {
+        HikariDataSource primaryPool = primary.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaryPool.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword());
+            pool.setDriverClassName(primary.determineDriverClassName());
+            pool.setReadOnly(true);
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primaryPool, replicas, properties.getMaxLagMs());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                        ReplicaProperties properties) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, properties.getLagQuery());
+    }
+
+    @Bean
+    ReplicaRoutingFilter replicaRoutingFilter() {
+        return new ReplicaRoutingFilter();
+    }
+}
@@ -0,0 +1,36 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Duration model used by the trip scheduler. A trip occupies the vehicle for
+ * loading, one service slot per stop and the drive back to the depot.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.scheduling")
+@Getter
+@Setter
+public class SchedulingProperties {
+
+    private int loadingMinutes = 20;
+
+    private int minutesPerStop = 15;
+
+    private int returnMinutes = 30;
+
+    private double averageSpeedKmh = 40.0;
+
+    public long tripDurationSeconds(int stops) {
+        return 60L * (loadingMinutes + (long) stops * minutesPerStop + returnMinutes);
+    }
+
+    /**
+     * Offset from trip start to the delivery at the given zero-based stop.
+     */
+    public long stopOffsetSeconds(int stopIndex) {
+        return 60L * (loadingMinutes + (long) (stopIndex + 1) * minutesPerStop);
+    }
+}
@@ -0,0 +1,20 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * What-if simulation. A scenario may add at most {@code maxExtraVehicles}
+ * vehicles in total, since each one is materialised in the scenario's
+ * in-memory problem.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.simulation")
+@Getter
+@Setter
+public class SimulationProperties {
+
+    private int maxExtraVehicles = 1000;
+}
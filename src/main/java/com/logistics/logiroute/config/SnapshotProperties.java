@@ -0,0 +1,27 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warm start of the dispatch snapshot. The snapshot is written to
+ * {@code file} on shutdown and loaded back on startup unless it is older than
+ * {@code maxAgeHours}. Delta queries reach back {@code overlapSeconds} before
+ * the snapshot time to catch transactions that committed late.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.snapshot")
+@Getter
+@Setter
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    private String file = System.getProperty("java.io.tmpdir") + "/logiroute/dispatch.snapshot";
+
+    private int overlapSeconds = 5;
+
+    private int maxAgeHours = 24;
+}
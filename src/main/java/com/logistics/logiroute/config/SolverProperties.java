@@ -0,0 +1,44 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metaheuristic solver jobs. Searches run on {@code threads} workers; each
+ * depot gets {@code restarts} independent searches. A job runs for
+ * {@code timeLimitSeconds} unless the request asks for another limit, up to
+ * {@code maxTimeLimitSeconds}. A search also stops after
+ * {@code stallIterations} without a better plan. Late and unassigned
+ * packages cost {@code latePenaltyKm} and {@code unassignedPenaltyKm} in the
+ * objective; each iteration removes and re-inserts between
+ * {@code minRemoved} and {@code maxRemoved} packages. The last
+ * {@code retainedJobs} finished jobs stay queryable.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.solver")
+@Getter
+@Setter
+public class SolverProperties {
+
+    private int threads = 4;
+
+    private int restarts = 4;
+
+    private int timeLimitSeconds = 60;
+
+    private int maxTimeLimitSeconds = 3600;
+
+    private long stallIterations = 200_000;
+
+    private double latePenaltyKm = 100.0;
+
+    private double unassignedPenaltyKm = 1000.0;
+
+    private int minRemoved = 4;
+
+    private int maxRemoved = 30;
+
+    private int retainedJobs = 20;
+}
@@ -0,0 +1,34 @@
+package com.logistics.logiroute.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vehicle telemetry: the last {@code bufferSize} positions per vehicle are
+ * kept in memory, and at most one position per vehicle and
+ * {@code sampleIntervalMs} is written to {@code vehicle_positions}, in
+ * batches every {@code flushIntervalMs}.
+ */
+@Component
+@ConfigurationProperties(prefix = "logiroute.telemetry")
+@Getter
+@Setter
+public class TelemetryProperties {
+
+    private int bufferSize = 256;
+
+    private long sampleIntervalMs = 30_000;
+
+    private long flushIntervalMs = 5000;
+
+    private int batchSize = 500;
+
+    /**
+     * Sampled positions waiting to be written; further ones are dropped.
+     */
+    private int queueCapacity = 100_000;
+
+    private int maxPositionsPerRequest = 5000;
+}
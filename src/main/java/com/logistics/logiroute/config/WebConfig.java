@@ -0,0 +1,27 @@
+package com.logistics.logiroute.config;
+
+import com.logistics.logiroute.json.FastDtoHttpMessageConverter;
+import com.logistics.logiroute.proto.ProtobufDtoHttpMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final FastJsonProperties fastJsonProperties;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of Jackson so it wins for the DTOs it supports
+        if (fastJsonProperties.isEnabled()) {
+            converters.add(0, new FastDtoHttpMessageConverter());
+        }
+        // Last, so JSON stays the default when Accept allows both
+        converters.add(new ProtobufDtoHttpMessageConverter());
+    }
+}
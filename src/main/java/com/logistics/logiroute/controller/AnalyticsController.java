@@ -0,0 +1,44 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.domain.enums.RollupGranularity;
+import com.logistics.logiroute.dto.response.VehicleKpiDto;
+import com.logistics.logiroute.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/vehicles")
+    public ResponseEntity<List<VehicleKpiDto>> getVehicleKpis(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) Long vehicleId) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        List<VehicleKpiDto> kpis = analyticsService.getVehicleKpis(start, end, granularity, vehicleId);
+        return ResponseEntity.ok(kpis);
+    }
+
+    @GetMapping("/vehicles/summary")
+    public ResponseEntity<List<VehicleKpiDto>> getVehicleSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        List<VehicleKpiDto> summary = analyticsService.getVehicleSummary(start, end);
+        return ResponseEntity.ok(summary);
+    }
+}
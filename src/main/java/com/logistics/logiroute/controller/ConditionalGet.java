@@ -0,0 +1,32 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.repository.VersionStamp;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers conditional GETs from a {@link VersionStamp} before the response
+ * body is built. When a check returns true the response is already a 304 and
+ * the handler returns null. The stamp is read before the body, so a body is
+ * never older than the ETag sent with it.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * For a single resource: sets ETag and Last-Modified and checks
+     * If-None-Match, or If-Modified-Since when no ETag was sent.
+     */
+    static boolean notModified(WebRequest request, VersionStamp stamp) {
+        return request.checkNotModified(stamp.eTag(), stamp.lastModifiedMillis());
+    }
+
+    /**
+     * For a collection: ETag only. The newest update time of a filtered set
+     * can go down when a row leaves it, so Last-Modified would hide removals.
+     */
+    static boolean collectionNotModified(WebRequest request, VersionStamp stamp) {
+        return request.checkNotModified(stamp.eTag());
+    }
+}
@@ -2,13 +2,29 @@ package com.logistics.logiroute.controller;
 
 import com.logistics.logiroute.dto.DeliveryRouteDto;
 import com.logistics.logiroute.dto.request.AssignPackagesRequest;
+import com.logistics.logiroute.dto.request.DispatchNextRequest;
+import com.logistics.logiroute.dto.request.PlanTripsRequest;
+import com.logistics.logiroute.dto.request.RoutePackagesRequest;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.dto.response.TripPlanResponse;
+import com.logistics.logiroute.service.AssignmentService;
 import com.logistics.logiroute.service.DeliveryService;
+import com.logistics.logiroute.service.DispatchQueueService;
+import com.logistics.logiroute.service.RouteBulkService;
+import com.logistics.logiroute.service.TripSchedulingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.List;
 
 @RestController
@@ -17,35 +33,110 @@ import java.util.List;
 public class DeliveryController {
 
     private final DeliveryService deliveryService;
+    private final AssignmentService assignmentService;
+    private final DispatchQueueService dispatchQueueService;
+    private final TripSchedulingService tripSchedulingService;
+    private final RouteBulkService routeBulkService;
 
     @PostMapping("/assign")
     public ResponseEntity<DeliveryRouteDto> assignPackagesToVehicle(
             @Valid @RequestBody AssignPackagesRequest request) {
-        DeliveryRouteDto route = deliveryService.assignPackagesToVehicle(
+        DeliveryRouteDto route = assignmentService.assignPackagesToVehicle(
                 request.getVehicleId(),
                 request.getPackageIds()
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(route);
     }
 
+    /**
+     * Assigns the highest-priority unassigned packages of the vehicle's depot
+     * that fit it, by service tier, deadline slack and waiting time.
+     */
+    @PostMapping("/dispatch-next")
+    public ResponseEntity<DeliveryRouteDto> dispatchNext(@Valid @RequestBody DispatchNextRequest request) {
+        DeliveryRouteDto route = dispatchQueueService.dispatchNext(request.getVehicleId(), request.getMaxPackages());
+        return ResponseEntity.status(HttpStatus.CREATED).body(route);
+    }
+
+    @PostMapping("/schedule")
+    public ResponseEntity<TripPlanResponse> planTrips(@Valid @RequestBody PlanTripsRequest request) {
+        TripPlanResponse plan = tripSchedulingService.planTrips(
+                request.getVehicleId(),
+                request.getDate(),
+                request.getPackageIds()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(plan);
+    }
+
     @GetMapping("/routes/{id}")
-    public ResponseEntity<DeliveryRouteDto> getDeliveryRoute(@PathVariable Long id) {
+    public ResponseEntity<DeliveryRouteDto> getDeliveryRoute(@PathVariable Long id, WebRequest request) {
+        // The stamp covers the route's package set, which can lose its newest row
+        if (ConditionalGet.collectionNotModified(request, deliveryService.getDeliveryRouteStamp(id))) {
+            return null;
+        }
         DeliveryRouteDto route = deliveryService.getDeliveryRoute(id);
         return ResponseEntity.ok(route);
     }
 
+    /**
+     * Streams route assignments (routeRef, vehicleId, packageId) from the raw
+     * request body (Content-Type: text/csv).
+     */
+    @PostMapping(value = "/routes/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDto> importRoutes(HttpServletRequest request) throws IOException {
+        ImportResultDto result = routeBulkService.importRoutes(Channels.newChannel(request.getInputStream()));
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = "/routes/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportRoutes() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"routes.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(routeBulkService::exportRoutes);
+    }
+
     @GetMapping("/routes")
-    public ResponseEntity<List<DeliveryRouteDto>> getActiveRoutes() {
+    public ResponseEntity<List<DeliveryRouteDto>> getActiveRoutes(WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, deliveryService.getActiveRoutesStamp())) {
+            return null;
+        }
         List<DeliveryRouteDto> routes = deliveryService.getActiveRoutes();
         return ResponseEntity.ok(routes);
     }
 
     @GetMapping("/routes/vehicle/{vehicleId}")
-    public ResponseEntity<List<DeliveryRouteDto>> getRoutesByVehicle(@PathVariable Long vehicleId) {
+    public ResponseEntity<List<DeliveryRouteDto>> getRoutesByVehicle(@PathVariable Long vehicleId,
+                                                                     WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, deliveryService.getRoutesByVehicleStamp(vehicleId))) {
+            return null;
+        }
         List<DeliveryRouteDto> routes = deliveryService.getRoutesByVehicle(vehicleId);
         return ResponseEntity.ok(routes);
     }
 
+    @PostMapping("/routes/{id}/packages")
+    public ResponseEntity<DeliveryRouteDto> insertPackages(
+            @PathVariable Long id,
+            @Valid @RequestBody RoutePackagesRequest request) {
+        DeliveryRouteDto route = deliveryService.insertPackages(id, request.getPackageIds());
+        return ResponseEntity.ok(route);
+    }
+
+    @DeleteMapping("/routes/{id}/packages/{packageId}")
+    public ResponseEntity<DeliveryRouteDto> removePackage(
+            @PathVariable Long id,
+            @PathVariable Long packageId) {
+        DeliveryRouteDto route = deliveryService.removePackage(id, packageId);
+        return ResponseEntity.ok(route);
+    }
+
+    @PatchMapping("/routes/{id}/dispatch")
+    public ResponseEntity<DeliveryRouteDto> dispatchRoute(@PathVariable Long id) {
+        DeliveryRouteDto route = deliveryService.dispatchRoute(id);
+        return ResponseEntity.ok(route);
+    }
+
     @PatchMapping("/routes/{id}/complete")
     public ResponseEntity<DeliveryRouteDto> completeRoute(@PathVariable Long id) {
         DeliveryRouteDto route = deliveryService.completeRoute(id);
@@ -0,0 +1,37 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.dto.DepotDto;
+import com.logistics.logiroute.service.DepotService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/depots")
+@RequiredArgsConstructor
+public class DepotController {
+
+    private final DepotService depotService;
+
+    @PostMapping
+    public ResponseEntity<DepotDto> createDepot(@Valid @RequestBody DepotDto depotDto) {
+        DepotDto created = depotService.createDepot(depotDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DepotDto> getDepot(@PathVariable Long id) {
+        DepotDto depot = depotService.getDepot(id);
+        return ResponseEntity.ok(depot);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DepotDto>> getAllDepots() {
+        List<DepotDto> depots = depotService.getAllDepots();
+        return ResponseEntity.ok(depots);
+    }
+}
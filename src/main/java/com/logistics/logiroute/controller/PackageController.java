@@ -3,14 +3,25 @@ package com.logistics.logiroute.controller;
 import com.logistics.logiroute.domain.enums.PackageStatus;
 import com.logistics.logiroute.dto.PackageDto;
 import com.logistics.logiroute.dto.request.UpdatePackageStatusRequest;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.dto.response.PackageEtaDto;
 import com.logistics.logiroute.service.DeliveryService;
+import com.logistics.logiroute.service.EtaService;
+import com.logistics.logiroute.service.PackageBulkService;
 import com.logistics.logiroute.service.PackageService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.List;
 
 @RestController
@@ -20,6 +31,8 @@ public class PackageController {
 
     private final PackageService packageService;
     private final DeliveryService deliveryService;
+    private final PackageBulkService packageBulkService;
+    private final EtaService etaService;
 
     @PostMapping
     public ResponseEntity<PackageDto> createPackage(@Valid @RequestBody PackageDto packageDto) {
@@ -27,26 +40,69 @@ public class PackageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Streams a CSV manifest from the raw request body (Content-Type: text/csv).
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDto> importPackages(HttpServletRequest request) throws IOException {
+        ImportResultDto result = packageBulkService.importPackages(Channels.newChannel(request.getInputStream()));
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportPackages() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"packages.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(packageBulkService::exportPackages);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PackageDto> getPackage(@PathVariable Long id) {
+    public ResponseEntity<PackageDto> getPackage(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, packageService.getPackageStamp(id))) {
+            return null;
+        }
         PackageDto pkg = packageService.getPackage(id);
         return ResponseEntity.ok(pkg);
     }
 
+    /**
+     * Estimated arrival of a package on a dispatched route, served from memory.
+     */
+    @GetMapping("/{id}/eta")
+    public ResponseEntity<PackageEtaDto> getEta(@PathVariable Long id) {
+        PackageEtaDto eta = etaService.getEta(id);
+        return ResponseEntity.ok(eta);
+    }
+
     @GetMapping
-    public ResponseEntity<List<PackageDto>> getAllPackages() {
+    public ResponseEntity<List<PackageDto>> getAllPackages(WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, packageService.getAllPackagesStamp())) {
+            return null;
+        }
         List<PackageDto> packages = packageService.getAllPackages();
         return ResponseEntity.ok(packages);
     }
 
     @GetMapping("/unassigned")
-    public ResponseEntity<List<PackageDto>> getUnassignedPackages() {
-        List<PackageDto> packages = packageService.getUnassignedPackages();
+    public ResponseEntity<List<PackageDto>> getUnassignedPackages(
+            @RequestParam(required = false) Long depotId,
+            WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, packageService.getUnassignedPackagesStamp(depotId))) {
+            return null;
+        }
+        List<PackageDto> packages = depotId != null
+                ? packageService.getUnassignedPackages(depotId)
+                : packageService.getUnassignedPackages();
         return ResponseEntity.ok(packages);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PackageDto>> getPackagesByStatus(@PathVariable PackageStatus status) {
+    public ResponseEntity<List<PackageDto>> getPackagesByStatus(@PathVariable PackageStatus status,
+                                                                WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, packageService.getPackagesByStatusStamp(status))) {
+            return null;
+        }
         List<PackageDto> packages = packageService.getPackagesByStatus(status);
         return ResponseEntity.ok(packages);
     }
@@ -0,0 +1,41 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.response.DwellStatsDto;
+import com.logistics.logiroute.dto.response.PackageStatusEventDto;
+import com.logistics.logiroute.history.DwellGrouping;
+import com.logistics.logiroute.service.PackageHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/packages")
+@RequiredArgsConstructor
+public class PackageHistoryController {
+
+    private final PackageHistoryService packageHistoryService;
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<PackageStatusEventDto>> getHistory(@PathVariable Long id) {
+        List<PackageStatusEventDto> history = packageHistoryService.getHistory(id);
+        return ResponseEntity.ok(history);
+    }
+
+    @GetMapping("/history/dwell")
+    public ResponseEntity<List<DwellStatsDto>> getDwellStats(
+            @RequestParam(defaultValue = "LOADED") PackageStatus from,
+            @RequestParam(defaultValue = "DELIVERED") PackageStatus to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "NONE") DwellGrouping groupBy) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(30);
+        List<DwellStatsDto> stats = packageHistoryService.getDwellStats(from, to, start, end, groupBy);
+        return ResponseEntity.ok(stats);
+    }
+}
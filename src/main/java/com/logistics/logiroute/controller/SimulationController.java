@@ -0,0 +1,56 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.dto.request.ClusteringRequest;
+import com.logistics.logiroute.dto.request.SimulationRequest;
+import com.logistics.logiroute.dto.request.SolverJobRequest;
+import com.logistics.logiroute.dto.response.ClusteringResultDto;
+import com.logistics.logiroute.dto.response.SimulationResultDto;
+import com.logistics.logiroute.dto.response.SolverJobDto;
+import com.logistics.logiroute.service.SimulationService;
+import com.logistics.logiroute.service.SolverJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/simulation")
+@RequiredArgsConstructor
+public class SimulationController {
+
+    private final SimulationService simulationService;
+    private final SolverJobService solverJobService;
+
+    @PostMapping
+    public ResponseEntity<List<SimulationResultDto>> simulate(@Valid @RequestBody SimulationRequest request) {
+        List<SimulationResultDto> results = simulationService.simulate(request.getScenarios());
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/clusters")
+    public ResponseEntity<ClusteringResultDto> cluster(@Valid @RequestBody ClusteringRequest request) {
+        ClusteringResultDto result = simulationService.cluster(request);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/solver-jobs")
+    public ResponseEntity<SolverJobDto> startSolverJob(@Valid @RequestBody SolverJobRequest request) {
+        SolverJobDto job = solverJobService.start(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/solver-jobs/{jobId}")
+    public ResponseEntity<SolverJobDto> getSolverJob(@PathVariable Long jobId) {
+        SolverJobDto job = solverJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    @DeleteMapping("/solver-jobs/{jobId}")
+    public ResponseEntity<SolverJobDto> cancelSolverJob(@PathVariable Long jobId) {
+        SolverJobDto job = solverJobService.cancel(jobId);
+        return ResponseEntity.ok(job);
+    }
+}
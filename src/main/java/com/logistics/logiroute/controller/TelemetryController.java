@@ -0,0 +1,47 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.dto.PositionDto;
+import com.logistics.logiroute.dto.request.PositionBatchRequest;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.service.TelemetryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/vehicles")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    @PostMapping("/positions")
+    public ResponseEntity<ImportResultDto> ingestPositions(@Valid @RequestBody PositionBatchRequest request) {
+        ImportResultDto result = telemetryService.ingest(request.getPositions());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+    }
+
+    @GetMapping("/positions")
+    public ResponseEntity<List<PositionDto>> getLatestPositions() {
+        List<PositionDto> positions = telemetryService.getLatestPositions();
+        return ResponseEntity.ok(positions);
+    }
+
+    @GetMapping("/{id}/position")
+    public ResponseEntity<PositionDto> getLatestPosition(@PathVariable Long id) {
+        PositionDto position = telemetryService.getLatestPosition(id);
+        return ResponseEntity.ok(position);
+    }
+
+    @GetMapping("/{id}/track")
+    public ResponseEntity<List<PositionDto>> getTrack(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<PositionDto> track = telemetryService.getTrack(id, limit);
+        return ResponseEntity.ok(track);
+    }
+}
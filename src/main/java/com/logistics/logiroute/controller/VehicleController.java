@@ -1,12 +1,15 @@
 package com.logistics.logiroute.controller;
 
 import com.logistics.logiroute.dto.VehicleDto;
+import com.logistics.logiroute.dto.response.BreakdownResultDto;
+import com.logistics.logiroute.service.BreakdownService;
 import com.logistics.logiroute.service.VehicleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +19,7 @@ import java.util.List;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final BreakdownService breakdownService;
 
     @PostMapping
     public ResponseEntity<VehicleDto> createVehicle(@Valid @RequestBody VehicleDto vehicleDto) {
@@ -24,20 +28,33 @@ public class VehicleController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<VehicleDto> getVehicle(@PathVariable Long id) {
+    public ResponseEntity<VehicleDto> getVehicle(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, vehicleService.getVehicleStamp(id))) {
+            return null;
+        }
         VehicleDto vehicle = vehicleService.getVehicle(id);
         return ResponseEntity.ok(vehicle);
     }
 
     @GetMapping
-    public ResponseEntity<List<VehicleDto>> getAllVehicles() {
+    public ResponseEntity<List<VehicleDto>> getAllVehicles(WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, vehicleService.getAllVehiclesStamp())) {
+            return null;
+        }
         List<VehicleDto> vehicles = vehicleService.getAllVehicles();
         return ResponseEntity.ok(vehicles);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<VehicleDto>> getAvailableVehicles() {
-        List<VehicleDto> vehicles = vehicleService.getAvailableVehicles();
+    public ResponseEntity<List<VehicleDto>> getAvailableVehicles(
+            @RequestParam(required = false) Long depotId,
+            WebRequest request) {
+        if (ConditionalGet.collectionNotModified(request, vehicleService.getAvailableVehiclesStamp(depotId))) {
+            return null;
+        }
+        List<VehicleDto> vehicles = depotId != null
+                ? vehicleService.getAvailableVehicles(depotId)
+                : vehicleService.getAvailableVehicles();
         return ResponseEntity.ok(vehicles);
     }
 
@@ -49,6 +66,18 @@ public class VehicleController {
         return ResponseEntity.ok(updated);
     }
 
+    @PostMapping("/{id}/breakdown")
+    public ResponseEntity<BreakdownResultDto> reportBreakdown(@PathVariable Long id) {
+        BreakdownResultDto result = breakdownService.reportBreakdown(id);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/{id}/return-to-service")
+    public ResponseEntity<VehicleDto> returnToService(@PathVariable Long id) {
+        VehicleDto vehicle = vehicleService.returnToService(id);
+        return ResponseEntity.ok(vehicle);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVehicle(@PathVariable Long id) {
         vehicleService.deleteVehicle(id);
@@ -0,0 +1,44 @@
+package com.logistics.logiroute.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Measures each replica's lag with {@code lagQuery}, which must return the lag
+ * in milliseconds as its first column. A replica that cannot be queried is
+ * taken out of rotation.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource dataSource;
+    private final String lagQuery;
+
+    @Scheduled(fixedDelayString = "${logiroute.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        for (Map.Entry<String, DataSource> replica : dataSource.getReplicas().entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                if (!result.next()) {
+                    throw new SQLException("Lag query returned no rows");
+                }
+                long lag = Math.round(result.getDouble(1));
+                dataSource.recordLag(replica.getKey(), lag);
+                log.debug("Replica {} is {} ms behind", replica.getKey(), lag);
+            } catch (SQLException ex) {
+                dataSource.markUnavailable(replica.getKey());
+                log.warn("Replica {} taken out of rotation: {}", replica.getKey(), ex.getMessage());
+            }
+        }
+    }
+}
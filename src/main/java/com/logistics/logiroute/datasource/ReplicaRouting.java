@@ -0,0 +1,39 @@
+package com.logistics.logiroute.datasource;
+
+/**
+ * Read-your-writes state of the current request. Inside a request, the first
+ * transaction that may write pins every later transaction of that request to
+ * the primary. Threads outside a request (schedulers, batch loaders) are
+ * never pinned.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        Scope scope = SCOPE.get();
+        return scope != null && scope.pinned;
+    }
+
+    static void open() {
+        SCOPE.set(new Scope());
+    }
+
+    static void close() {
+        SCOPE.remove();
+    }
+
+    static void pinToPrimary() {
+        Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.pinned = true;
+        }
+    }
+
+    private static final class Scope {
+        private boolean pinned;
+    }
+}
@@ -0,0 +1,98 @@
+package com.logistics.logiroute.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica whose last measured lag is at most
+ * {@code maxLagMillis}, round robin, and everything else to the primary.
+ * Replicas start out unmeasured and are not used until
+ * {@link #recordLag} has been called for them. Reads later in a request that
+ * wrote stay on the primary (see {@link ReplicaRouting}).
+ * <p>
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: the transaction
+ * managers obtain their connection before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final long maxLagMillis;
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = List.copyOf(this.replicas.keySet());
+        this.maxLagMillis = maxLagMillis;
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public void recordLag(String replica, long millis) {
+        lagMillis.put(replica, millis);
+    }
+
+    /**
+     * Takes the replica out of rotation until its lag is recorded again.
+     */
+    public void markUnavailable(String replica) {
+        lagMillis.remove(replica);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaRouting.pinToPrimary();
+            return PRIMARY;
+        }
+        if (ReplicaRouting.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicaNames.size()));
+        for (int i = 0; i < replicaNames.size(); i++) {
+            String replica = replicaNames.get((start + i) % replicaNames.size());
+            Long lag = lagMillis.get(replica);
+            if (lag != null && lag <= maxLagMillis) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
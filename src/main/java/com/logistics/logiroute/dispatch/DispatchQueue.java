@@ -0,0 +1,205 @@
+package com.logistics.logiroute.dispatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unassigned packages by depot, each depot an indexed binary max-heap on
+ * {@link QueuedPackage#priority()}. Offering, removing or re-scoring a package
+ * and taking the head are O(log n); the position index makes removal by id
+ * possible without a scan. A rebuild heapifies in O(n). Thread-safe.
+ */
+public class DispatchQueue {
+
+    // Keyed by depot id; packages without a depot share the null key
+    private final Map<Long, Heap> heaps = new HashMap<>();
+    private final Map<Long, Heap> heapOf = new HashMap<>();
+
+    /**
+     * Replaces the whole queue.
+     */
+    public synchronized void rebuild(Collection<QueuedPackage> packages) {
+        heaps.clear();
+        heapOf.clear();
+        Map<Long, List<QueuedPackage>> byDepot = new HashMap<>();
+        for (QueuedPackage pkg : packages) {
+            byDepot.computeIfAbsent(pkg.depotId(), depot -> new ArrayList<>()).add(pkg);
+        }
+        byDepot.forEach((depot, list) -> {
+            Heap heap = new Heap(list);
+            heaps.put(depot, heap);
+            for (QueuedPackage pkg : list) {
+                heapOf.put(pkg.id(), heap);
+            }
+        });
+    }
+
+    /**
+     * Adds the package, or moves it to its new priority or depot if it is
+     * already queued.
+     */
+    public synchronized void offer(QueuedPackage pkg) {
+        Heap current = heapOf.get(pkg.id());
+        Heap target = heaps.computeIfAbsent(pkg.depotId(), depot -> new Heap(List.of()));
+        if (current != null && current != target) {
+            current.remove(pkg.id());
+        }
+        target.offer(pkg);
+        heapOf.put(pkg.id(), target);
+    }
+
+    public synchronized boolean remove(long packageId) {
+        Heap heap = heapOf.remove(packageId);
+        return heap != null && heap.remove(packageId);
+    }
+
+    /**
+     * Takes packages of the depot from the head for as long as they fit the
+     * remaining capacity, which is reduced in place. Packages that do not
+     * fit are skipped and stay queued; the scan ends after {@code maxPackages}
+     * taken or once more than {@code maxSkips} have been skipped.
+     */
+    public synchronized List<QueuedPackage> pollFitting(Long depotId, double[] remaining, int vehicleHazmat,
+                                                        int maxPackages, int maxSkips) {
+        Heap heap = heaps.get(depotId);
+        List<QueuedPackage> taken = new ArrayList<>();
+        if (heap == null) {
+            return taken;
+        }
+        List<QueuedPackage> skipped = new ArrayList<>();
+        while (taken.size() < maxPackages && skipped.size() <= maxSkips && heap.size() > 0) {
+            QueuedPackage head = heap.poll();
+            if (head.fits(remaining, vehicleHazmat)) {
+                head.takeFrom(remaining);
+                taken.add(head);
+                heapOf.remove(head.id());
+            } else {
+                skipped.add(head);
+            }
+        }
+        for (QueuedPackage pkg : skipped) {
+            heap.offer(pkg);
+        }
+        return taken;
+    }
+
+    public synchronized int size() {
+        return heapOf.size();
+    }
+
+    public synchronized int size(Long depotId) {
+        Heap heap = heaps.get(depotId);
+        return heap != null ? heap.size() : 0;
+    }
+
+    private static final class Heap {
+
+        private QueuedPackage[] items;
+        private int size;
+        private final Map<Long, Integer> positions;
+
+        Heap(List<QueuedPackage> packages) {
+            items = packages.toArray(new QueuedPackage[Math.max(16, packages.size())]);
+            size = packages.size();
+            positions = new HashMap<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                positions.put(items[i].id(), i);
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void offer(QueuedPackage pkg) {
+            Integer position = positions.get(pkg.id());
+            if (position != null) {
+                items[position] = pkg;
+                siftDown(siftUp(position));
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size] = pkg;
+            positions.put(pkg.id(), size);
+            siftUp(size++);
+        }
+
+        QueuedPackage poll() {
+            QueuedPackage head = items[0];
+            removeAt(0);
+            return head;
+        }
+
+        boolean remove(long id) {
+            Integer position = positions.get(id);
+            if (position == null) {
+                return false;
+            }
+            removeAt(position);
+            return true;
+        }
+
+        private void removeAt(int index) {
+            positions.remove(items[index].id());
+            size--;
+            if (index != size) {
+                items[index] = items[size];
+                positions.put(items[index].id(), index);
+                items[size] = null;
+                siftDown(siftUp(index));
+            } else {
+                items[size] = null;
+            }
+        }
+
+        private int siftUp(int index) {
+            QueuedPackage pkg = items[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!pkg.before(items[parent])) {
+                    break;
+                }
+                move(parent, index);
+                index = parent;
+            }
+            place(pkg, index);
+            return index;
+        }
+
+        private void siftDown(int index) {
+            QueuedPackage pkg = items[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < size && items[child + 1].before(items[child])) {
+                    child++;
+                }
+                if (!items[child].before(pkg)) {
+                    break;
+                }
+                move(child, index);
+                index = child;
+            }
+            place(pkg, index);
+        }
+
+        private void move(int from, int to) {
+            items[to] = items[from];
+            positions.put(items[to].id(), to);
+        }
+
+        private void place(QueuedPackage pkg, int index) {
+            items[index] = pkg;
+            positions.put(pkg.id(), index);
+        }
+    }
+}
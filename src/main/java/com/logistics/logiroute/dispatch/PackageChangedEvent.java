@@ -0,0 +1,9 @@
+package com.logistics.logiroute.dispatch;
+
+/**
+ * Published when a package is created, edited, deleted or planned on a
+ * scheduled trip outside a status transition, so the dispatch queue re-reads
+ * it once the transaction has committed.
+ */
+public record PackageChangedEvent(Long packageId) {
+}
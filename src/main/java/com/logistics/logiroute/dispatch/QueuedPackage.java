@@ -0,0 +1,62 @@
+package com.logistics.logiroute.dispatch;
+
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.repository.QueueCandidate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * An unassigned package in the {@link DispatchQueue}: its priority and the
+ * demand needed to check whether it fits a vehicle.
+ */
+public record QueuedPackage(long id, Long depotId, double priority, double weightKg, double volumeM3,
+                           int palletSlots, int hazmatMask) {
+
+    /**
+     * Scores the package as
+     * {@code headStart(tier) - slackWeight * slack + waitWeight * waiting},
+     * all in minutes, where slack is the time left until the deadline and
+     * waiting the time since the package became CREATED. Both terms move with
+     * the clock at the same rate for every package, so the score is stored
+     * without the current time and the order never goes stale:
+     * {@code headStart - slackWeight * deadline - waitWeight * createdAt}.
+     */
+    public static QueuedPackage of(QueueCandidate candidate, double slackWeight, double waitWeight,
+                                   LocalDateTime now) {
+        LocalDateTime since = candidate.statusChangedAt() != null ? candidate.statusChangedAt() : now;
+        double priority = ServiceTier.orDefault(candidate.serviceTier()).getHeadStartMinutes()
+                - slackWeight * epochMinutes(candidate.deliveryDeadline())
+                - waitWeight * epochMinutes(since);
+        return new QueuedPackage(candidate.id(), candidate.depotId(), priority, candidate.weightKg(),
+                candidate.volumeM3() != null ? candidate.volumeM3() : 0.0,
+                candidate.palletSlots() != null ? candidate.palletSlots() : 0,
+                candidate.hazmatClass() != null ? 1 << candidate.hazmatClass().ordinal() : 0);
+    }
+
+    boolean fits(double[] remaining, int vehicleHazmat) {
+        return remaining[CapacityGuard.WEIGHT] >= weightKg
+                && remaining[CapacityGuard.VOLUME] >= volumeM3
+                && remaining[CapacityGuard.SLOTS] >= palletSlots
+                && (hazmatMask & ~vehicleHazmat) == 0;
+    }
+
+    void takeFrom(double[] remaining) {
+        remaining[CapacityGuard.WEIGHT] -= weightKg;
+        remaining[CapacityGuard.VOLUME] -= volumeM3;
+        remaining[CapacityGuard.SLOTS] -= palletSlots;
+    }
+
+    /**
+     * Heap order: higher priority first, lower id on ties.
+     */
+    boolean before(QueuedPackage other) {
+        int cmp = Double.compare(priority, other.priority);
+        return cmp > 0 || (cmp == 0 && id < other.id);
+    }
+
+    private static double epochMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.logistics.logiroute.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a completed delivery route, keyed by its original id.
+ */
+@Entity
+@Table(name = "archived_delivery_routes", indexes = {
+        @Index(name = "idx_archived_routes_vehicle", columnList = "vehicle_id, completed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedDeliveryRoute implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    @Column
+    private LocalDateTime plannedStart;
+
+    @Column
+    private LocalDateTime plannedEnd;
+
+    @Column
+    private LocalDateTime dispatchedAt;
+
+    @Column(nullable = false)
+    private Integer packageCount;
+
+    @Column(nullable = false)
+    private Double totalWeight;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.logistics.logiroute.domain.entity;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a package whose route has been archived. Keeps the original id
+ * so that lookups by package id still resolve; associations become plain ids.
+ */
+@Entity
+@Table(name = "archived_packages", indexes = {
+        @Index(name = "idx_archived_packages_route", columnList = "delivery_route_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedPackage implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    private String deliveryAddress;
+
+    @Column(length = 500)
+    private String addressKey;
+
+    @Column(nullable = false)
+    private Double weightKg;
+
+    @Column
+    private Double volumeM3;
+
+    @Column
+    private Integer palletSlots;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private HazmatClass hazmatClass;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ServiceTier serviceTier;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PackageStatus status;
+
+    @Column
+    private LocalDateTime statusChangedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime deliveryDeadline;
+
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+
+    @Column
+    private LocalDateTime earliestDelivery;
+
+    @Column
+    private LocalDateTime latestDelivery;
+
+    @Column(name = "delivery_route_id")
+    private Long deliveryRouteId;
+
+    @Column
+    private Integer stopSequence;
+
+    @Column(name = "depot_id")
+    private Long depotId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Ids are copied from the live table, so tell Spring Data to persist rather than merge
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -3,6 +3,7 @@ package com.logistics.logiroute.domain.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,7 +27,8 @@ public class DeliveryRoute {
     @JoinColumn(name = "vehicle_id", nullable = false)
     private Vehicle vehicle;
 
-    @OneToMany(mappedBy = "deliveryRoute", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "deliveryRoute", cascade = CascadeType.ALL)
+    @OrderBy("stopSequence ASC")
     @Builder.Default
     private List<Package> packages = new ArrayList<>();
 
@@ -37,14 +39,60 @@ public class DeliveryRoute {
     @Column
     private LocalDateTime completedAt;
 
+    @Column
+    private LocalDateTime plannedStart;
+
+    @Column
+    private LocalDateTime plannedEnd;
+
+    @Column
+    private LocalDateTime dispatchedAt;
+
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock; also part of the ETags served for this route
+    @Version
+    private Long version;
+
+    /**
+     * A scheduled trip is planned for later and has not left the depot yet:
+     * its packages are still CREATED and the vehicle carries none of its load.
+     */
+    public boolean isScheduled() {
+        return plannedStart != null && dispatchedAt == null;
+    }
+
     public void addPackage(Package pkg) {
         packages.add(pkg);
         pkg.setDeliveryRoute(this);
+        pkg.setStopSequence(packages.size() - 1);
+    }
+
+    /**
+     * Inserts a package at the given stop position and renumbers the stops after it.
+     */
+    public void insertPackage(int position, Package pkg) {
+        packages.add(position, pkg);
+        pkg.setDeliveryRoute(this);
+        renumberFrom(position);
     }
 
     public void removePackage(Package pkg) {
+        int position = packages.indexOf(pkg);
         packages.remove(pkg);
         pkg.setDeliveryRoute(null);
+        pkg.setStopSequence(null);
+        if (position >= 0) {
+            renumberFrom(position);
+        }
+    }
+
+    private void renumberFrom(int position) {
+        for (int i = position; i < packages.size(); i++) {
+            packages.get(i).setStopSequence(i);
+        }
     }
 
     public double getTotalWeight() {
@@ -52,4 +100,16 @@ public class DeliveryRoute {
                 .mapToDouble(Package::getWeightKg)
                 .sum();
     }
+
+    public double getTotalVolume() {
+        return packages.stream()
+                .mapToDouble(Package::getVolumeOrZero)
+                .sum();
+    }
+
+    public int getTotalPalletSlots() {
+        return packages.stream()
+                .mapToInt(Package::getPalletSlotsOrZero)
+                .sum();
+    }
 }
@@ -0,0 +1,37 @@
+package com.logistics.logiroute.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * A regional depot. Vehicles and packages belong to at most one depot, and
+ * dispatch never mixes fleets or packages across depots.
+ */
+@Entity
+@Table(name = "depots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Depot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Depot code is required")
+    @Column(nullable = false, unique = true, length = 20)
+    private String code;
+
+    @NotBlank(message = "Depot name is required")
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+}
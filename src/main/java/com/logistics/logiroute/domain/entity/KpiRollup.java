@@ -0,0 +1,74 @@
+package com.logistics.logiroute.domain.entity;
+
+import com.logistics.logiroute.analytics.KpiDelta;
+import com.logistics.logiroute.domain.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated route KPIs of one vehicle for one hour or day. Counters are
+ * only ever incremented, so ratios are derived at read time from the sums.
+ */
+@Entity
+@Table(name = "kpi_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_kpi_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "vehicle_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KpiRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private int routesCompleted;
+
+    @Column(nullable = false)
+    private int packagesOnRoutes;
+
+    @Column(nullable = false)
+    private int packagesDelivered;
+
+    @Column(nullable = false)
+    private int packagesOnTime;
+
+    @Column(nullable = false)
+    private double loadKg;
+
+    @Column(nullable = false)
+    private double capacityKg;
+
+    @Column(nullable = false)
+    private long routeSeconds;
+
+    public static KpiRollup of(Long vehicleId, RollupGranularity granularity, LocalDateTime bucketStart, KpiDelta delta) {
+        return KpiRollup.builder()
+                .vehicleId(vehicleId)
+                .granularity(granularity)
+                .bucketStart(bucketStart)
+                .routesCompleted(delta.routesCompleted())
+                .packagesOnRoutes(delta.packagesOnRoutes())
+                .packagesDelivered(delta.packagesDelivered())
+                .packagesOnTime(delta.packagesOnTime())
+                .loadKg(delta.loadKg())
+                .capacityKg(delta.capacityKg())
+                .routeSeconds(delta.routeSeconds())
+                .build();
+    }
+}
@@ -1,16 +1,24 @@
 package com.logistics.logiroute.domain.entity;
 
+import com.logistics.logiroute.domain.enums.HazmatClass;
 import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "packages")
+@Table(name = "packages", indexes = {
+        @Index(name = "idx_packages_depot_route", columnList = "depot_id, delivery_route_id"),
+        @Index(name = "idx_packages_address_key", columnList = "address_key"),
+        @Index(name = "idx_packages_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,34 +34,136 @@ public class Package {
     @Column(nullable = false, length = 500)
     private String deliveryAddress;
 
+    // Canonical form of deliveryAddress, see AddressNormalizer
+    @Column(length = 500)
+    private String addressKey;
+
     @NotNull(message = "Weight is required")
     @Positive(message = "Weight must be positive")
     @Column(nullable = false)
     private Double weightKg;
 
+    @PositiveOrZero(message = "Volume must be positive or zero")
+    @Column
+    private Double volumeM3;
+
+    @PositiveOrZero(message = "Pallet slots must be positive or zero")
+    @Column
+    private Integer palletSlots;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private HazmatClass hazmatClass;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private ServiceTier serviceTier = ServiceTier.STANDARD;
+
     @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
     private PackageStatus status = PackageStatus.CREATED;
 
+    @Column
+    @Builder.Default
+    private LocalDateTime statusChangedAt = LocalDateTime.now();
+
+    // Drives the dispatch snapshot's delta reconciliation
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock; also part of the ETags served for this package
+    @Version
+    private Long version;
+
     @NotNull(message = "Delivery deadline is required")
     @Column(nullable = false)
     private LocalDateTime deliveryDeadline;
 
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+
+    @Column
+    private LocalDateTime earliestDelivery;
+
+    @Column
+    private LocalDateTime latestDelivery;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "delivery_route_id")
     private DeliveryRoute deliveryRoute;
 
+    @Column
+    private Integer stopSequence;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "depot_id")
+    private Depot depot;
+
+    public Long getDepotId() {
+        return depot != null ? depot.getId() : null;
+    }
+
+    /**
+     * Latest acceptable delivery time: the tighter of the delivery window and
+     * the deadline.
+     */
+    public LocalDateTime getEffectiveLatestDelivery() {
+        if (latestDelivery != null && latestDelivery.isBefore(deliveryDeadline)) {
+            return latestDelivery;
+        }
+        return deliveryDeadline;
+    }
+
+    public double getVolumeOrZero() {
+        return volumeM3 != null ? volumeM3 : 0.0;
+    }
+
+    public int getPalletSlotsOrZero() {
+        return palletSlots != null ? palletSlots : 0;
+    }
+
+    /**
+     * Whether an assignment that failed part-way may put the package back to
+     * {@code previous}. {@link #canTransitionTo} never allows this, so only
+     * the compensation of such an assignment can unload a package.
+     */
+    public boolean canRollBackTo(PackageStatus previous) {
+        return this.status == PackageStatus.LOADED && previous == PackageStatus.CREATED;
+    }
+
+    /**
+     * Whether a breakdown re-dispatch may move the package to {@code newStatus}:
+     * LOADED to IN_TRANSFER when its vehicle fails, then on to LOADED or back to
+     * CREATED. IN_TRANSFER never outlives that transaction, so
+     * {@link #canTransitionTo} allows neither side of it.
+     */
+    public boolean canTransferTo(PackageStatus newStatus) {
+        return switch (this.status) {
+            case LOADED -> newStatus == PackageStatus.IN_TRANSFER;
+            case IN_TRANSFER -> newStatus == PackageStatus.LOADED || newStatus == PackageStatus.CREATED;
+            default -> false;
+        };
+    }
+
     public boolean canTransitionTo(PackageStatus newStatus) {
+        if (this.status == PackageStatus.IN_TRANSFER || newStatus == PackageStatus.IN_TRANSFER) {
+            return false;
+        }
         if (this.status == newStatus) {
             return true;
         }
 
         return switch (this.status) {
-            case CREATED -> newStatus == PackageStatus.LOADED;
-            case LOADED -> newStatus == PackageStatus.DELIVERED;
-            case DELIVERED -> false;
+            case CREATED -> newStatus == PackageStatus.LOADED || newStatus == PackageStatus.CANCELLED;
+            case LOADED -> newStatus == PackageStatus.DELIVERED || newStatus == PackageStatus.CANCELLED;
+            case DELIVERED, CANCELLED, IN_TRANSFER -> false;
         };
     }
 }
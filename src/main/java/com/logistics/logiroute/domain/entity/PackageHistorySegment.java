@@ -0,0 +1,50 @@
+package com.logistics.logiroute.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * A compacted day of status history for one vehicle. The events are stored
+ * column by column in {@code payload} (see
+ * {@link com.logistics.logiroute.history.StatusSegmentCodec}); the package id
+ * range lets per-package lookups skip segments without decoding them.
+ */
+@Entity
+@Table(name = "package_history_segments", indexes = {
+        @Index(name = "idx_history_segments_day", columnList = "segment_day, vehicle_id"),
+        @Index(name = "idx_history_segments_packages", columnList = "min_package_id, max_package_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageHistorySegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "segment_day", nullable = false)
+    private LocalDate segmentDay;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    @Column(name = "min_package_id", nullable = false)
+    private Long minPackageId;
+
+    @Column(name = "max_package_id", nullable = false)
+    private Long maxPackageId;
+
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(nullable = false, length = 16_777_216)
+    private byte[] payload;
+}
@@ -0,0 +1,23 @@
+package com.logistics.logiroute.domain.entity;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link PackageStatus} as its stable code rather than its ordinal,
+ * so reordering the enum cannot change the meaning of stored history.
+ */
+@Converter
+public class PackageStatusCodeConverter implements AttributeConverter<PackageStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(PackageStatus status) {
+        return status != null ? (short) status.getCode() : null;
+    }
+
+    @Override
+    public PackageStatus convertToEntityAttribute(Short code) {
+        return code != null ? PackageStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.logistics.logiroute.domain.entity;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One package status transition in the append-only history log. Rows are keyed
+ * by day so that whole days can be compacted into segments once they go cold,
+ * and carry plain ids instead of associations so they outlive the packages and
+ * routes they describe. Statuses are stored as their
+ * {@link PackageStatus#getCode() codes}.
+ */
+@Entity
+@Table(name = "package_status_events", indexes = {
+        @Index(name = "idx_status_events_day_vehicle", columnList = "event_day, vehicle_id"),
+        @Index(name = "idx_status_events_package", columnList = "package_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageStatusEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_day", nullable = false)
+    private LocalDate eventDay;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "route_id")
+    private Long routeId;
+
+    @Convert(converter = PackageStatusCodeConverter.class)
+    @Column(name = "from_status", nullable = false)
+    private PackageStatus fromStatus;
+
+    @Convert(converter = PackageStatusCodeConverter.class)
+    @Column(name = "to_status", nullable = false)
+    private PackageStatus toStatus;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "dwell_seconds")
+    private Long dwellSeconds;
+}
@@ -6,12 +6,20 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicles_depot_status", columnList = "depot_id, status"),
+        @Index(name = "idx_vehicles_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,13 +46,55 @@ public class Vehicle {
     @Builder.Default
     private Double currentLoadKg = 0.0;
 
+    @PositiveOrZero(message = "Volume capacity must be positive or zero")
+    @Column
+    private Double capacityM3;
+
+    @PositiveOrZero(message = "Current volume must be positive or zero")
+    @Column
+    @Builder.Default
+    private Double currentLoadM3 = 0.0;
+
+    @PositiveOrZero(message = "Pallet slot capacity must be positive or zero")
+    @Column
+    private Integer palletSlotCapacity;
+
+    @PositiveOrZero(message = "Used pallet slots must be positive or zero")
+    @Column
+    @Builder.Default
+    private Integer currentPalletSlots = 0;
+
+    @Column
+    @Builder.Default
+    private Boolean hazmatCertified = false;
+
+    @Column
+    private LocalTime shiftStart;
+
+    @Column
+    private LocalTime shiftEnd;
+
     @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
     private VehicleStatus status = VehicleStatus.AVAILABLE;
 
-    @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "depot_id")
+    private Depot depot;
+
+    // Drives the dispatch snapshot's delta reconciliation
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock; also part of the ETags served for this vehicle
+    @Version
+    private Long version;
+
+    // REMOVE only: merging a vehicle must not initialise its whole route history
+    @OneToMany(mappedBy = "vehicle", cascade = CascadeType.REMOVE)
     @Builder.Default
     private List<DeliveryRoute> deliveryRoutes = new ArrayList<>();
 
@@ -52,6 +102,58 @@ public class Vehicle {
         return capacityKg - currentLoadKg;
     }
 
+    /**
+     * Remaining volume, or {@link Double#POSITIVE_INFINITY} when the vehicle
+     * does not track volume.
+     */
+    public double getRemainingVolumeM3() {
+        return capacityM3 != null ? capacityM3 - currentVolume() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Remaining pallet slots, or {@link Double#POSITIVE_INFINITY} when the
+     * vehicle does not track slots.
+     */
+    public double getRemainingPalletSlots() {
+        return palletSlotCapacity != null ? palletSlotCapacity - currentSlots() : Double.POSITIVE_INFINITY;
+    }
+
+    public boolean isHazmatCertified() {
+        return Boolean.TRUE.equals(hazmatCertified);
+    }
+
+    public Long getDepotId() {
+        return depot != null ? depot.getId() : null;
+    }
+
+    /**
+     * Vehicles only serve packages of their own depot. Vehicles and packages
+     * without a depot form the shared legacy pool.
+     */
+    public boolean servesDepotOf(Package pkg) {
+        return Objects.equals(getDepotId(), pkg.getDepotId());
+    }
+
+    /**
+     * Start of the driver shift on the given day; vehicles without a shift are
+     * available from midnight.
+     */
+    public LocalDateTime getShiftStartOn(LocalDate day) {
+        return day.atTime(shiftStart != null ? shiftStart : LocalTime.MIN);
+    }
+
+    /**
+     * End of the driver shift on the given day. Shifts ending before they start
+     * run past midnight.
+     */
+    public LocalDateTime getShiftEndOn(LocalDate day) {
+        if (shiftEnd == null) {
+            return day.plusDays(1).atStartOfDay();
+        }
+        LocalDateTime end = day.atTime(shiftEnd);
+        return end.isAfter(getShiftStartOn(day)) ? end : end.plusDays(1);
+    }
+
     public boolean canLoad(double weightKg) {
         return getRemainingCapacityKg() >= weightKg;
     }
@@ -60,7 +162,27 @@ public class Vehicle {
         this.currentLoadKg += weightKg;
     }
 
+    public void addLoad(double weightKg, double volumeM3, int palletSlots) {
+        addLoad(weightKg);
+        this.currentLoadM3 = currentVolume() + volumeM3;
+        this.currentPalletSlots = currentSlots() + palletSlots;
+    }
+
     public void removeLoad(double weightKg) {
         this.currentLoadKg = Math.max(0, this.currentLoadKg - weightKg);
     }
+
+    public void removeLoad(double weightKg, double volumeM3, int palletSlots) {
+        removeLoad(weightKg);
+        this.currentLoadM3 = Math.max(0, currentVolume() - volumeM3);
+        this.currentPalletSlots = Math.max(0, currentSlots() - palletSlots);
+    }
+
+    private double currentVolume() {
+        return currentLoadM3 != null ? currentLoadM3 : 0.0;
+    }
+
+    private int currentSlots() {
+        return currentPalletSlots != null ? currentPalletSlots : 0;
+    }
 }
@@ -0,0 +1,44 @@
+package com.logistics.logiroute.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A downsampled GPS fix of a vehicle, written in batches by the telemetry
+ * writer. Carries the plain vehicle id so the track outlives the vehicle.
+ */
+@Entity
+@Table(name = "vehicle_positions", indexes = {
+        @Index(name = "idx_vehicle_positions_vehicle_time", columnList = "vehicle_id, recorded_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehiclePosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(name = "speed_kmh")
+    private Double speedKmh;
+
+    @Column(name = "heading_degrees")
+    private Double headingDegrees;
+}
@@ -0,0 +1,17 @@
+package com.logistics.logiroute.domain.enums;
+
+/**
+ * UN dangerous goods classes. Packages with a hazmat class can only be loaded
+ * onto vehicles certified for dangerous goods.
+ */
+public enum HazmatClass {
+    EXPLOSIVES,
+    GASES,
+    FLAMMABLE_LIQUIDS,
+    FLAMMABLE_SOLIDS,
+    OXIDIZERS,
+    TOXIC,
+    RADIOACTIVE,
+    CORROSIVE,
+    MISCELLANEOUS
+}
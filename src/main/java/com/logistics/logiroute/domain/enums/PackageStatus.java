@@ -1,7 +1,46 @@
 package com.logistics.logiroute.domain.enums;
 
+/**
+ * Lifecycle of a package. Each status has a fixed code that the status history
+ * stores instead of the ordinal; codes must never change or be reused, and
+ * must fit in four bits because history segments pack two into one byte.
+ */
 public enum PackageStatus {
-    CREATED,
-    LOADED,
-    DELIVERED
+    CREATED(0),
+    LOADED(1),
+    DELIVERED(2),
+    CANCELLED(3),
+    // On a vehicle that broke down, waiting to be moved to another route
+    IN_TRANSFER(4);
+
+    public static final int MAX_CODE = 15;
+
+    private static final PackageStatus[] BY_CODE = new PackageStatus[MAX_CODE + 1];
+
+    static {
+        for (PackageStatus status : values()) {
+            if (status.code < 0 || status.code > MAX_CODE || BY_CODE[status.code] != null) {
+                throw new IllegalStateException("Invalid or duplicate code " + status.code + " for " + status);
+            }
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final int code;
+
+    PackageStatus(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static PackageStatus fromCode(int code) {
+        PackageStatus status = code >= 0 && code <= MAX_CODE ? BY_CODE[code] : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown package status code " + code);
+        }
+        return status;
+    }
 }
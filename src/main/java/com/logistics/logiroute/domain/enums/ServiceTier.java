@@ -0,0 +1,28 @@
+package com.logistics.logiroute.domain.enums;
+
+/**
+ * Service level bought for a package. The head start is how many minutes of
+ * deadline slack the tier is worth in the dispatch queue.
+ */
+public enum ServiceTier {
+    SAME_DAY(720),
+    EXPRESS(240),
+    STANDARD(0);
+
+    private final int headStartMinutes;
+
+    ServiceTier(int headStartMinutes) {
+        this.headStartMinutes = headStartMinutes;
+    }
+
+    public int getHeadStartMinutes() {
+        return headStartMinutes;
+    }
+
+    /**
+     * Packages created before tiers existed have none and count as STANDARD.
+     */
+    public static ServiceTier orDefault(ServiceTier tier) {
+        return tier != null ? tier : STANDARD;
+    }
+}
@@ -2,5 +2,6 @@ package com.logistics.logiroute.domain.enums;
 
 public enum VehicleStatus {
     AVAILABLE,
-    IN_TRANSIT
+    IN_TRANSIT,
+    OUT_OF_SERVICE
 }
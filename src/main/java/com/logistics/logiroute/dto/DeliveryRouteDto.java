@@ -21,4 +21,7 @@ public class DeliveryRouteDto {
     private LocalDateTime createdAt;
     private LocalDateTime completedAt;
     private Double totalWeight;
+    private LocalDateTime plannedStart;
+    private LocalDateTime plannedEnd;
+    private LocalDateTime dispatchedAt;
 }
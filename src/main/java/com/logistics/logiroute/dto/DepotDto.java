@@ -0,0 +1,26 @@
+package com.logistics.logiroute.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepotDto {
+
+    private Long id;
+
+    @NotBlank(message = "Depot code is required")
+    private String code;
+
+    @NotBlank(message = "Depot name is required")
+    private String name;
+
+    private Double latitude;
+
+    private Double longitude;
+}
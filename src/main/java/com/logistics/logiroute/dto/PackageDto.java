@@ -1,9 +1,12 @@
 package com.logistics.logiroute.dto;
 
+import com.logistics.logiroute.domain.enums.HazmatClass;
 import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,15 +25,44 @@ public class PackageDto {
     @NotBlank(message = "Delivery address is required")
     private String deliveryAddress;
 
+    // Derived from deliveryAddress on ingest; ignored on input
+    private String addressKey;
+
     @NotNull(message = "Weight is required")
     @Positive(message = "Weight must be positive")
     private Double weightKg;
 
+    @PositiveOrZero(message = "Volume must be positive or zero")
+    private Double volumeM3;
+
+    @PositiveOrZero(message = "Pallet slots must be positive or zero")
+    private Integer palletSlots;
+
+    private HazmatClass hazmatClass;
+
+    // Defaults to STANDARD when omitted
+    private ServiceTier serviceTier;
+
     @NotNull(message = "Status is required")
     private PackageStatus status;
 
     @NotNull(message = "Delivery deadline is required")
     private LocalDateTime deliveryDeadline;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    private LocalDateTime earliestDelivery;
+
+    private LocalDateTime latestDelivery;
+
     private Long deliveryRouteId;
+
+    private Integer stopSequence;
+
+    private Long depotId;
+
+    // True when the package was read from the archive tables
+    private boolean archived;
 }
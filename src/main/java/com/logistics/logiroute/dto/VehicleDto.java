@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,8 +29,28 @@ public class VehicleDto {
     @PositiveOrZero(message = "Current load must be positive or zero")
     private Double currentLoadKg;
 
+    @PositiveOrZero(message = "Volume capacity must be positive or zero")
+    private Double capacityM3;
+
+    @PositiveOrZero(message = "Current volume must be positive or zero")
+    private Double currentLoadM3;
+
+    @PositiveOrZero(message = "Pallet slot capacity must be positive or zero")
+    private Integer palletSlotCapacity;
+
+    @PositiveOrZero(message = "Used pallet slots must be positive or zero")
+    private Integer currentPalletSlots;
+
+    private Boolean hazmatCertified;
+
+    private LocalTime shiftStart;
+
+    private LocalTime shiftEnd;
+
     @NotNull(message = "Status is required")
     private VehicleStatus status;
 
     private Double remainingCapacityKg;
+
+    private Long depotId;
 }
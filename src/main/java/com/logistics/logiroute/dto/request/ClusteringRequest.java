@@ -0,0 +1,25 @@
+package com.logistics.logiroute.dto.request;
+
+import com.logistics.logiroute.optimization.CapacitatedClustering;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusteringRequest {
+
+    @Builder.Default
+    private CapacitatedClustering.Method method = CapacitatedClustering.Method.KMEANS;
+
+    // Only this depot's packages; all depots and the shared pool when null
+    private Long depotId;
+
+    // Defaults to logiroute.clustering.max-iterations
+    @Positive(message = "Max iterations must be positive")
+    private Integer maxIterations;
+}
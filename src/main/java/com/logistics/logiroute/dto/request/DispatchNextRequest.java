@@ -0,0 +1,22 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchNextRequest {
+
+    @NotNull(message = "Vehicle ID is required")
+    private Long vehicleId;
+
+    // Defaults to logiroute.dispatch-queue.default-batch-size
+    @Positive(message = "Max packages must be positive")
+    private Integer maxPackages;
+}
@@ -0,0 +1,27 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanTripsRequest {
+
+    @NotNull(message = "Vehicle ID is required")
+    private Long vehicleId;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotEmpty(message = "Package IDs list cannot be empty")
+    private List<Long> packageIds;
+}
@@ -0,0 +1,21 @@
+package com.logistics.logiroute.dto.request;
+
+import com.logistics.logiroute.dto.PositionDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionBatchRequest {
+
+    @NotEmpty(message = "Positions list cannot be empty")
+    private List<@Valid PositionDto> positions;
+}
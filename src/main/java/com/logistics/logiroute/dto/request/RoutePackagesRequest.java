@@ -0,0 +1,19 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePackagesRequest {
+
+    @NotEmpty(message = "Package IDs list cannot be empty")
+    private List<Long> packageIds;
+}
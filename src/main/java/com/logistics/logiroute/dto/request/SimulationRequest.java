@@ -0,0 +1,21 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one scenario is required")
+    private List<SimulationScenario> scenarios;
+}
@@ -0,0 +1,53 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationScenario {
+
+    @NotBlank(message = "Scenario name is required")
+    private String name;
+
+    @Builder.Default
+    private List<Long> closedDepotIds = new ArrayList<>();
+
+    @Valid
+    @Builder.Default
+    private List<ExtraVehicles> extraVehicles = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExtraVehicles {
+
+        private Long depotId;
+
+        @NotNull(message = "Vehicle count is required")
+        @Positive(message = "Vehicle count must be positive")
+        private Integer count;
+
+        @NotNull(message = "Capacity is required")
+        @Positive(message = "Capacity must be positive")
+        private Double capacityKg;
+
+        private Double capacityM3;
+
+        private Integer palletSlotCapacity;
+
+        private Boolean hazmatCertified;
+    }
+}
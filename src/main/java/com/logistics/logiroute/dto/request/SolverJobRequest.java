@@ -0,0 +1,28 @@
+package com.logistics.logiroute.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverJobRequest {
+
+    // Only this depot's packages; all depots and the shared pool when null
+    private Long depotId;
+
+    // Defaults to logiroute.solver.time-limit-seconds
+    @Positive(message = "Time limit must be positive")
+    private Integer timeLimitSeconds;
+
+    // Defaults to logiroute.solver.restarts
+    @Positive(message = "Restarts must be positive")
+    private Integer restarts;
+
+    // Random seed of the first search; reruns with the same seed explore the same moves
+    private Long seed;
+}
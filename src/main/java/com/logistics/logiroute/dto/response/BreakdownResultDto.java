@@ -0,0 +1,25 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a vehicle breakdown: the routes it was taken off, the packages
+ * moved to other vehicles and those returned to the unassigned pool.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreakdownResultDto {
+
+    private Long vehicleId;
+    private List<Long> closedRouteIds;
+    private List<PackageTransferDto> transferred;
+    private List<Long> returnedPackageIds;
+    private long elapsedMillis;
+}
@@ -0,0 +1,33 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one clustering run with its quality figures. Fill is load over
+ * the cluster capacity in the fullest dimension; distances are from each
+ * package to its cluster's centroid.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusteringResultDto {
+
+    private String method;
+    private int totalPackages;
+    private int clusterCount;
+    private int clusteredPackages;
+    private List<Long> unclusteredPackageIds;
+    private double meanDistanceKm;
+    private double maxRadiusKm;
+    private double meanFill;
+    private double minFill;
+    private int iterations;
+    private long runtimeMs;
+    private List<PackageClusterDto> clusters;
+}
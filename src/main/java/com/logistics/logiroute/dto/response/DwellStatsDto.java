@@ -0,0 +1,26 @@
+package com.logistics.logiroute.dto.response;
+
+import com.logistics.logiroute.history.DwellGrouping;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dwell-time percentiles, in seconds, for one vehicle, one route or the whole
+ * fleet ({@code key} is null for {@link DwellGrouping#NONE}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DwellStatsDto {
+
+    private DwellGrouping groupBy;
+    private Long key;
+    private int count;
+    private long p50Seconds;
+    private long p90Seconds;
+    private long p99Seconds;
+    private long maxSeconds;
+}
@@ -0,0 +1,24 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a streaming import. Only the first errors are reported; each is
+ * prefixed with the line the rejected record starts on.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDto {
+
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<String> errors;
+}
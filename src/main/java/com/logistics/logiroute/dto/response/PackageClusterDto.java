@@ -0,0 +1,23 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageClusterDto {
+
+    private Long depotId;
+    private double centroidLatitude;
+    private double centroidLongitude;
+    private double weightKg;
+    private double fill;
+    private double radiusKm;
+    private List<Long> packageIds;
+}
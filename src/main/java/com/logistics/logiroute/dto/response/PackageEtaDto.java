@@ -0,0 +1,26 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageEtaDto {
+
+    private Long packageId;
+    private Long routeId;
+    private Long vehicleId;
+    // Undelivered stops before this one
+    private int stopsAhead;
+    private LocalDateTime estimatedArrival;
+    private LocalDateTime deliveryDeadline;
+    private boolean onTime;
+    // Time of the position fix, delivery or dispatch the estimate starts from
+    private LocalDateTime basedOn;
+}
@@ -0,0 +1,24 @@
+package com.logistics.logiroute.dto.response;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageStatusEventDto {
+
+    private Long packageId;
+    private Long vehicleId;
+    private Long routeId;
+    private PackageStatus fromStatus;
+    private PackageStatus toStatus;
+    private LocalDateTime occurredAt;
+    private Long dwellSeconds;
+}
@@ -0,0 +1,23 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a package from a broken-down vehicle was moved to.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageTransferDto {
+
+    private Long packageId;
+    private Long vehicleId;
+    private Long routeId;
+    private Integer stopSequence;
+    private double addedKm;
+    private boolean onTime;
+}
@@ -0,0 +1,22 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One vehicle's stops in a solver plan, in visiting order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedRouteDto {
+
+    private Long depotId;
+    private Long vehicleId;
+    private List<Long> packageIds;
+}
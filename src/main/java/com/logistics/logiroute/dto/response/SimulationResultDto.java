@@ -0,0 +1,23 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResultDto {
+
+    private String scenario;
+    private int vehiclesAvailable;
+    private int vehiclesUsed;
+    private int totalPackages;
+    private int unassignedPackages;
+    private int latePackages;
+    private double totalKm;
+    private double utilization;
+    private long runtimeMs;
+}
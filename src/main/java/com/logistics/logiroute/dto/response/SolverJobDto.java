@@ -0,0 +1,43 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a solver job and the best plan it has found so far, next to the
+ * greedy plan it started from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverJobDto {
+
+    private Long jobId;
+    private String status;
+    private Long depotId;
+    private LocalDateTime startedAt;
+    private long elapsedMs;
+    private int timeLimitSeconds;
+    private int searches;
+    private int searchesFinished;
+    private long iterations;
+    private int improvements;
+    private int totalPackages;
+    private double greedyKm;
+    private int greedyLatePackages;
+    private int greedyUnassignedPackages;
+    private double bestKm;
+    private int latePackages;
+    private int unassignedPackages;
+    private int vehiclesUsed;
+    private double kmSavedPercent;
+    private String error;
+    private List<PlannedRouteDto> routes;
+    private List<Long> unassignedPackageIds;
+}
@@ -0,0 +1,19 @@
+package com.logistics.logiroute.dto.response;
+
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPlanResponse {
+
+    private List<DeliveryRouteDto> trips;
+    private List<Long> unscheduledPackageIds;
+}
@@ -0,0 +1,28 @@
+package com.logistics.logiroute.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Route KPIs of one vehicle for one bucket, or for the whole requested range
+ * when {@code bucketStart} is null. Ratios are null when undefined.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleKpiDto {
+
+    private Long vehicleId;
+    private LocalDateTime bucketStart;
+    private long routesCompleted;
+    private long packagesDelivered;
+    private Double packagesPerRoute;
+    private Double onTimeRate;
+    private Double utilization;
+    private Double averageRouteMinutes;
+}
@@ -0,0 +1,15 @@
+package com.logistics.logiroute.eta;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estimated arrival at one stop of a dispatched route, and what it is based
+ * on: the vehicle's fix, delivery or departure at {@code basedOn}.
+ */
+public record PackageEta(Long packageId, Long routeId, Long vehicleId, int stopsAhead,
+                         LocalDateTime estimatedArrival, LocalDateTime deliveryDeadline, LocalDateTime basedOn) {
+
+    public boolean onTime() {
+        return !estimatedArrival.isAfter(deliveryDeadline);
+    }
+}
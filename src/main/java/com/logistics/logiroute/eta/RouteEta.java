@@ -0,0 +1,119 @@
+package com.logistics.logiroute.eta;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The undelivered stops of one dispatched route, in stop sequence, and the
+ * vehicle's last known whereabouts. {@link #recompute} walks the remaining
+ * stops once, so its cost depends on this route only. Not thread-safe; the
+ * caller serialises access per route.
+ */
+public final class RouteEta {
+
+    private final Long routeId;
+    private final Long vehicleId;
+    private final List<Stop> remaining;
+    private double originLatitude;
+    private double originLongitude;
+    private LocalDateTime originTime;
+
+    /**
+     * @param origin where and when the vehicle was last known to be: its
+     *               latest fix, last delivery, or the depot at dispatch
+     */
+    public RouteEta(Long routeId, Long vehicleId, List<Stop> stops,
+                    double originLatitude, double originLongitude, LocalDateTime origin) {
+        this.routeId = routeId;
+        this.vehicleId = vehicleId;
+        this.remaining = new ArrayList<>(stops);
+        this.originLatitude = originLatitude;
+        this.originLongitude = originLongitude;
+        this.originTime = origin;
+    }
+
+    public Long getRouteId() {
+        return routeId;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public int getRemainingStops() {
+        return remaining.size();
+    }
+
+    public LocalDateTime getOriginTime() {
+        return originTime;
+    }
+
+    /**
+     * Moves the origin unless the fix is older than what is already known.
+     *
+     * @return whether the origin moved
+     */
+    public boolean moveTo(double latitude, double longitude, LocalDateTime time) {
+        if (time.isBefore(originTime)) {
+            return false;
+        }
+        originLatitude = latitude;
+        originLongitude = longitude;
+        originTime = time;
+        return true;
+    }
+
+    /**
+     * Takes the stop off the route; a delivery also moves the origin to it.
+     *
+     * @return whether the package was a remaining stop
+     */
+    public boolean remove(Long packageId, LocalDateTime at, boolean delivered) {
+        for (int i = 0; i < remaining.size(); i++) {
+            Stop stop = remaining.get(i);
+            if (stop.packageId().equals(packageId)) {
+                remaining.remove(i);
+                if (delivered && !Double.isNaN(stop.latitude())) {
+                    moveTo(stop.latitude(), stop.longitude(), at);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Arrival estimates for the remaining stops, in order: drive time from
+     * the speed profile for each leg, plus {@code serviceSeconds} at every
+     * stop before it.
+     */
+    public List<PackageEta> recompute(SpeedProfile speeds, long serviceSeconds) {
+        List<PackageEta> etas = new ArrayList<>(remaining.size());
+        LocalDateTime clock = originTime;
+        double lat = originLatitude;
+        double lon = originLongitude;
+        for (int i = 0; i < remaining.size(); i++) {
+            Stop stop = remaining.get(i);
+            clock = clock.plusSeconds(speeds.driveSeconds(lat, lon, stop.latitude(), stop.longitude(), clock));
+            etas.add(new PackageEta(stop.packageId(), routeId, vehicleId, i, clock, stop.deadline(), originTime));
+            clock = clock.plusSeconds(serviceSeconds);
+            // A stop without coordinates keeps the previous position
+            if (!Double.isNaN(stop.latitude())) {
+                lat = stop.latitude();
+                lon = stop.longitude();
+            }
+        }
+        return etas;
+    }
+
+    public List<Long> packageIds() {
+        return remaining.stream().map(Stop::packageId).toList();
+    }
+
+    /**
+     * Coordinates may be {@link Double#NaN} when the package was not geocoded.
+     */
+    public record Stop(Long packageId, double latitude, double longitude, LocalDateTime deadline) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.logistics.logiroute.eta;
+
+import com.logistics.logiroute.optimization.GeoDistance;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Historical driving speeds by grid cell and hour of day. Each observed
+ * segment between two fixes of a vehicle updates the cell of its midpoint
+ * and the fleet-wide figure for its hour, as a running mean that turns into
+ * an exponentially weighted one after {@code 1 / ALPHA} samples. Segments
+ * that look like a stop (under {@link #MIN_SPEED_KMH}) or a GPS jump are
+ * ignored. Thread-safe.
+ */
+public final class SpeedProfile {
+
+    static final double MIN_SPEED_KMH = 3.0;
+    static final double MAX_SPEED_KMH = 150.0;
+    private static final double ALPHA = 0.05;
+
+    private final double defaultSpeedKmh;
+    private final double cellDegrees;
+    private final int minSamples;
+    private final long minGapSeconds;
+    private final long maxGapSeconds;
+    private final Map<Long, Estimate> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, Estimate> hours = new ConcurrentHashMap<>();
+
+    public SpeedProfile(double defaultSpeedKmh, double cellDegrees, int minSamples,
+                        long minGapSeconds, long maxGapSeconds) {
+        this.defaultSpeedKmh = defaultSpeedKmh;
+        this.cellDegrees = cellDegrees;
+        this.minSamples = minSamples;
+        this.minGapSeconds = minGapSeconds;
+        this.maxGapSeconds = maxGapSeconds;
+    }
+
+    /**
+     * Learns from the segment between two consecutive fixes of one vehicle.
+     *
+     * @return whether the segment was used
+     */
+    public boolean record(double lat1, double lon1, LocalDateTime t1, double lat2, double lon2, LocalDateTime t2) {
+        long seconds = Duration.between(t1, t2).getSeconds();
+        if (seconds < minGapSeconds || seconds > maxGapSeconds) {
+            return false;
+        }
+        double speed = GeoDistance.haversineKm(lat1, lon1, lat2, lon2) / seconds * 3600;
+        if (speed < MIN_SPEED_KMH || speed > MAX_SPEED_KMH) {
+            return false;
+        }
+        int hour = t1.plusSeconds(seconds / 2).getHour();
+        cells.merge(cellKey((lat1 + lat2) / 2, (lon1 + lon2) / 2, hour), new Estimate(speed, 1), Estimate::add);
+        hours.merge(hour, new Estimate(speed, 1), Estimate::add);
+        return true;
+    }
+
+    /**
+     * Expected speed on a leg starting at the given hour: its midpoint
+     * cell's, else the hour's fleet-wide, else the configured default.
+     */
+    public double speedKmh(double lat1, double lon1, double lat2, double lon2, int hour) {
+        if (!Double.isNaN(lat1) && !Double.isNaN(lat2) && !Double.isNaN(lon1) && !Double.isNaN(lon2)) {
+            Estimate cell = cells.get(cellKey((lat1 + lat2) / 2, (lon1 + lon2) / 2, hour));
+            if (cell != null && cell.samples() >= minSamples) {
+                return cell.speedKmh();
+            }
+        }
+        Estimate fleet = hours.get(hour);
+        return fleet != null && fleet.samples() >= minSamples ? fleet.speedKmh() : defaultSpeedKmh;
+    }
+
+    public long driveSeconds(double lat1, double lon1, double lat2, double lon2, LocalDateTime departure) {
+        double km = GeoDistance.haversineKm(lat1, lon1, lat2, lon2);
+        return km == 0.0 ? 0L : (long) (km / speedKmh(lat1, lon1, lat2, lon2, departure.getHour()) * 3600);
+    }
+
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    private long cellKey(double latitude, double longitude, int hour) {
+        long row = (long) Math.floor((latitude + 90) / cellDegrees);
+        long column = (long) Math.floor((longitude + 180) / cellDegrees);
+        return (row << 36) | (column << 5) | hour;
+    }
+
+    private record Estimate(double speedKmh, long samples) {
+
+        Estimate add(Estimate sample) {
+            double weight = Math.max(ALPHA, 1.0 / (samples + 1));
+            return new Estimate(speedKmh + weight * (sample.speedKmh - speedKmh), samples + 1);
+        }
+    }
+}
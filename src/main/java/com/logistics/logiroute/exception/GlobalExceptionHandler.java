@@ -4,8 +4,11 @@ import com.logistics.logiroute.dto.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -30,7 +33,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return respond(HttpStatus.BAD_REQUEST, error);
     }
 
     @ExceptionHandler(InvalidStatusTransitionException.class)
@@ -46,7 +49,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return respond(HttpStatus.BAD_REQUEST, error);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -62,7 +65,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return respond(HttpStatus.NOT_FOUND, error);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -86,7 +89,7 @@ public class GlobalExceptionHandler {
                 validationErrors
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return respond(HttpStatus.BAD_REQUEST, error);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -102,7 +105,39 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return respond(HttpStatus.BAD_REQUEST, error);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+        log.error("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                "The resource was changed by another request. Reload it and try again.",
+                request.getRequestURI()
+        );
+
+        return respond(HttpStatus.CONFLICT, error);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ErrorResponse> handleMediaTypeNotAcceptableException(
+            HttpMediaTypeNotAcceptableException ex,
+            HttpServletRequest request) {
+        log.error("Not acceptable: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.NOT_ACCEPTABLE.value(),
+                "Not Acceptable",
+                "Supported media types: " + ex.getSupportedMediaTypes(),
+                request.getRequestURI()
+        );
+
+        return respond(HttpStatus.NOT_ACCEPTABLE, error);
     }
 
     @ExceptionHandler(Exception.class)
@@ -118,6 +153,11 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, error);
+    }
+
+    // Errors are always JSON, even when the client only accepts a binary encoding
+    private static ResponseEntity<ErrorResponse> respond(HttpStatus status, ErrorResponse error) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 }
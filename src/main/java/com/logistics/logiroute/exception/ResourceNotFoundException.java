@@ -22,9 +22,27 @@ public class ResourceNotFoundException extends RuntimeException {
         );
     }
 
+    public static ResourceNotFoundException forDepot(Long depotId) {
+        return new ResourceNotFoundException(
+                String.format("Depot with ID %d not found", depotId)
+        );
+    }
+
     public static ResourceNotFoundException forDeliveryRoute(Long routeId) {
         return new ResourceNotFoundException(
                 String.format("Delivery route with ID %d not found", routeId)
         );
     }
+
+    public static ResourceNotFoundException forVehiclePosition(Long vehicleId) {
+        return new ResourceNotFoundException(
+                String.format("No position reported for vehicle with ID %d", vehicleId)
+        );
+    }
+
+    public static ResourceNotFoundException forSolverJob(Long jobId) {
+        return new ResourceNotFoundException(
+                String.format("Solver job with ID %d not found", jobId)
+        );
+    }
 }
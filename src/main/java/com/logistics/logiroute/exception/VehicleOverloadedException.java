@@ -16,4 +16,17 @@ public class VehicleOverloadedException extends RuntimeException {
                         licensePlate, packageWeight, remainingCapacity)
         );
     }
+
+    public static VehicleOverloadedException forDimension(String licensePlate, String dimension, double requested, double remaining) {
+        return new VehicleOverloadedException(
+                String.format("Vehicle '%s' cannot load packages needing %.2f %s. Remaining %s: %.2f",
+                        licensePlate, requested, dimension, dimension, remaining)
+        );
+    }
+
+    public static VehicleOverloadedException forHazmat(String licensePlate) {
+        return new VehicleOverloadedException(
+                String.format("Vehicle '%s' is not certified for hazardous materials", licensePlate)
+        );
+    }
 }
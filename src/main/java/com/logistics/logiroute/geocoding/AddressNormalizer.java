@@ -0,0 +1,70 @@
+package com.logistics.logiroute.geocoding;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a free-text delivery address to a canonical key: accents and case
+ * are folded, punctuation becomes whitespace and common street-type and
+ * directional words are abbreviated, so that "123 Main Street, New York" and
+ * "123 main st new york" share a key.
+ */
+public final class AddressNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            Map.entry("street", "st"), Map.entry("str", "st"),
+            Map.entry("avenue", "ave"), Map.entry("av", "ave"),
+            Map.entry("road", "rd"),
+            Map.entry("boulevard", "blvd"),
+            Map.entry("drive", "dr"),
+            Map.entry("lane", "ln"),
+            Map.entry("court", "ct"),
+            Map.entry("place", "pl"),
+            Map.entry("square", "sq"),
+            Map.entry("highway", "hwy"),
+            Map.entry("north", "n"), Map.entry("south", "s"),
+            Map.entry("east", "e"), Map.entry("west", "w"),
+            Map.entry("apartment", "apt"), Map.entry("suite", "ste"),
+            Map.entry("sokak", "sk"), Map.entry("sokagi", "sk"),
+            Map.entry("cadde", "cd"), Map.entry("caddesi", "cd"), Map.entry("cad", "cd"),
+            Map.entry("mahalle", "mah"), Map.entry("mahallesi", "mah"));
+
+    // Tokens that carry no location information
+    private static final Set<String> NOISE = Set.of("usa", "us", "no");
+
+    private AddressNormalizer() {
+    }
+
+    /**
+     * Returns the canonical key, or {@code null} for a blank address.
+     */
+    public static String normalize(String address) {
+        if (address == null || address.isBlank()) {
+            return null;
+        }
+
+        String folded = Normalizer.normalize(address, Normalizer.Form.NFKD);
+        folded = COMBINING_MARKS.matcher(folded).replaceAll("")
+                .replace('ı', 'i')
+                .replace("ß", "ss")
+                .toLowerCase(Locale.ROOT);
+
+        StringJoiner key = new StringJoiner(" ");
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.isEmpty() || NOISE.contains(token)) {
+                continue;
+            }
+            key.add(ABBREVIATIONS.getOrDefault(token, token));
+        }
+
+        String result = key.toString();
+        return result.isEmpty() ? null : result;
+    }
+}
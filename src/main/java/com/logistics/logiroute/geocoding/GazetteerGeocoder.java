@@ -0,0 +1,65 @@
+package com.logistics.logiroute.geocoding;
+
+import com.logistics.logiroute.bulk.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local geocoder backed by a gazetteer CSV of {@code address,latitude,longitude}
+ * rows. Addresses are normalized on load, so lookups match any spelling that
+ * shares the canonical key. Stands in for an external geocoding service in
+ * development and tests.
+ */
+@Slf4j
+public class GazetteerGeocoder implements Geocoder {
+
+    private final Map<String, GeoPoint> entries;
+
+    public GazetteerGeocoder(Map<String, GeoPoint> entries) {
+        this.entries = Map.copyOf(entries);
+    }
+
+    public static GazetteerGeocoder load(InputStream input) throws IOException {
+        Map<String, GeoPoint> entries = new HashMap<>();
+        try (CsvReader reader = new CsvReader(Channels.newChannel(input), StandardCharsets.UTF_8)) {
+            // Header row
+            reader.next();
+            while (reader.next()) {
+                if (reader.fieldCount() < 3) {
+                    throw new IllegalArgumentException("Gazetteer line " + reader.lineNumber()
+                            + ": expected address, latitude and longitude");
+                }
+                String key = AddressNormalizer.normalize(reader.field(0));
+                if (key == null) {
+                    continue;
+                }
+                try {
+                    entries.put(key, new GeoPoint(
+                            Double.parseDouble(reader.field(1).trim()),
+                            Double.parseDouble(reader.field(2).trim())));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Gazetteer line " + reader.lineNumber()
+                            + ": invalid coordinates", ex);
+                }
+            }
+        }
+        log.info("Loaded gazetteer with {} addresses", entries.size());
+        return new GazetteerGeocoder(entries);
+    }
+
+    @Override
+    public Optional<GeoPoint> geocode(String addressKey) {
+        return Optional.ofNullable(entries.get(addressKey));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
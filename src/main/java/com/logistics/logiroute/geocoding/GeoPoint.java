@@ -0,0 +1,7 @@
+package com.logistics.logiroute.geocoding;
+
+/**
+ * Coordinates resolved for an address key.
+ */
+public record GeoPoint(double latitude, double longitude) {
+}
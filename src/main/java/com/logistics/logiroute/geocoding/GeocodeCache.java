@@ -0,0 +1,180 @@
+package com.logistics.logiroute.geocoding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent geocode cache: an open-addressing hash table in a memory-mapped
+ * file, so it survives restarts and its size is fixed up front. Each slot holds
+ * a 64-bit hash of the address key and the coordinates; addresses the geocoder
+ * could not resolve are cached too, as {@link #NOT_FOUND}.
+ * <p>
+ * Keys are not stored, only their hashes; with 64-bit hashes a collision is
+ * practically impossible at the sizes this is meant for. When every slot in a
+ * key's probe window is taken, one of them is overwritten, which bounds the
+ * table without any bookkeeping. Reads are lock-free; writers are serialized.
+ */
+public final class GeocodeCache implements Closeable {
+
+    public static final GeoPoint NOT_FOUND = new GeoPoint(Double.NaN, Double.NaN);
+
+    private static final int MAGIC = 0x4c47_4331; // "LGC1"
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 24;
+    private static final int MAX_PROBES = 8;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private GeocodeCache(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Opens the cache file, creating it if missing. A file written with a
+     * different capacity or format is discarded and recreated.
+     */
+    public static GeocodeCache open(Path file, int maxEntries) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(MAX_PROBES, maxEntries - 1)) << 1;
+        long size = HEADER_BYTES + (long) capacity * SLOT_BYTES;
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean reset = channel.size() != size;
+            if (reset) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            if (reset || buffer.getInt(0) != MAGIC || buffer.getInt(4) != capacity) {
+                // A freshly extended file is already zero-filled
+                for (int offset = 0; !reset && offset < size; offset += Long.BYTES) {
+                    buffer.putLong(offset, 0L);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, capacity);
+            }
+            return new GeocodeCache(channel, buffer, capacity);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the cached coordinates, {@link #NOT_FOUND} if the key is cached
+     * as unresolvable, or {@code null} if it is not cached.
+     */
+    public GeoPoint get(String addressKey) {
+        long hash = hash(addressKey);
+        int home = (int) hash & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = slotOffset((home + probe) & mask);
+            long stored = (long) LONGS.getAcquire(buffer, offset);
+            if (stored == 0L) {
+                break;
+            }
+            if (stored == hash) {
+                double latitude = Double.longBitsToDouble((long) LONGS.getAcquire(buffer, offset + 8));
+                double longitude = Double.longBitsToDouble((long) LONGS.getAcquire(buffer, offset + 16));
+                // The slot may have been evicted while we read it
+                if ((long) LONGS.getAcquire(buffer, offset) != hash) {
+                    break;
+                }
+                hits.increment();
+                return Double.isNaN(latitude) ? NOT_FOUND : new GeoPoint(latitude, longitude);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the coordinates for a key; pass {@link #NOT_FOUND} to remember
+     * that the key could not be resolved.
+     */
+    public synchronized void put(String addressKey, GeoPoint point) {
+        long hash = hash(addressKey);
+        int home = (int) hash & mask;
+        int target = -1;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (home + probe) & mask;
+            long stored = (long) LONGS.getAcquire(buffer, slotOffset(slot));
+            if (stored == 0L || stored == hash) {
+                target = slot;
+                break;
+            }
+        }
+        if (target < 0) {
+            // Probe window full: evict a slot chosen by the upper hash bits
+            target = (home + (int) ((hash >>> 32) % MAX_PROBES)) & mask;
+        }
+
+        int offset = slotOffset(target);
+        // Clear the hash first so readers never pair it with half-written coordinates
+        LONGS.setRelease(buffer, offset, 0L);
+        LONGS.setRelease(buffer, offset + 8, Double.doubleToRawLongBits(point.latitude()));
+        LONGS.setRelease(buffer, offset + 16, Double.doubleToRawLongBits(point.longitude()));
+        LONGS.setRelease(buffer, offset, hash);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    // FNV-1a followed by a murmur3 finalizer; 0 marks an empty slot and is never returned
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash != 0L ? hash : 1L;
+    }
+}
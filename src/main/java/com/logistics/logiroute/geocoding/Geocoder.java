@@ -0,0 +1,13 @@
+package com.logistics.logiroute.geocoding;
+
+import java.util.Optional;
+
+/**
+ * Resolves canonical address keys (see {@link AddressNormalizer}) to
+ * coordinates. Implementations may be slow or remote and must be thread-safe;
+ * results are cached by {@link GeocodeCache}.
+ */
+public interface Geocoder {
+
+    Optional<GeoPoint> geocode(String addressKey);
+}
@@ -0,0 +1,7 @@
+package com.logistics.logiroute.history;
+
+public enum DwellGrouping {
+    NONE,
+    VEHICLE,
+    ROUTE
+}
@@ -0,0 +1,46 @@
+package com.logistics.logiroute.history;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of dwell samples in seconds with nearest-rank percentiles.
+ */
+public final class DwellStatistics {
+
+    private long[] samples = new long[16];
+    private int size;
+
+    public void add(long seconds) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = seconds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the samples in place; call once before reading percentiles.
+     */
+    public DwellStatistics sorted() {
+        Arrays.sort(samples, 0, size);
+        return this;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples, {@code percentile} in (0, 100].
+     */
+    public long percentile(double percentile) {
+        if (size == 0) {
+            return 0L;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return samples[Math.min(size, Math.max(1, rank)) - 1];
+    }
+
+    public long max() {
+        return size == 0 ? 0L : samples[size - 1];
+    }
+}
@@ -0,0 +1,35 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.config.HistoryProperties;
+import com.logistics.logiroute.service.PackageHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly move of status history older than the hot window into segments, one
+ * transaction per day.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryCompactionJob {
+
+    private final PackageHistoryService packageHistoryService;
+    private final PackageHistoryRecorder packageHistoryRecorder;
+    private final HistoryProperties historyProperties;
+
+    @Scheduled(cron = "${logiroute.history.compaction-cron:0 15 2 * * *}")
+    public void compact() {
+        packageHistoryRecorder.flush();
+        LocalDate cutoff = LocalDate.now().minusDays(historyProperties.getHotDays());
+        int compacted = 0;
+        for (LocalDate day : packageHistoryService.getDaysToCompact(cutoff)) {
+            compacted += packageHistoryService.compactDay(day);
+        }
+        log.info("Compacted {} package status events older than {}", compacted, cutoff);
+    }
+}
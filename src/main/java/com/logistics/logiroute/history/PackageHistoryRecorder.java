@@ -0,0 +1,119 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.config.HistoryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers committed status transitions and appends them to
+ * {@code package_status_events} in JDBC batches, off the request path. The
+ * buffer is bounded; while the database is unreachable, events that do not fit
+ * are dropped and counted rather than exhausting the heap.
+ */
+@Component
+@Slf4j
+public class PackageHistoryRecorder {
+
+    private static final String INSERT_SQL = "INSERT INTO package_status_events "
+            + "(event_day, package_id, vehicle_id, route_id, from_status, to_status, occurred_at, dwell_seconds) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HistoryProperties historyProperties;
+    private final BlockingQueue<StatusEventRow> pending;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public PackageHistoryRecorder(JdbcTemplate jdbcTemplate, HistoryProperties historyProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyProperties = historyProperties;
+        this.pending = new LinkedBlockingQueue<>(historyProperties.getQueueCapacity());
+    }
+
+    /**
+     * Only transitions of committed transactions are recorded; ids of routes
+     * created in the same transaction are resolved here.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PackageStatusChangedEvent event) {
+        enqueue(event.toRow());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Events lost because the buffer was full since startup.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(StatusEventRow row) {
+        if (!pending.offer(row)) {
+            long total = dropped.incrementAndGet();
+            // Log the first drop and then every thousandth, not every event
+            if (total % 1000 == 1) {
+                log.warn("Status history buffer is full ({} events), {} events dropped so far",
+                        historyProperties.getQueueCapacity(), total);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${logiroute.history.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdownFlush() {
+        flush();
+    }
+
+    /**
+     * Writes all buffered events. A failed batch is put back and retried on
+     * the next flush, as far as it still fits in the buffer.
+     */
+    public synchronized int flush() {
+        int written = 0;
+        List<StatusEventRow> batch = new ArrayList<>(historyProperties.getBatchSize());
+        while (pending.drainTo(batch, historyProperties.getBatchSize()) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                    ps.setObject(1, LocalDate.from(row.occurredAt()));
+                    ps.setLong(2, row.packageId());
+                    ps.setObject(3, row.vehicleId(), Types.BIGINT);
+                    ps.setObject(4, row.routeId(), Types.BIGINT);
+                    ps.setShort(5, (short) row.fromStatus().getCode());
+                    ps.setShort(6, (short) row.toStatus().getCode());
+                    ps.setTimestamp(7, Timestamp.valueOf(row.occurredAt()));
+                    ps.setObject(8, row.dwellSeconds(), Types.BIGINT);
+                });
+            } catch (RuntimeException ex) {
+                log.error("Failed to write {} package status events, will retry", batch.size(), ex);
+                batch.forEach(this::enqueue);
+                break;
+            }
+            written += batch.size();
+            batch.clear();
+        }
+
+        if (written > 0) {
+            log.debug("Flushed {} package status events", written);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,41 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Published for every package status transition accepted by
+ * {@link Package#canTransitionTo}, for the rollback of a failed assignment
+ * accepted by {@link Package#canRollBackTo} and for the breakdown transfers
+ * accepted by {@link Package#canTransferTo}. The route is kept by reference
+ * because a route created in the same transaction only receives its id on
+ * flush; ids are resolved by {@link #toRow()} once the transaction has
+ * committed.
+ */
+public record PackageStatusChangedEvent(
+        Long packageId,
+        DeliveryRoute route,
+        PackageStatus fromStatus,
+        PackageStatus toStatus,
+        LocalDateTime occurredAt,
+        Long dwellSeconds,
+        LocalDateTime deliveryDeadline) {
+
+    public static PackageStatusChangedEvent of(Package pkg, PackageStatus newStatus, LocalDateTime now) {
+        Long dwell = pkg.getStatusChangedAt() != null
+                ? Math.max(0L, Duration.between(pkg.getStatusChangedAt(), now).getSeconds())
+                : null;
+        return new PackageStatusChangedEvent(pkg.getId(), pkg.getDeliveryRoute(), pkg.getStatus(),
+                newStatus, now, dwell, pkg.getDeliveryDeadline());
+    }
+
+    public StatusEventRow toRow() {
+        Long routeId = route != null ? route.getId() : null;
+        Long vehicleId = route != null && route.getVehicle() != null ? route.getVehicle().getId() : null;
+        return new StatusEventRow(packageId, vehicleId, routeId, fromStatus, toStatus, occurredAt, dwellSeconds);
+    }
+}
@@ -0,0 +1,20 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A status transition as read from either the hot event table or a decoded
+ * segment. {@code dwellSeconds} is the time the package spent in
+ * {@code fromStatus}, or {@code null} when that is unknown.
+ */
+public record StatusEventRow(
+        Long packageId,
+        Long vehicleId,
+        Long routeId,
+        PackageStatus fromStatus,
+        PackageStatus toStatus,
+        LocalDateTime occurredAt,
+        Long dwellSeconds) {
+}
@@ -0,0 +1,157 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column-wise encoding of one day of status history for one vehicle.
+ * <p>
+ * Layout: a format version byte and the event count, then one column per field
+ * in event order: package ids and route ids as zig-zag varint deltas (a missing
+ * route is 0), both status codes packed into one byte, timestamps as varint
+ * second deltas from the start of the day, and dwell times as varints shifted
+ * by one so that 0 means unknown. Sub-second precision is dropped.
+ */
+public final class StatusSegmentCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private StatusSegmentCodec() {
+    }
+
+    public static byte[] encode(LocalDate day, List<StatusEventRow> rows) {
+        int count = rows.size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + count * 8);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, count);
+
+        long previous = 0;
+        for (StatusEventRow row : rows) {
+            long id = row.packageId();
+            writeVarLong(out, zigZag(id - previous));
+            previous = id;
+        }
+
+        previous = 0;
+        for (StatusEventRow row : rows) {
+            long id = row.routeId() != null ? row.routeId() : 0L;
+            writeVarLong(out, zigZag(id - previous));
+            previous = id;
+        }
+
+        for (StatusEventRow row : rows) {
+            out.write(row.fromStatus().getCode() << 4 | row.toStatus().getCode());
+        }
+
+        previous = day.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        for (StatusEventRow row : rows) {
+            long seconds = row.occurredAt().toEpochSecond(ZoneOffset.UTC);
+            writeVarLong(out, zigZag(seconds - previous));
+            previous = seconds;
+        }
+
+        for (StatusEventRow row : rows) {
+            writeVarLong(out, row.dwellSeconds() != null ? row.dwellSeconds() + 1 : 0L);
+        }
+
+        return out.toByteArray();
+    }
+
+    public static List<StatusEventRow> decode(LocalDate day, Long vehicleId, byte[] payload) {
+        Reader in = new Reader(payload);
+        int version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported history segment format " + version);
+        }
+        int count = (int) in.readVarLong();
+
+        long[] packageIds = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(in.readVarLong());
+            packageIds[i] = previous;
+        }
+
+        long[] routeIds = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(in.readVarLong());
+            routeIds[i] = previous;
+        }
+
+        int[] statuses = new int[count];
+        for (int i = 0; i < count; i++) {
+            statuses[i] = in.readByte();
+        }
+
+        long[] seconds = new long[count];
+        previous = day.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(in.readVarLong());
+            seconds[i] = previous;
+        }
+
+        List<StatusEventRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long dwell = in.readVarLong();
+            rows.add(new StatusEventRow(
+                    packageIds[i],
+                    vehicleId,
+                    routeIds[i] != 0L ? routeIds[i] : null,
+                    PackageStatus.fromCode(statuses[i] >>> 4),
+                    PackageStatus.fromCode(statuses[i] & 0x0F),
+                    LocalDateTime.ofEpochSecond(seconds[i], 0, ZoneOffset.UTC),
+                    dwell != 0L ? dwell - 1 : null
+            ));
+        }
+        return rows;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
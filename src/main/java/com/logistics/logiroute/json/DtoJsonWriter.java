@@ -0,0 +1,95 @@
+package com.logistics.logiroute.json;
+
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+
+import java.util.List;
+
+/**
+ * Hand-written JSON for the DTOs served by the tracking endpoints. Field
+ * order and null handling follow Jackson's defaults for these classes
+ * (declaration order, nulls included), so a field added to a DTO must be
+ * added here too; {@code DtoJsonWriterTest} compares both outputs.
+ */
+public final class DtoJsonWriter {
+
+    private DtoJsonWriter() {
+    }
+
+    public static void write(JsonBuffer out, PackageDto pkg) {
+        if (pkg == null) {
+            out.nullValue();
+            return;
+        }
+        out.append('{');
+        out.name("id", true).value(pkg.getId());
+        out.name("deliveryAddress", false).value(pkg.getDeliveryAddress());
+        out.name("addressKey", false).value(pkg.getAddressKey());
+        out.name("weightKg", false).value(pkg.getWeightKg());
+        out.name("volumeM3", false).value(pkg.getVolumeM3());
+        out.name("palletSlots", false).value(pkg.getPalletSlots());
+        out.name("hazmatClass", false).value(pkg.getHazmatClass());
+        out.name("serviceTier", false).value(pkg.getServiceTier());
+        out.name("status", false).value(pkg.getStatus());
+        out.name("deliveryDeadline", false).value(pkg.getDeliveryDeadline());
+        out.name("latitude", false).value(pkg.getLatitude());
+        out.name("longitude", false).value(pkg.getLongitude());
+        out.name("earliestDelivery", false).value(pkg.getEarliestDelivery());
+        out.name("latestDelivery", false).value(pkg.getLatestDelivery());
+        out.name("deliveryRouteId", false).value(pkg.getDeliveryRouteId());
+        out.name("stopSequence", false).value(pkg.getStopSequence());
+        out.name("depotId", false).value(pkg.getDepotId());
+        out.name("archived", false).value(pkg.isArchived());
+        out.append('}');
+    }
+
+    public static void write(JsonBuffer out, DeliveryRouteDto route) {
+        if (route == null) {
+            out.nullValue();
+            return;
+        }
+        out.append('{');
+        out.name("id", true).value(route.getId());
+        out.name("vehicleId", false).value(route.getVehicleId());
+        out.name("vehicleLicensePlate", false).value(route.getVehicleLicensePlate());
+        out.name("packages", false);
+        writePackages(out, route.getPackages());
+        out.name("createdAt", false).value(route.getCreatedAt());
+        out.name("completedAt", false).value(route.getCompletedAt());
+        out.name("totalWeight", false).value(route.getTotalWeight());
+        out.name("plannedStart", false).value(route.getPlannedStart());
+        out.name("plannedEnd", false).value(route.getPlannedEnd());
+        out.name("dispatchedAt", false).value(route.getDispatchedAt());
+        out.append('}');
+    }
+
+    public static void writePackages(JsonBuffer out, List<PackageDto> packages) {
+        if (packages == null) {
+            out.nullValue();
+            return;
+        }
+        out.append('[');
+        for (int i = 0; i < packages.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            write(out, packages.get(i));
+        }
+        out.append(']');
+    }
+
+    public static void writeRoutes(JsonBuffer out, List<DeliveryRouteDto> routes) {
+        if (routes == null) {
+            out.nullValue();
+            return;
+        }
+        out.append('[');
+        for (int i = 0; i < routes.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            write(out, routes.get(i));
+        }
+        out.append(']');
+    }
+}
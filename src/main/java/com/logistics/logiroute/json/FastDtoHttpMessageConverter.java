@@ -0,0 +1,95 @@
+package com.logistics.logiroute.json;
+
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link PackageDto} and {@link DeliveryRouteDto} responses, single or
+ * as lists, through {@link DtoJsonWriter} instead of Jackson. Write-only;
+ * request bodies and every other type still go through Jackson.
+ */
+public class FastDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public FastDtoHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PackageDto.class || clazz == DeliveryRouteDto.class;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (supports(clazz)) {
+            return true;
+        }
+        return List.class.isAssignableFrom(clazz) && type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element && supports(element);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        JsonBuffer buffer = JsonBuffer.acquire();
+        try {
+            if (body instanceof PackageDto pkg) {
+                DtoJsonWriter.write(buffer, pkg);
+            } else if (body instanceof DeliveryRouteDto route) {
+                DtoJsonWriter.write(buffer, route);
+            } else if (isListOf(type, PackageDto.class)) {
+                DtoJsonWriter.writePackages(buffer, (List<PackageDto>) body);
+            } else if (isListOf(type, DeliveryRouteDto.class)) {
+                DtoJsonWriter.writeRoutes(buffer, (List<DeliveryRouteDto>) body);
+            } else {
+                throw new HttpMessageNotWritableException("Unsupported body type " + body.getClass().getName());
+            }
+            outputMessage.getHeaders().setContentLength(buffer.length());
+            buffer.writeTo(outputMessage.getBody());
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    private static boolean isListOf(Type type, Class<?> element) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] == element;
+    }
+}
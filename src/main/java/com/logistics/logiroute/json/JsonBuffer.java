@@ -0,0 +1,282 @@
+package com.logistics.logiroute.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Growable UTF-8 byte buffer with JSON primitives that match Jackson's
+ * defaults byte for byte: standard string escapes with surrogates written as
+ * {@code \\uXXXX}, {@link Double#toString} numbers with quoted non-finite
+ * values, and ISO-8601 local date-times.
+ * Buffers are pooled; {@link #acquire()} and {@link #release()} bracket one
+ * response.
+ */
+public final class JsonBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Larger buffers are left to the garbage collector instead of being pooled
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final ArrayBlockingQueue<JsonBuffer> POOL = new ArrayBlockingQueue<>(64);
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    // Direct-mapped cache of "yyyy-MM-ddT" prefixes; entries are immutable so racy publication is safe
+    private static final DatePrefix[] DATE_PREFIXES = new DatePrefix[256];
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private JsonBuffer() {
+    }
+
+    public static JsonBuffer acquire() {
+        JsonBuffer buffer = POOL.poll();
+        return buffer != null ? buffer : new JsonBuffer();
+    }
+
+    public void release() {
+        length = 0;
+        if (bytes.length <= MAX_POOLED_CAPACITY) {
+            POOL.offer(this);
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(bytes, 0, length);
+    }
+
+    public JsonBuffer append(char ascii) {
+        ensure(1);
+        bytes[length++] = (byte) ascii;
+        return this;
+    }
+
+    /**
+     * Appends {@code ,"name":} or {@code "name":} for the first field.
+     */
+    public JsonBuffer name(String name, boolean first) {
+        ensure(name.length() + 4);
+        if (!first) {
+            bytes[length++] = ',';
+        }
+        bytes[length++] = '"';
+        for (int i = 0; i < name.length(); i++) {
+            bytes[length++] = (byte) name.charAt(i);
+        }
+        bytes[length++] = '"';
+        bytes[length++] = ':';
+        return this;
+    }
+
+    public JsonBuffer nullValue() {
+        return raw(NULL);
+    }
+
+    public JsonBuffer value(boolean value) {
+        return raw(value ? TRUE : FALSE);
+    }
+
+    public JsonBuffer value(Long value) {
+        return value == null ? nullValue() : value(value.longValue());
+    }
+
+    public JsonBuffer value(Integer value) {
+        return value == null ? nullValue() : value(value.longValue());
+    }
+
+    public JsonBuffer value(long value) {
+        if (value == Long.MIN_VALUE) {
+            return ascii(Long.toString(value));
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[length++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    public JsonBuffer value(Double value) {
+        if (value == null) {
+            return nullValue();
+        }
+        double d = value;
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            return append('"').ascii(Double.toString(d)).append('"');
+        }
+        return ascii(Double.toString(d));
+    }
+
+    public JsonBuffer value(Enum<?> value) {
+        return value == null ? nullValue() : value(value.name());
+    }
+
+    public JsonBuffer value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        ensure(value.length() * 6 + 2);
+        bytes[length++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c < 0x20 || c == '"' || c == '\\') {
+                    escape(c);
+                } else {
+                    bytes[length++] = (byte) c;
+                }
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes each surrogate rather than combining the pair into 4 UTF-8 bytes
+                unicodeEscape(c);
+            } else {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        bytes[length++] = '"';
+        return this;
+    }
+
+    /**
+     * Writes the value as {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} would:
+     * seconds always present, fraction only when non-zero and without
+     * trailing zeros.
+     */
+    public JsonBuffer value(LocalDateTime value) {
+        if (value == null) {
+            return nullValue();
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed years are rare enough to leave to the JDK formatter
+            return value(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+
+        ensure(32);
+        bytes[length++] = '"';
+        byte[] prefix = datePrefix(value.toLocalDate());
+        System.arraycopy(prefix, 0, bytes, length, prefix.length);
+        length += prefix.length;
+        twoDigits(value.getHour());
+        bytes[length++] = ':';
+        twoDigits(value.getMinute());
+        bytes[length++] = ':';
+        twoDigits(value.getSecond());
+
+        int nanos = value.getNano();
+        if (nanos != 0) {
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            bytes[length++] = '.';
+            for (int i = length + digits - 1; i >= length; i--) {
+                bytes[i] = (byte) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            length += digits;
+        }
+        bytes[length++] = '"';
+        return this;
+    }
+
+    private static byte[] datePrefix(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (DATE_PREFIXES.length - 1));
+        DatePrefix cached = DATE_PREFIXES[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.bytes;
+        }
+        byte[] prefix = (date + "T").getBytes(StandardCharsets.US_ASCII);
+        DATE_PREFIXES[slot] = new DatePrefix(epochDay, prefix);
+        return prefix;
+    }
+
+    private void escape(char c) {
+        byte shortEscape = switch (c) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+        if (shortEscape == 0) {
+            unicodeEscape(c);
+        } else {
+            bytes[length++] = '\\';
+            bytes[length++] = shortEscape;
+        }
+    }
+
+    private void unicodeEscape(char c) {
+        bytes[length++] = '\\';
+        bytes[length++] = 'u';
+        bytes[length++] = HEX[c >> 12];
+        bytes[length++] = HEX[(c >> 8) & 0xF];
+        bytes[length++] = HEX[(c >> 4) & 0xF];
+        bytes[length++] = HEX[c & 0xF];
+    }
+
+    private void twoDigits(int value) {
+        bytes[length++] = (byte) ('0' + value / 10);
+        bytes[length++] = (byte) ('0' + value % 10);
+    }
+
+    private JsonBuffer ascii(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            bytes[length++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+
+    private JsonBuffer raw(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, length, value.length);
+        length += value.length;
+        return this;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private record DatePrefix(long epochDay, byte[] bytes) {
+    }
+}
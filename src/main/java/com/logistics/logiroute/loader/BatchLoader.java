@@ -0,0 +1,150 @@
+package com.logistics.logiroute.loader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent by-key lookups into batch loads. The first key of a
+ * batch starts a window of {@code windowMicros}; every key requested within
+ * it, up to {@code maxBatchSize}, is loaded by one call to the batch
+ * function, on one of {@code parallelism} loader threads.
+ * <p>
+ * Requests for a key that is still waiting in the current batch share its
+ * result. A key whose batch is already loading is queued again, so a lookup
+ * never sees a read that started before it was made. Results are not cached.
+ * <p>
+ * With {@code maxBatchSize} 1, or while {@code callerThread} is true for the
+ * calling thread, the batch function runs on the caller's thread and nothing
+ * is coalesced.
+ */
+public final class BatchLoader<K, V> implements AutoCloseable {
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final BooleanSupplier callerThread;
+    private final ScheduledExecutorService loaders;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> queued = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Guarded by lock
+    private List<K> batch = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public BatchLoader(String name, Function<Collection<K>, Map<K, V>> batchFunction,
+                       long windowMicros, int maxBatchSize, int parallelism) {
+        this(name, batchFunction, windowMicros, maxBatchSize, parallelism, () -> false);
+    }
+
+    public BatchLoader(String name, Function<Collection<K>, Map<K, V>> batchFunction,
+                       long windowMicros, int maxBatchSize, int parallelism, BooleanSupplier callerThread) {
+        this.batchFunction = batchFunction;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.callerThread = callerThread;
+        AtomicInteger threads = new AtomicInteger();
+        this.loaders = this.maxBatchSize > 1
+                ? Executors.newScheduledThreadPool(parallelism, runnable -> {
+                    Thread thread = new Thread(runnable, name + "-loader-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Returns the value for the key, or null when the batch function has none.
+     * Blocks for at most the window plus one batch load.
+     */
+    public V load(K key) {
+        if (loaders == null || callerThread.getAsBoolean()) {
+            return batchFunction.apply(List.of(key)).get(key);
+        }
+        try {
+            return loadAsync(key).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<V> loadAsync(K key) {
+        if (loaders == null || callerThread.getAsBoolean()) {
+            return CompletableFuture.completedFuture(batchFunction.apply(List.of(key)).get(key));
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> pending = queued.putIfAbsent(key, future);
+        if (pending != null) {
+            return pending;
+        }
+
+        List<K> full = null;
+        boolean schedule = false;
+        synchronized (lock) {
+            batch.add(key);
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+                batch = new ArrayList<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (full != null) {
+            List<K> keys = full;
+            loaders.execute(() -> dispatch(keys));
+        } else if (schedule) {
+            loaders.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return future;
+    }
+
+    private void flush() {
+        List<K> keys;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (batch.isEmpty()) {
+                return;
+            }
+            keys = batch;
+            batch = new ArrayList<>();
+        }
+        dispatch(keys);
+    }
+
+    private void dispatch(List<K> keys) {
+        // Taken out of the queue before loading so later requests start a new batch
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            futures.add(queued.remove(key));
+        }
+        try {
+            Map<K, V> values = batchFunction.apply(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                futures.get(i).complete(values.get(keys.get(i)));
+            }
+        } catch (RuntimeException | Error ex) {
+            futures.forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (loaders != null) {
+            loaders.shutdown();
+        }
+    }
+}
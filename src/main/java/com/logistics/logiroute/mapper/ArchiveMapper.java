@@ -0,0 +1,28 @@
+package com.logistics.logiroute.mapper;
+
+import com.logistics.logiroute.domain.entity.ArchivedDeliveryRoute;
+import com.logistics.logiroute.domain.entity.ArchivedPackage;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.dto.PackageDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.time.LocalDateTime;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ArchiveMapper {
+
+    @Mapping(target = "deliveryRouteId", source = "pkg.deliveryRoute.id")
+    @Mapping(target = "depotId", source = "pkg.depot.id")
+    ArchivedPackage toArchived(Package pkg, LocalDateTime archivedAt);
+
+    @Mapping(target = "vehicleId", source = "route.vehicle.id")
+    @Mapping(target = "packageCount", expression = "java(route.getPackages().size())")
+    @Mapping(target = "totalWeight", expression = "java(route.getTotalWeight())")
+    ArchivedDeliveryRoute toArchived(DeliveryRoute route, LocalDateTime archivedAt);
+
+    @Mapping(target = "archived", constant = "true")
+    PackageDto toDto(ArchivedPackage archivedPackage);
+}
@@ -17,6 +17,8 @@ public interface DeliveryRouteMapper {
     DeliveryRouteDto toDto(DeliveryRoute deliveryRoute);
 
     @Mapping(target = "vehicle", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     DeliveryRoute toEntity(DeliveryRouteDto deliveryRouteDto);
 
     List<DeliveryRouteDto> toDtoList(List<DeliveryRoute> deliveryRoutes);
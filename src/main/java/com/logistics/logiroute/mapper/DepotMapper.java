@@ -0,0 +1,18 @@
+package com.logistics.logiroute.mapper;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.dto.DepotDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface DepotMapper {
+
+    DepotDto toDto(Depot depot);
+
+    Depot toEntity(DepotDto depotDto);
+
+    List<DepotDto> toDtoList(List<Depot> depots);
+}
@@ -12,9 +12,17 @@ import java.util.List;
 public interface PackageMapper {
 
     @Mapping(target = "deliveryRouteId", source = "deliveryRoute.id")
+    @Mapping(target = "depotId", source = "depot.id")
+    @Mapping(target = "archived", ignore = true)
     PackageDto toDto(Package pkg);
 
     @Mapping(target = "deliveryRoute", ignore = true)
+    @Mapping(target = "depot", ignore = true)
+    @Mapping(target = "stopSequence", ignore = true)
+    @Mapping(target = "statusChangedAt", ignore = true)
+    @Mapping(target = "addressKey", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Package toEntity(PackageDto packageDto);
 
     List<PackageDto> toDtoList(List<Package> packages);
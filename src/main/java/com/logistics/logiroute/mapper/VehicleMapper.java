@@ -12,9 +12,13 @@ import java.util.List;
 public interface VehicleMapper {
 
     @Mapping(target = "remainingCapacityKg", expression = "java(vehicle.getRemainingCapacityKg())")
+    @Mapping(target = "depotId", source = "depot.id")
     VehicleDto toDto(Vehicle vehicle);
 
     @Mapping(target = "deliveryRoutes", ignore = true)
+    @Mapping(target = "depot", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Vehicle toEntity(VehicleDto vehicleDto);
 
     List<VehicleDto> toDtoList(List<Vehicle> vehicles);
@@ -0,0 +1,900 @@
+package com.logistics.logiroute.optimization;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Adaptive large neighbourhood search over a {@link DispatchProblem}, started
+ * from an initial plan such as the {@link GreedyDispatcher} one.
+ * <p>
+ * Each iteration removes a handful of packages with one destroy operator
+ * (random, worst saving, related by distance and deadline, or a whole route)
+ * and re-inserts them, together with a sample of the unassigned packages, by
+ * greedy or regret-2 cheapest insertion. Insertion only looks at the routes
+ * that already serve one of the package's nearest neighbours, plus the empty
+ * vehicles. Operators are drawn by roulette wheel, and their weights follow
+ * how often they led to better solutions over the last {@value #SEGMENT}
+ * iterations. A candidate replaces the current solution under simulated
+ * annealing, with the temperature falling geometrically over the time budget.
+ * <p>
+ * Capacity and hazmat compatibility are hard constraints. Deadlines are soft:
+ * the objective is total km plus {@code latePenaltyKm} per late package and
+ * {@code unassignedPenaltyKm} per unassigned one, timed as in
+ * {@link PlanMetrics}. A move re-evaluates only the routes it touched and is
+ * undone from a per-route copy when rejected. The initial plan is the first
+ * best solution, so the result is never worse than it.
+ */
+public final class AlnsSolver {
+
+    private static final int SEGMENT = 100;
+    private static final int NEIGHBOURS = 16;
+    private static final double REACTION = 0.1;
+    private static final double MIN_WEIGHT = 0.1;
+    private static final double SCORE_BEST = 33;
+    private static final double SCORE_BETTER = 9;
+    private static final double SCORE_ACCEPTED = 13;
+    /**
+     * A move this much worse than the initial km is accepted with probability
+     * 1/2 at the start; the temperature ends 1000 times lower.
+     */
+    private static final double START_WORSENING = 0.05;
+    private static final double END_TEMPERATURE_RATIO = 1e-3;
+    private static final int WORST_SAMPLE = 4;
+    private static final double WORST_RANDOMNESS = 3;
+    private static final double KM_PER_DEGREE_LOWER_BOUND = 111.19;
+    private static final double EPSILON = 1e-6;
+    private static final double INFEASIBLE = Double.POSITIVE_INFINITY;
+
+    private enum Destroy {
+        RANDOM,
+        WORST,
+        RELATED,
+        ROUTE
+    }
+
+    private enum Repair {
+        GREEDY,
+        REGRET
+    }
+
+    /**
+     * @param latePenaltyKm       objective cost of one late package, in km
+     * @param unassignedPenaltyKm objective cost of one unassigned package, in km
+     * @param minRemoved          fewest packages one destroy step removes
+     * @param maxRemoved          most packages one destroy step removes
+     * @param stallIterations     stop after this many iterations without a new best
+     * @param seed                random seed; independent restarts use different seeds
+     */
+    public record Settings(double latePenaltyKm, double unassignedPenaltyKm, int minRemoved, int maxRemoved,
+                           long stallIterations, long seed) {
+
+        public Settings withSeed(long seed) {
+            return new Settings(latePenaltyKm, unassignedPenaltyKm, minRemoved, maxRemoved, stallIterations, seed);
+        }
+    }
+
+    public record Result(DispatchPlan plan, double objective, long iterations, int improvements) {
+    }
+
+    /**
+     * Progress callbacks, invoked on the searching thread.
+     */
+    public interface Listener {
+
+        void improved(DispatchPlan plan, double objective);
+
+        /**
+         * Reports iterations run since the previous call, once per segment.
+         */
+        default void iterated(int iterations) {
+        }
+    }
+
+    private AlnsSolver() {
+    }
+
+    /**
+     * Searches until {@code deadlineNanos} (a {@link System#nanoTime()} value),
+     * cancellation, or {@code stallIterations} without a new best.
+     */
+    public static Result solve(DispatchProblem problem, DispatchPlan initial, Settings settings,
+                               long deadlineNanos, BooleanSupplier cancelled, Listener listener) {
+        return new Search(problem, initial, settings).run(deadlineNanos, cancelled, listener);
+    }
+
+    public static double objective(PlanMetrics metrics, Settings settings) {
+        return metrics.getTotalKm() + settings.latePenaltyKm() * metrics.getLatePackages()
+                + settings.unassignedPenaltyKm() * metrics.getUnassignedPackages();
+    }
+
+    /**
+     * The {@code k} nearest packages of each package, closest first. Packages
+     * are swept in latitude order and the scan stops once the latitude gap
+     * alone exceeds the k-th distance found. Packages without coordinates get
+     * no neighbours.
+     */
+    static int[][] neighbours(DispatchProblem problem, int k) {
+        int n = problem.getPackageCount();
+        double[] latitudes = problem.getLatitudes();
+        double[] longitudes = problem.getLongitudes();
+        int[] located = IntStream.range(0, n)
+                .filter(p -> !Double.isNaN(latitudes[p]) && !Double.isNaN(longitudes[p]))
+                .boxed()
+                .sorted(Comparator.comparingDouble(p -> latitudes[p]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[][] neighbours = new int[n][];
+        Arrays.fill(neighbours, new int[0]);
+        int[] nearest = new int[k];
+        double[] nearestKm = new double[k];
+        for (int i = 0; i < located.length; i++) {
+            int p = located[i];
+            int found = 0;
+            for (int direction = -1; direction <= 1; direction += 2) {
+                for (int j = i + direction; j >= 0 && j < located.length; j += direction) {
+                    int other = located[j];
+                    double gapKm = Math.abs(latitudes[other] - latitudes[p]) * KM_PER_DEGREE_LOWER_BOUND;
+                    if (found == k && gapKm >= nearestKm[k - 1]) {
+                        break;
+                    }
+                    double km = problem.distanceKm(p, other);
+                    if (found == k && km >= nearestKm[k - 1]) {
+                        continue;
+                    }
+                    int slot = found < k ? found++ : k - 1;
+                    while (slot > 0 && nearestKm[slot - 1] > km) {
+                        nearest[slot] = nearest[slot - 1];
+                        nearestKm[slot] = nearestKm[slot - 1];
+                        slot--;
+                    }
+                    nearest[slot] = other;
+                    nearestKm[slot] = km;
+                }
+            }
+            neighbours[p] = Arrays.copyOf(nearest, found);
+        }
+        return neighbours;
+    }
+
+    private static final class Search {
+
+        private final DispatchProblem problem;
+        private final Settings settings;
+        private final SplittableRandom random;
+        private final int packageCount;
+        private final int vehicleCount;
+        private final double[] demand;
+        private final int[] packageHazmat;
+        private final int[] vehicleHazmat;
+        private final long[] deadlines;
+        private final long departure;
+        private final long serviceSeconds;
+        private final double latePenalty;
+        private final int[][] neighbours;
+
+        // Current solution; pool holds unassigned packages that fit some vehicle
+        private final int[][] stops;
+        private final int[] length;
+        private final double[] remaining;
+        private final double[] routeKm;
+        private final int[] routeLate;
+        private final int[] vehicleOf;
+        private final int[] positionOf;
+        private final int[] pool;
+        private int poolSize;
+        private final int[] stranded;
+
+        // Arrival times, leg lengths and on-time slack per route, rebuilt lazily
+        private final long[][] arrival;
+        private final double[][] legKm;
+        private final long[][] slack;
+        private final boolean[] timed;
+
+        // Undo log of the current move
+        private long move;
+        private final long[] touchedAt;
+        private final int[] touched;
+        private int touchedCount;
+        private final int[][] savedStops;
+        private final int[] savedLength;
+        private final double[] savedKm;
+        private final int[] savedLate;
+        private final double[] savedRemaining;
+        private final int[] savedPool;
+        private int savedPoolSize;
+
+        // Packages taken out by the current move, then re-inserted
+        private final long[] removedAt;
+        private final int[] candidates;
+        private int candidateCount;
+        private final int[] assigned;
+        private final long[] visitedAt;
+        private long visit;
+        private int position;
+
+        private double[] cost = new double[0];
+        private int[] costPosition = new int[0];
+        private double[] best1 = new double[0];
+        private double[] best2 = new double[0];
+        private int[] best1Vehicle = new int[0];
+        private int[] best2Vehicle = new int[0];
+        private boolean[] inserted = new boolean[0];
+
+        private final double[] destroyWeight = {1, 1, 1, 1};
+        private final double[] destroyScore = new double[Destroy.values().length];
+        private final int[] destroyUses = new int[Destroy.values().length];
+        private final double[] repairWeight = {1, 1};
+        private final double[] repairScore = new double[Repair.values().length];
+        private final int[] repairUses = new int[Repair.values().length];
+
+        Search(DispatchProblem problem, DispatchPlan initial, Settings settings) {
+            this.problem = problem;
+            this.settings = settings;
+            this.random = new SplittableRandom(settings.seed());
+            this.packageCount = problem.getPackageCount();
+            this.vehicleCount = problem.getVehicleCount();
+            this.demand = problem.getDemand();
+            this.packageHazmat = problem.getPackageHazmat();
+            this.vehicleHazmat = problem.getVehicleHazmat();
+            this.deadlines = problem.getDeadlines();
+            this.departure = problem.getStartEpochSeconds() + problem.getLoadingSeconds();
+            this.serviceSeconds = problem.getServiceSecondsPerStop();
+            this.latePenalty = settings.latePenaltyKm();
+            this.neighbours = neighbours(problem, NEIGHBOURS);
+
+            int dims = CapacityGuard.DIMENSIONS;
+            stops = new int[vehicleCount][];
+            length = new int[vehicleCount];
+            remaining = Arrays.copyOf(problem.getVehicleCapacity(), vehicleCount * dims);
+            routeKm = new double[vehicleCount];
+            routeLate = new int[vehicleCount];
+            vehicleOf = new int[packageCount];
+            positionOf = new int[packageCount];
+            Arrays.fill(vehicleOf, -1);
+            arrival = new long[vehicleCount][];
+            legKm = new double[vehicleCount][];
+            slack = new long[vehicleCount][];
+            timed = new boolean[vehicleCount];
+            for (int v = 0; v < vehicleCount; v++) {
+                int[] route = initial.getRoutes()[v];
+                stops[v] = Arrays.copyOf(route, Math.max(4, 2 * route.length));
+                length[v] = route.length;
+                for (int p : route) {
+                    vehicleOf[p] = v;
+                    CapacityGuard.consume(remaining, v, demand, p);
+                }
+                evaluate(v);
+            }
+
+            pool = new int[packageCount];
+            int[] unplaceable = new int[initial.getUnassigned().length];
+            int strandedCount = 0;
+            for (int p : initial.getUnassigned()) {
+                if (fitsAnyVehicle(p)) {
+                    pool[poolSize++] = p;
+                } else {
+                    unplaceable[strandedCount++] = p;
+                }
+            }
+            stranded = Arrays.copyOf(unplaceable, strandedCount);
+
+            touchedAt = new long[vehicleCount];
+            touched = new int[vehicleCount];
+            savedStops = new int[vehicleCount][];
+            savedLength = new int[vehicleCount];
+            savedKm = new double[vehicleCount];
+            savedLate = new int[vehicleCount];
+            savedRemaining = new double[vehicleCount * dims];
+            savedPool = new int[packageCount];
+            removedAt = new long[packageCount];
+            candidates = new int[packageCount];
+            assigned = new int[packageCount];
+            visitedAt = new long[vehicleCount];
+        }
+
+        Result run(long deadlineNanos, BooleanSupplier cancelled, Listener listener) {
+            double current = objective();
+            double best = current;
+            DispatchPlan bestPlan = toPlan();
+            double initialKm = 0;
+            for (double km : routeKm) {
+                initialKm += km;
+            }
+            double startTemperature = Math.max(START_WORSENING * initialKm, EPSILON) / Math.log(2);
+            long started = System.nanoTime();
+            double budget = Math.max(1, deadlineNanos - started);
+
+            long iterations = 0;
+            long lastImprovement = 0;
+            int improvements = 0;
+            while (!cancelled.getAsBoolean()) {
+                long now = System.nanoTime();
+                int assignedCount = packageCount - poolSize - stranded.length;
+                if (now >= deadlineNanos || iterations - lastImprovement >= settings.stallIterations()
+                        || assignedCount + poolSize == 0) {
+                    break;
+                }
+                iterations++;
+                beginMove();
+
+                int maxRemoved = Math.min(settings.maxRemoved(), Math.max(1, (int) (0.4 * assignedCount)));
+                int minRemoved = Math.min(settings.minRemoved(), maxRemoved);
+                int removals = minRemoved + random.nextInt(maxRemoved - minRemoved + 1);
+                Destroy destroy = Destroy.values()[pick(destroyWeight)];
+                Repair repair = Repair.values()[pick(repairWeight)];
+                if (assignedCount > 0) {
+                    destroy(destroy, Math.min(removals, assignedCount), assignedCount);
+                }
+                for (int sampled = 0; sampled < removals && poolSize > 0; sampled++) {
+                    int index = random.nextInt(poolSize);
+                    candidates[candidateCount++] = pool[index];
+                    pool[index] = pool[--poolSize];
+                }
+                repair(repair == Repair.REGRET);
+
+                double candidate = objective();
+                double temperature = startTemperature
+                        * Math.pow(END_TEMPERATURE_RATIO, Math.min(1.0, (now - started) / budget));
+                double score = 0;
+                boolean accepted = true;
+                if (candidate < best - EPSILON) {
+                    best = candidate;
+                    bestPlan = toPlan();
+                    lastImprovement = iterations;
+                    improvements++;
+                    listener.improved(bestPlan, best);
+                    score = SCORE_BEST;
+                } else if (candidate < current - EPSILON) {
+                    score = SCORE_BETTER;
+                } else if (candidate > current + EPSILON) {
+                    accepted = random.nextDouble() < Math.exp((current - candidate) / temperature);
+                    score = accepted ? SCORE_ACCEPTED : 0;
+                }
+                if (accepted) {
+                    current = candidate;
+                } else {
+                    revert();
+                }
+                destroyScore[destroy.ordinal()] += score;
+                destroyUses[destroy.ordinal()]++;
+                repairScore[repair.ordinal()] += score;
+                repairUses[repair.ordinal()]++;
+                if (iterations % SEGMENT == 0) {
+                    adapt(destroyWeight, destroyScore, destroyUses);
+                    adapt(repairWeight, repairScore, repairUses);
+                    listener.iterated(SEGMENT);
+                }
+            }
+            listener.iterated((int) (iterations % SEGMENT));
+            return new Result(bestPlan, best, iterations, improvements);
+        }
+
+        private boolean fitsAnyVehicle(int p) {
+            double[] capacity = problem.getVehicleCapacity();
+            for (int v = 0; v < vehicleCount; v++) {
+                if (CapacityGuard.fits(capacity, v, vehicleHazmat[v], demand, p, packageHazmat[p])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private double objective() {
+            double km = 0;
+            long late = 0;
+            for (int v = 0; v < vehicleCount; v++) {
+                km += routeKm[v];
+                late += routeLate[v];
+            }
+            return km + latePenalty * late + settings.unassignedPenaltyKm() * (poolSize + stranded.length);
+        }
+
+        private DispatchPlan toPlan() {
+            int[][] routes = new int[vehicleCount][];
+            for (int v = 0; v < vehicleCount; v++) {
+                routes[v] = Arrays.copyOf(stops[v], length[v]);
+            }
+            int[] unassigned = Arrays.copyOf(pool, poolSize + stranded.length);
+            System.arraycopy(stranded, 0, unassigned, poolSize, stranded.length);
+            return new DispatchPlan(routes, unassigned);
+        }
+
+        /**
+         * Recomputes km and late stops of a route, timed as in {@link PlanMetrics}.
+         */
+        private void evaluate(int v) {
+            int[] route = stops[v];
+            double km = 0;
+            int late = 0;
+            long clock = departure;
+            int previous = -1;
+            for (int i = 0; i < length[v]; i++) {
+                int stop = route[i];
+                double leg = problem.distanceKm(previous, stop);
+                km += leg;
+                clock += problem.driveSeconds(leg) + serviceSeconds;
+                if (clock > deadlines[stop]) {
+                    late++;
+                }
+                positionOf[stop] = i;
+                previous = stop;
+            }
+            if (length[v] > 0) {
+                km += problem.distanceKm(previous, -1);
+            }
+            routeKm[v] = km;
+            routeLate[v] = late;
+            timed[v] = false;
+        }
+
+        /**
+         * Arrival at every stop, the length of the leg into every position
+         * (the last one being the drive back to the depot), and the smallest
+         * slack of the on-time stops from each position on. Late stops stay
+         * late when delayed, so they do not limit an insertion.
+         */
+        private void timing(int v) {
+            if (timed[v]) {
+                return;
+            }
+            int n = length[v];
+            if (arrival[v] == null || arrival[v].length < n + 1) {
+                int capacity = stops[v].length + 1;
+                arrival[v] = new long[capacity];
+                legKm[v] = new double[capacity];
+                slack[v] = new long[capacity];
+            }
+            int[] route = stops[v];
+            long clock = departure;
+            int previous = -1;
+            for (int i = 0; i < n; i++) {
+                double leg = problem.distanceKm(previous, route[i]);
+                legKm[v][i] = leg;
+                clock += problem.driveSeconds(leg) + serviceSeconds;
+                arrival[v][i] = clock;
+                previous = route[i];
+            }
+            legKm[v][n] = problem.distanceKm(previous, -1);
+            slack[v][n] = Long.MAX_VALUE;
+            for (int i = n - 1; i >= 0; i--) {
+                long own = arrival[v][i] <= deadlines[route[i]] ? deadlines[route[i]] - arrival[v][i] : Long.MAX_VALUE;
+                slack[v][i] = Math.min(slack[v][i + 1], own);
+            }
+            timed[v] = true;
+        }
+
+        /**
+         * Cheapest position for the package in the route, leaving it in
+         * {@link #position}. The cost is the added km plus one late penalty if
+         * the package itself arrives late and one if it pushes an on-time stop
+         * past its deadline.
+         */
+        private double insertionCost(int p, int v) {
+            if (!CapacityGuard.fits(remaining, v, vehicleHazmat[v], demand, p, packageHazmat[p])) {
+                return INFEASIBLE;
+            }
+            timing(v);
+            int n = length[v];
+            int[] route = stops[v];
+            long[] arrivals = arrival[v];
+            double[] legs = legKm[v];
+            long[] slacks = slack[v];
+            long deadline = deadlines[p];
+
+            double best = INFEASIBLE;
+            int bestPosition = 0;
+            double toNew = problem.distanceKm(-1, p);
+            long before = departure;
+            for (int k = 0; k <= n; k++) {
+                double fromNew = problem.distanceKm(p, k < n ? route[k] : -1);
+                double cost = toNew + fromNew - legs[k];
+                long reached = before + problem.driveSeconds(toNew) + serviceSeconds;
+                if (reached > deadline) {
+                    cost += latePenalty;
+                }
+                if (k < n && reached + problem.driveSeconds(fromNew) - before - problem.driveSeconds(legs[k]) > slacks[k]) {
+                    cost += latePenalty;
+                }
+                if (cost < best) {
+                    best = cost;
+                    bestPosition = k;
+                }
+                toNew = fromNew;
+                if (k < n) {
+                    before = arrivals[k];
+                }
+            }
+            position = bestPosition;
+            return best;
+        }
+
+        private void beginMove() {
+            move++;
+            touchedCount = 0;
+            candidateCount = 0;
+            System.arraycopy(pool, 0, savedPool, 0, poolSize);
+            savedPoolSize = poolSize;
+        }
+
+        private void touch(int v) {
+            if (touchedAt[v] == move) {
+                return;
+            }
+            touchedAt[v] = move;
+            touched[touchedCount++] = v;
+            if (savedStops[v] == null || savedStops[v].length < length[v]) {
+                savedStops[v] = new int[stops[v].length];
+            }
+            System.arraycopy(stops[v], 0, savedStops[v], 0, length[v]);
+            savedLength[v] = length[v];
+            savedKm[v] = routeKm[v];
+            savedLate[v] = routeLate[v];
+            int offset = v * CapacityGuard.DIMENSIONS;
+            System.arraycopy(remaining, offset, savedRemaining, offset, CapacityGuard.DIMENSIONS);
+        }
+
+        private void revert() {
+            for (int t = 0; t < touchedCount; t++) {
+                int v = touched[t];
+                System.arraycopy(savedStops[v], 0, stops[v], 0, savedLength[v]);
+                length[v] = savedLength[v];
+                routeKm[v] = savedKm[v];
+                routeLate[v] = savedLate[v];
+                timed[v] = false;
+                int offset = v * CapacityGuard.DIMENSIONS;
+                System.arraycopy(savedRemaining, offset, remaining, offset, CapacityGuard.DIMENSIONS);
+                for (int i = 0; i < length[v]; i++) {
+                    vehicleOf[stops[v][i]] = v;
+                    positionOf[stops[v][i]] = i;
+                }
+            }
+            System.arraycopy(savedPool, 0, pool, 0, savedPoolSize);
+            poolSize = savedPoolSize;
+            for (int i = 0; i < poolSize; i++) {
+                vehicleOf[pool[i]] = -1;
+            }
+        }
+
+        private void insert(int p, int v, int at) {
+            touch(v);
+            if (length[v] == stops[v].length) {
+                stops[v] = Arrays.copyOf(stops[v], 2 * length[v]);
+            }
+            System.arraycopy(stops[v], at, stops[v], at + 1, length[v] - at);
+            stops[v][at] = p;
+            length[v]++;
+            CapacityGuard.consume(remaining, v, demand, p);
+            vehicleOf[p] = v;
+            evaluate(v);
+        }
+
+        // ---- destroy ----
+
+        private void destroy(Destroy operator, int removals, int assignedCount) {
+            int a = 0;
+            for (int p = 0; p < packageCount; p++) {
+                if (vehicleOf[p] >= 0) {
+                    assigned[a++] = p;
+                }
+            }
+            switch (operator) {
+                case RANDOM -> removeRandom(removals, assignedCount);
+                case WORST -> removeWorst(removals, assignedCount);
+                case RELATED -> removeRelated(removals, assignedCount);
+                case ROUTE -> removeRoute(removals, assignedCount);
+            }
+
+            for (int i = 0; i < candidateCount; i++) {
+                int v = vehicleOf[candidates[i]];
+                if (touchedAt[v] != move) {
+                    touch(v);
+                    int kept = 0;
+                    for (int s = 0; s < length[v]; s++) {
+                        if (removedAt[stops[v][s]] != move) {
+                            stops[v][kept++] = stops[v][s];
+                        }
+                    }
+                    length[v] = kept;
+                }
+            }
+            for (int i = 0; i < candidateCount; i++) {
+                int p = candidates[i];
+                CapacityGuard.release(remaining, vehicleOf[p], demand, p);
+                vehicleOf[p] = -1;
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                evaluate(touched[t]);
+            }
+        }
+
+        private void take(int p) {
+            removedAt[p] = move;
+            candidates[candidateCount++] = p;
+        }
+
+        private boolean removable(int p) {
+            return vehicleOf[p] >= 0 && removedAt[p] != move;
+        }
+
+        private void removeRandom(int removals, int assignedCount) {
+            while (candidateCount < removals) {
+                int p = assigned[random.nextInt(assignedCount)];
+                if (removable(p)) {
+                    take(p);
+                }
+            }
+        }
+
+        /**
+         * Samples a few times more packages than needed and removes those whose
+         * removal saves most, with a bias towards the top rather than strictly
+         * the top, so repeated calls do not keep picking the same stops.
+         */
+        private void removeWorst(int removals, int assignedCount) {
+            int sampleSize = Math.min(assignedCount, WORST_SAMPLE * removals);
+            for (int i = 0; i < sampleSize; i++) {
+                int j = i + random.nextInt(assignedCount - i);
+                int swap = assigned[i];
+                assigned[i] = assigned[j];
+                assigned[j] = swap;
+            }
+            double[] saving = new double[sampleSize];
+            int[] sample = new int[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                int p = assigned[i];
+                double value = removalSaving(p);
+                int slot = i;
+                while (slot > 0 && saving[slot - 1] < value) {
+                    saving[slot] = saving[slot - 1];
+                    sample[slot] = sample[slot - 1];
+                    slot--;
+                }
+                saving[slot] = value;
+                sample[slot] = p;
+            }
+            int left = sampleSize;
+            while (candidateCount < removals) {
+                int index = (int) (Math.pow(random.nextDouble(), WORST_RANDOMNESS) * left);
+                take(sample[index]);
+                System.arraycopy(sample, index + 1, sample, index, left - index - 1);
+                left--;
+            }
+        }
+
+        private double removalSaving(int p) {
+            int v = vehicleOf[p];
+            int i = positionOf[p];
+            int previous = i > 0 ? stops[v][i - 1] : -1;
+            int next = i + 1 < length[v] ? stops[v][i + 1] : -1;
+            double saving = problem.distanceKm(previous, p) + problem.distanceKm(p, next)
+                    - problem.distanceKm(previous, next);
+            timing(v);
+            return arrival[v][i] > deadlines[p] ? saving + latePenalty : saving;
+        }
+
+        /**
+         * Grows a set from a random seed: each step picks a removed package and
+         * adds its most related assigned neighbour, relatedness being the
+         * distance plus the distance driven in the gap between the deadlines.
+         */
+        private void removeRelated(int removals, int assignedCount) {
+            take(assigned[random.nextInt(assignedCount)]);
+            while (candidateCount < removals) {
+                int from = candidates[random.nextInt(candidateCount)];
+                int chosen = -1;
+                double chosenScore = Double.POSITIVE_INFINITY;
+                for (int other : neighbours[from]) {
+                    if (!removable(other)) {
+                        continue;
+                    }
+                    double score = problem.distanceKm(from, other) + problem.getAverageSpeedKmh()
+                            * Math.abs(deadlines[from] - deadlines[other]) / 3600.0;
+                    if (score < chosenScore) {
+                        chosen = other;
+                        chosenScore = score;
+                    }
+                }
+                while (chosen < 0) {
+                    int p = assigned[random.nextInt(assignedCount)];
+                    if (removable(p)) {
+                        chosen = p;
+                    }
+                }
+                take(chosen);
+            }
+        }
+
+        /**
+         * Empties one route so its packages can spread over the others, or
+         * removes a random part of it when it is longer than {@code maxRemoved}.
+         */
+        private void removeRoute(int removals, int assignedCount) {
+            int v = vehicleOf[assigned[random.nextInt(assignedCount)]];
+            if (length[v] <= settings.maxRemoved()) {
+                for (int i = 0; i < length[v]; i++) {
+                    take(stops[v][i]);
+                }
+                return;
+            }
+            while (candidateCount < removals) {
+                int p = stops[v][random.nextInt(length[v])];
+                if (removable(p)) {
+                    take(p);
+                }
+            }
+        }
+
+        // ---- repair ----
+
+        /**
+         * Inserts the candidates one at a time: the cheapest insertion overall
+         * (greedy) or the package that loses most if it does not get its best
+         * route now (regret-2). Costs are kept per candidate and route, and only
+         * the column of the route that changed is recomputed after an insertion.
+         * Candidates that fit nowhere go back to the pool.
+         */
+        private void repair(boolean regret) {
+            int count = candidateCount;
+            if (cost.length < count * vehicleCount) {
+                cost = new double[count * vehicleCount];
+                costPosition = new int[count * vehicleCount];
+            }
+            if (best1.length < count) {
+                best1 = new double[count];
+                best2 = new double[count];
+                best1Vehicle = new int[count];
+                best2Vehicle = new int[count];
+                inserted = new boolean[count];
+            }
+            for (int i = 0; i < count; i++) {
+                inserted[i] = false;
+                fillRow(i, candidates[i], false);
+                rescan(i);
+                if (best1[i] == INFEASIBLE) {
+                    fillRow(i, candidates[i], true);
+                    rescan(i);
+                }
+            }
+
+            for (int step = 0; step < count; step++) {
+                int chosen = -1;
+                double chosenKey = 0;
+                for (int i = 0; i < count; i++) {
+                    if (inserted[i] || best1[i] == INFEASIBLE) {
+                        continue;
+                    }
+                    double key = !regret ? -best1[i]
+                            : best2[i] == INFEASIBLE ? Double.MAX_VALUE : best2[i] - best1[i];
+                    if (chosen < 0 || key > chosenKey || (key == chosenKey && best1[i] < best1[chosen])) {
+                        chosen = i;
+                        chosenKey = key;
+                    }
+                }
+                if (chosen < 0) {
+                    break;
+                }
+                int p = candidates[chosen];
+                int v = best1Vehicle[chosen];
+                insert(p, v, costPosition[chosen * vehicleCount + v]);
+                inserted[chosen] = true;
+
+                for (int j = 0; j < count; j++) {
+                    int cell = j * vehicleCount + v;
+                    if (inserted[j] || (cost[cell] == INFEASIBLE && !isNeighbour(candidates[j], p))) {
+                        continue;
+                    }
+                    double value = insertionCost(candidates[j], v);
+                    cost[cell] = value;
+                    costPosition[cell] = position;
+                    if (best1Vehicle[j] == v || best2Vehicle[j] == v) {
+                        rescan(j);
+                    } else if (value < best1[j]) {
+                        best2[j] = best1[j];
+                        best2Vehicle[j] = best1Vehicle[j];
+                        best1[j] = value;
+                        best1Vehicle[j] = v;
+                    } else if (value < best2[j]) {
+                        best2[j] = value;
+                        best2Vehicle[j] = v;
+                    }
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                if (!inserted[i]) {
+                    pool[poolSize++] = candidates[i];
+                }
+            }
+        }
+
+        /**
+         * Costs of one candidate against the routes serving its neighbours and
+         * the empty vehicles, or against every route.
+         */
+        private void fillRow(int row, int p, boolean everyRoute) {
+            int base = row * vehicleCount;
+            Arrays.fill(cost, base, base + vehicleCount, INFEASIBLE);
+            if (everyRoute || neighbours[p].length == 0) {
+                for (int v = 0; v < vehicleCount; v++) {
+                    cost[base + v] = insertionCost(p, v);
+                    costPosition[base + v] = position;
+                }
+                return;
+            }
+            visit++;
+            for (int other : neighbours[p]) {
+                int v = vehicleOf[other];
+                if (v >= 0 && visitedAt[v] != visit) {
+                    visitedAt[v] = visit;
+                    cost[base + v] = insertionCost(p, v);
+                    costPosition[base + v] = position;
+                }
+            }
+            for (int v = 0; v < vehicleCount; v++) {
+                if (length[v] == 0 && visitedAt[v] != visit) {
+                    cost[base + v] = insertionCost(p, v);
+                    costPosition[base + v] = position;
+                }
+            }
+        }
+
+        private void rescan(int row) {
+            int base = row * vehicleCount;
+            best1[row] = INFEASIBLE;
+            best2[row] = INFEASIBLE;
+            best1Vehicle[row] = -1;
+            best2Vehicle[row] = -1;
+            for (int v = 0; v < vehicleCount; v++) {
+                double value = cost[base + v];
+                if (value < best1[row]) {
+                    best2[row] = best1[row];
+                    best2Vehicle[row] = best1Vehicle[row];
+                    best1[row] = value;
+                    best1Vehicle[row] = v;
+                } else if (value < best2[row]) {
+                    best2[row] = value;
+                    best2Vehicle[row] = v;
+                }
+            }
+        }
+
+        private boolean isNeighbour(int p, int other) {
+            for (int neighbour : neighbours[p]) {
+                if (neighbour == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ---- adaptive weights ----
+
+        private int pick(double[] weights) {
+            double total = 0;
+            for (double weight : weights) {
+                total += weight;
+            }
+            double target = random.nextDouble() * total;
+            for (int i = 0; i < weights.length - 1; i++) {
+                target -= weights[i];
+                if (target < 0) {
+                    return i;
+                }
+            }
+            return weights.length - 1;
+        }
+
+        private static void adapt(double[] weights, double[] scores, int[] uses) {
+            for (int i = 0; i < weights.length; i++) {
+                if (uses[i] > 0) {
+                    weights[i] = Math.max(MIN_WEIGHT, weights[i] * (1 - REACTION) + REACTION * scores[i] / uses[i]);
+                }
+                scores[i] = 0;
+                uses[i] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.logistics.logiroute.optimization;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a pool of packages into geographic clusters whose load fits one
+ * vehicle, so that routing only has to solve small problems afterwards.
+ * <p>
+ * Coordinates are projected once onto a plane around the center
+ * (equirectangular, accurate to well under 1% within a few hundred km), so
+ * the inner loops compare squared planar distances on primitive arrays.
+ * <ul>
+ *   <li>{@link Method#SWEEP} orders packages by angle around the center,
+ *   starting after the widest empty gap, and cuts a new cluster whenever
+ *   the next package would overflow the current one. O(n log n).</li>
+ *   <li>{@link Method#KMEANS} starts from the sweep and runs capacitated
+ *   k-means: each package goes to the nearest centroid that still has room,
+ *   packages that lose most by not getting their first choice go first, and
+ *   centroids move to the mean of their members. Near capacity, packages
+ *   keep trading places at cluster borders, so iteration stops once the sum
+ *   of squared distances to the centroids improves by less than
+ *   {@code minImprovement}, and the best assignment seen is kept.
+ *   Centroids are bucketed in a uniform grid, so the nearest-centroid
+ *   search looks at a few cells per package; it runs in parallel.</li>
+ * </ul>
+ * No cluster ever exceeds {@code capacity}. Packages without coordinates, or
+ * bigger than a whole cluster, are left {@link ClusterPlan#UNCLUSTERED}.
+ */
+public final class CapacitatedClustering {
+
+    public enum Method {
+        SWEEP,
+        KMEANS
+    }
+
+    private static final double KM_PER_DEGREE = 111.195;
+    private static final double ANGLE_STEPS = (1L << 31) - 1;
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final double EPSILON = 1e-9;
+
+    private CapacitatedClustering() {
+    }
+
+    /**
+     * Clusters the packages. {@code demand} uses the {@link CapacityGuard}
+     * layout and {@code capacity} is one vector; the center may be
+     * {@link Double#NaN}, in which case the mean package position is used.
+     */
+    public static ClusterPlan cluster(Method method, double[] latitudes, double[] longitudes, double[] demand,
+                                      double[] capacity, double centerLatitude, double centerLongitude,
+                                      int maxIterations, int nearestCentroids, double minImprovement) {
+        Plane plane = new Plane(latitudes, longitudes, demand, capacity, centerLatitude, centerLongitude);
+        int[] assignment = sweep(plane);
+        int iterations = 0;
+        if (method == Method.KMEANS) {
+            iterations = kMeans(plane, assignment, maxIterations, nearestCentroids, minImprovement);
+        }
+        return plane.toPlan(assignment, iterations);
+    }
+
+    private static int[] sweep(Plane plane) {
+        int[] located = plane.located;
+        int m = located.length;
+        int[] assignment = new int[plane.size];
+        Arrays.fill(assignment, ClusterPlan.UNCLUSTERED);
+        if (m == 0) {
+            return assignment;
+        }
+
+        // Angle in the high bits, package index in the low bits: one primitive sort
+        long[] keys = new long[m];
+        for (int k = 0; k < m; k++) {
+            int p = located[k];
+            double angle = Math.atan2(plane.y[p], plane.x[p]);
+            long step = (long) ((angle + Math.PI) / (2 * Math.PI) * ANGLE_STEPS);
+            keys[k] = step << 32 | p;
+        }
+        Arrays.parallelSort(keys);
+
+        // Start after the widest gap so no natural group is cut in two
+        int start = 0;
+        long widest = -1;
+        for (int k = 0; k < m; k++) {
+            long from = keys[k] >>> 32;
+            long to = k + 1 < m ? keys[k + 1] >>> 32 : (keys[0] >>> 32) + (long) ANGLE_STEPS;
+            if (to - from > widest) {
+                widest = to - from;
+                start = (k + 1) % m;
+            }
+        }
+
+        int dims = CapacityGuard.DIMENSIONS;
+        double[] load = new double[dims];
+        int cluster = 0;
+        boolean empty = true;
+        for (int i = 0; i < m; i++) {
+            int p = (int) keys[(start + i) % m];
+            if (!empty && !plane.fits(load, 0, p)) {
+                cluster++;
+                Arrays.fill(load, 0.0);
+            }
+            for (int d = 0; d < dims; d++) {
+                load[d] += plane.demand[p * dims + d];
+            }
+            assignment[p] = cluster;
+            empty = false;
+        }
+        return assignment;
+    }
+
+    /**
+     * Refines a sweep assignment in place; returns the iterations run.
+     */
+    private static int kMeans(Plane plane, int[] assignment, int maxIterations, int nearestCentroids,
+                              double minImprovement) {
+        int[] located = plane.located;
+        int m = located.length;
+        int clusters = 0;
+        for (int p : located) {
+            clusters = Math.max(clusters, assignment[p] + 1);
+        }
+        if (clusters < 2) {
+            return 0;
+        }
+
+        int dims = CapacityGuard.DIMENSIONS;
+        int capacityHint = clusters + 16;
+        double[] cx = new double[capacityHint];
+        double[] cy = new double[capacityHint];
+        int[] counts = new int[capacityHint];
+        centroids(plane, assignment, clusters, cx, cy, counts);
+        double bestCost = cost(plane, assignment, cx, cy);
+        int[] best = assignment.clone();
+
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            iterations++;
+            int near = Math.min(nearestCentroids, clusters);
+            int[] candidates = new int[m * near];
+            double[] regret = new double[m];
+            int clusterCount = clusters;
+            Grid grid = new Grid(cx, cy, clusterCount);
+            IntStream range = IntStream.range(0, m);
+            (m >= PARALLEL_THRESHOLD ? range.parallel() : range).forEach(k ->
+                    regret[k] = grid.nearest(plane.x[located[k]], plane.y[located[k]], candidates, k * near, near));
+
+            // Highest regret first: those packages lose most if their first choice fills up
+            long[] order = new long[m];
+            for (int k = 0; k < m; k++) {
+                order[k] = (long) Float.floatToIntBits((float) regret[k]) << 32 | k;
+            }
+            Arrays.parallelSort(order);
+
+            double[] load = new double[capacityHint * dims];
+            int changed = 0;
+            for (int j = m - 1; j >= 0; j--) {
+                int k = (int) order[j];
+                int p = located[k];
+                int target = ClusterPlan.UNCLUSTERED;
+                for (int c = 0; c < near; c++) {
+                    int candidate = candidates[k * near + c];
+                    if (plane.fits(load, candidate, p)) {
+                        target = candidate;
+                        break;
+                    }
+                }
+                if (target == ClusterPlan.UNCLUSTERED) {
+                    target = grid.nearestWithRoom(plane, p, load);
+                    // Clusters opened during this iteration are not in the grid
+                    double bestDistance = target != ClusterPlan.UNCLUSTERED
+                            ? squared(cx, cy, target, plane.x[p], plane.y[p]) : Double.POSITIVE_INFINITY;
+                    for (int c = clusterCount; c < clusters; c++) {
+                        double d2 = squared(cx, cy, c, plane.x[p], plane.y[p]);
+                        if (d2 < bestDistance && plane.fits(load, c, p)) {
+                            target = c;
+                            bestDistance = d2;
+                        }
+                    }
+                }
+                if (target == ClusterPlan.UNCLUSTERED) {
+                    // Nothing has room: open a cluster where the package is
+                    if (clusters == capacityHint) {
+                        capacityHint *= 2;
+                        cx = Arrays.copyOf(cx, capacityHint);
+                        cy = Arrays.copyOf(cy, capacityHint);
+                        counts = Arrays.copyOf(counts, capacityHint);
+                        load = Arrays.copyOf(load, capacityHint * dims);
+                    }
+                    target = clusters++;
+                    cx[target] = plane.x[p];
+                    cy[target] = plane.y[p];
+                }
+                for (int d = 0; d < dims; d++) {
+                    load[target * dims + d] += plane.demand[p * dims + d];
+                }
+                if (assignment[p] != target) {
+                    assignment[p] = target;
+                    changed++;
+                }
+            }
+
+            centroids(plane, assignment, clusters, cx, cy, counts);
+            double cost = cost(plane, assignment, cx, cy);
+            boolean improved = cost < bestCost * (1 - minImprovement);
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(assignment, 0, best, 0, best.length);
+            }
+            if (changed == 0 || !improved) {
+                break;
+            }
+        }
+        System.arraycopy(best, 0, assignment, 0, best.length);
+        return iterations;
+    }
+
+    private static double cost(Plane plane, int[] assignment, double[] cx, double[] cy) {
+        double cost = 0;
+        for (int p : plane.located) {
+            cost += squared(cx, cy, assignment[p], plane.x[p], plane.y[p]);
+        }
+        return cost;
+    }
+
+    /**
+     * Moves each centroid to the mean of its members; empty clusters keep
+     * their previous centroid.
+     */
+    private static void centroids(Plane plane, int[] assignment, int clusters, double[] cx, double[] cy,
+                                  int[] counts) {
+        double[] sumX = new double[clusters];
+        double[] sumY = new double[clusters];
+        Arrays.fill(counts, 0, clusters, 0);
+        for (int p : plane.located) {
+            int c = assignment[p];
+            sumX[c] += plane.x[p];
+            sumY[c] += plane.y[p];
+            counts[c]++;
+        }
+        for (int c = 0; c < clusters; c++) {
+            if (counts[c] > 0) {
+                cx[c] = sumX[c] / counts[c];
+                cy[c] = sumY[c] / counts[c];
+            }
+        }
+    }
+
+    /**
+     * Uniform grid over the centroids of one iteration, about one centroid
+     * per cell. Searches visit rings of cells outward from the query point
+     * and stop once no unvisited cell can hold anything closer, so a lookup
+     * touches a handful of cells instead of every centroid.
+     */
+    private static final class Grid {
+
+        private final double[] cx;
+        private final double[] cy;
+        private final int clusters;
+        private final int cellsPerSide;
+        private final double minX;
+        private final double minY;
+        private final double cellSize;
+        private final int[] cellStart;
+        private final int[] cellItems;
+
+        private Grid(double[] cx, double[] cy, int clusters) {
+            this.cx = cx;
+            this.cy = cy;
+            this.clusters = clusters;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int c = 0; c < clusters; c++) {
+                minX = Math.min(minX, cx[c]);
+                minY = Math.min(minY, cy[c]);
+                maxX = Math.max(maxX, cx[c]);
+                maxY = Math.max(maxY, cy[c]);
+            }
+            this.minX = minX;
+            this.minY = minY;
+            this.cellsPerSide = Math.max(1, (int) Math.ceil(Math.sqrt(clusters)));
+            this.cellSize = Math.max(Math.max(maxX - minX, maxY - minY) / cellsPerSide, EPSILON);
+
+            // Counting sort of the centroids by cell
+            int cells = cellsPerSide * cellsPerSide;
+            cellStart = new int[cells + 1];
+            int[] cellOf = new int[clusters];
+            for (int c = 0; c < clusters; c++) {
+                cellOf[c] = cell(column(cx[c]), row(cy[c]));
+                cellStart[cellOf[c] + 1]++;
+            }
+            for (int i = 0; i < cells; i++) {
+                cellStart[i + 1] += cellStart[i];
+            }
+            cellItems = new int[clusters];
+            int[] fill = Arrays.copyOf(cellStart, cells);
+            for (int c = 0; c < clusters; c++) {
+                cellItems[fill[cellOf[c]]++] = c;
+            }
+        }
+
+        private int column(double x) {
+            return Math.min(cellsPerSide - 1, Math.max(0, (int) ((x - minX) / cellSize)));
+        }
+
+        private int row(double y) {
+            return Math.min(cellsPerSide - 1, Math.max(0, (int) ((y - minY) / cellSize)));
+        }
+
+        private int cell(int column, int row) {
+            return row * cellsPerSide + column;
+        }
+
+        /**
+         * Writes the {@code near} nearest centroids, closest first, and
+         * returns the distance gap between the first and second.
+         */
+        private double nearest(double x, double y, int[] candidates, int offset, int near) {
+            double[] best = new double[near];
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+            int column = column(x);
+            int row = row(y);
+            for (int ring = 0; ring < cellsPerSide; ring++) {
+                for (int r = row - ring; r <= row + ring; r++) {
+                    if (r < 0 || r >= cellsPerSide) {
+                        continue;
+                    }
+                    boolean edge = r == row - ring || r == row + ring;
+                    for (int c = column - ring; c <= column + ring; c += edge ? 1 : Math.max(1, 2 * ring)) {
+                        if (c < 0 || c >= cellsPerSide) {
+                            continue;
+                        }
+                        int cell = cell(c, r);
+                        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                            insert(cellItems[i], x, y, best, candidates, offset, near);
+                        }
+                    }
+                }
+                // Cells beyond this ring are at least ring cell sizes away
+                double reach = ring * cellSize;
+                if (best[near - 1] <= reach * reach) {
+                    break;
+                }
+            }
+            return near > 1 ? Math.sqrt(best[1]) - Math.sqrt(best[0]) : 0.0;
+        }
+
+        private void insert(int cluster, double x, double y, double[] best, int[] candidates, int offset, int near) {
+            double d2 = squared(cx, cy, cluster, x, y);
+            if (d2 >= best[near - 1]) {
+                return;
+            }
+            int i = near - 1;
+            while (i > 0 && best[i - 1] > d2) {
+                best[i] = best[i - 1];
+                candidates[offset + i] = candidates[offset + i - 1];
+                i--;
+            }
+            best[i] = d2;
+            candidates[offset + i] = cluster;
+        }
+
+        /**
+         * Nearest centroid in the grid with room for the package, or
+         * {@link ClusterPlan#UNCLUSTERED}.
+         */
+        private int nearestWithRoom(Plane plane, int p, double[] load) {
+            double x = plane.x[p];
+            double y = plane.y[p];
+            int best = ClusterPlan.UNCLUSTERED;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            int column = column(x);
+            int row = row(y);
+            for (int ring = 0; ring < cellsPerSide; ring++) {
+                double reach = Math.max(0, ring - 1) * cellSize;
+                if (reach * reach >= bestDistance) {
+                    break;
+                }
+                for (int r = row - ring; r <= row + ring; r++) {
+                    if (r < 0 || r >= cellsPerSide) {
+                        continue;
+                    }
+                    boolean edge = r == row - ring || r == row + ring;
+                    for (int c = column - ring; c <= column + ring; c += edge ? 1 : Math.max(1, 2 * ring)) {
+                        if (c < 0 || c >= cellsPerSide) {
+                            continue;
+                        }
+                        int cell = cell(c, r);
+                        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                            int cluster = cellItems[i];
+                            double d2 = squared(cx, cy, cluster, x, y);
+                            if (d2 < bestDistance && plane.fits(load, cluster, p)) {
+                                best = cluster;
+                                bestDistance = d2;
+                            }
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    private static double squared(double[] cx, double[] cy, int cluster, double x, double y) {
+        double dx = cx[cluster] - x;
+        double dy = cy[cluster] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Packages projected onto a plane in km around the center. Only packages
+     * with coordinates that fit an empty cluster are {@code located}.
+     */
+    private static final class Plane {
+
+        private final int size;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] demand;
+        private final double[] capacity;
+        private final double[] x;
+        private final double[] y;
+        private final int[] located;
+
+        private Plane(double[] latitudes, double[] longitudes, double[] demand, double[] capacity,
+                      double centerLatitude, double centerLongitude) {
+            this.size = latitudes.length;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.demand = demand;
+            this.capacity = capacity;
+            this.x = new double[size];
+            this.y = new double[size];
+
+            int[] candidates = new int[size];
+            int count = 0;
+            double sumLat = 0;
+            double sumLon = 0;
+            double[] empty = new double[CapacityGuard.DIMENSIONS];
+            for (int p = 0; p < size; p++) {
+                if (!Double.isNaN(latitudes[p]) && !Double.isNaN(longitudes[p]) && fits(empty, 0, p)) {
+                    candidates[count++] = p;
+                    sumLat += latitudes[p];
+                    sumLon += longitudes[p];
+                }
+            }
+            this.located = Arrays.copyOf(candidates, count);
+
+            boolean centered = !Double.isNaN(centerLatitude) && !Double.isNaN(centerLongitude);
+            double originLat = centered ? centerLatitude : count > 0 ? sumLat / count : 0.0;
+            double originLon = centered ? centerLongitude : count > 0 ? sumLon / count : 0.0;
+            double kmPerDegreeLon = KM_PER_DEGREE * Math.cos(Math.toRadians(originLat));
+            for (int p : located) {
+                x[p] = (longitudes[p] - originLon) * kmPerDegreeLon;
+                y[p] = (latitudes[p] - originLat) * KM_PER_DEGREE;
+            }
+        }
+
+        private boolean fits(double[] load, int cluster, int p) {
+            int dims = CapacityGuard.DIMENSIONS;
+            for (int d = 0; d < dims; d++) {
+                if (load[cluster * dims + d] + demand[p * dims + d] > capacity[d] + EPSILON) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Drops empty clusters and computes centroids and loads in degrees.
+         */
+        private ClusterPlan toPlan(int[] assignment, int iterations) {
+            int dims = CapacityGuard.DIMENSIONS;
+            int clusters = 0;
+            for (int p : located) {
+                clusters = Math.max(clusters, assignment[p] + 1);
+            }
+            int[] remap = new int[clusters];
+            Arrays.fill(remap, -1);
+            int used = 0;
+            for (int p : located) {
+                if (remap[assignment[p]] < 0) {
+                    remap[assignment[p]] = used++;
+                }
+            }
+
+            int[] clusterOf = new int[size];
+            Arrays.fill(clusterOf, ClusterPlan.UNCLUSTERED);
+            double[] latitudeSum = new double[used];
+            double[] longitudeSum = new double[used];
+            int[] counts = new int[used];
+            double[] load = new double[used * dims];
+            for (int p : located) {
+                int c = remap[assignment[p]];
+                clusterOf[p] = c;
+                latitudeSum[c] += latitudes[p];
+                longitudeSum[c] += longitudes[p];
+                counts[c]++;
+                for (int d = 0; d < dims; d++) {
+                    load[c * dims + d] += demand[p * dims + d];
+                }
+            }
+            for (int c = 0; c < used; c++) {
+                latitudeSum[c] /= counts[c];
+                longitudeSum[c] /= counts[c];
+            }
+            return new ClusterPlan(clusterOf, used, latitudeSum, longitudeSum, load, iterations);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.logistics.logiroute.optimization;
+
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+
+import java.util.Collection;
+
+/**
+ * Multi-dimensional capacity checks on packed primitive arrays.
+ * <p>
+ * Demands and remaining capacities are stored as {@link #DIMENSIONS} consecutive
+ * doubles per item (weight kg, volume m3, pallet slots). Hazmat compatibility is
+ * a bit mask per item: a package sets the bit of its class, a vehicle sets the
+ * bits it is certified for. Checks combine dimensions with non-short-circuit
+ * operators so they stay free of data-dependent branches; only
+ * {@link #firstFitting} tests weight first and then the remaining checks
+ * branch-free.
+ */
+public final class CapacityGuard {
+
+    public static final int DIMENSIONS = 3;
+    public static final int WEIGHT = 0;
+    public static final int VOLUME = 1;
+    public static final int SLOTS = 2;
+
+    public static final int ALL_HAZMAT_CLASSES = -1;
+
+    private static final String[] DIMENSION_NAMES = {"weight", "volume", "pallet slots"};
+
+    private CapacityGuard() {
+    }
+
+    public static String dimensionName(int dimension) {
+        return DIMENSION_NAMES[dimension];
+    }
+
+    public static void writeDemand(Package pkg, double[] target, int index) {
+        int offset = index * DIMENSIONS;
+        target[offset + WEIGHT] = pkg.getWeightKg();
+        target[offset + VOLUME] = pkg.getVolumeOrZero();
+        target[offset + SLOTS] = pkg.getPalletSlotsOrZero();
+    }
+
+    public static void writeRemaining(Vehicle vehicle, double[] target, int index) {
+        int offset = index * DIMENSIONS;
+        target[offset + WEIGHT] = vehicle.getRemainingCapacityKg();
+        target[offset + VOLUME] = vehicle.getRemainingVolumeM3();
+        target[offset + SLOTS] = vehicle.getRemainingPalletSlots();
+    }
+
+    /**
+     * Writes the full capacity of an empty vehicle, e.g. for a reload trip.
+     */
+    public static void writeCapacity(Vehicle vehicle, double[] target, int index) {
+        int offset = index * DIMENSIONS;
+        target[offset + WEIGHT] = vehicle.getCapacityKg();
+        target[offset + VOLUME] = vehicle.getCapacityM3() != null ? vehicle.getCapacityM3() : Double.POSITIVE_INFINITY;
+        target[offset + SLOTS] = vehicle.getPalletSlotCapacity() != null
+                ? vehicle.getPalletSlotCapacity() : Double.POSITIVE_INFINITY;
+    }
+
+    public static int hazmatMask(Package pkg) {
+        return pkg.getHazmatClass() != null ? 1 << pkg.getHazmatClass().ordinal() : 0;
+    }
+
+    public static int hazmatMask(Vehicle vehicle) {
+        return vehicle.isHazmatCertified() ? ALL_HAZMAT_CLASSES : 0;
+    }
+
+    /**
+     * Sums the demand vectors of the given packages into a single vector.
+     */
+    public static double[] totalDemand(Collection<Package> packages) {
+        double weight = 0;
+        double volume = 0;
+        double slots = 0;
+        for (Package pkg : packages) {
+            weight += pkg.getWeightKg();
+            volume += pkg.getVolumeOrZero();
+            slots += pkg.getPalletSlotsOrZero();
+        }
+        double[] total = new double[DIMENSIONS];
+        total[WEIGHT] = weight;
+        total[VOLUME] = volume;
+        total[SLOTS] = slots;
+        return total;
+    }
+
+    /**
+     * Combined hazmat mask of all given packages.
+     */
+    public static int totalHazmatMask(Collection<Package> packages) {
+        int mask = 0;
+        for (Package pkg : packages) {
+            mask |= hazmatMask(pkg);
+        }
+        return mask;
+    }
+
+    public static boolean fits(double[] remaining, int vehicleIndex, int vehicleHazmat,
+                               double[] demand, int packageIndex, int packageHazmat) {
+        int r = vehicleIndex * DIMENSIONS;
+        int d = packageIndex * DIMENSIONS;
+        return (remaining[r + WEIGHT] >= demand[d + WEIGHT])
+                & (remaining[r + VOLUME] >= demand[d + VOLUME])
+                & (remaining[r + SLOTS] >= demand[d + SLOTS])
+                & ((packageHazmat & ~vehicleHazmat) == 0);
+    }
+
+    /**
+     * Returns the first dimension the demand exceeds, or -1 if it fits.
+     * Intended for error reporting, not for hot loops.
+     */
+    public static int firstExceededDimension(double[] remaining, int vehicleIndex, double[] demand, int packageIndex) {
+        int r = vehicleIndex * DIMENSIONS;
+        int d = packageIndex * DIMENSIONS;
+        for (int dim = 0; dim < DIMENSIONS; dim++) {
+            if (remaining[r + dim] < demand[d + dim]) {
+                return dim;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks every package against every vehicle. The result is a row-major
+     * {@code packageCount x vehicleCount} matrix.
+     */
+    public static boolean[] fitMatrix(double[] demand, int[] packageHazmat, int packageCount,
+                                      double[] remaining, int[] vehicleHazmat, int vehicleCount) {
+        boolean[] result = new boolean[packageCount * vehicleCount];
+        for (int p = 0; p < packageCount; p++) {
+            int row = p * vehicleCount;
+            for (int v = 0; v < vehicleCount; v++) {
+                result[row + v] = fits(remaining, v, vehicleHazmat[v], demand, p, packageHazmat[p]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Index of the first vehicle that can take the package, or -1. Demand is
+     * hoisted out of the scan and weight, the usual binding dimension, is
+     * compared first so rejected vehicles cost a single comparison.
+     */
+    public static int firstFitting(double[] remaining, int[] vehicleHazmat, int vehicleCount,
+                                   double[] demand, int packageIndex, int packageHazmat) {
+        int d = packageIndex * DIMENSIONS;
+        double weight = demand[d + WEIGHT];
+        double volume = demand[d + VOLUME];
+        double slots = demand[d + SLOTS];
+        for (int v = 0, r = 0; v < vehicleCount; v++, r += DIMENSIONS) {
+            if (remaining[r + WEIGHT] >= weight
+                    && ((remaining[r + VOLUME] >= volume)
+                    & (remaining[r + SLOTS] >= slots)
+                    & ((packageHazmat & ~vehicleHazmat[v]) == 0))) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Greedy first-fit packing: places packages in the given order onto the
+     * first vehicle with enough remaining capacity, consuming that capacity.
+     *
+     * @return vehicle index per package, or -1 where nothing fits
+     */
+    public static int[] firstFit(double[] demand, int[] packageHazmat, int[] order,
+                                 double[] remaining, int[] vehicleHazmat, int vehicleCount) {
+        int[] assignment = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            int p = order[i];
+            int v = firstFitting(remaining, vehicleHazmat, vehicleCount, demand, p, packageHazmat[p]);
+            if (v >= 0) {
+                consume(remaining, v, demand, p);
+            }
+            assignment[i] = v;
+        }
+        return assignment;
+    }
+
+    public static void consume(double[] remaining, int vehicleIndex, double[] demand, int packageIndex) {
+        int r = vehicleIndex * DIMENSIONS;
+        int d = packageIndex * DIMENSIONS;
+        remaining[r + WEIGHT] -= demand[d + WEIGHT];
+        remaining[r + VOLUME] -= demand[d + VOLUME];
+        remaining[r + SLOTS] -= demand[d + SLOTS];
+    }
+
+    public static void release(double[] remaining, int vehicleIndex, double[] demand, int packageIndex) {
+        int r = vehicleIndex * DIMENSIONS;
+        int d = packageIndex * DIMENSIONS;
+        remaining[r + WEIGHT] += demand[d + WEIGHT];
+        remaining[r + VOLUME] += demand[d + VOLUME];
+        remaining[r + SLOTS] += demand[d + SLOTS];
+    }
+}
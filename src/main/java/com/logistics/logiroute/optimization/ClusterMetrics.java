@@ -0,0 +1,66 @@
+package com.logistics.logiroute.optimization;
+
+import lombok.Getter;
+
+/**
+ * Quality of a {@link ClusterPlan}: how tight the clusters are (distance of
+ * each package from its cluster's centroid) and how full (load over capacity
+ * in the tightest dimension).
+ */
+@Getter
+public class ClusterMetrics {
+
+    private int clusters;
+    private int clusteredPackages;
+    private int unclusteredPackages;
+    private double totalDistanceKm;
+    private double maxRadiusKm;
+    private double totalFill;
+    private double minFill = Double.NaN;
+
+    public double getMeanDistanceKm() {
+        return clusteredPackages > 0 ? totalDistanceKm / clusteredPackages : 0.0;
+    }
+
+    public double getMeanFill() {
+        return clusters > 0 ? totalFill / clusters : 0.0;
+    }
+
+    public static ClusterMetrics evaluate(ClusterPlan plan, double[] latitudes, double[] longitudes,
+                                          double[] capacity) {
+        ClusterMetrics metrics = new ClusterMetrics();
+        metrics.clusters = plan.getClusterCount();
+        int[] clusterOf = plan.getClusterOf();
+        for (int p = 0; p < clusterOf.length; p++) {
+            int cluster = clusterOf[p];
+            if (cluster == ClusterPlan.UNCLUSTERED) {
+                metrics.unclusteredPackages++;
+                continue;
+            }
+            metrics.clusteredPackages++;
+            double km = GeoDistance.haversineKm(latitudes[p], longitudes[p],
+                    plan.getCentroidLatitudes()[cluster], plan.getCentroidLongitudes()[cluster]);
+            metrics.totalDistanceKm += km;
+            metrics.maxRadiusKm = Math.max(metrics.maxRadiusKm, km);
+        }
+        for (int c = 0; c < plan.getClusterCount(); c++) {
+            double fill = fill(plan.getLoad(), c, capacity);
+            metrics.totalFill += fill;
+            metrics.minFill = Double.isNaN(metrics.minFill) ? fill : Math.min(metrics.minFill, fill);
+        }
+        return metrics;
+    }
+
+    /**
+     * Load over capacity in the fullest tracked dimension.
+     */
+    public static double fill(double[] load, int cluster, double[] capacity) {
+        double fill = 0.0;
+        for (int d = 0; d < CapacityGuard.DIMENSIONS; d++) {
+            if (capacity[d] > 0 && !Double.isInfinite(capacity[d])) {
+                fill = Math.max(fill, load[cluster * CapacityGuard.DIMENSIONS + d] / capacity[d]);
+            }
+        }
+        return fill;
+    }
+}
@@ -0,0 +1,56 @@
+package com.logistics.logiroute.optimization;
+
+import lombok.Getter;
+
+/**
+ * Partition of packages into capacity-bounded geographic clusters. Indices
+ * refer to the arrays the clustering ran on; packages that could not be
+ * clustered map to {@link #UNCLUSTERED}. Loads use the {@link CapacityGuard}
+ * layout, one vector per cluster.
+ */
+@Getter
+public class ClusterPlan {
+
+    public static final int UNCLUSTERED = -1;
+
+    private final int[] clusterOf;
+    private final int clusterCount;
+    private final double[] centroidLatitudes;
+    private final double[] centroidLongitudes;
+    private final double[] load;
+    private final int iterations;
+
+    public ClusterPlan(int[] clusterOf, int clusterCount, double[] centroidLatitudes, double[] centroidLongitudes,
+                       double[] load, int iterations) {
+        this.clusterOf = clusterOf;
+        this.clusterCount = clusterCount;
+        this.centroidLatitudes = centroidLatitudes;
+        this.centroidLongitudes = centroidLongitudes;
+        this.load = load;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Package indices per cluster, in index order.
+     */
+    public int[][] members() {
+        int[] counts = new int[clusterCount];
+        for (int cluster : clusterOf) {
+            if (cluster != UNCLUSTERED) {
+                counts[cluster]++;
+            }
+        }
+        int[][] members = new int[clusterCount][];
+        for (int c = 0; c < clusterCount; c++) {
+            members[c] = new int[counts[c]];
+        }
+        int[] fill = new int[clusterCount];
+        for (int p = 0; p < clusterOf.length; p++) {
+            int cluster = clusterOf[p];
+            if (cluster != UNCLUSTERED) {
+                members[cluster][fill[cluster]++] = p;
+            }
+        }
+        return members;
+    }
+}
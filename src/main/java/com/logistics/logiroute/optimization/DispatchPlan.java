@@ -0,0 +1,29 @@
+package com.logistics.logiroute.optimization;
+
+import lombok.Getter;
+
+/**
+ * Assignment of packages to vehicles with a stop sequence per vehicle.
+ * Indices refer to the owning {@link DispatchProblem}.
+ */
+@Getter
+public class DispatchPlan {
+
+    private final int[][] routes;
+    private final int[] unassigned;
+
+    public DispatchPlan(int[][] routes, int[] unassigned) {
+        this.routes = routes;
+        this.unassigned = unassigned;
+    }
+
+    public int vehiclesUsed() {
+        int used = 0;
+        for (int[] route : routes) {
+            if (route.length > 0) {
+                used++;
+            }
+        }
+        return used;
+    }
+}
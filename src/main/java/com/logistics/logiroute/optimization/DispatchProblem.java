@@ -0,0 +1,50 @@
+package com.logistics.logiroute.optimization;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A single-depot dispatch instance in packed primitive form. Vectors use the
+ * {@link CapacityGuard} layout; unknown coordinates are {@link Double#NaN}.
+ * Times are epoch seconds (UTC).
+ */
+@Getter
+@Builder
+public class DispatchProblem {
+
+    private final double depotLatitude;
+    private final double depotLongitude;
+
+    private final long startEpochSeconds;
+    private final double averageSpeedKmh;
+    private final long loadingSeconds;
+    private final long serviceSecondsPerStop;
+
+    private final int vehicleCount;
+    private final long[] vehicleIds;
+    private final double[] vehicleCapacity;
+    private final int[] vehicleHazmat;
+
+    private final int packageCount;
+    private final long[] packageIds;
+    private final double[] demand;
+    private final int[] packageHazmat;
+    private final long[] deadlines;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    /**
+     * Distance in km between two stops, where index -1 denotes the depot.
+     */
+    public double distanceKm(int from, int to) {
+        double fromLat = from < 0 ? depotLatitude : latitudes[from];
+        double fromLon = from < 0 ? depotLongitude : longitudes[from];
+        double toLat = to < 0 ? depotLatitude : latitudes[to];
+        double toLon = to < 0 ? depotLongitude : longitudes[to];
+        return GeoDistance.haversineKm(fromLat, fromLon, toLat, toLon);
+    }
+
+    public long driveSeconds(double km) {
+        return (long) (km / averageSpeedKmh * 3600);
+    }
+}
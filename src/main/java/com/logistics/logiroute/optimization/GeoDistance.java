@@ -0,0 +1,29 @@
+package com.logistics.logiroute.optimization;
+
+/**
+ * Great-circle distances. Unknown coordinates are encoded as {@link Double#NaN}
+ * in packed arrays and contribute zero distance.
+ */
+public final class GeoDistance {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoDistance() {
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        if (Double.isNaN(lat1) || Double.isNaN(lat2) || Double.isNaN(lon1) || Double.isNaN(lon2)) {
+            return 0.0;
+        }
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
@@ -0,0 +1,60 @@
+package com.logistics.logiroute.optimization;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The baseline dispatch pipeline on packed arrays: packages ordered by
+ * deadline (earliest first), placed first-fit under the capacity guard, and
+ * each vehicle visits its packages in deadline order. This mirrors the
+ * ordering {@code DeliveryService} applies to a manual assignment.
+ */
+public final class GreedyDispatcher {
+
+    private GreedyDispatcher() {
+    }
+
+    public static DispatchPlan solve(DispatchProblem problem) {
+        int[] order = deadlineOrder(problem);
+        double[] remaining = Arrays.copyOf(problem.getVehicleCapacity(), problem.getVehicleCapacity().length);
+
+        int[] assignment = CapacityGuard.firstFit(problem.getDemand(), problem.getPackageHazmat(), order,
+                remaining, problem.getVehicleHazmat(), problem.getVehicleCount());
+
+        int[] counts = new int[problem.getVehicleCount()];
+        int unassignedCount = 0;
+        for (int vehicle : assignment) {
+            if (vehicle >= 0) {
+                counts[vehicle]++;
+            } else {
+                unassignedCount++;
+            }
+        }
+
+        int[][] routes = new int[problem.getVehicleCount()][];
+        for (int v = 0; v < routes.length; v++) {
+            routes[v] = new int[counts[v]];
+        }
+        int[] fill = new int[problem.getVehicleCount()];
+        int[] unassigned = new int[unassignedCount];
+        int u = 0;
+        for (int i = 0; i < order.length; i++) {
+            int vehicle = assignment[i];
+            if (vehicle >= 0) {
+                routes[vehicle][fill[vehicle]++] = order[i];
+            } else {
+                unassigned[u++] = order[i];
+            }
+        }
+        return new DispatchPlan(routes, unassigned);
+    }
+
+    static int[] deadlineOrder(DispatchProblem problem) {
+        long[] deadlines = problem.getDeadlines();
+        return IntStream.range(0, problem.getPackageCount())
+                .boxed()
+                .sorted((a, b) -> Long.compare(deadlines[a], deadlines[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
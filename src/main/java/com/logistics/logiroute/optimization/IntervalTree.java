@@ -0,0 +1,154 @@
+package com.logistics.logiroute.optimization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree over half-open {@code [start, end)} intervals of epoch seconds.
+ * <p>
+ * Implemented as a treap keyed by start and augmented with the maximum end of
+ * each subtree, so inserts and overlap queries run in expected O(log n).
+ * Not thread-safe; build one per scheduling run.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    public void insert(long start, long end, long id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after start");
+        }
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean overlapsAny(long start, long end) {
+        return findOverlap(root, start, end) != null;
+    }
+
+    /**
+     * Returns the IDs of all stored intervals overlapping {@code [start, end)}.
+     */
+    public List<Long> findOverlapping(long start, long end) {
+        List<Long> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    /**
+     * Finds the earliest start {@code >= from} such that {@code [start, start + duration)}
+     * overlaps no stored interval and ends no later than {@code until}.
+     *
+     * @return the start, or -1 when no such gap exists
+     */
+    public long earliestGap(long from, long duration, long until) {
+        long candidate = from;
+        while (candidate + duration <= until) {
+            Node blocking = findOverlap(root, candidate, candidate + duration);
+            if (blocking == null) {
+                return candidate;
+            }
+            candidate = blocking.end;
+        }
+        return -1;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start < node.start) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node findOverlap(Node node, long start, long end) {
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static void collectOverlapping(Node node, long start, long end, List<Long> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (node.start < end && start < node.end) {
+            result.add(node.id);
+        }
+        if (node.start < end) {
+            collectOverlapping(node.right, start, end, result);
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
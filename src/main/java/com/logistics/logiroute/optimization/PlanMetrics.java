@@ -0,0 +1,55 @@
+package com.logistics.logiroute.optimization;
+
+import lombok.Getter;
+
+/**
+ * KPIs of a {@link DispatchPlan}: distance driven, lateness against deadlines
+ * and weight utilization of the vehicles that are used.
+ */
+@Getter
+public class PlanMetrics {
+
+    private int vehiclesUsed;
+    private double totalKm;
+    private int latePackages;
+    private int unassignedPackages;
+    private double loadedWeightKg;
+    private double usedCapacityKg;
+
+    public double getUtilization() {
+        return usedCapacityKg > 0 ? loadedWeightKg / usedCapacityKg : 0.0;
+    }
+
+    public static PlanMetrics evaluate(DispatchProblem problem, DispatchPlan plan) {
+        PlanMetrics metrics = new PlanMetrics();
+        int[][] routes = plan.getRoutes();
+        double[] demand = problem.getDemand();
+        double[] capacity = problem.getVehicleCapacity();
+        long[] deadlines = problem.getDeadlines();
+
+        for (int v = 0; v < routes.length; v++) {
+            int[] route = routes[v];
+            if (route.length == 0) {
+                continue;
+            }
+            metrics.vehiclesUsed++;
+            metrics.usedCapacityKg += capacity[v * CapacityGuard.DIMENSIONS + CapacityGuard.WEIGHT];
+
+            long clock = problem.getStartEpochSeconds() + problem.getLoadingSeconds();
+            int previous = -1;
+            for (int stop : route) {
+                double km = problem.distanceKm(previous, stop);
+                metrics.totalKm += km;
+                clock += problem.driveSeconds(km) + problem.getServiceSecondsPerStop();
+                if (clock > deadlines[stop]) {
+                    metrics.latePackages++;
+                }
+                metrics.loadedWeightKg += demand[stop * CapacityGuard.DIMENSIONS + CapacityGuard.WEIGHT];
+                previous = stop;
+            }
+            metrics.totalKm += problem.distanceKm(previous, -1);
+        }
+        metrics.unassignedPackages = plan.getUnassigned().length;
+        return metrics;
+    }
+}
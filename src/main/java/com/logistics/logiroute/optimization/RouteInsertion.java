@@ -0,0 +1,132 @@
+package com.logistics.logiroute.optimization;
+
+/**
+ * Incremental route edits against an existing stop sequence.
+ * <p>
+ * A route is given as the coordinates and deadlines of its remaining stops,
+ * driven from an origin (the depot or the last delivered stop) and ending back
+ * at the depot. Both operations run in O(route length): one forward pass for
+ * arrival times, one backward pass for the minimum deadline slack of every
+ * suffix, and one scan over all insertion positions.
+ */
+public final class RouteInsertion {
+
+    private RouteInsertion() {
+    }
+
+    /**
+     * Result of a cheapest-insertion search.
+     *
+     * @param position index in the remaining-stop sequence before which to insert
+     * @param deltaKm  added driving distance
+     * @param onTime   whether all stops, including the new one, still meet their deadlines
+     */
+    public record Insertion(int position, double deltaKm, boolean onTime) {
+    }
+
+    /**
+     * Route geometry and timing shared by the operations below. Coordinates
+     * may be {@link Double#NaN}; such legs count as zero km.
+     */
+    public record Route(double originLatitude, double originLongitude,
+                        double depotLatitude, double depotLongitude,
+                        double[] latitudes, double[] longitudes, long[] deadlines, int stops,
+                        long startEpochSeconds, double averageSpeedKmh, long serviceSeconds) {
+
+        private double distance(double lat1, double lon1, int to) {
+            double lat2 = to < stops ? latitudes[to] : depotLatitude;
+            double lon2 = to < stops ? longitudes[to] : depotLongitude;
+            return GeoDistance.haversineKm(lat1, lon1, lat2, lon2);
+        }
+
+        private double latitudeOf(int index) {
+            return index < 0 ? originLatitude : latitudes[index];
+        }
+
+        private double longitudeOf(int index) {
+            return index < 0 ? originLongitude : longitudes[index];
+        }
+
+        private long driveSeconds(double km) {
+            return (long) (km / averageSpeedKmh * 3600);
+        }
+    }
+
+    /**
+     * Finds the position with the smallest added distance that keeps every
+     * stop on time. When no position is on time, the cheapest position overall
+     * is returned with {@code onTime == false}.
+     */
+    public static Insertion cheapestInsertion(Route route, double latitude, double longitude, long deadline) {
+        int n = route.stops();
+        long[] arrival = new long[n];
+        long clock = route.startEpochSeconds();
+        for (int i = 0; i < n; i++) {
+            double km = route.distance(route.latitudeOf(i - 1), route.longitudeOf(i - 1), i);
+            clock += route.driveSeconds(km) + route.serviceSeconds();
+            arrival[i] = clock;
+        }
+
+        long[] slack = new long[n + 1];
+        slack[n] = Long.MAX_VALUE;
+        for (int i = n - 1; i >= 0; i--) {
+            slack[i] = Math.min(slack[i + 1], route.deadlines()[i] - arrival[i]);
+        }
+
+        int bestFeasible = -1;
+        double bestFeasibleKm = Double.POSITIVE_INFINITY;
+        int bestAny = 0;
+        double bestAnyKm = Double.POSITIVE_INFINITY;
+
+        for (int k = 0; k <= n; k++) {
+            double prevLat = route.latitudeOf(k - 1);
+            double prevLon = route.longitudeOf(k - 1);
+            double toNew = GeoDistance.haversineKm(prevLat, prevLon, latitude, longitude);
+            double fromNew = route.distance(latitude, longitude, k);
+            double direct = route.distance(prevLat, prevLon, k);
+            double deltaKm = toNew + fromNew - direct;
+
+            long previousArrival = k == 0 ? route.startEpochSeconds() : arrival[k - 1];
+            long newArrival = previousArrival + route.driveSeconds(toNew) + route.serviceSeconds();
+            long delay = route.driveSeconds(deltaKm) + route.serviceSeconds();
+            boolean feasible = newArrival <= deadline && (k == n || delay <= slack[k]);
+
+            if (deltaKm < bestAnyKm) {
+                bestAny = k;
+                bestAnyKm = deltaKm;
+            }
+            if (feasible && deltaKm < bestFeasibleKm) {
+                bestFeasible = k;
+                bestFeasibleKm = deltaKm;
+            }
+        }
+
+        return bestFeasible >= 0
+                ? new Insertion(bestFeasible, bestFeasibleKm, true)
+                : new Insertion(bestAny, bestAnyKm, false);
+    }
+
+    /**
+     * Position that keeps the stops ordered by deadline, used when the new
+     * stop has no coordinates.
+     */
+    public static int deadlinePosition(long[] deadlines, int stops, long deadline) {
+        int position = 0;
+        while (position < stops && deadlines[position] <= deadline) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Distance saved by removing the stop at {@code index}.
+     */
+    public static double removalDeltaKm(Route route, int index) {
+        double prevLat = route.latitudeOf(index - 1);
+        double prevLon = route.longitudeOf(index - 1);
+        double toStop = route.distance(prevLat, prevLon, index);
+        double fromStop = route.distance(route.latitudes()[index], route.longitudes()[index], index + 1);
+        double direct = route.distance(prevLat, prevLon, index + 1);
+        return toStop + fromStop - direct;
+    }
+}
@@ -0,0 +1,226 @@
+package com.logistics.logiroute.proto;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes {@link PackageDto} and {@link DeliveryRouteDto} in the
+ * binary form described by {@code proto/logiroute.proto}. Field numbers here
+ * must match the schema; timestamps keep millisecond precision.
+ */
+public final class DtoProtoCodec {
+
+    private static final HazmatClass[] HAZMAT_CLASSES = HazmatClass.values();
+    private static final PackageStatus[] PACKAGE_STATUSES = PackageStatus.values();
+    private static final ServiceTier[] SERVICE_TIERS = ServiceTier.values();
+
+    private DtoProtoCodec() {
+    }
+
+    public static byte[] encodePackage(PackageDto pkg) {
+        ProtoWriter out = new ProtoWriter();
+        writePackage(out, pkg);
+        return out.toByteArray();
+    }
+
+    public static byte[] encodePackages(List<PackageDto> packages) {
+        ProtoWriter out = new ProtoWriter();
+        writePackages(out, packages);
+        return out.toByteArray();
+    }
+
+    public static byte[] encodeRoute(DeliveryRouteDto route) {
+        ProtoWriter out = new ProtoWriter();
+        writeRoute(out, route);
+        return out.toByteArray();
+    }
+
+    public static byte[] encodeRoutes(List<DeliveryRouteDto> routes) {
+        ProtoWriter out = new ProtoWriter();
+        writeRoutes(out, routes);
+        return out.toByteArray();
+    }
+
+    public static PackageDto decodePackage(byte[] bytes) {
+        return readPackage(new ProtoReader(bytes), 0L);
+    }
+
+    public static List<PackageDto> decodePackages(byte[] bytes) {
+        ProtoReader in = new ProtoReader(bytes);
+        List<PackageDto> packages = new ArrayList<>();
+        long previousId = 0L;
+        for (int tag = in.tag(); tag != 0; tag = in.tag()) {
+            if (ProtoReader.field(tag) == 1) {
+                PackageDto pkg = readPackage(in.message(), previousId);
+                previousId = pkg.getId() != null ? pkg.getId() : previousId;
+                packages.add(pkg);
+            } else {
+                in.skip(tag);
+            }
+        }
+        return packages;
+    }
+
+    public static DeliveryRouteDto decodeRoute(byte[] bytes) {
+        return readRoute(new ProtoReader(bytes), 0L);
+    }
+
+    public static List<DeliveryRouteDto> decodeRoutes(byte[] bytes) {
+        ProtoReader in = new ProtoReader(bytes);
+        List<DeliveryRouteDto> routes = new ArrayList<>();
+        long previousId = 0L;
+        for (int tag = in.tag(); tag != 0; tag = in.tag()) {
+            if (ProtoReader.field(tag) == 1) {
+                DeliveryRouteDto route = readRoute(in.message(), previousId);
+                previousId = route.getId() != null ? route.getId() : previousId;
+                routes.add(route);
+            } else {
+                in.skip(tag);
+            }
+        }
+        return routes;
+    }
+
+    static void writePackage(ProtoWriter out, PackageDto pkg) {
+        writePackageFields(out, pkg, 0L);
+    }
+
+    static void writePackages(ProtoWriter out, List<PackageDto> packages) {
+        writePackageList(out, 1, packages);
+    }
+
+    static void writeRoute(ProtoWriter out, DeliveryRouteDto route) {
+        writeRouteFields(out, route, 0L);
+    }
+
+    static void writeRoutes(ProtoWriter out, List<DeliveryRouteDto> routes) {
+        if (routes == null) {
+            return;
+        }
+        long previousId = 0L;
+        for (DeliveryRouteDto route : routes) {
+            int mark = out.beginMessage(1);
+            previousId = writeRouteFields(out, route, previousId);
+            out.endMessage(mark);
+        }
+    }
+
+    /**
+     * Writes the package and returns the id the next package's delta is
+     * taken from.
+     */
+    private static long writePackageFields(ProtoWriter out, PackageDto pkg, long previousId) {
+        if (pkg.getId() != null) {
+            out.sint64(1, pkg.getId() - previousId);
+            previousId = pkg.getId();
+        }
+        out.string(2, pkg.getDeliveryAddress());
+        out.string(3, pkg.getAddressKey());
+        out.doubleValue(4, pkg.getWeightKg());
+        out.doubleValue(5, pkg.getVolumeM3());
+        out.int32(6, pkg.getPalletSlots());
+        out.enumValue(7, pkg.getHazmatClass());
+        out.enumValue(8, pkg.getStatus());
+        out.timestamp(9, pkg.getDeliveryDeadline());
+        out.doubleValue(10, pkg.getLatitude());
+        out.doubleValue(11, pkg.getLongitude());
+        out.timestamp(12, pkg.getEarliestDelivery());
+        out.timestamp(13, pkg.getLatestDelivery());
+        out.int64(14, pkg.getDeliveryRouteId());
+        out.int32(15, pkg.getStopSequence());
+        out.int64(16, pkg.getDepotId());
+        out.bool(17, pkg.isArchived());
+        out.enumValue(18, pkg.getServiceTier());
+        return previousId;
+    }
+
+    private static void writePackageList(ProtoWriter out, int field, List<PackageDto> packages) {
+        if (packages == null) {
+            return;
+        }
+        long previousId = 0L;
+        for (PackageDto pkg : packages) {
+            int mark = out.beginMessage(field);
+            previousId = writePackageFields(out, pkg, previousId);
+            out.endMessage(mark);
+        }
+    }
+
+    private static long writeRouteFields(ProtoWriter out, DeliveryRouteDto route, long previousId) {
+        if (route.getId() != null) {
+            out.sint64(1, route.getId() - previousId);
+            previousId = route.getId();
+        }
+        out.int64(2, route.getVehicleId());
+        out.string(3, route.getVehicleLicensePlate());
+        writePackageList(out, 4, route.getPackages());
+        out.timestamp(5, route.getCreatedAt());
+        out.timestamp(6, route.getCompletedAt());
+        out.doubleValue(7, route.getTotalWeight());
+        out.timestamp(8, route.getPlannedStart());
+        out.timestamp(9, route.getPlannedEnd());
+        out.timestamp(10, route.getDispatchedAt());
+        return previousId;
+    }
+
+    private static PackageDto readPackage(ProtoReader in, long previousId) {
+        PackageDto pkg = new PackageDto();
+        for (int tag = in.tag(); tag != 0; tag = in.tag()) {
+            switch (ProtoReader.field(tag)) {
+                case 1 -> pkg.setId(previousId + in.sint64());
+                case 2 -> pkg.setDeliveryAddress(in.string());
+                case 3 -> pkg.setAddressKey(in.string());
+                case 4 -> pkg.setWeightKg(in.doubleValue());
+                case 5 -> pkg.setVolumeM3(in.doubleValue());
+                case 6 -> pkg.setPalletSlots((int) in.varint());
+                case 7 -> pkg.setHazmatClass(in.enumValue(HAZMAT_CLASSES));
+                case 8 -> pkg.setStatus(in.enumValue(PACKAGE_STATUSES));
+                case 9 -> pkg.setDeliveryDeadline(in.timestamp());
+                case 10 -> pkg.setLatitude(in.doubleValue());
+                case 11 -> pkg.setLongitude(in.doubleValue());
+                case 12 -> pkg.setEarliestDelivery(in.timestamp());
+                case 13 -> pkg.setLatestDelivery(in.timestamp());
+                case 14 -> pkg.setDeliveryRouteId(in.varint());
+                case 15 -> pkg.setStopSequence((int) in.varint());
+                case 16 -> pkg.setDepotId(in.varint());
+                case 17 -> pkg.setArchived(in.varint() != 0);
+                case 18 -> pkg.setServiceTier(in.enumValue(SERVICE_TIERS));
+                default -> in.skip(tag);
+            }
+        }
+        return pkg;
+    }
+
+    private static DeliveryRouteDto readRoute(ProtoReader in, long previousId) {
+        DeliveryRouteDto route = new DeliveryRouteDto();
+        List<PackageDto> packages = new ArrayList<>();
+        long previousPackageId = 0L;
+        for (int tag = in.tag(); tag != 0; tag = in.tag()) {
+            switch (ProtoReader.field(tag)) {
+                case 1 -> route.setId(previousId + in.sint64());
+                case 2 -> route.setVehicleId(in.varint());
+                case 3 -> route.setVehicleLicensePlate(in.string());
+                case 4 -> {
+                    PackageDto pkg = readPackage(in.message(), previousPackageId);
+                    previousPackageId = pkg.getId() != null ? pkg.getId() : previousPackageId;
+                    packages.add(pkg);
+                }
+                case 5 -> route.setCreatedAt(in.timestamp());
+                case 6 -> route.setCompletedAt(in.timestamp());
+                case 7 -> route.setTotalWeight(in.doubleValue());
+                case 8 -> route.setPlannedStart(in.timestamp());
+                case 9 -> route.setPlannedEnd(in.timestamp());
+                case 10 -> route.setDispatchedAt(in.timestamp());
+                default -> in.skip(tag);
+            }
+        }
+        route.setPackages(packages);
+        return route;
+    }
+}
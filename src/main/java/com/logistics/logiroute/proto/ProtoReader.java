@@ -0,0 +1,127 @@
+package com.logistics.logiroute.proto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Protocol Buffers wire-format decoder over a byte array. Unknown fields are
+ * skipped so older readers accept messages with fields added later.
+ */
+final class ProtoReader {
+
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+
+    ProtoReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    private ProtoReader(byte[] bytes, int position, int limit) {
+        this.bytes = bytes;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the next tag, or 0 at the end of the message.
+     */
+    int tag() {
+        if (position == limit) {
+            return 0;
+        }
+        int tag = (int) varint();
+        if (tag >>> 3 == 0) {
+            throw new IllegalArgumentException("Invalid field number 0 at offset " + position);
+        }
+        return tag;
+    }
+
+    static int field(int tag) {
+        return tag >>> 3;
+    }
+
+    long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = next();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + position);
+    }
+
+    long sint64() {
+        long value = varint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double doubleValue() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (next() & 0xFF) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String string() {
+        int size = size();
+        String value = new String(bytes, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    <E extends Enum<E>> E enumValue(E[] values) {
+        int number = (int) varint();
+        // Values added after this reader was built decode as absent
+        return number >= 1 && number <= values.length ? values[number - 1] : null;
+    }
+
+    LocalDateTime timestamp() {
+        long millis = sint64();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    ProtoReader message() {
+        int size = size();
+        ProtoReader nested = new ProtoReader(bytes, position, position + size);
+        position += size;
+        return nested;
+    }
+
+    void skip(int tag) {
+        switch (tag & 7) {
+            case ProtoWriter.VARINT -> varint();
+            case ProtoWriter.FIXED64 -> advance(8);
+            case ProtoWriter.LENGTH_DELIMITED -> advance(size());
+            case 5 -> advance(4);
+            default -> throw new IllegalArgumentException("Unsupported wire type " + (tag & 7));
+        }
+    }
+
+    private int size() {
+        long size = varint();
+        if (size < 0 || size > limit - position) {
+            throw new IllegalArgumentException("Length " + size + " overruns message at offset " + position);
+        }
+        return (int) size;
+    }
+
+    private void advance(int count) {
+        if (count > limit - position) {
+            throw new IllegalArgumentException("Truncated message at offset " + position);
+        }
+        position += count;
+    }
+
+    private byte next() {
+        if (position >= limit) {
+            throw new IllegalArgumentException("Truncated message at offset " + position);
+        }
+        return bytes[position++];
+    }
+}
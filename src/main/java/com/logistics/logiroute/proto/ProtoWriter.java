@@ -0,0 +1,145 @@
+package com.logistics.logiroute.proto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Protocol Buffers wire-format encoder. Null values are skipped so they
+ * decode as absent. Nested messages are written in place and their
+ * length prefix is inserted afterwards, which moves the message body once.
+ */
+final class ProtoWriter {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+
+    private byte[] bytes = new byte[1024];
+    private int length;
+
+    int length() {
+        return length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    void writeTo(OutputStream output) throws IOException {
+        output.write(bytes, 0, length);
+    }
+
+    void int64(int field, Long value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint(value);
+        }
+    }
+
+    void int32(int field, Integer value) {
+        if (value != null) {
+            tag(field, VARINT);
+            // Negative int32 values are sign-extended to ten bytes, as protoc does
+            varint(value.longValue());
+        }
+    }
+
+    void sint64(int field, long value) {
+        tag(field, VARINT);
+        varint((value << 1) ^ (value >> 63));
+    }
+
+    void bool(int field, boolean value) {
+        if (value) {
+            tag(field, VARINT);
+            varint(1);
+        }
+    }
+
+    void doubleValue(int field, Double value) {
+        if (value != null) {
+            tag(field, FIXED64);
+            ensure(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                bytes[length++] = (byte) (bits >>> (8 * i));
+            }
+        }
+    }
+
+    void string(int field, String value) {
+        if (value != null) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, LENGTH_DELIMITED);
+            varint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+    }
+
+    void enumValue(int field, Enum<?> value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint(value.ordinal() + 1);
+        }
+    }
+
+    void timestamp(int field, LocalDateTime value) {
+        if (value != null) {
+            sint64(field, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    /**
+     * Starts a nested message and returns the mark to pass to
+     * {@link #endMessage(int)}.
+     */
+    int beginMessage(int field) {
+        tag(field, LENGTH_DELIMITED);
+        return length;
+    }
+
+    void endMessage(int mark) {
+        int size = length - mark;
+        int prefix = varintSize(size);
+        ensure(prefix);
+        System.arraycopy(bytes, mark, bytes, mark + prefix, size);
+        int end = length + prefix;
+        length = mark;
+        varint(size);
+        length = end;
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.logistics.logiroute.proto;
+
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link PackageDto} and {@link DeliveryRouteDto} responses, single or
+ * as lists, as {@code application/x-protobuf} through {@link DtoProtoCodec}.
+ * Only chosen when the client asks for it in {@code Accept}. Write-only.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PackageDto.class || clazz == DeliveryRouteDto.class;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (supports(clazz)) {
+            return true;
+        }
+        return List.class.isAssignableFrom(clazz) && type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element && supports(element);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // Lists only reach here after canWrite has checked the element type
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        ProtoWriter out = new ProtoWriter();
+        if (body instanceof PackageDto pkg) {
+            DtoProtoCodec.writePackage(out, pkg);
+        } else if (body instanceof DeliveryRouteDto route) {
+            DtoProtoCodec.writeRoute(out, route);
+        } else if (isListOf(type, PackageDto.class)) {
+            DtoProtoCodec.writePackages(out, (List<PackageDto>) body);
+        } else if (isListOf(type, DeliveryRouteDto.class)) {
+            DtoProtoCodec.writeRoutes(out, (List<DeliveryRouteDto>) body);
+        } else {
+            throw new HttpMessageNotWritableException("Unsupported body type " + body.getClass().getName());
+        }
+        outputMessage.getHeaders().setContentLength(out.length());
+        out.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    private static boolean isListOf(Type type, Class<?> element) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] == element;
+    }
+}
@@ -0,0 +1,13 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.ArchivedDeliveryRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedDeliveryRouteRepository extends JpaRepository<ArchivedDeliveryRoute, Long> {
+
+    List<ArchivedDeliveryRoute> findByVehicleId(Long vehicleId);
+}
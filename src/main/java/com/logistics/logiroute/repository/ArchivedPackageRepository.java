@@ -0,0 +1,20 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.ArchivedPackage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedPackageRepository extends JpaRepository<ArchivedPackage, Long> {
+
+    List<ArchivedPackage> findByDeliveryRouteId(Long deliveryRouteId);
+
+    // Archived rows never change; the version of -1 keeps the stamp apart from the live row it replaced
+    @Query("SELECT new com.logistics.logiroute.repository.VersionStamp(COUNT(x), SUM(x.id), -1L, MAX(x.archivedAt))"
+            + " FROM ArchivedPackage x WHERE x.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+}
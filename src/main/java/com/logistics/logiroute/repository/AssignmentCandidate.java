@@ -0,0 +1,26 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a package that assignment validation needs, read without
+ * loading or locking the entity.
+ */
+public record AssignmentCandidate(Long id, PackageStatus status, Long depotId, Long deliveryRouteId, Double weightKg,
+                                  Double volumeM3, Integer palletSlots, HazmatClass hazmatClass,
+                                  LocalDateTime deliveryDeadline) {
+
+    public static final String SELECT = "SELECT new com.logistics.logiroute.repository.AssignmentCandidate("
+            + "p.id, p.status, d.id, r.id, p.weightKg, p.volumeM3, p.palletSlots, p.hazmatClass, p.deliveryDeadline)";
+
+    public double volumeOrZero() {
+        return volumeM3 != null ? volumeM3 : 0.0;
+    }
+
+    public int palletSlotsOrZero() {
+        return palletSlots != null ? palletSlots : 0;
+    }
+}
@@ -1,9 +1,15 @@
 package com.logistics.logiroute.repository;
 
 import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +20,31 @@ public interface DeliveryRouteRepository extends JpaRepository<DeliveryRoute, Lo
     List<DeliveryRoute> findByCompletedAtIsNull();
 
     List<DeliveryRoute> findByCompletedAtIsNotNull();
+
+    List<DeliveryRoute> findByVehicleIdAndCompletedAtIsNull(Long vehicleId);
+
+    boolean existsByVehicleIdAndCompletedAtIsNull(Long vehicleId);
+
+    @Query("SELECT r.id FROM DeliveryRoute r WHERE r.completedAt < :cutoff ORDER BY r.completedAt")
+    List<Long> findIdsCompletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query(VersionStamp.SELECT + " FROM DeliveryRoute x WHERE x.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+
+    @Query(VersionStamp.SELECT + " FROM DeliveryRoute x WHERE x.completedAt IS NULL")
+    VersionStamp stampByCompletedAtIsNull();
+
+    @Query(VersionStamp.SELECT + " FROM DeliveryRoute x WHERE x.vehicle.id = :vehicleId")
+    VersionStamp stampByVehicleId(@Param("vehicleId") Long vehicleId);
+
+    // Vehicles of the routes, for the license plate in the route DTO
+    @Query(VersionStamp.SELECT + " FROM DeliveryRoute r JOIN r.vehicle x WHERE r.id = :id")
+    VersionStamp stampVehicleById(@Param("id") Long id);
+
+    @Query(VersionStamp.SELECT + " FROM DeliveryRoute r JOIN r.vehicle x WHERE r.completedAt IS NULL")
+    VersionStamp stampVehiclesByCompletedAtIsNull();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DeliveryRoute r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,18 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DepotRepository extends JpaRepository<Depot, Long> {
+
+    Optional<Depot> findByCode(String code);
+
+    @Query("SELECT d.id FROM Depot d")
+    List<Long> findAllIds();
+}
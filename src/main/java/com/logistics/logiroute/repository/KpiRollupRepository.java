@@ -0,0 +1,53 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.analytics.KpiDelta;
+import com.logistics.logiroute.analytics.KpiTotals;
+import com.logistics.logiroute.domain.entity.KpiRollup;
+import com.logistics.logiroute.domain.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface KpiRollupRepository extends JpaRepository<KpiRollup, Long> {
+
+    // Native SQL: JPQL arithmetic on double parameters renders an invalid cast on H2
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE kpi_rollups SET"
+            + " routes_completed = routes_completed + :#{#delta.routesCompleted},"
+            + " packages_on_routes = packages_on_routes + :#{#delta.packagesOnRoutes},"
+            + " packages_delivered = packages_delivered + :#{#delta.packagesDelivered},"
+            + " packages_on_time = packages_on_time + :#{#delta.packagesOnTime},"
+            + " load_kg = load_kg + :#{#delta.loadKg},"
+            + " capacity_kg = capacity_kg + :#{#delta.capacityKg},"
+            + " route_seconds = route_seconds + :#{#delta.routeSeconds}"
+            + " WHERE vehicle_id = :vehicleId AND granularity = :#{#granularity.name()} AND bucket_start = :bucketStart")
+    int increment(@Param("vehicleId") Long vehicleId,
+                  @Param("granularity") RollupGranularity granularity,
+                  @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("delta") KpiDelta delta);
+
+    @Query("SELECT r FROM KpiRollup r WHERE r.granularity = :granularity"
+            + " AND r.bucketStart >= :start AND r.bucketStart < :end"
+            + " AND (:vehicleId IS NULL OR r.vehicleId = :vehicleId)"
+            + " ORDER BY r.bucketStart, r.vehicleId")
+    List<KpiRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end,
+                                @Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT new com.logistics.logiroute.analytics.KpiTotals(r.vehicleId,"
+            + " SUM(r.routesCompleted), SUM(r.packagesOnRoutes), SUM(r.packagesDelivered), SUM(r.packagesOnTime),"
+            + " SUM(r.loadKg), SUM(r.capacityKg), SUM(r.routeSeconds))"
+            + " FROM KpiRollup r WHERE r.granularity = :granularity"
+            + " AND r.bucketStart >= :start AND r.bucketStart < :end"
+            + " GROUP BY r.vehicleId ORDER BY r.vehicleId")
+    List<KpiTotals> sumByVehicle(@Param("granularity") RollupGranularity granularity,
+                                 @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,20 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.PackageHistorySegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PackageHistorySegmentRepository extends JpaRepository<PackageHistorySegment, Long> {
+
+    List<PackageHistorySegment> findBySegmentDayBetween(LocalDate startDay, LocalDate endDay);
+
+    @Query("SELECT s FROM PackageHistorySegment s"
+            + " WHERE s.minPackageId <= :packageId AND s.maxPackageId >= :packageId ORDER BY s.segmentDay")
+    List<PackageHistorySegment> findCovering(@Param("packageId") Long packageId);
+}
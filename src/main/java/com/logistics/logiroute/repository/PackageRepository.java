@@ -3,19 +3,80 @@ package com.logistics.logiroute.repository;
 import com.logistics.logiroute.domain.entity.Package;
 import com.logistics.logiroute.domain.enums.PackageStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PackageRepository extends JpaRepository<Package, Long> {
 
+    /**
+     * Packages waiting for a route. Cancelled packages have no route either,
+     * so the status is part of the filter.
+     */
+    String UNASSIGNED = " x.deliveryRoute IS NULL"
+            + " AND x.status = com.logistics.logiroute.domain.enums.PackageStatus.CREATED";
+
     List<Package> findByStatus(PackageStatus status);
 
     List<Package> findByStatusAndDeliveryDeadlineBefore(PackageStatus status, LocalDateTime deadline);
 
     List<Package> findByDeliveryRouteId(Long deliveryRouteId);
 
-    List<Package> findByDeliveryRouteIsNull();
+    @Query("SELECT x FROM Package x WHERE" + UNASSIGNED)
+    List<Package> findUnassigned();
+
+    List<Package> findByStatusAndDeliveryRouteIsNull(PackageStatus status);
+
+    long countByStatusAndDeliveryRouteIsNull(PackageStatus status);
+
+    List<Package> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    List<Package> findByDeliveryRouteIdIn(Collection<Long> deliveryRouteIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Package p WHERE p.deliveryRoute.id IN :routeIds")
+    int deleteByDeliveryRouteIdIn(@Param("routeIds") Collection<Long> routeIds);
+
+    @Query("SELECT x FROM Package x WHERE x.depot.id = :depotId AND" + UNASSIGNED)
+    List<Package> findUnassignedByDepotId(@Param("depotId") Long depotId);
+
+    @Query(VersionStamp.SELECT + " FROM Package x WHERE x.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+
+    @Query(VersionStamp.SELECT + " FROM Package x")
+    VersionStamp stampAll();
+
+    @Query(VersionStamp.SELECT + " FROM Package x WHERE x.status = :status")
+    VersionStamp stampByStatus(@Param("status") PackageStatus status);
+
+    @Query(VersionStamp.SELECT + " FROM Package x WHERE" + UNASSIGNED)
+    VersionStamp stampUnassigned();
+
+    @Query(VersionStamp.SELECT + " FROM Package x WHERE x.depot.id = :depotId AND" + UNASSIGNED)
+    VersionStamp stampUnassignedByDepotId(@Param("depotId") Long depotId);
+
+    @Query(VersionStamp.SELECT + " FROM Package x WHERE x.deliveryRoute.id = :routeId")
+    VersionStamp stampByDeliveryRouteId(@Param("routeId") Long routeId);
+
+    @Query(VersionStamp.SELECT + " FROM Package x JOIN x.deliveryRoute r WHERE r.completedAt IS NULL")
+    VersionStamp stampByActiveRoutes();
+
+    @Query(VersionStamp.SELECT + " FROM Package x JOIN x.deliveryRoute r WHERE r.vehicle.id = :vehicleId")
+    VersionStamp stampByRouteVehicleId(@Param("vehicleId") Long vehicleId);
+
+    @Query(AssignmentCandidate.SELECT
+            + " FROM Package p LEFT JOIN p.depot d LEFT JOIN p.deliveryRoute r WHERE p.id IN :ids")
+    List<AssignmentCandidate> findAssignmentCandidates(@Param("ids") Collection<Long> ids);
+
+    @Query(QueueCandidate.SELECT + QueueCandidate.QUEUED)
+    List<QueueCandidate> findQueueCandidates();
+
+    @Query(QueueCandidate.SELECT + QueueCandidate.QUEUED + " AND p.id IN :ids")
+    List<QueueCandidate> findQueueCandidates(@Param("ids") Collection<Long> ids);
 }
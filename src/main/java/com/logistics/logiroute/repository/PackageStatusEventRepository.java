@@ -0,0 +1,41 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.PackageStatusEvent;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.history.StatusEventRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PackageStatusEventRepository extends JpaRepository<PackageStatusEvent, Long> {
+
+    String ROW = "new com.logistics.logiroute.history.StatusEventRow("
+            + "e.packageId, e.vehicleId, e.routeId, e.fromStatus, e.toStatus, e.occurredAt, e.dwellSeconds)";
+
+    @Query("SELECT " + ROW + " FROM PackageStatusEvent e WHERE e.packageId = :packageId ORDER BY e.occurredAt")
+    List<StatusEventRow> findRowsByPackageId(@Param("packageId") Long packageId);
+
+    @Query("SELECT " + ROW + " FROM PackageStatusEvent e WHERE e.eventDay = :day ORDER BY e.vehicleId, e.occurredAt")
+    List<StatusEventRow> findRowsByDay(@Param("day") LocalDate day);
+
+    @Query("SELECT " + ROW + " FROM PackageStatusEvent e"
+            + " WHERE e.eventDay BETWEEN :startDay AND :endDay"
+            + " AND e.fromStatus = :fromStatus AND e.toStatus = :toStatus")
+    List<StatusEventRow> findTransitions(@Param("fromStatus") PackageStatus fromStatus,
+                                         @Param("toStatus") PackageStatus toStatus,
+                                         @Param("startDay") LocalDate startDay,
+                                         @Param("endDay") LocalDate endDay);
+
+    @Query("SELECT DISTINCT e.eventDay FROM PackageStatusEvent e WHERE e.eventDay < :cutoff ORDER BY e.eventDay")
+    List<LocalDate> findDaysBefore(@Param("cutoff") LocalDate cutoff);
+
+    @Modifying
+    @Query("DELETE FROM PackageStatusEvent e WHERE e.eventDay = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
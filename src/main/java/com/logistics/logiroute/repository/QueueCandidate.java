@@ -0,0 +1,25 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of an unassigned package that the dispatch queue scores and
+ * fits on, read without loading the entity.
+ */
+public record QueueCandidate(Long id, Long depotId, ServiceTier serviceTier, LocalDateTime deliveryDeadline,
+                             LocalDateTime statusChangedAt, Double weightKg, Double volumeM3, Integer palletSlots,
+                             HazmatClass hazmatClass) {
+
+    public static final String SELECT = "SELECT new com.logistics.logiroute.repository.QueueCandidate("
+            + "p.id, d.id, p.serviceTier, p.deliveryDeadline, p.statusChangedAt, p.weightKg, p.volumeM3, "
+            + "p.palletSlots, p.hazmatClass)";
+
+    /**
+     * Same rows as {@link PackageRepository#findUnassigned()}.
+     */
+    public static final String QUEUED = " FROM Package p LEFT JOIN p.depot d WHERE p.deliveryRoute IS NULL "
+            + "AND p.status = com.logistics.logiroute.domain.enums.PackageStatus.CREATED";
+}
@@ -3,8 +3,11 @@ package com.logistics.logiroute.repository;
 import com.logistics.logiroute.domain.entity.Vehicle;
 import com.logistics.logiroute.domain.enums.VehicleStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +18,24 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     List<Vehicle> findByStatus(VehicleStatus status);
 
+    long countByStatus(VehicleStatus status);
+
+    List<Vehicle> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
     List<Vehicle> findByStatusAndCapacityKgGreaterThanEqual(VehicleStatus status, Double minCapacity);
+
+    @Query("SELECT v FROM Vehicle v WHERE v.depot.id = :depotId AND v.status = :status")
+    List<Vehicle> findByDepotIdAndStatus(@Param("depotId") Long depotId, @Param("status") VehicleStatus status);
+
+    @Query(VersionStamp.SELECT + " FROM Vehicle x WHERE x.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+
+    @Query(VersionStamp.SELECT + " FROM Vehicle x")
+    VersionStamp stampAll();
+
+    @Query(VersionStamp.SELECT + " FROM Vehicle x WHERE x.status = :status")
+    VersionStamp stampByStatus(@Param("status") VehicleStatus status);
+
+    @Query(VersionStamp.SELECT + " FROM Vehicle x WHERE x.depot.id = :depotId AND x.status = :status")
+    VersionStamp stampByDepotIdAndStatus(@Param("depotId") Long depotId, @Param("status") VehicleStatus status);
 }
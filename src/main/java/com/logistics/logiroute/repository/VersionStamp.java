@@ -0,0 +1,59 @@
+package com.logistics.logiroute.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Aggregate over the rows behind a response: how many there are, the sums of
+ * their ids and versions, and the newest update. Inserting, deleting or
+ * updating one of those rows, or moving one in or out of a filtered set,
+ * changes the stamp, so it stands in for the response as an ETag without
+ * loading the rows.
+ */
+public record VersionStamp(Long count, Long idSum, Long versionSum, LocalDateTime lastModified) {
+
+    /**
+     * Select clause producing a stamp over the rows aliased {@code x}.
+     */
+    public static final String SELECT = "SELECT new com.logistics.logiroute.repository.VersionStamp("
+            + "COUNT(x), SUM(x.id), SUM(COALESCE(x.version, 0L)), MAX(x.updatedAt))";
+
+    public boolean isEmpty() {
+        return count == null || count == 0;
+    }
+
+    /**
+     * Stamp of a response built from several row sets, e.g. a route with its
+     * vehicle and packages.
+     */
+    public VersionStamp and(VersionStamp other) {
+        LocalDateTime newest = lastModified == null || (other.lastModified != null
+                && other.lastModified.isAfter(lastModified)) ? other.lastModified : lastModified;
+        return new VersionStamp(orZero(count) + orZero(other.count), orZero(idSum) + orZero(other.idSum),
+                orZero(versionSum) + orZero(other.versionSum), newest);
+    }
+
+    /**
+     * Weak ETag: the JSON and protobuf encodings of a response share it.
+     */
+    public String eTag() {
+        long modified = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() * 1_000_000L
+                        + lastModified.getNano() % 1_000_000
+                : 0L;
+        return "W/\"" + Long.toHexString(orZero(count)) + "-" + Long.toHexString(orZero(idSum)) + "-"
+                + Long.toHexString(orZero(versionSum)) + "-" + Long.toHexString(modified) + "\"";
+    }
+
+    /**
+     * Last-Modified in epoch milliseconds, or -1 when no row has an update
+     * timestamp. Entity timestamps are written in the JVM's time zone.
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1L;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
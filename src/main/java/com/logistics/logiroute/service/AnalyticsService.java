@@ -0,0 +1,99 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.analytics.KpiDelta;
+import com.logistics.logiroute.analytics.KpiTotals;
+import com.logistics.logiroute.domain.entity.KpiRollup;
+import com.logistics.logiroute.domain.enums.RollupGranularity;
+import com.logistics.logiroute.dto.response.VehicleKpiDto;
+import com.logistics.logiroute.repository.KpiRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Route KPIs per vehicle, served from hourly and daily rollups that are
+ * incremented as routes complete and packages are delivered. Reads touch at
+ * most one row per vehicle and bucket, independent of route volume.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsService {
+
+    private final KpiRollupRepository kpiRollupRepository;
+
+    /**
+     * Adds the delta to the hour and day buckets containing {@code at}. Runs in
+     * its own transaction; a concurrent first insert of the same bucket makes it
+     * fail with a constraint violation and the caller retries.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyDelta(Long vehicleId, LocalDateTime at, KpiDelta delta) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucketStart = granularity.bucketOf(at);
+            if (kpiRollupRepository.increment(vehicleId, granularity, bucketStart, delta) == 0) {
+                kpiRollupRepository.saveAndFlush(KpiRollup.of(vehicleId, granularity, bucketStart, delta));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<VehicleKpiDto> getVehicleKpis(LocalDate startDate, LocalDate endDate,
+                                              RollupGranularity granularity, Long vehicleId) {
+        return kpiRollupRepository.findBuckets(granularity, rangeStart(startDate, endDate), rangeEnd(endDate), vehicleId)
+                .stream()
+                .map(rollup -> toDto(rollup.getBucketStart(), new KpiTotals(
+                        rollup.getVehicleId(),
+                        (long) rollup.getRoutesCompleted(),
+                        (long) rollup.getPackagesOnRoutes(),
+                        (long) rollup.getPackagesDelivered(),
+                        (long) rollup.getPackagesOnTime(),
+                        rollup.getLoadKg(),
+                        rollup.getCapacityKg(),
+                        rollup.getRouteSeconds())))
+                .toList();
+    }
+
+    /**
+     * Totals per vehicle over the whole range, summed from the daily rollups.
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleKpiDto> getVehicleSummary(LocalDate startDate, LocalDate endDate) {
+        return kpiRollupRepository.sumByVehicle(RollupGranularity.DAY, rangeStart(startDate, endDate), rangeEnd(endDate))
+                .stream()
+                .map(totals -> toDto(null, totals))
+                .toList();
+    }
+
+    private LocalDateTime rangeStart(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        return startDate.atStartOfDay();
+    }
+
+    private LocalDateTime rangeEnd(LocalDate endDate) {
+        return endDate.plusDays(1).atStartOfDay();
+    }
+
+    private VehicleKpiDto toDto(LocalDateTime bucketStart, KpiTotals totals) {
+        long routes = totals.routesCompleted();
+        long delivered = totals.packagesDelivered();
+        return VehicleKpiDto.builder()
+                .vehicleId(totals.vehicleId())
+                .bucketStart(bucketStart)
+                .routesCompleted(routes)
+                .packagesDelivered(delivered)
+                .packagesPerRoute(routes > 0 ? (double) totals.packagesOnRoutes() / routes : null)
+                .onTimeRate(delivered > 0 ? (double) totals.packagesOnTime() / delivered : null)
+                .utilization(totals.capacityKg() > 0 ? totals.loadKg() / totals.capacityKg() : null)
+                .averageRouteMinutes(routes > 0 ? totals.routeSeconds() / 60.0 / routes : null)
+                .build();
+    }
+}
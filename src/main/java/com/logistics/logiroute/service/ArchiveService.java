@@ -0,0 +1,67 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.ArchiveProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.mapper.ArchiveMapper;
+import com.logistics.logiroute.repository.ArchivedDeliveryRouteRepository;
+import com.logistics.logiroute.repository.ArchivedPackageRepository;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves completed routes and their packages out of the live tables so that
+ * dispatch queries only ever scan recent data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveService {
+
+    private final DeliveryRouteRepository deliveryRouteRepository;
+    private final PackageRepository packageRepository;
+    private final ArchivedDeliveryRouteRepository archivedDeliveryRouteRepository;
+    private final ArchivedPackageRepository archivedPackageRepository;
+    private final ArchiveMapper archiveMapper;
+    private final ArchiveProperties archiveProperties;
+
+    /**
+     * Archives the oldest batch of routes completed before the cutoff: copies
+     * them into the archive tables, then bulk-deletes the live rows.
+     *
+     * @return number of routes archived, 0 when nothing is left to archive
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff) {
+        List<Long> routeIds = deliveryRouteRepository.findIdsCompletedBefore(
+                cutoff, PageRequest.of(0, archiveProperties.getBatchSize()));
+        if (routeIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DeliveryRoute> routes = deliveryRouteRepository.findAllById(routeIds);
+        List<Package> packages = packageRepository.findByDeliveryRouteIdIn(routeIds);
+
+        archivedDeliveryRouteRepository.saveAll(routes.stream()
+                .map(route -> archiveMapper.toArchived(route, now))
+                .toList());
+        archivedPackageRepository.saveAll(packages.stream()
+                .map(pkg -> archiveMapper.toArchived(pkg, now))
+                .toList());
+
+        packageRepository.deleteByDeliveryRouteIdIn(routeIds);
+        deliveryRouteRepository.deleteByIdIn(routeIds);
+
+        log.info("Archived {} routes with {} packages completed before {}", routes.size(), packages.size(), cutoff);
+        return routes.size();
+    }
+}
@@ -0,0 +1,248 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.AssignmentProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.repository.AssignmentCandidate;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Entry point for package-to-vehicle assignment of any size. Up to
+ * {@code chunkSize} packages go through
+ * {@link DeliveryService#assignPackagesToVehicle} in one transaction. Larger
+ * requests run in three steps, so no transaction touches more than one chunk
+ * of packages:
+ * <ol>
+ *   <li>Validate chunk by chunk from a projection, without loading entities
+ *   or taking locks. Stop at the first missing, non-CREATED, already planned
+ *   or foreign-depot package, or as soon as the running demand exceeds the
+ *   vehicle.</li>
+ *   <li>In one short transaction, re-check and reserve the vehicle's capacity
+ *   and create the route.</li>
+ *   <li>Load the packages onto the route one chunk per transaction, in
+ *   deadline order.</li>
+ * </ol>
+ * If a chunk fails, for example because a package was assigned elsewhere in
+ * the meantime, the chunks already loaded are returned to CREATED, the
+ * reservation is released and the route is deleted. Until then, readers may
+ * see the route partly loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssignmentService {
+
+    private final DeliveryService deliveryService;
+    private final VehicleRepository vehicleRepository;
+    private final PackageRepository packageRepository;
+    private final DeliveryRouteRepository deliveryRouteRepository;
+    private final DeliveryRouteMapper deliveryRouteMapper;
+    private final AssignmentProperties assignmentProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeliveryRouteDto assignPackagesToVehicle(Long vehicleId, List<Long> packageIds) {
+        if (packageIds.size() > assignmentProperties.getMaxPackages()) {
+            throw new IllegalArgumentException(String.format(
+                    "At most %d packages can be assigned in one request, got %d",
+                    assignmentProperties.getMaxPackages(), packageIds.size()));
+        }
+        if (packageIds.size() <= assignmentProperties.getChunkSize()) {
+            return deliveryService.assignPackagesToVehicle(vehicleId, packageIds);
+        }
+
+        log.info("Assigning {} packages to vehicle ID {} in chunks of {}",
+                packageIds.size(), vehicleId, assignmentProperties.getChunkSize());
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> ResourceNotFoundException.forVehicle(vehicleId));
+        Validated validated = validate(vehicle, packageIds);
+
+        Reservation reservation = reserve(vehicleId, validated);
+        List<List<Long>> chunks = chunks(validated.orderedIds());
+        int loaded = 0;
+        try {
+            for (List<Long> chunk : chunks) {
+                int offset = loaded * assignmentProperties.getChunkSize();
+                transactionTemplate.executeWithoutResult(status -> loadChunk(reservation.routeId(), chunk, offset));
+                loaded++;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Assignment to vehicle ID {} failed after {} of {} chunks, undoing: {}",
+                    vehicleId, loaded, chunks.size(), ex.getMessage());
+            undo(reservation, validated, chunks.subList(0, loaded));
+            throw ex;
+        }
+
+        log.info("Successfully assigned {} packages to vehicle ID {} (Route ID: {})",
+                packageIds.size(), vehicleId, reservation.routeId());
+        return transactionTemplate.execute(status -> deliveryRouteMapper.toDto(
+                deliveryRouteRepository.findById(reservation.routeId())
+                        .orElseThrow(() -> ResourceNotFoundException.forDeliveryRoute(reservation.routeId()))));
+    }
+
+    private Validated validate(Vehicle vehicle, List<Long> packageIds) {
+        long[] sorted = packageIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException(String.format("Package ID %d is listed more than once", sorted[i]));
+            }
+        }
+
+        double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeRemaining(vehicle, remaining, 0);
+        int vehicleHazmat = CapacityGuard.hazmatMask(vehicle);
+        double[] demand = new double[CapacityGuard.DIMENSIONS];
+        int hazmatMask = 0;
+        List<AssignmentCandidate> stops = new ArrayList<>(packageIds.size());
+
+        for (List<Long> chunk : chunks(packageIds)) {
+            Map<Long, AssignmentCandidate> found = new HashMap<>();
+            for (AssignmentCandidate candidate : packageRepository.findAssignmentCandidates(chunk)) {
+                found.put(candidate.id(), candidate);
+            }
+            for (Long id : chunk) {
+                AssignmentCandidate candidate = found.get(id);
+                if (candidate == null) {
+                    throw new IllegalArgumentException(String.format("Package ID %d was not found", id));
+                }
+                checkAssignable(vehicle, id, candidate.status(), candidate.deliveryRouteId(), candidate.depotId());
+                demand[CapacityGuard.WEIGHT] += candidate.weightKg();
+                demand[CapacityGuard.VOLUME] += candidate.volumeOrZero();
+                demand[CapacityGuard.SLOTS] += candidate.palletSlotsOrZero();
+                if (candidate.hazmatClass() != null) {
+                    hazmatMask |= 1 << candidate.hazmatClass().ordinal();
+                }
+                stops.add(candidate);
+            }
+            if (!CapacityGuard.fits(remaining, 0, vehicleHazmat, demand, 0, hazmatMask)) {
+                deliveryService.checkCapacity(vehicle, demand, hazmatMask);
+            }
+        }
+
+        // SIMPLIFIED ROUTING: earliest deadline first, as for single-transaction requests
+        stops.sort(Comparator.comparing(AssignmentCandidate::deliveryDeadline).thenComparing(AssignmentCandidate::id));
+        return new Validated(stops.stream().map(AssignmentCandidate::id).toList(), demand, hazmatMask);
+    }
+
+    private Reservation reserve(Long vehicleId, Validated validated) {
+        return transactionTemplate.execute(status -> {
+            Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> ResourceNotFoundException.forVehicle(vehicleId));
+            deliveryService.checkCapacity(vehicle, validated.demand(), validated.hazmatMask());
+
+            LocalDateTime now = LocalDateTime.now();
+            DeliveryRoute route = deliveryRouteRepository.save(DeliveryRoute.builder()
+                    .vehicle(vehicle)
+                    .createdAt(now)
+                    .dispatchedAt(now)
+                    .build());
+            VehicleStatus previousStatus = vehicle.getStatus();
+            double[] demand = validated.demand();
+            vehicle.addLoad(demand[CapacityGuard.WEIGHT], demand[CapacityGuard.VOLUME], (int) demand[CapacityGuard.SLOTS]);
+            vehicle.setStatus(VehicleStatus.IN_TRANSIT);
+            vehicleRepository.save(vehicle);
+            return new Reservation(route.getId(), vehicleId, previousStatus);
+        });
+    }
+
+    private void loadChunk(Long routeId, List<Long> chunk, int offset) {
+        DeliveryRoute route = deliveryRouteRepository.getReferenceById(routeId);
+        Vehicle vehicle = route.getVehicle();
+        Map<Long, Package> packages = new HashMap<>();
+        for (Package pkg : packageRepository.findAllById(chunk)) {
+            packages.put(pkg.getId(), pkg);
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i);
+            Package pkg = packages.get(id);
+            if (pkg == null) {
+                throw new IllegalArgumentException(String.format("Package ID %d was not found", id));
+            }
+            Long plannedRouteId = pkg.getDeliveryRoute() != null ? pkg.getDeliveryRoute().getId() : null;
+            checkAssignable(vehicle, id, pkg.getStatus(), plannedRouteId, pkg.getDepotId());
+            pkg.setDeliveryRoute(route);
+            pkg.setStopSequence(offset + i);
+            deliveryService.updatePackageStatus(pkg, PackageStatus.LOADED);
+        }
+    }
+
+    /**
+     * Puts the packages of the loaded chunks back to CREATED, releases the
+     * vehicle and deletes the route. Each step is its own short transaction.
+     */
+    private void undo(Reservation reservation, Validated validated, List<List<Long>> loadedChunks) {
+        for (List<Long> chunk : loadedChunks) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Package pkg : packageRepository.findAllById(chunk)) {
+                    if (pkg.getDeliveryRoute() == null
+                            || !reservation.routeId().equals(pkg.getDeliveryRoute().getId())) {
+                        continue;
+                    }
+                    deliveryService.rollBackPackageStatus(pkg, PackageStatus.CREATED);
+                    pkg.setDeliveryRoute(null);
+                    pkg.setStopSequence(null);
+                }
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleRepository.findById(reservation.vehicleId()).ifPresent(vehicle -> {
+                double[] demand = validated.demand();
+                vehicle.removeLoad(demand[CapacityGuard.WEIGHT], demand[CapacityGuard.VOLUME],
+                        (int) demand[CapacityGuard.SLOTS]);
+                vehicle.setStatus(reservation.previousStatus());
+            });
+            deliveryRouteRepository.deleteById(reservation.routeId());
+        });
+    }
+
+    private static void checkAssignable(Vehicle vehicle, Long id, PackageStatus status, Long routeId, Long depotId) {
+        if (status != PackageStatus.CREATED) {
+            throw new IllegalArgumentException(String.format("Package ID %d is not in CREATED status", id));
+        }
+        // Scheduled trips hold CREATED packages until they are loaded
+        if (routeId != null) {
+            throw new IllegalArgumentException(String.format(
+                    "Package ID %d is already planned on route ID %d", id, routeId));
+        }
+        // DEPOT SHARDING: a vehicle never serves packages of another depot
+        if (!Objects.equals(vehicle.getDepotId(), depotId)) {
+            throw new IllegalArgumentException(String.format(
+                    "Package ID %d does not belong to the depot of vehicle %s", id, vehicle.getLicensePlate()));
+        }
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        int size = assignmentProperties.getChunkSize();
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + size - 1) / size);
+        for (int from = 0; from < ids.size(); from += size) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    private record Validated(List<Long> orderedIds, double[] demand, int hazmatMask) {
+    }
+
+    private record Reservation(Long routeId, Long vehicleId, VehicleStatus previousStatus) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.analytics.RouteCompletedEvent;
+import com.logistics.logiroute.config.RedispatchProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.dto.response.BreakdownResultDto;
+import com.logistics.logiroute.dto.response.PackageTransferDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.GeoDistance;
+import com.logistics.logiroute.optimization.RouteInsertion;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.telemetry.Position;
+import com.logistics.logiroute.telemetry.PositionRing;
+import com.logistics.logiroute.telemetry.PositionStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Takes a broken-down vehicle off the road and moves the packages it still
+ * carries onto vehicles of the same depot that are already out on a route.
+ * <p>
+ * The vehicle's dispatched routes are closed and their LOADED packages go to
+ * IN_TRANSFER. Then, in deadline order, each package is tried against the
+ * nearest vehicles that still have room for it, by their latest GPS fix or
+ * else their route's origin. It goes to the cheapest insertion position over
+ * those routes, preferring one that keeps every stop on time, as
+ * {@link DeliveryService#insertPackages} does for a single route. Only the
+ * receiving route is re-read after each insertion, so the work grows with
+ * packages × candidates × route length, not with a re-plan of the fleet.
+ * Packages no vehicle has room for go back to CREATED for normal dispatch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BreakdownService {
+
+    private final DeliveryService deliveryService;
+    private final VehicleRepository vehicleRepository;
+    private final DeliveryRouteRepository deliveryRouteRepository;
+    private final PositionStore positionStore;
+    private final RedispatchProperties redispatchProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BreakdownResultDto reportBreakdown(Long vehicleId) {
+        long started = System.nanoTime();
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> ResourceNotFoundException.forVehicle(vehicleId));
+        if (vehicle.getStatus() == VehicleStatus.OUT_OF_SERVICE) {
+            throw new IllegalArgumentException(
+                    String.format("Vehicle %s is already out of service", vehicle.getLicensePlate())
+            );
+        }
+
+        List<Package> stranded = new ArrayList<>();
+        List<Long> closedRouteIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (DeliveryRoute route : deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(vehicleId)) {
+            // Trips not yet started keep their packages and wait for the vehicle
+            if (route.isScheduled()) {
+                continue;
+            }
+            vehicle.removeLoad(route.getTotalWeight(), route.getTotalVolume(), route.getTotalPalletSlots());
+            for (Package pkg : new ArrayList<>(route.getPackages())) {
+                if (pkg.getStatus() == PackageStatus.LOADED) {
+                    deliveryService.transferPackageStatus(pkg, PackageStatus.IN_TRANSFER);
+                    route.removePackage(pkg);
+                    stranded.add(pkg);
+                }
+            }
+            route.setCompletedAt(now);
+            deliveryRouteRepository.save(route);
+            eventPublisher.publishEvent(RouteCompletedEvent.of(route));
+            closedRouteIds.add(route.getId());
+        }
+        vehicle.setStatus(VehicleStatus.OUT_OF_SERVICE);
+        vehicleRepository.save(vehicle);
+
+        Position breakdownFix = latestFix(vehicleId);
+        double breakdownLat = breakdownFix != null ? breakdownFix.latitude() : Double.NaN;
+        double breakdownLon = breakdownFix != null ? breakdownFix.longitude() : Double.NaN;
+
+        List<Candidate> candidates = candidates(vehicle);
+        List<PackageTransferDto> transfers = new ArrayList<>();
+        List<Package> moved = new ArrayList<>();
+        List<Long> returned = new ArrayList<>();
+        stranded.sort(Comparator.comparing(Package::getEffectiveLatestDelivery).thenComparing(Package::getId));
+        for (Package pkg : stranded) {
+            Placement placement = place(pkg, candidates, breakdownLat, breakdownLon);
+            if (placement == null) {
+                deliveryService.transferPackageStatus(pkg, PackageStatus.CREATED);
+                returned.add(pkg.getId());
+                continue;
+            }
+            Candidate target = placement.candidate();
+            int index = deliveryService.stopIndex(target.route, target.stops, placement.insertion().position());
+            target.route.insertPackage(index, pkg);
+            deliveryService.transferPackageStatus(pkg, PackageStatus.LOADED);
+            target.vehicle.addLoad(pkg.getWeightKg(), pkg.getVolumeOrZero(), pkg.getPalletSlotsOrZero());
+            CapacityGuard.consume(target.remaining, 0, placement.demand(), 0);
+            target.changed = true;
+            target.refresh();
+
+            moved.add(pkg);
+            transfers.add(PackageTransferDto.builder()
+                    .packageId(pkg.getId())
+                    .vehicleId(target.vehicle.getId())
+                    .routeId(target.route.getId())
+                    .addedKm(placement.insertion().deltaKm())
+                    .onTime(placement.insertion().onTime())
+                    .build());
+        }
+
+        for (Candidate candidate : candidates) {
+            if (candidate.changed) {
+                deliveryRouteRepository.save(candidate.route);
+                vehicleRepository.save(candidate.vehicle);
+            }
+        }
+        // Later insertions shift the stops after them
+        for (int i = 0; i < transfers.size(); i++) {
+            transfers.get(i).setStopSequence(moved.get(i).getStopSequence());
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.warn("Vehicle {} out of service: {} packages moved to other vehicles, {} returned to the pool in {} ms",
+                vehicle.getLicensePlate(), transfers.size(), returned.size(), elapsedMillis);
+
+        return BreakdownResultDto.builder()
+                .vehicleId(vehicleId)
+                .closedRouteIds(closedRouteIds)
+                .transferred(transfers)
+                .returnedPackageIds(returned)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    /**
+     * One dispatched route per vehicle of the failed vehicle's depot that is
+     * out on the road.
+     */
+    private List<Candidate> candidates(Vehicle failed) {
+        Map<Long, Candidate> byVehicle = new LinkedHashMap<>();
+        for (DeliveryRoute route : deliveryRouteRepository.findByCompletedAtIsNull()) {
+            Vehicle other = route.getVehicle();
+            if (route.isScheduled() || other.getId().equals(failed.getId())
+                    || other.getStatus() != VehicleStatus.IN_TRANSIT
+                    || !Objects.equals(other.getDepotId(), failed.getDepotId())) {
+                continue;
+            }
+            byVehicle.computeIfAbsent(other.getId(), id -> new Candidate(route, other, latestFix(id)));
+        }
+        return new ArrayList<>(byVehicle.values());
+    }
+
+    /**
+     * Cheapest insertion of the package over the nearest candidates with room
+     * for it, or null when none has room.
+     */
+    private Placement place(Package pkg, List<Candidate> candidates, double breakdownLat, double breakdownLon) {
+        double[] demand = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeDemand(pkg, demand, 0);
+        int hazmat = CapacityGuard.hazmatMask(pkg);
+        double latitude = GeoDistance.orNaN(pkg.getLatitude());
+        double longitude = GeoDistance.orNaN(pkg.getLongitude());
+        boolean located = !Double.isNaN(latitude) && !Double.isNaN(longitude);
+        // Without coordinates, the vehicles nearest the breakdown are the natural takers
+        double fromLat = located ? latitude : breakdownLat;
+        double fromLon = located ? longitude : breakdownLon;
+        long deadline = pkg.getEffectiveLatestDelivery().toEpochSecond(ZoneOffset.UTC);
+
+        List<Candidate> nearest = candidates.stream()
+                .filter(candidate -> CapacityGuard.fits(candidate.remaining, 0, candidate.hazmat, demand, 0, hazmat))
+                .sorted(Comparator.comparingDouble(candidate -> candidate.distanceKm(fromLat, fromLon)))
+                .limit(redispatchProperties.getCandidateVehicles())
+                .toList();
+
+        Placement best = null;
+        for (Candidate candidate : nearest) {
+            RouteInsertion.Route route = candidate.geometry;
+            RouteInsertion.Insertion insertion = located
+                    ? RouteInsertion.cheapestInsertion(route, latitude, longitude, deadline)
+                    : new RouteInsertion.Insertion(
+                            RouteInsertion.deadlinePosition(route.deadlines(), route.stops(), deadline), 0.0, true);
+            if (best == null || better(insertion, best.insertion())) {
+                best = new Placement(candidate, insertion, demand);
+            }
+        }
+        return best;
+    }
+
+    private static boolean better(RouteInsertion.Insertion insertion, RouteInsertion.Insertion current) {
+        if (insertion.onTime() != current.onTime()) {
+            return insertion.onTime();
+        }
+        return insertion.deltaKm() < current.deltaKm();
+    }
+
+    private Position latestFix(Long vehicleId) {
+        PositionRing ring = positionStore.ring(vehicleId);
+        return ring != null ? ring.latest() : null;
+    }
+
+    /**
+     * A receiving route with its vehicle's remaining capacity and the
+     * undelivered stops it is inserted into.
+     */
+    private final class Candidate {
+
+        private final DeliveryRoute route;
+        private final Vehicle vehicle;
+        private final double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        private final int hazmat;
+        private final Position fix;
+        private List<Package> stops;
+        private RouteInsertion.Route geometry;
+        private boolean changed;
+
+        private Candidate(DeliveryRoute route, Vehicle vehicle, Position fix) {
+            this.route = route;
+            this.vehicle = vehicle;
+            this.fix = fix;
+            this.hazmat = CapacityGuard.hazmatMask(vehicle);
+            CapacityGuard.writeRemaining(vehicle, remaining, 0);
+            refresh();
+        }
+
+        private void refresh() {
+            stops = deliveryService.remainingStops(route);
+            geometry = deliveryService.toRoute(route, stops);
+        }
+
+        /**
+         * Distance from where the vehicle is now; unknown distances sort last.
+         */
+        private double distanceKm(double latitude, double longitude) {
+            double fromLat = fix != null ? fix.latitude() : geometry.originLatitude();
+            double fromLon = fix != null ? fix.longitude() : geometry.originLongitude();
+            if (Double.isNaN(fromLat) || Double.isNaN(fromLon) || Double.isNaN(latitude) || Double.isNaN(longitude)) {
+                return Double.MAX_VALUE;
+            }
+            return GeoDistance.haversineKm(fromLat, fromLon, latitude, longitude);
+        }
+    }
+
+    private record Placement(Candidate candidate, RouteInsertion.Insertion insertion, double[] demand) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.logistics.logiroute.service;
 
+import com.logistics.logiroute.analytics.RouteCompletedEvent;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.dispatch.PackageChangedEvent;
 import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Depot;
 import com.logistics.logiroute.domain.entity.Package;
 import com.logistics.logiroute.domain.entity.Vehicle;
 import com.logistics.logiroute.domain.enums.PackageStatus;
@@ -8,19 +12,28 @@ import com.logistics.logiroute.domain.enums.VehicleStatus;
 import com.logistics.logiroute.dto.DeliveryRouteDto;
 import com.logistics.logiroute.dto.PackageDto;
 import com.logistics.logiroute.exception.InvalidStatusTransitionException;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
 import com.logistics.logiroute.exception.ResourceNotFoundException;
 import com.logistics.logiroute.exception.VehicleOverloadedException;
 import com.logistics.logiroute.mapper.DeliveryRouteMapper;
 import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.GeoDistance;
+import com.logistics.logiroute.optimization.RouteInsertion;
 import com.logistics.logiroute.repository.DeliveryRouteRepository;
 import com.logistics.logiroute.repository.PackageRepository;
 import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.repository.VersionStamp;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -34,6 +47,8 @@ public class DeliveryService {
     private final DeliveryRouteRepository deliveryRouteRepository;
     private final PackageMapper packageMapper;
     private final DeliveryRouteMapper deliveryRouteMapper;
+    private final SchedulingProperties schedulingProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Core business logic: Assigns packages to a vehicle with capacity guard validation.
@@ -52,20 +67,9 @@ public class DeliveryService {
             throw new IllegalArgumentException("Some package IDs were not found");
         }
 
-        // CAPACITY GUARD: Calculate total weight and validate capacity
-        double totalPackageWeight = packages.stream()
-                .mapToDouble(Package::getWeightKg)
-                .sum();
-
-        if (!vehicle.canLoad(totalPackageWeight)) {
-            log.error("Vehicle overload detected: Vehicle {} cannot load {} kg (remaining capacity: {} kg)",
-                    vehicle.getLicensePlate(), totalPackageWeight, vehicle.getRemainingCapacityKg());
-            throw VehicleOverloadedException.forPackage(
-                    vehicle.getLicensePlate(),
-                    totalPackageWeight,
-                    vehicle.getRemainingCapacityKg()
-            );
-        }
+        // CAPACITY GUARD: Validate total weight, volume, pallet slots and hazmat certification
+        double[] demand = CapacityGuard.totalDemand(packages);
+        checkCapacity(vehicle, demand, CapacityGuard.totalHazmatMask(packages));
 
         // SIMPLIFIED ROUTING: Sort packages by delivery deadline (earliest first)
         List<Package> sortedPackages = packages.stream()
@@ -73,9 +77,11 @@ public class DeliveryService {
                 .toList();
 
         // Create delivery route
+        LocalDateTime now = LocalDateTime.now();
         DeliveryRoute deliveryRoute = DeliveryRoute.builder()
                 .vehicle(vehicle)
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
+                .dispatchedAt(now)
                 .build();
 
         // Add packages to route and update their status
@@ -86,12 +92,28 @@ public class DeliveryService {
                 );
             }
 
+            // Scheduled trips hold CREATED packages until they are loaded
+            if (pkg.getDeliveryRoute() != null) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d is already planned on route ID %d",
+                                pkg.getId(), pkg.getDeliveryRoute().getId())
+                );
+            }
+
+            // DEPOT SHARDING: a vehicle never serves packages of another depot
+            if (!vehicle.servesDepotOf(pkg)) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d does not belong to the depot of vehicle %s",
+                                pkg.getId(), vehicle.getLicensePlate())
+                );
+            }
+
             deliveryRoute.addPackage(pkg);
             updatePackageStatus(pkg, PackageStatus.LOADED);
         }
 
         // Update vehicle load and status
-        vehicle.addLoad(totalPackageWeight);
+        vehicle.addLoad(demand[CapacityGuard.WEIGHT], demand[CapacityGuard.VOLUME], (int) demand[CapacityGuard.SLOTS]);
         vehicle.setStatus(VehicleStatus.IN_TRANSIT);
 
         // Persist changes
@@ -104,15 +126,69 @@ public class DeliveryService {
         return deliveryRouteMapper.toDto(deliveryRoute);
     }
 
+    /**
+     * Throws {@link VehicleOverloadedException} naming the first capacity dimension
+     * the demand vector exceeds.
+     */
+    void checkCapacity(Vehicle vehicle, double[] demand, int hazmatMask) {
+        double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeRemaining(vehicle, remaining, 0);
+        checkCapacity(vehicle, remaining, demand, hazmatMask);
+    }
+
+    private void checkCapacity(Vehicle vehicle, double[] remaining, double[] demand, int hazmatMask) {
+        if (vehicle.getStatus() == VehicleStatus.OUT_OF_SERVICE) {
+            throw new IllegalArgumentException(
+                    String.format("Vehicle %s is out of service", vehicle.getLicensePlate())
+            );
+        }
+        if (CapacityGuard.fits(remaining, 0, CapacityGuard.hazmatMask(vehicle), demand, 0, hazmatMask)) {
+            return;
+        }
+
+        int dimension = CapacityGuard.firstExceededDimension(remaining, 0, demand, 0);
+        if (dimension == CapacityGuard.WEIGHT) {
+            log.error("Vehicle overload detected: Vehicle {} cannot load {} kg (remaining capacity: {} kg)",
+                    vehicle.getLicensePlate(), demand[CapacityGuard.WEIGHT], remaining[CapacityGuard.WEIGHT]);
+            throw VehicleOverloadedException.forPackage(
+                    vehicle.getLicensePlate(),
+                    demand[CapacityGuard.WEIGHT],
+                    remaining[CapacityGuard.WEIGHT]
+            );
+        }
+        if (dimension >= 0) {
+            log.error("Vehicle overload detected: Vehicle {} cannot load {} {} (remaining: {})",
+                    vehicle.getLicensePlate(), demand[dimension], CapacityGuard.dimensionName(dimension),
+                    remaining[dimension]);
+            throw VehicleOverloadedException.forDimension(
+                    vehicle.getLicensePlate(),
+                    CapacityGuard.dimensionName(dimension),
+                    demand[dimension],
+                    remaining[dimension]
+            );
+        }
+
+        log.error("Vehicle {} is not certified for the hazardous packages requested", vehicle.getLicensePlate());
+        throw VehicleOverloadedException.forHazmat(vehicle.getLicensePlate());
+    }
+
     /**
      * Updates package status with state machine validation.
      * Ensures valid state transitions: CREATED -> LOADED -> DELIVERED
+     * A package cancelled while on a route leaves it through
+     * {@link #removePackage}, so the route and vehicle load stop counting it.
      */
     @Transactional
     public PackageDto updatePackageStatus(Long packageId, PackageStatus newStatus) {
         Package pkg = packageRepository.findById(packageId)
                 .orElseThrow(() -> ResourceNotFoundException.forPackage(packageId));
 
+        if (newStatus == PackageStatus.CANCELLED && pkg.getStatus() != PackageStatus.CANCELLED
+                && pkg.getDeliveryRoute() != null && pkg.canTransitionTo(newStatus)) {
+            removePackage(pkg.getDeliveryRoute().getId(), packageId);
+            return packageMapper.toDto(pkg);
+        }
+
         updatePackageStatus(pkg, newStatus);
         packageRepository.save(pkg);
 
@@ -123,9 +199,10 @@ public class DeliveryService {
 
     /**
      * Internal method to validate and update package status.
-     * Implements state machine logic.
+     * Implements state machine logic. Every actual transition is published as a
+     * {@link PackageStatusChangedEvent} for the status history log.
      */
-    private void updatePackageStatus(Package pkg, PackageStatus newStatus) {
+    void updatePackageStatus(Package pkg, PackageStatus newStatus) {
         if (!pkg.canTransitionTo(newStatus)) {
             log.error("Invalid status transition for package ID {}: {} -> {}",
                     pkg.getId(), pkg.getStatus(), newStatus);
@@ -136,7 +213,49 @@ public class DeliveryService {
             );
         }
 
+        if (pkg.getStatus() == newStatus) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        eventPublisher.publishEvent(PackageStatusChangedEvent.of(pkg, newStatus, now));
+        pkg.setStatus(newStatus);
+        pkg.setStatusChangedAt(now);
+    }
+
+    /**
+     * Reverts the LOADED step of an assignment that failed part-way. The event
+     * is published as for any transition, so history and the dispatch queue
+     * see the package return to {@code previous}.
+     */
+    void rollBackPackageStatus(Package pkg, PackageStatus previous) {
+        if (!pkg.canRollBackTo(previous)) {
+            log.error("Invalid status rollback for package ID {}: {} -> {}",
+                    pkg.getId(), pkg.getStatus(), previous);
+            throw InvalidStatusTransitionException.forPackage(pkg.getId(), pkg.getStatus(), previous);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        eventPublisher.publishEvent(PackageStatusChangedEvent.of(pkg, previous, now));
+        pkg.setStatus(previous);
+        pkg.setStatusChangedAt(now);
+    }
+
+    /**
+     * Moves a package into or out of IN_TRANSFER while a breakdown is
+     * re-dispatched. The event is published as for any transition.
+     */
+    void transferPackageStatus(Package pkg, PackageStatus newStatus) {
+        if (!pkg.canTransferTo(newStatus)) {
+            log.error("Invalid transfer status for package ID {}: {} -> {}",
+                    pkg.getId(), pkg.getStatus(), newStatus);
+            throw InvalidStatusTransitionException.forPackage(pkg.getId(), pkg.getStatus(), newStatus);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        eventPublisher.publishEvent(PackageStatusChangedEvent.of(pkg, newStatus, now));
         pkg.setStatus(newStatus);
+        pkg.setStatusChangedAt(now);
     }
 
     @Transactional(readOnly = true)
@@ -159,20 +278,344 @@ public class DeliveryService {
         return deliveryRouteMapper.toDtoList(routes);
     }
 
+    /**
+     * Version stamp of {@link #getDeliveryRoute(Long)}: the route, its vehicle
+     * and its packages, read without loading any of them.
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getDeliveryRouteStamp(Long routeId) {
+        VersionStamp stamp = deliveryRouteRepository.stampById(routeId);
+        if (stamp.isEmpty()) {
+            throw ResourceNotFoundException.forDeliveryRoute(routeId);
+        }
+        return stamp.and(deliveryRouteRepository.stampVehicleById(routeId))
+                .and(packageRepository.stampByDeliveryRouteId(routeId));
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getActiveRoutesStamp() {
+        return deliveryRouteRepository.stampByCompletedAtIsNull()
+                .and(deliveryRouteRepository.stampVehiclesByCompletedAtIsNull())
+                .and(packageRepository.stampByActiveRoutes());
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getRoutesByVehicleStamp(Long vehicleId) {
+        return deliveryRouteRepository.stampByVehicleId(vehicleId)
+                .and(vehicleRepository.stampById(vehicleId))
+                .and(packageRepository.stampByRouteVehicleId(vehicleId));
+    }
+
+    /**
+     * Dispatches a scheduled trip: loads its packages onto the vehicle, which
+     * must be back from its previous trip.
+     */
     @Transactional
-    public DeliveryRouteDto completeRoute(Long routeId) {
+    public DeliveryRouteDto dispatchRoute(Long routeId) {
         DeliveryRoute route = deliveryRouteRepository.findById(routeId)
                 .orElseThrow(() -> ResourceNotFoundException.forDeliveryRoute(routeId));
 
+        if (!route.isScheduled()) {
+            throw new IllegalArgumentException(
+                    String.format("Route ID %d is not a scheduled trip awaiting dispatch", routeId)
+            );
+        }
+
+        Vehicle vehicle = route.getVehicle();
+        if (vehicle.getStatus() != VehicleStatus.AVAILABLE) {
+            throw new IllegalArgumentException(
+                    String.format("Vehicle %s is not available for dispatch", vehicle.getLicensePlate())
+            );
+        }
+
+        double[] demand = CapacityGuard.totalDemand(route.getPackages());
+        checkCapacity(vehicle, demand, CapacityGuard.totalHazmatMask(route.getPackages()));
+
+        for (Package pkg : route.getPackages()) {
+            updatePackageStatus(pkg, PackageStatus.LOADED);
+        }
+
+        vehicle.addLoad(demand[CapacityGuard.WEIGHT], demand[CapacityGuard.VOLUME], (int) demand[CapacityGuard.SLOTS]);
+        vehicle.setStatus(VehicleStatus.IN_TRANSIT);
+        route.setDispatchedAt(LocalDateTime.now());
+
+        deliveryRouteRepository.save(route);
+        vehicleRepository.save(vehicle);
+
+        log.info("Dispatched scheduled route ID {} on vehicle {}", routeId, vehicle.getLicensePlate());
+
+        return deliveryRouteMapper.toDto(route);
+    }
+
+    /**
+     * Inserts late-arriving packages into an active route. Each package goes to
+     * the position with the cheapest added distance that keeps the remaining
+     * stops on time (cheapest insertion), so the update costs O(route length)
+     * per package instead of a full re-plan. A scheduled trip's planned end
+     * moves out with its stop count.
+     */
+    @Transactional
+    public DeliveryRouteDto insertPackages(Long routeId, List<Long> packageIds) {
+        DeliveryRoute route = findActiveRoute(routeId);
+        Vehicle vehicle = route.getVehicle();
+
+        List<Package> packages = packageRepository.findAllById(packageIds);
+        if (packages.size() != packageIds.size()) {
+            throw new IllegalArgumentException("Some package IDs were not found");
+        }
+        for (Package pkg : packages) {
+            if (pkg.getStatus() != PackageStatus.CREATED || pkg.getDeliveryRoute() != null) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d is not an unassigned CREATED package", pkg.getId())
+                );
+            }
+            if (!vehicle.servesDepotOf(pkg)) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d does not belong to the depot of vehicle %s",
+                                pkg.getId(), vehicle.getLicensePlate())
+                );
+            }
+        }
+
+        // CAPACITY GUARD: a dispatched route draws on the vehicle's remaining capacity,
+        // a scheduled trip on the capacity its other packages leave free
+        double[] demand = CapacityGuard.totalDemand(packages);
+        double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        if (route.isScheduled()) {
+            CapacityGuard.writeCapacity(vehicle, remaining, 0);
+            double[] planned = CapacityGuard.totalDemand(route.getPackages());
+            CapacityGuard.consume(remaining, 0, planned, 0);
+        } else {
+            CapacityGuard.writeRemaining(vehicle, remaining, 0);
+        }
+        checkCapacity(vehicle, remaining, demand, CapacityGuard.totalHazmatMask(packages));
+        LocalDateTime plannedEnd = route.isScheduled()
+                ? extendedTripEnd(route, route.getPackages().size() + packages.size())
+                : null;
+
+        List<Package> ordered = packages.stream()
+                .sorted(Comparator.comparing(Package::getEffectiveLatestDelivery))
+                .toList();
+        for (Package pkg : ordered) {
+            int position = insertionPosition(route, pkg);
+            route.insertPackage(position, pkg);
+            if (!route.isScheduled()) {
+                updatePackageStatus(pkg, PackageStatus.LOADED);
+            } else {
+                eventPublisher.publishEvent(new PackageChangedEvent(pkg.getId()));
+            }
+        }
+
+        if (!route.isScheduled()) {
+            vehicle.addLoad(demand[CapacityGuard.WEIGHT], demand[CapacityGuard.VOLUME], (int) demand[CapacityGuard.SLOTS]);
+            vehicleRepository.save(vehicle);
+        } else {
+            route.setPlannedEnd(plannedEnd);
+        }
+        deliveryRouteRepository.save(route);
+
+        log.info("Inserted {} packages into route ID {} on vehicle {}",
+                ordered.size(), routeId, vehicle.getLicensePlate());
+
+        return deliveryRouteMapper.toDto(route);
+    }
+
+    /**
+     * Pulls a cancelled package out of an active route. The remaining stops keep
+     * their order; only the neighbours of the removed stop are reconnected.
+     */
+    @Transactional
+    public DeliveryRouteDto removePackage(Long routeId, Long packageId) {
+        DeliveryRoute route = findActiveRoute(routeId);
+        Vehicle vehicle = route.getVehicle();
+
+        Package pkg = route.getPackages().stream()
+                .filter(p -> p.getId().equals(packageId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("Package ID %d is not part of route ID %d", packageId, routeId)
+                ));
+
+        List<Package> remainingStops = remainingStops(route);
+        int index = remainingStops.indexOf(pkg);
+        double savedKm = index >= 0 ? RouteInsertion.removalDeltaKm(toRoute(route, remainingStops), index) : 0.0;
+
+        boolean loaded = pkg.getStatus() == PackageStatus.LOADED;
+        updatePackageStatus(pkg, PackageStatus.CANCELLED);
+        route.removePackage(pkg);
+
+        if (loaded) {
+            vehicle.removeLoad(pkg.getWeightKg(), pkg.getVolumeOrZero(), pkg.getPalletSlotsOrZero());
+            vehicleRepository.save(vehicle);
+        }
+        packageRepository.save(pkg);
+        deliveryRouteRepository.save(route);
+
+        log.info("Removed package ID {} from route ID {} ({} km saved)",
+                packageId, routeId, String.format("%.2f", savedKm));
+
+        return deliveryRouteMapper.toDto(route);
+    }
+
+    private DeliveryRoute findActiveRoute(Long routeId) {
+        DeliveryRoute route = deliveryRouteRepository.findById(routeId)
+                .orElseThrow(() -> ResourceNotFoundException.forDeliveryRoute(routeId));
+
+        if (route.getCompletedAt() != null) {
+            throw new IllegalArgumentException(
+                    String.format("Route ID %d is already completed", routeId)
+            );
+        }
+        return route;
+    }
+
+    /**
+     * Planned end of a scheduled trip grown to the given stop count. The longer
+     * trip must still end inside the driver shift and before the vehicle's next
+     * booked route starts, which trip planning relies on.
+     */
+    private LocalDateTime extendedTripEnd(DeliveryRoute route, int stops) {
+        Vehicle vehicle = route.getVehicle();
+        LocalDateTime start = route.getPlannedStart();
+        LocalDateTime end = start.plusSeconds(schedulingProperties.tripDurationSeconds(stops));
+
+        LocalDate day = start.toLocalDate();
+        if (start.isBefore(vehicle.getShiftStartOn(day))) {
+            // Shifts past midnight belong to the previous day
+            day = day.minusDays(1);
+        }
+        LocalDateTime shiftEnd = vehicle.getShiftEndOn(day);
+        if (end.isAfter(shiftEnd)) {
+            throw new IllegalArgumentException(String.format(
+                    "Route ID %d would end at %s, after the shift of vehicle %s ends at %s",
+                    route.getId(), end, vehicle.getLicensePlate(), shiftEnd));
+        }
+
+        for (DeliveryRoute other : deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(vehicle.getId())) {
+            LocalDateTime otherStart = other.getPlannedStart() != null ? other.getPlannedStart() : other.getCreatedAt();
+            if (!other.getId().equals(route.getId()) && !otherStart.isBefore(start) && otherStart.isBefore(end)) {
+                throw new IllegalArgumentException(String.format(
+                        "Route ID %d would end at %s, after route ID %d of vehicle %s starts at %s",
+                        route.getId(), end, other.getId(), vehicle.getLicensePlate(), otherStart));
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Position in the full stop list at which to insert the package. Delivered
+     * stops are history and never precede an insertion.
+     */
+    private int insertionPosition(DeliveryRoute route, Package pkg) {
+        List<Package> remainingStops = remainingStops(route);
+        long deadline = pkg.getEffectiveLatestDelivery().toEpochSecond(ZoneOffset.UTC);
+
+        int position;
+        if (pkg.getLatitude() == null || pkg.getLongitude() == null) {
+            long[] deadlines = remainingStops.stream()
+                    .mapToLong(p -> p.getEffectiveLatestDelivery().toEpochSecond(ZoneOffset.UTC))
+                    .toArray();
+            position = RouteInsertion.deadlinePosition(deadlines, deadlines.length, deadline);
+        } else {
+            RouteInsertion.Insertion insertion = RouteInsertion.cheapestInsertion(
+                    toRoute(route, remainingStops), pkg.getLatitude(), pkg.getLongitude(), deadline);
+            if (!insertion.onTime()) {
+                log.warn("Package ID {} cannot be inserted into route ID {} without a late delivery",
+                        pkg.getId(), route.getId());
+            }
+            position = insertion.position();
+        }
+
+        return stopIndex(route, remainingStops, position);
+    }
+
+    /**
+     * Index in the full stop list of the given position among the remaining stops.
+     */
+    int stopIndex(DeliveryRoute route, List<Package> remainingStops, int position) {
+        return position < remainingStops.size()
+                ? route.getPackages().indexOf(remainingStops.get(position))
+                : route.getPackages().size();
+    }
+
+    List<Package> remainingStops(DeliveryRoute route) {
+        List<Package> remaining = new ArrayList<>();
+        for (Package pkg : route.getPackages()) {
+            if (pkg.getStatus() != PackageStatus.DELIVERED) {
+                remaining.add(pkg);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Describes the undelivered part of a route for {@link RouteInsertion}. A
+     * dispatched route continues from the last delivered stop now; a scheduled
+     * trip starts at the depot after loading.
+     */
+    RouteInsertion.Route toRoute(DeliveryRoute route, List<Package> remainingStops) {
+        Depot depot = route.getVehicle().getDepot();
+        double depotLat = depot != null ? GeoDistance.orNaN(depot.getLatitude()) : Double.NaN;
+        double depotLon = depot != null ? GeoDistance.orNaN(depot.getLongitude()) : Double.NaN;
+
+        double originLat = depotLat;
+        double originLon = depotLon;
+        long start;
+        if (route.isScheduled()) {
+            start = route.getPlannedStart().toEpochSecond(ZoneOffset.UTC) + 60L * schedulingProperties.getLoadingMinutes();
+        } else {
+            start = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+            for (Package pkg : route.getPackages()) {
+                if (pkg.getStatus() == PackageStatus.DELIVERED && pkg.getLatitude() != null) {
+                    originLat = pkg.getLatitude();
+                    originLon = GeoDistance.orNaN(pkg.getLongitude());
+                }
+            }
+        }
+
+        int stops = remainingStops.size();
+        double[] latitudes = new double[stops];
+        double[] longitudes = new double[stops];
+        long[] deadlines = new long[stops];
+        for (int i = 0; i < stops; i++) {
+            Package stop = remainingStops.get(i);
+            latitudes[i] = GeoDistance.orNaN(stop.getLatitude());
+            longitudes[i] = GeoDistance.orNaN(stop.getLongitude());
+            deadlines[i] = stop.getEffectiveLatestDelivery().toEpochSecond(ZoneOffset.UTC);
+        }
+
+        return new RouteInsertion.Route(originLat, originLon, depotLat, depotLon,
+                latitudes, longitudes, deadlines, stops, start,
+                schedulingProperties.getAverageSpeedKmh(), 60L * schedulingProperties.getMinutesPerStop());
+    }
+
+    /**
+     * Completes a dispatched route once. Completing it again is rejected, so
+     * the vehicle load is released and the KPI rollups count it only once.
+     */
+    @Transactional
+    public DeliveryRouteDto completeRoute(Long routeId) {
+        DeliveryRoute route = findActiveRoute(routeId);
+
+        if (route.isScheduled()) {
+            throw new IllegalArgumentException(
+                    String.format("Route ID %d has not been dispatched yet", routeId)
+            );
+        }
+
         route.setCompletedAt(LocalDateTime.now());
 
         // Update vehicle status back to AVAILABLE and reduce load
         Vehicle vehicle = route.getVehicle();
-        vehicle.removeLoad(route.getTotalWeight());
-        vehicle.setStatus(VehicleStatus.AVAILABLE);
+        vehicle.removeLoad(route.getTotalWeight(), route.getTotalVolume(), route.getTotalPalletSlots());
+        // Only VehicleService.returnToService brings a broken-down vehicle back
+        if (vehicle.getStatus() != VehicleStatus.OUT_OF_SERVICE) {
+            vehicle.setStatus(VehicleStatus.AVAILABLE);
+        }
 
         deliveryRouteRepository.save(route);
         vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(RouteCompletedEvent.of(route));
 
         log.info("Route ID {} marked as completed for vehicle {}", routeId, vehicle.getLicensePlate());
 
@@ -0,0 +1,53 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.dto.DepotDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.mapper.DepotMapper;
+import com.logistics.logiroute.repository.DepotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepotService {
+
+    private final DepotRepository depotRepository;
+    private final DepotMapper depotMapper;
+
+    @Transactional
+    public DepotDto createDepot(DepotDto depotDto) {
+        Depot saved = depotRepository.save(depotMapper.toEntity(depotDto));
+        log.info("Created depot: {}", saved.getCode());
+
+        return depotMapper.toDto(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public DepotDto getDepot(Long id) {
+        return depotMapper.toDto(findDepot(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepotDto> getAllDepots() {
+        return depotMapper.toDtoList(depotRepository.findAll());
+    }
+
+    /**
+     * Resolves an optional depot reference from a DTO. A null ID means the
+     * entity belongs to the shared, unsharded pool.
+     */
+    public Depot resolveDepot(Long depotId) {
+        return depotId != null ? findDepot(depotId) : null;
+    }
+
+    private Depot findDepot(Long id) {
+        return depotRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.forDepot(id));
+    }
+}
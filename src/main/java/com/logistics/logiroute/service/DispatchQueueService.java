@@ -0,0 +1,137 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.DispatchQueueProperties;
+import com.logistics.logiroute.dispatch.DispatchQueue;
+import com.logistics.logiroute.dispatch.PackageChangedEvent;
+import com.logistics.logiroute.dispatch.QueuedPackage;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.QueueCandidate;
+import com.logistics.logiroute.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps unassigned CREATED packages in a {@link DispatchQueue} ordered by
+ * service tier, deadline slack and waiting time, and dispatches vehicles from
+ * its head, so during shortages the most valuable work gets capacity first.
+ * <p>
+ * The queue lives in memory. It is rebuilt from the database at startup and
+ * after bulk imports, and kept current from committed status transitions and
+ * package edits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchQueueService {
+
+    private final PackageRepository packageRepository;
+    private final VehicleRepository vehicleRepository;
+    private final AssignmentService assignmentService;
+    private final DispatchQueueProperties dispatchQueueProperties;
+    private final DispatchQueue queue = new DispatchQueue();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the queue with one projection query and an O(n) heapify.
+     */
+    public int rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<QueuedPackage> packages = packageRepository.findQueueCandidates().stream()
+                .map(candidate -> toQueued(candidate, now))
+                .toList();
+        queue.rebuild(packages);
+        log.info("Rebuilt dispatch queue with {} packages in {} ms",
+                packages.size(), (System.nanoTime() - started) / 1_000_000);
+        return packages.size();
+    }
+
+    /**
+     * Leaving CREATED takes the package out of the queue without a query;
+     * returning to CREATED, e.g. when an assignment is undone, re-reads it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PackageStatusChangedEvent event) {
+        if (event.toStatus() == PackageStatus.CREATED) {
+            refresh(List.of(event.packageId()));
+        } else {
+            queue.remove(event.packageId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPackageChanged(PackageChangedEvent event) {
+        refresh(List.of(event.packageId()));
+    }
+
+    /**
+     * Assigns the highest-priority queued packages of the vehicle's depot that
+     * fit its remaining capacity, up to {@code maxPackages}. Packages that are
+     * too big are skipped and keep their place.
+     */
+    public DeliveryRouteDto dispatchNext(Long vehicleId, Integer maxPackages) {
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> ResourceNotFoundException.forVehicle(vehicleId));
+        int limit = maxPackages != null ? maxPackages : dispatchQueueProperties.getDefaultBatchSize();
+
+        double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeRemaining(vehicle, remaining, 0);
+        List<QueuedPackage> taken = queue.pollFitting(vehicle.getDepotId(), remaining,
+                CapacityGuard.hazmatMask(vehicle), limit, dispatchQueueProperties.getMaxSkips());
+        if (taken.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "No queued package fits vehicle %s", vehicle.getLicensePlate()));
+        }
+
+        List<Long> ids = taken.stream().map(QueuedPackage::id).toList();
+        try {
+            DeliveryRouteDto route = assignmentService.assignPackagesToVehicle(vehicleId, ids);
+            log.info("Dispatched {} queued packages to vehicle ID {} ({} left in its depot)",
+                    ids.size(), vehicleId, queue.size(vehicle.getDepotId()));
+            return route;
+        } catch (RuntimeException ex) {
+            // Put back what is still unassigned; stale entries drop out here
+            refresh(ids);
+            throw ex;
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void refresh(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> missing = new HashSet<>(ids);
+        for (QueueCandidate candidate : packageRepository.findQueueCandidates(ids)) {
+            queue.offer(toQueued(candidate, now));
+            missing.remove(candidate.id());
+        }
+        missing.forEach(queue::remove);
+    }
+
+    private QueuedPackage toQueued(QueueCandidate candidate, LocalDateTime now) {
+        return QueuedPackage.of(candidate, dispatchQueueProperties.getSlackWeight(),
+                dispatchQueueProperties.getWaitWeight(), now);
+    }
+}
@@ -0,0 +1,140 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.SnapshotProperties;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.repository.DepotRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import com.logistics.logiroute.simulation.SnapshotFile;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the dispatch snapshot hot. The first snapshot is read from the file
+ * written at the previous shutdown when there is one; after that every request
+ * only fetches vehicles and packages whose {@code updatedAt} moved since the
+ * snapshot was taken and merges them in. If the merged counts disagree with
+ * the database, which is how deletions show up, the snapshot is rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchSnapshotService {
+
+    private final DepotRepository depotRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PackageRepository packageRepository;
+    private final SnapshotProperties snapshotProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    private DispatchSnapshot current;
+
+    /**
+     * Returns available vehicles and unassigned CREATED packages as a
+     * {@link DispatchSnapshot}, consistent as of a single read-only
+     * transaction.
+     */
+    public synchronized DispatchSnapshot takeSnapshot() {
+        current = current == null ? readOnly(this::load) : readOnly(() -> reconcile(current));
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmStart() {
+        if (!snapshotProperties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        DispatchSnapshot stored = readSnapshotFile();
+        current = stored != null ? readOnly(() -> reconcile(stored)) : readOnly(this::load);
+        log.info("Dispatch snapshot {} in {} ms: {} vehicles, {} packages",
+                stored != null ? "warm-started" : "built", (System.nanoTime() - started) / 1_000_000,
+                current.vehicleCount(), current.packageCount());
+    }
+
+    @PreDestroy
+    public synchronized void persist() {
+        if (!snapshotProperties.isEnabled() || current == null) {
+            return;
+        }
+        try {
+            SnapshotFile.write(current, Path.of(snapshotProperties.getFile()));
+            log.info("Wrote dispatch snapshot with {} vehicles and {} packages",
+                    current.vehicleCount(), current.packageCount());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write dispatch snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private DispatchSnapshot readSnapshotFile() {
+        Path file = Path.of(snapshotProperties.getFile());
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            DispatchSnapshot stored = SnapshotFile.read(file);
+            long ageSeconds = now() - stored.getTakenAtEpochSeconds();
+            if (ageSeconds > snapshotProperties.getMaxAgeHours() * 3600L) {
+                log.info("Ignoring dispatch snapshot taken {} hours ago", ageSeconds / 3600);
+                return null;
+            }
+            return stored;
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable dispatch snapshot: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private DispatchSnapshot load() {
+        long takenAt = now();
+        return DispatchSnapshot.of(depotRepository.findAll(),
+                vehicleRepository.findByStatus(VehicleStatus.AVAILABLE),
+                packageRepository.findByStatusAndDeliveryRouteIsNull(PackageStatus.CREATED),
+                takenAt);
+    }
+
+    private DispatchSnapshot reconcile(DispatchSnapshot snapshot) {
+        long takenAt = now();
+        LocalDateTime since = LocalDateTime.ofEpochSecond(
+                snapshot.getTakenAtEpochSeconds() - snapshotProperties.getOverlapSeconds(), 0, ZoneOffset.UTC);
+        List<Vehicle> vehicles = vehicleRepository.findByUpdatedAtGreaterThanEqual(since);
+        List<Package> packages = packageRepository.findByUpdatedAtGreaterThanEqual(since);
+
+        DispatchSnapshot merged = snapshot.merge(depotRepository.findAll(), vehicles, packages, takenAt);
+        long available = vehicleRepository.countByStatus(VehicleStatus.AVAILABLE);
+        long unassigned = packageRepository.countByStatusAndDeliveryRouteIsNull(PackageStatus.CREATED);
+        if (merged.vehicleCount() != available || merged.packageCount() != unassigned) {
+            log.debug("Dispatch snapshot drifted from the database, rebuilding");
+            return load();
+        }
+        return merged;
+    }
+
+    private DispatchSnapshot readOnly(Supplier<DispatchSnapshot> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    private static long now() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    }
+}
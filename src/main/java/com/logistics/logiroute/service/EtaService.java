@@ -0,0 +1,310 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.analytics.RouteCompletedEvent;
+import com.logistics.logiroute.config.EtaProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.response.PackageEtaDto;
+import com.logistics.logiroute.eta.PackageEta;
+import com.logistics.logiroute.eta.RouteEta;
+import com.logistics.logiroute.eta.SpeedProfile;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
+import com.logistics.logiroute.optimization.GeoDistance;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.telemetry.Position;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Predicts arrival times for the packages on dispatched routes. Each route's
+ * remaining stops are kept in memory as a {@link RouteEta}; a position update
+ * or a delivery recomputes that route only, and the results are cached per
+ * package, so {@link #getEta} is a map lookup.
+ * <p>
+ * Routes are loaded at startup and reloaded shortly after packages are loaded
+ * onto them or taken off. Leg speeds come from the {@link SpeedProfile},
+ * seeded from stored positions and updated from live ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EtaService {
+
+    private static final String HISTORY_SQL = "SELECT vehicle_id, recorded_at, latitude, longitude "
+            + "FROM vehicle_positions WHERE recorded_at >= ? ORDER BY vehicle_id, recorded_at";
+
+    private final DeliveryRouteRepository deliveryRouteRepository;
+    private final PackageRepository packageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SpeedProfile speedProfile;
+    private final SchedulingProperties schedulingProperties;
+    private final EtaProperties etaProperties;
+
+    private final Map<Long, RouteEta> routes = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> routesByVehicle = new ConcurrentHashMap<>();
+    private final Map<Long, PackageEta> etas = new ConcurrentHashMap<>();
+    private final Map<Long, Position> lastFixes = new ConcurrentHashMap<>();
+    private final Set<Long> pendingRoutes = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        learnFromHistory();
+        List<RouteEta> active = transactionTemplate.execute(status ->
+                deliveryRouteRepository.findByCompletedAtIsNull().stream()
+                        .filter(route -> !route.isScheduled())
+                        .map(this::build)
+                        .toList());
+        active.forEach(this::install);
+        log.info("Tracking ETAs for {} dispatched routes ({} speed cells learned)",
+                active.size(), speedProfile.getCellCount());
+    }
+
+    public PackageEtaDto getEta(Long packageId) {
+        PackageEta eta = etas.get(packageId);
+        if (eta == null) {
+            // Loaded so recently that the route has not been picked up yet
+            Long routeId = transactionTemplate.execute(status -> {
+                Package pkg = packageRepository.findById(packageId)
+                        .orElseThrow(() -> ResourceNotFoundException.forPackage(packageId));
+                DeliveryRoute route = pkg.getDeliveryRoute();
+                return pkg.getStatus() == PackageStatus.LOADED && route != null && route.getCompletedAt() == null
+                        && !route.isScheduled() ? route.getId() : null;
+            });
+            if (routeId != null) {
+                loadRoute(routeId);
+                eta = etas.get(packageId);
+            }
+        }
+        if (eta == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Package ID %d is not loaded on a dispatched route", packageId));
+        }
+        return PackageEtaDto.builder()
+                .packageId(eta.packageId())
+                .routeId(eta.routeId())
+                .vehicleId(eta.vehicleId())
+                .stopsAhead(eta.stopsAhead())
+                .estimatedArrival(eta.estimatedArrival())
+                .deliveryDeadline(eta.deliveryDeadline())
+                .onTime(eta.onTime())
+                .basedOn(eta.basedOn())
+                .build();
+    }
+
+    /**
+     * Learns from the segment since the vehicle's previous fix and moves its
+     * routes' origin to the new one. Older fixes are ignored.
+     */
+    public void onPosition(Long vehicleId, Position fix) {
+        Position[] previous = new Position[1];
+        Position latest = lastFixes.compute(vehicleId, (id, last) -> {
+            previous[0] = last;
+            return last == null || fix.recordedAt().isAfter(last.recordedAt()) ? fix : last;
+        });
+        if (latest != fix) {
+            return;
+        }
+        if (previous[0] != null) {
+            speedProfile.record(previous[0].latitude(), previous[0].longitude(), previous[0].recordedAt(),
+                    fix.latitude(), fix.longitude(), fix.recordedAt());
+        }
+        for (Long routeId : routesByVehicle.getOrDefault(vehicleId, Set.of())) {
+            RouteEta route = routes.get(routeId);
+            if (route != null) {
+                synchronized (route) {
+                    if (route.moveTo(fix.latitude(), fix.longitude(), fix.recordedAt())) {
+                        publish(route);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deliveries, cancellations and transfers off a broken-down vehicle are
+     * applied in place; packages loaded onto
+     * or taken back from a route queue the route for a reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PackageStatusChangedEvent event) {
+        Long routeId = event.route() != null ? event.route().getId() : null;
+        if (event.toStatus() != PackageStatus.LOADED) {
+            etas.remove(event.packageId());
+        }
+        if (routeId == null) {
+            return;
+        }
+        switch (event.toStatus()) {
+            case DELIVERED, CANCELLED, IN_TRANSFER -> {
+                RouteEta route = routes.get(routeId);
+                if (route != null) {
+                    synchronized (route) {
+                        boolean delivered = event.toStatus() == PackageStatus.DELIVERED;
+                        if (route.remove(event.packageId(), event.occurredAt(), delivered)) {
+                            publish(route);
+                        }
+                    }
+                }
+            }
+            case LOADED, CREATED -> pendingRoutes.add(routeId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRouteCompleted(RouteCompletedEvent event) {
+        drop(event.routeId());
+    }
+
+    @Scheduled(fixedDelayString = "${logiroute.eta.refresh-interval-ms:1000}")
+    public void refreshPendingRoutes() {
+        for (Long routeId : new ArrayList<>(pendingRoutes)) {
+            pendingRoutes.remove(routeId);
+            loadRoute(routeId);
+        }
+    }
+
+    private void loadRoute(Long routeId) {
+        RouteEta route = transactionTemplate.execute(status -> deliveryRouteRepository.findById(routeId)
+                .filter(found -> found.getCompletedAt() == null && !found.isScheduled())
+                .map(this::build)
+                .orElse(null));
+        if (route != null) {
+            install(route);
+        } else {
+            drop(routeId);
+        }
+    }
+
+    /**
+     * Remaining stops in stop sequence, starting from the last delivered stop,
+     * else from the depot at dispatch, or from the vehicle's latest fix if it
+     * is newer.
+     */
+    private RouteEta build(DeliveryRoute route) {
+        List<RouteEta.Stop> stops = new ArrayList<>();
+        Package lastDelivered = null;
+        for (Package pkg : route.getPackages()) {
+            if (pkg.getStatus() == PackageStatus.LOADED) {
+                stops.add(new RouteEta.Stop(pkg.getId(), GeoDistance.orNaN(pkg.getLatitude()),
+                        GeoDistance.orNaN(pkg.getLongitude()), pkg.getDeliveryDeadline()));
+            } else if (pkg.getStatus() == PackageStatus.DELIVERED && pkg.getLatitude() != null
+                    && pkg.getStatusChangedAt() != null && (lastDelivered == null || pkg.getStatusChangedAt().isAfter(lastDelivered.getStatusChangedAt()))) {
+                lastDelivered = pkg;
+            }
+        }
+
+        Long vehicleId = route.getVehicle().getId();
+        RouteEta eta;
+        if (lastDelivered != null) {
+            eta = new RouteEta(route.getId(), vehicleId, stops, lastDelivered.getLatitude(),
+                    GeoDistance.orNaN(lastDelivered.getLongitude()), lastDelivered.getStatusChangedAt());
+        } else {
+            Depot depot = route.getVehicle().getDepot();
+            eta = new RouteEta(route.getId(), vehicleId, stops,
+                    depot != null ? GeoDistance.orNaN(depot.getLatitude()) : Double.NaN,
+                    depot != null ? GeoDistance.orNaN(depot.getLongitude()) : Double.NaN,
+                    route.getDispatchedAt() != null ? route.getDispatchedAt() : route.getCreatedAt());
+        }
+        Position fix = lastFixes.get(vehicleId);
+        if (fix != null) {
+            eta.moveTo(fix.latitude(), fix.longitude(), fix.recordedAt());
+        }
+        return eta;
+    }
+
+    private void install(RouteEta route) {
+        RouteEta previous = routes.put(route.getRouteId(), route);
+        routesByVehicle.computeIfAbsent(route.getVehicleId(), id -> ConcurrentHashMap.newKeySet())
+                .add(route.getRouteId());
+        synchronized (route) {
+            publish(route);
+        }
+        if (previous != null) {
+            Set<Long> kept = new HashSet<>(route.packageIds());
+            synchronized (previous) {
+                previous.packageIds().stream().filter(id -> !kept.contains(id)).forEach(etas::remove);
+            }
+        }
+    }
+
+    private void drop(Long routeId) {
+        RouteEta route = routes.remove(routeId);
+        if (route == null) {
+            return;
+        }
+        synchronized (route) {
+            route.packageIds().forEach(etas::remove);
+        }
+        routesByVehicle.computeIfPresent(route.getVehicleId(), (vehicleId, ids) -> {
+            ids.remove(routeId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Caller holds the route's monitor
+    private void publish(RouteEta route) {
+        for (PackageEta eta : route.recompute(speedProfile, 60L * schedulingProperties.getMinutesPerStop())) {
+            etas.put(eta.packageId(), eta);
+        }
+    }
+
+    private void learnFromHistory() {
+        LocalDateTime since = LocalDateTime.now().minusDays(etaProperties.getHistoryDays());
+        HistoryReader reader = new HistoryReader(speedProfile);
+        jdbcTemplate.query(HISTORY_SQL, reader, Timestamp.valueOf(since));
+        log.info("Learned driving speeds from {} stored position segments", reader.learned);
+    }
+
+    /**
+     * Feeds consecutive stored fixes of each vehicle to the speed profile.
+     */
+    private static final class HistoryReader implements RowCallbackHandler {
+
+        private final SpeedProfile speedProfile;
+        private long vehicleId = -1;
+        private Position previous;
+        private long learned;
+
+        private HistoryReader(SpeedProfile speedProfile) {
+            this.speedProfile = speedProfile;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowVehicleId = rs.getLong(1);
+            Position fix = new Position(rs.getTimestamp(2).toLocalDateTime(), rs.getDouble(3), rs.getDouble(4),
+                    null, null);
+            if (rowVehicleId == vehicleId && speedProfile.record(previous.latitude(), previous.longitude(),
+                    previous.recordedAt(), fix.latitude(), fix.longitude(), fix.recordedAt())) {
+                learned++;
+            }
+            vehicleId = rowVehicleId;
+            previous = fix;
+        }
+    }
+}
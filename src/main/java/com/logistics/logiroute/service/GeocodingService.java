@@ -0,0 +1,127 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.GeocodingProperties;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.geocoding.AddressNormalizer;
+import com.logistics.logiroute.geocoding.GeoPoint;
+import com.logistics.logiroute.geocoding.GeocodeCache;
+import com.logistics.logiroute.geocoding.Geocoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingest-time geocoding. Addresses are reduced to a canonical key and
+ * resolved through the persistent {@link GeocodeCache}; only keys the cache
+ * has never seen reach the {@link Geocoder}, in parallel batches. Explicit
+ * coordinates on a package always win over geocoded ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeocodingService {
+
+    private final Geocoder geocoder;
+    private final GeocodeCache geocodeCache;
+    private final GeocodingProperties geocodingProperties;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(geocodingProperties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "geocoder-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Sets the package's address key and fills in coordinates when both are
+     * missing and the address can be resolved.
+     */
+    public void apply(Package pkg) {
+        String key = AddressNormalizer.normalize(pkg.getDeliveryAddress());
+        pkg.setAddressKey(key);
+        if (key != null && pkg.getLatitude() == null && pkg.getLongitude() == null) {
+            locate(key).ifPresent(point -> {
+                pkg.setLatitude(point.latitude());
+                pkg.setLongitude(point.longitude());
+            });
+        }
+    }
+
+    public Optional<GeoPoint> locate(String addressKey) {
+        GeoPoint cached = geocodeCache.get(addressKey);
+        if (cached == null) {
+            cached = resolve(addressKey);
+        }
+        return cached == GeocodeCache.NOT_FOUND ? Optional.empty() : Optional.of(cached);
+    }
+
+    /**
+     * Resolves a set of address keys. Cached keys are answered directly; the
+     * rest are split into batches that are geocoded concurrently. Keys that
+     * cannot be resolved are absent from the result.
+     */
+    public Map<String, GeoPoint> locateAll(Collection<String> addressKeys) {
+        Map<String, GeoPoint> resolved = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(addressKeys)) {
+            GeoPoint cached = geocodeCache.get(key);
+            if (cached == null) {
+                uncached.add(key);
+            } else if (cached != GeocodeCache.NOT_FOUND) {
+                resolved.put(key, cached);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, GeoPoint> geocoded = new ConcurrentHashMap<>();
+        int batchSize = geocodingProperties.getBatchSize();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < uncached.size(); from += batchSize) {
+            List<String> batch = uncached.subList(from, Math.min(from + batchSize, uncached.size()));
+            batches.add(CompletableFuture.runAsync(() -> batch.forEach(key -> {
+                GeoPoint point = resolve(key);
+                if (point != GeocodeCache.NOT_FOUND) {
+                    geocoded.put(key, point);
+                }
+            }), workers));
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        log.debug("Geocoded {} new addresses in {} batches, {} resolved",
+                uncached.size(), batches.size(), geocoded.size());
+
+        resolved.putAll(geocoded);
+        return resolved;
+    }
+
+    private GeoPoint resolve(String addressKey) {
+        GeoPoint point = geocoder.geocode(addressKey).orElse(GeocodeCache.NOT_FOUND);
+        geocodeCache.put(addressKey, point);
+        return point;
+    }
+}
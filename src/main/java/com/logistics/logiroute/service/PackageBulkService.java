@@ -0,0 +1,274 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.bulk.CsvCursorExporter;
+import com.logistics.logiroute.bulk.CsvReader;
+import com.logistics.logiroute.bulk.PackageCsvFormat;
+import com.logistics.logiroute.config.BulkProperties;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.dto.PackageDto;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.geocoding.AddressNormalizer;
+import com.logistics.logiroute.geocoding.GeoPoint;
+import com.logistics.logiroute.repository.DepotRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming package manifests. Import parses the upload record by record and
+ * hands validated rows in batches to a writer thread that inserts them with
+ * JDBC batches, one transaction per batch; the bounded hand-off queue applies
+ * back-pressure to the upload. Each batch is geocoded before it is handed
+ * off, so geocoding overlaps with the writer inserting the previous batch.
+ * Export streams rows from a forward-only cursor straight into the response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PackageBulkService {
+
+    private static final String INSERT_SQL = "INSERT INTO packages (delivery_address, address_key, weight_kg, "
+            + "volumem3, pallet_slots, hazmat_class, status, status_changed_at, updated_at, delivery_deadline, "
+            + "earliest_delivery, latest_delivery, latitude, longitude, depot_id, service_tier, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final int[] INSERT_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP,
+            Types.DOUBLE, Types.DOUBLE, Types.BIGINT, Types.VARCHAR
+    };
+
+    // Same order as PackageCsvFormat.COLUMNS
+    private static final String EXPORT_SQL = "SELECT id, delivery_address, weight_kg, volumem3, pallet_slots, "
+            + "hazmat_class, status, delivery_deadline, earliest_delivery, latest_delivery, latitude, longitude, "
+            + "depot_id, delivery_route_id, stop_sequence, service_tier FROM packages ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DepotRepository depotRepository;
+    private final Validator validator;
+    private final BulkProperties bulkProperties;
+    private final CsvCursorExporter csvCursorExporter;
+    private final GeocodingService geocodingService;
+    private final DispatchQueueService dispatchQueueService;
+    private final ExecutorService writers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "package-import-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Imports a CSV manifest. Invalid rows are rejected and reported, valid
+     * rows are imported; batches already written stay committed if the import
+     * fails part-way.
+     */
+    public ImportResultDto importPackages(ReadableByteChannel channel) throws IOException {
+        Set<Long> depotIds = new HashSet<>(depotRepository.findAllIds());
+        BlockingQueue<List<Object[]>> queue = new ArrayBlockingQueue<>(bulkProperties.getQueueCapacity());
+        Future<Long> writer = writers.submit(() -> writeBatches(queue));
+
+        long rowsRead = 0;
+        long rowsRejected = 0;
+        List<String> errors = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(channel, StandardCharsets.UTF_8)) {
+            if (!reader.next()) {
+                throw new IllegalArgumentException("Manifest is empty");
+            }
+            PackageCsvFormat format = PackageCsvFormat.fromHeader(reader);
+            LocalDateTime now = LocalDateTime.now();
+
+            List<PackageDto> batch = new ArrayList<>(bulkProperties.getBatchSize());
+            while (reader.next()) {
+                rowsRead++;
+                String error;
+                try {
+                    PackageDto dto = format.parse(reader);
+                    error = validate(dto, depotIds);
+                    if (error == null) {
+                        batch.add(dto);
+                    }
+                } catch (IllegalArgumentException ex) {
+                    error = ex.getMessage();
+                }
+
+                if (error != null) {
+                    rowsRejected++;
+                    if (errors.size() < bulkProperties.getMaxReportedErrors()) {
+                        errors.add("line " + reader.lineNumber() + ": " + error);
+                    }
+                }
+                if (batch.size() == bulkProperties.getBatchSize()) {
+                    enqueue(queue, toInsertArgs(batch, now), writer);
+                    batch = new ArrayList<>(bulkProperties.getBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, toInsertArgs(batch, now), writer);
+            }
+            // An empty batch tells the writer the input is complete
+            enqueue(queue, List.of(), writer);
+        } catch (IOException | RuntimeException ex) {
+            writer.cancel(true);
+            throw ex;
+        }
+
+        long imported = awaitWriter(writer);
+        log.info("Imported {} packages from manifest ({} rows read, {} rejected)", imported, rowsRead, rowsRejected);
+        if (imported > 0) {
+            dispatchQueueService.rebuild();
+        }
+
+        return ImportResultDto.builder()
+                .rowsRead(rowsRead)
+                .rowsImported(imported)
+                .rowsRejected(rowsRejected)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Writes all packages as CSV in {@link PackageCsvFormat#COLUMNS} order.
+     */
+    @Transactional(readOnly = true)
+    public void exportPackages(OutputStream output) throws IOException {
+        csvCursorExporter.export(EXPORT_SQL, PackageCsvFormat.COLUMNS, output);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private String validate(PackageDto dto, Set<Long> depotIds) {
+        dto.setStatus(PackageStatus.CREATED);
+        Set<ConstraintViolation<PackageDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; "));
+        }
+        if (dto.getDepotId() != null && !depotIds.contains(dto.getDepotId())) {
+            return "depotId: depot " + dto.getDepotId() + " does not exist";
+        }
+        return null;
+    }
+
+    private List<Object[]> toInsertArgs(List<PackageDto> batch, LocalDateTime now) {
+        List<String> keys = new ArrayList<>(batch.size());
+        List<String> toLocate = new ArrayList<>();
+        for (PackageDto dto : batch) {
+            String key = AddressNormalizer.normalize(dto.getDeliveryAddress());
+            keys.add(key);
+            if (key != null && dto.getLatitude() == null && dto.getLongitude() == null) {
+                toLocate.add(key);
+            }
+        }
+        Map<String, GeoPoint> located = geocodingService.locateAll(toLocate);
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PackageDto dto = batch.get(i);
+            String key = keys.get(i);
+            GeoPoint point = dto.getLatitude() == null && dto.getLongitude() == null && key != null
+                    ? located.get(key) : null;
+            if (point != null) {
+                dto.setLatitude(point.latitude());
+                dto.setLongitude(point.longitude());
+            }
+            rows.add(toInsertArgs(dto, key, now));
+        }
+        return rows;
+    }
+
+    private Object[] toInsertArgs(PackageDto dto, String addressKey, LocalDateTime now) {
+        return new Object[]{
+                dto.getDeliveryAddress(),
+                addressKey,
+                dto.getWeightKg(),
+                dto.getVolumeM3(),
+                dto.getPalletSlots(),
+                dto.getHazmatClass() != null ? dto.getHazmatClass().name() : null,
+                PackageStatus.CREATED.name(),
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(dto.getDeliveryDeadline()),
+                dto.getEarliestDelivery() != null ? Timestamp.valueOf(dto.getEarliestDelivery()) : null,
+                dto.getLatestDelivery() != null ? Timestamp.valueOf(dto.getLatestDelivery()) : null,
+                dto.getLatitude(),
+                dto.getLongitude(),
+                dto.getDepotId(),
+                ServiceTier.orDefault(dto.getServiceTier()).name()
+        };
+    }
+
+    private long writeBatches(BlockingQueue<List<Object[]>> queue) throws InterruptedException {
+        long written = 0;
+        while (true) {
+            List<Object[]> batch = queue.take();
+            if (batch.isEmpty()) {
+                return written;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, INSERT_TYPES));
+            written += batch.size();
+        }
+    }
+
+    private void enqueue(BlockingQueue<List<Object[]>> queue, List<Object[]> batch, Future<Long> writer) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    awaitWriter(writer);
+                    throw new IllegalStateException("Package import writer stopped unexpectedly");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Package import interrupted", ex);
+        }
+    }
+
+    private long awaitWriter(Future<Long> writer) {
+        try {
+            return writer.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Package import interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Package import failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.domain.entity.PackageHistorySegment;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.response.DwellStatsDto;
+import com.logistics.logiroute.dto.response.PackageStatusEventDto;
+import com.logistics.logiroute.history.DwellGrouping;
+import com.logistics.logiroute.history.DwellStatistics;
+import com.logistics.logiroute.history.StatusEventRow;
+import com.logistics.logiroute.history.StatusSegmentCodec;
+import com.logistics.logiroute.repository.PackageHistorySegmentRepository;
+import com.logistics.logiroute.repository.PackageStatusEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side and compaction of the package status history. Recent days live as
+ * rows in {@code package_status_events}; older days are column-encoded
+ * segments, one per day and vehicle.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PackageHistoryService {
+
+    private final PackageStatusEventRepository packageStatusEventRepository;
+    private final PackageHistorySegmentRepository packageHistorySegmentRepository;
+
+    @Transactional(readOnly = true)
+    public List<PackageStatusEventDto> getHistory(Long packageId) {
+        List<StatusEventRow> rows = new ArrayList<>();
+        for (PackageHistorySegment segment : packageHistorySegmentRepository.findCovering(packageId)) {
+            for (StatusEventRow row : decode(segment)) {
+                if (row.packageId().equals(packageId)) {
+                    rows.add(row);
+                }
+            }
+        }
+        rows.addAll(packageStatusEventRepository.findRowsByPackageId(packageId));
+        rows.sort(Comparator.comparing(StatusEventRow::occurredAt));
+
+        return rows.stream().map(this::toDto).toList();
+    }
+
+    /**
+     * Percentiles of the time packages spent in {@code fromStatus} before moving
+     * directly to {@code toStatus}, for transitions between the given days.
+     */
+    @Transactional(readOnly = true)
+    public List<DwellStatsDto> getDwellStats(PackageStatus fromStatus, PackageStatus toStatus,
+                                             LocalDate startDay, LocalDate endDay, DwellGrouping groupBy) {
+        if (endDay.isBefore(startDay)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        Map<Long, DwellStatistics> groups = new HashMap<>();
+        for (PackageHistorySegment segment : packageHistorySegmentRepository.findBySegmentDayBetween(startDay, endDay)) {
+            for (StatusEventRow row : decode(segment)) {
+                if (row.fromStatus() == fromStatus && row.toStatus() == toStatus) {
+                    addSample(groups, groupBy, row);
+                }
+            }
+        }
+        for (StatusEventRow row : packageStatusEventRepository.findTransitions(fromStatus, toStatus, startDay, endDay)) {
+            addSample(groups, groupBy, row);
+        }
+
+        return groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(entry -> toStats(groupBy, entry.getKey(), entry.getValue().sorted()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LocalDate> getDaysToCompact(LocalDate cutoff) {
+        return packageStatusEventRepository.findDaysBefore(cutoff);
+    }
+
+    /**
+     * Replaces the event rows of one day with one segment per vehicle.
+     *
+     * @return number of events compacted
+     */
+    @Transactional
+    public int compactDay(LocalDate day) {
+        List<StatusEventRow> rows = packageStatusEventRepository.findRowsByDay(day);
+
+        Map<Long, List<StatusEventRow>> byVehicle = new LinkedHashMap<>();
+        for (StatusEventRow row : rows) {
+            byVehicle.computeIfAbsent(row.vehicleId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<PackageHistorySegment> segments = new ArrayList<>(byVehicle.size());
+        for (Map.Entry<Long, List<StatusEventRow>> entry : byVehicle.entrySet()) {
+            List<StatusEventRow> vehicleRows = entry.getValue();
+            segments.add(PackageHistorySegment.builder()
+                    .segmentDay(day)
+                    .vehicleId(entry.getKey())
+                    .eventCount(vehicleRows.size())
+                    .minPackageId(vehicleRows.stream().mapToLong(StatusEventRow::packageId).min().orElseThrow())
+                    .maxPackageId(vehicleRows.stream().mapToLong(StatusEventRow::packageId).max().orElseThrow())
+                    .payload(StatusSegmentCodec.encode(day, vehicleRows))
+                    .build());
+        }
+        packageHistorySegmentRepository.saveAll(segments);
+        int deleted = packageStatusEventRepository.deleteByDay(day);
+
+        log.info("Compacted {} status events of {} into {} segments", deleted, day, segments.size());
+        return deleted;
+    }
+
+    private List<StatusEventRow> decode(PackageHistorySegment segment) {
+        return StatusSegmentCodec.decode(segment.getSegmentDay(), segment.getVehicleId(), segment.getPayload());
+    }
+
+    private void addSample(Map<Long, DwellStatistics> groups, DwellGrouping groupBy, StatusEventRow row) {
+        if (row.dwellSeconds() == null) {
+            return;
+        }
+        Long key = switch (groupBy) {
+            case NONE -> null;
+            case VEHICLE -> row.vehicleId();
+            case ROUTE -> row.routeId();
+        };
+        groups.computeIfAbsent(key, k -> new DwellStatistics()).add(row.dwellSeconds());
+    }
+
+    private DwellStatsDto toStats(DwellGrouping groupBy, Long key, DwellStatistics statistics) {
+        return DwellStatsDto.builder()
+                .groupBy(groupBy)
+                .key(key)
+                .count(statistics.size())
+                .p50Seconds(statistics.percentile(50))
+                .p90Seconds(statistics.percentile(90))
+                .p99Seconds(statistics.percentile(99))
+                .maxSeconds(statistics.max())
+                .build();
+    }
+
+    private PackageStatusEventDto toDto(StatusEventRow row) {
+        return PackageStatusEventDto.builder()
+                .packageId(row.packageId())
+                .vehicleId(row.vehicleId())
+                .routeId(row.routeId())
+                .fromStatus(row.fromStatus())
+                .toStatus(row.toStatus())
+                .occurredAt(row.occurredAt())
+                .dwellSeconds(row.dwellSeconds())
+                .build();
+    }
+}
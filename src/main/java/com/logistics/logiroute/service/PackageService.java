@@ -1,17 +1,27 @@
 package com.logistics.logiroute.service;
 
+import com.logistics.logiroute.dispatch.PackageChangedEvent;
 import com.logistics.logiroute.domain.entity.Package;
 import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.ServiceTier;
 import com.logistics.logiroute.dto.PackageDto;
 import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.loader.BatchLoader;
+import com.logistics.logiroute.mapper.ArchiveMapper;
 import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.ArchivedPackageRepository;
 import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VersionStamp;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,24 +30,39 @@ public class PackageService {
 
     private final PackageRepository packageRepository;
     private final PackageMapper packageMapper;
+    private final DepotService depotService;
+    private final ArchivedPackageRepository archivedPackageRepository;
+    private final BatchLoader<Long, PackageDto> packageLoader;
+    private final ArchiveMapper archiveMapper;
+    private final GeocodingService geocodingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PackageDto createPackage(PackageDto packageDto) {
         Package pkg = packageMapper.toEntity(packageDto);
+        pkg.setServiceTier(ServiceTier.orDefault(packageDto.getServiceTier()));
         pkg.setStatus(PackageStatus.CREATED);
+        pkg.setStatusChangedAt(LocalDateTime.now());
+        pkg.setDepot(depotService.resolveDepot(packageDto.getDepotId()));
+        geocodingService.apply(pkg);
 
         Package saved = packageRepository.save(pkg);
         log.info("Created package ID {}", saved.getId());
+        eventPublisher.publishEvent(new PackageChangedEvent(saved.getId()));
 
         return packageMapper.toDto(saved);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Looks the package up in the live table first and falls back to the
+     * archive, so ids stay resolvable after their route has been archived.
+     * Live lookups go through the batch loader; not transactional, so no
+     * connection is held while waiting for the batch.
+     */
     public PackageDto getPackage(Long id) {
-        Package pkg = packageRepository.findById(id)
+        return Optional.ofNullable(packageLoader.load(id))
+                .or(() -> archivedPackageRepository.findById(id).map(archiveMapper::toDto))
                 .orElseThrow(() -> ResourceNotFoundException.forPackage(id));
-
-        return packageMapper.toDto(pkg);
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +73,13 @@ public class PackageService {
 
     @Transactional(readOnly = true)
     public List<PackageDto> getUnassignedPackages() {
-        List<Package> packages = packageRepository.findByDeliveryRouteIsNull();
+        List<Package> packages = packageRepository.findUnassigned();
+        return packageMapper.toDtoList(packages);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PackageDto> getUnassignedPackages(Long depotId) {
+        List<Package> packages = packageRepository.findUnassignedByDepotId(depotId);
         return packageMapper.toDtoList(packages);
     }
 
@@ -58,21 +89,87 @@ public class PackageService {
         return packageMapper.toDtoList(packages);
     }
 
+    /**
+     * Version stamp of {@link #getPackage(Long)}, read without loading the
+     * package. Falls back to the archive like the read itself.
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getPackageStamp(Long id) {
+        VersionStamp stamp = packageRepository.stampById(id);
+        if (stamp.isEmpty()) {
+            stamp = archivedPackageRepository.stampById(id);
+        }
+        if (stamp.isEmpty()) {
+            throw ResourceNotFoundException.forPackage(id);
+        }
+        return stamp;
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getAllPackagesStamp() {
+        return packageRepository.stampAll();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getUnassignedPackagesStamp(Long depotId) {
+        return depotId != null
+                ? packageRepository.stampUnassignedByDepotId(depotId)
+                : packageRepository.stampUnassigned();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getPackagesByStatusStamp(PackageStatus status) {
+        return packageRepository.stampByStatus(status);
+    }
+
+    /**
+     * Weight, volume, pallet slots and hazmat class may only change while the
+     * package is CREATED and on no route; after that the capacity guard and
+     * the vehicle load rely on the values it was planned with.
+     */
     @Transactional
     public PackageDto updatePackage(Long id, PackageDto packageDto) {
         Package pkg = packageRepository.findById(id)
                 .orElseThrow(() -> ResourceNotFoundException.forPackage(id));
 
+        boolean unassigned = pkg.getStatus() == PackageStatus.CREATED && pkg.getDeliveryRoute() == null;
+        if (!unassigned && changesCapacityDemand(pkg, packageDto)) {
+            throw new IllegalArgumentException(String.format("Package ID %d is no longer unassigned; "
+                    + "its weight, volume, pallet slots and hazmat class cannot change", id));
+        }
+
         pkg.setDeliveryAddress(packageDto.getDeliveryAddress());
         pkg.setWeightKg(packageDto.getWeightKg());
+        pkg.setVolumeM3(packageDto.getVolumeM3());
+        pkg.setPalletSlots(packageDto.getPalletSlots());
+        pkg.setHazmatClass(packageDto.getHazmatClass());
+        if (packageDto.getServiceTier() != null) {
+            pkg.setServiceTier(packageDto.getServiceTier());
+        }
         pkg.setDeliveryDeadline(packageDto.getDeliveryDeadline());
+        pkg.setLatitude(packageDto.getLatitude());
+        pkg.setLongitude(packageDto.getLongitude());
+        pkg.setEarliestDelivery(packageDto.getEarliestDelivery());
+        pkg.setLatestDelivery(packageDto.getLatestDelivery());
+        if (pkg.getDeliveryRoute() == null) {
+            pkg.setDepot(depotService.resolveDepot(packageDto.getDepotId()));
+        }
+        geocodingService.apply(pkg);
 
         Package updated = packageRepository.save(pkg);
         log.info("Updated package ID {}", id);
+        eventPublisher.publishEvent(new PackageChangedEvent(id));
 
         return packageMapper.toDto(updated);
     }
 
+    private static boolean changesCapacityDemand(Package pkg, PackageDto packageDto) {
+        return !Objects.equals(pkg.getWeightKg(), packageDto.getWeightKg())
+                || !Objects.equals(pkg.getVolumeM3(), packageDto.getVolumeM3())
+                || !Objects.equals(pkg.getPalletSlots(), packageDto.getPalletSlots())
+                || pkg.getHazmatClass() != packageDto.getHazmatClass();
+    }
+
     @Transactional
     public void deletePackage(Long id) {
         if (!packageRepository.existsById(id)) {
@@ -81,5 +178,6 @@ public class PackageService {
 
         packageRepository.deleteById(id);
         log.info("Deleted package ID {}", id);
+        eventPublisher.publishEvent(new PackageChangedEvent(id));
     }
 }
@@ -0,0 +1,159 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.bulk.CsvCursorExporter;
+import com.logistics.logiroute.bulk.CsvReader;
+import com.logistics.logiroute.config.BulkProperties;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Streaming route import and export. An import row assigns one package to a
+ * route; consecutive rows with the same {@code routeRef} form one route and go
+ * through {@link AssignmentService#assignPackagesToVehicle}, so every imported
+ * route passes the capacity guard, depot and status checks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteBulkService {
+
+    public static final String[] IMPORT_COLUMNS = {"routeRef", "vehicleId", "packageId"};
+
+    public static final String[] EXPORT_COLUMNS = {
+            "routeId", "vehicleId", "createdAt", "dispatchedAt", "completedAt",
+            "stopSequence", "packageId", "packageStatus", "deliveryAddress"
+    };
+
+    private static final String EXPORT_SQL = "SELECT r.id, r.vehicle_id, r.created_at, r.dispatched_at, "
+            + "r.completed_at, p.stop_sequence, p.id, p.status, p.delivery_address "
+            + "FROM delivery_routes r JOIN packages p ON p.delivery_route_id = r.id "
+            + "ORDER BY r.id, p.stop_sequence";
+
+    private final AssignmentService assignmentService;
+    private final CsvCursorExporter csvCursorExporter;
+    private final BulkProperties bulkProperties;
+
+    public ImportResultDto importRoutes(ReadableByteChannel channel) throws IOException {
+        RouteImport routeImport = new RouteImport();
+        try (CsvReader reader = new CsvReader(channel, StandardCharsets.UTF_8)) {
+            if (!reader.next()) {
+                throw new IllegalArgumentException("Route file is empty");
+            }
+            int[] columns = new int[IMPORT_COLUMNS.length];
+            for (int c = 0; c < IMPORT_COLUMNS.length; c++) {
+                columns[c] = indexOf(reader, IMPORT_COLUMNS[c]);
+                if (columns[c] < 0) {
+                    throw new IllegalArgumentException("Route file header is missing required column " + IMPORT_COLUMNS[c]);
+                }
+            }
+
+            while (reader.next()) {
+                routeImport.rowsRead++;
+                String routeRef = reader.field(columns[0]).trim();
+                Long vehicleId;
+                Long packageId;
+                try {
+                    vehicleId = Long.valueOf(reader.field(columns[1]).trim());
+                    packageId = Long.valueOf(reader.field(columns[2]).trim());
+                } catch (NumberFormatException ex) {
+                    routeImport.reject(1, reader.lineNumber(), "vehicleId and packageId must be numeric");
+                    continue;
+                }
+
+                if (!routeRef.equals(routeImport.routeRef)) {
+                    routeImport.flush();
+                    routeImport.start(routeRef, vehicleId, reader.lineNumber());
+                } else if (!Objects.equals(vehicleId, routeImport.vehicleId)) {
+                    routeImport.reject(1, reader.lineNumber(),
+                            "route " + routeRef + " already uses vehicle " + routeImport.vehicleId);
+                    continue;
+                }
+                routeImport.packageIds.add(packageId);
+            }
+            routeImport.flush();
+        }
+
+        log.info("Imported {} routes ({} rows read, {} rejected)",
+                routeImport.routesImported, routeImport.rowsRead, routeImport.rowsRejected);
+
+        return ImportResultDto.builder()
+                .rowsRead(routeImport.rowsRead)
+                .rowsImported(routeImport.rowsImported)
+                .rowsRejected(routeImport.rowsRejected)
+                .errors(routeImport.errors)
+                .build();
+    }
+
+    /**
+     * Writes one CSV record per route stop, ordered by route and stop.
+     */
+    @Transactional(readOnly = true)
+    public void exportRoutes(OutputStream output) throws IOException {
+        csvCursorExporter.export(EXPORT_SQL, EXPORT_COLUMNS, output);
+    }
+
+    private static int indexOf(CsvReader header, String column) {
+        for (int i = 0; i < header.fieldCount(); i++) {
+            if (header.field(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The route currently being collected plus the running totals.
+     */
+    private final class RouteImport {
+
+        private String routeRef;
+        private Long vehicleId;
+        private long firstLine;
+        private final List<Long> packageIds = new ArrayList<>();
+
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+        private long routesImported;
+        private final List<String> errors = new ArrayList<>();
+
+        private void start(String routeRef, Long vehicleId, long line) {
+            this.routeRef = routeRef;
+            this.vehicleId = vehicleId;
+            this.firstLine = line;
+            packageIds.clear();
+        }
+
+        private void flush() {
+            if (packageIds.isEmpty()) {
+                return;
+            }
+            try {
+                assignmentService.assignPackagesToVehicle(vehicleId, List.copyOf(packageIds));
+                rowsImported += packageIds.size();
+                routesImported++;
+            } catch (RuntimeException ex) {
+                reject(packageIds.size(), firstLine, "route " + routeRef + ": " + ex.getMessage());
+            }
+            packageIds.clear();
+        }
+
+        private void reject(int rows, long line, String message) {
+            rowsRejected += rows;
+            if (errors.size() < bulkProperties.getMaxReportedErrors()) {
+                errors.add("line " + line + ": " + message);
+            }
+        }
+    }
+}
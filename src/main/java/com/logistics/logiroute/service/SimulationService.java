@@ -0,0 +1,92 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.ClusteringProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SimulationProperties;
+import com.logistics.logiroute.dto.request.ClusteringRequest;
+import com.logistics.logiroute.dto.request.SimulationScenario;
+import com.logistics.logiroute.dto.response.ClusteringResultDto;
+import com.logistics.logiroute.dto.response.SimulationResultDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.simulation.ClusterRunner;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import com.logistics.logiroute.simulation.ScenarioRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * What-if dispatch simulation. Takes one read-only snapshot of the fleet and
+ * the unassigned packages, then evaluates every scenario in memory and in
+ * parallel. Nothing is written to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimulationService {
+
+    private final DispatchSnapshotService dispatchSnapshotService;
+    private final SchedulingProperties schedulingProperties;
+    private final ClusteringProperties clusteringProperties;
+    private final SimulationProperties simulationProperties;
+
+    public List<SimulationResultDto> simulate(List<SimulationScenario> scenarios) {
+        scenarios.forEach(this::checkExtraVehicles);
+        DispatchSnapshot snapshot = dispatchSnapshotService.takeSnapshot();
+        scenarios.forEach(scenario -> checkDepots(snapshot, scenario));
+        log.info("Simulating {} scenarios on {} vehicles and {} packages",
+                scenarios.size(), snapshot.vehicleCount(), snapshot.packageCount());
+
+        return scenarios.parallelStream()
+                .map(scenario -> ScenarioRunner.run(snapshot, scenario, schedulingProperties))
+                .toList();
+    }
+
+    private void checkExtraVehicles(SimulationScenario scenario) {
+        long extraVehicles = scenario.getExtraVehicles().stream()
+                .mapToLong(SimulationScenario.ExtraVehicles::getCount)
+                .sum();
+        if (extraVehicles > simulationProperties.getMaxExtraVehicles()) {
+            throw new IllegalArgumentException(String.format("Scenario '%s' adds %d vehicles, at most %d are allowed",
+                    scenario.getName(), extraVehicles, simulationProperties.getMaxExtraVehicles()));
+        }
+    }
+
+    /**
+     * Every depot a scenario names must be in the snapshot; extra vehicles
+     * without a depot join the shared pool.
+     */
+    private static void checkDepots(DispatchSnapshot snapshot, SimulationScenario scenario) {
+        for (Long depotId : scenario.getClosedDepotIds()) {
+            if (depotId == null) {
+                throw new IllegalArgumentException(
+                        String.format("Scenario '%s' lists a closed depot without an ID", scenario.getName()));
+            }
+            if (!snapshot.hasDepot(depotId)) {
+                throw ResourceNotFoundException.forDepot(depotId);
+            }
+        }
+        for (SimulationScenario.ExtraVehicles extra : scenario.getExtraVehicles()) {
+            if (extra.getDepotId() != null && !snapshot.hasDepot(extra.getDepotId())) {
+                throw ResourceNotFoundException.forDepot(extra.getDepotId());
+            }
+        }
+    }
+
+    /**
+     * Clustering pre-pass over the unassigned packages of the same snapshot:
+     * capacity-bounded geographic groups that routing can solve one by one.
+     */
+    public ClusteringResultDto cluster(ClusteringRequest request) {
+        DispatchSnapshot snapshot = dispatchSnapshotService.takeSnapshot();
+        ClusteringResultDto result = ClusterRunner.run(snapshot, request, clusteringProperties);
+        log.info("Clustered {} of {} packages into {} clusters ({}, {} iterations) in {} ms: "
+                        + "mean distance to centroid {} km, mean fill {}",
+                result.getClusteredPackages(), result.getTotalPackages(), result.getClusterCount(),
+                result.getMethod(), result.getIterations(), result.getRuntimeMs(),
+                String.format("%.2f", result.getMeanDistanceKm()), String.format("%.2f", result.getMeanFill()));
+        return result;
+    }
+}
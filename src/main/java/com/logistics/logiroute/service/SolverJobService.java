@@ -0,0 +1,140 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SolverProperties;
+import com.logistics.logiroute.dto.request.SolverJobRequest;
+import com.logistics.logiroute.dto.response.SolverJobDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import com.logistics.logiroute.simulation.SolverJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running metaheuristic planning on the dispatch snapshot. A job is
+ * started in the background and polled for its best plan so far; it can be
+ * cancelled at any time without losing that plan. Searches of all jobs share
+ * one pool of {@code logiroute.solver.threads} workers. Plans are not written
+ * to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SolverJobService {
+
+    private final DispatchSnapshotService dispatchSnapshotService;
+    private final SchedulingProperties schedulingProperties;
+    private final SolverProperties solverProperties;
+    private final Map<Long, SolverJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+    private ExecutorService workers;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(solverProperties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "solver-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.values().forEach(SolverJob::cancel);
+        workers.shutdownNow();
+    }
+
+    public SolverJobDto start(SolverJobRequest request) {
+        if (request.getTimeLimitSeconds() != null
+                && request.getTimeLimitSeconds() > solverProperties.getMaxTimeLimitSeconds()) {
+            throw new IllegalArgumentException(String.format("Time limit must not exceed %d seconds",
+                    solverProperties.getMaxTimeLimitSeconds()));
+        }
+        DispatchSnapshot snapshot = dispatchSnapshotService.takeSnapshot();
+        if (request.getDepotId() != null && !snapshot.hasDepot(request.getDepotId())) {
+            throw ResourceNotFoundException.forDepot(request.getDepotId());
+        }
+
+        SolverJob job = SolverJob.create(jobIds.incrementAndGet(), snapshot, request,
+                schedulingProperties, solverProperties);
+        jobs.put(job.getId(), job);
+        evictFinishedJobs();
+        for (Runnable search : job.getSearches()) {
+            workers.execute(() -> {
+                search.run();
+                if (job.isFinished()) {
+                    logFinished(job);
+                }
+            });
+        }
+
+        SolverJobDto status = job.toDto();
+        log.info("Started solver job {}: {} packages, {} searches, {} s, greedy plan {} km",
+                job.getId(), status.getTotalPackages(), status.getSearches(), status.getTimeLimitSeconds(),
+                String.format("%.1f", status.getGreedyKm()));
+        return status;
+    }
+
+    public SolverJobDto getJob(Long jobId) {
+        return find(jobId).toDto();
+    }
+
+    public SolverJobDto cancel(Long jobId) {
+        SolverJob job = find(jobId);
+        job.cancel();
+        log.info("Cancelling solver job {}", jobId);
+        return job.toDto();
+    }
+
+    private SolverJob find(Long jobId) {
+        SolverJob job = jobs.get(jobId);
+        if (job == null) {
+            throw ResourceNotFoundException.forSolverJob(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond {@code retainedJobs}; running jobs
+     * are always kept.
+     */
+    private void evictFinishedJobs() {
+        long finished = jobs.values().stream().filter(SolverJob::isFinished).count();
+        long excess = finished - solverProperties.getRetainedJobs();
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(SolverJob::isFinished)
+                .map(SolverJob::getId)
+                .sorted()
+                .limit(excess)
+                .forEach(jobs::remove);
+    }
+
+    private void logFinished(SolverJob job) {
+        SolverJobDto status = job.toDto();
+        if (job.getStatus() == SolverJob.Status.FAILED) {
+            log.error("Solver job {} failed after {} ms: {}", job.getId(), status.getElapsedMs(), status.getError());
+            return;
+        }
+        log.info("Solver job {} {} after {} ms and {} iterations: {} km -> {} km ({}% less), "
+                        + "late {} -> {}, unassigned {} -> {}",
+                job.getId(), status.getStatus(), status.getElapsedMs(), status.getIterations(),
+                String.format("%.1f", status.getGreedyKm()), String.format("%.1f", status.getBestKm()),
+                String.format("%.1f", status.getKmSavedPercent()),
+                status.getGreedyLatePackages(), status.getLatePackages(),
+                status.getGreedyUnassignedPackages(), status.getUnassignedPackages());
+    }
+}
@@ -0,0 +1,134 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.TelemetryProperties;
+import com.logistics.logiroute.dto.PositionDto;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.telemetry.Position;
+import com.logistics.logiroute.telemetry.PositionRing;
+import com.logistics.logiroute.telemetry.PositionStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingests vehicle GPS positions into the in-memory {@link PositionStore} and
+ * answers live position and track queries from it. The database is only read
+ * the first time a vehicle reports after startup, to check that it exists.
+ * Each vehicle's newest fix of a request is passed on to the ETA engine.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TelemetryService {
+
+    private final PositionStore positionStore;
+    private final VehicleRepository vehicleRepository;
+    private final TelemetryProperties telemetryProperties;
+    private final EtaService etaService;
+
+    /**
+     * Adds the positions to their vehicles' rings. Positions of unknown
+     * vehicles are rejected and reported; the others are accepted.
+     */
+    public ImportResultDto ingest(List<PositionDto> positions) {
+        if (positions.size() > telemetryProperties.getMaxPositionsPerRequest()) {
+            throw new IllegalArgumentException(String.format(
+                    "At most %d positions can be sent in one request, got %d",
+                    telemetryProperties.getMaxPositionsPerRequest(), positions.size()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, PositionRing> rings = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        long accepted = 0;
+        for (PositionDto dto : positions) {
+            PositionRing ring = rings.computeIfAbsent(dto.getVehicleId(), this::resolveRing);
+            if (ring == null) {
+                errors.add(String.format("Vehicle with ID %d not found", dto.getVehicleId()));
+                continue;
+            }
+            ring.add(new Position(dto.getRecordedAt() != null ? dto.getRecordedAt() : now,
+                    dto.getLatitude(), dto.getLongitude(), dto.getSpeedKmh(), dto.getHeadingDegrees()));
+            accepted++;
+        }
+        rings.forEach((vehicleId, ring) -> {
+            if (ring != null) {
+                etaService.onPosition(vehicleId, ring.latest());
+            }
+        });
+
+        return ImportResultDto.builder()
+                .rowsRead(positions.size())
+                .rowsImported(accepted)
+                .rowsRejected(positions.size() - accepted)
+                .errors(errors.stream().distinct().toList())
+                .build();
+    }
+
+    public PositionDto getLatestPosition(Long vehicleId) {
+        PositionRing ring = positionStore.ring(vehicleId);
+        Position latest = ring != null ? ring.latest() : null;
+        if (latest == null) {
+            throw ResourceNotFoundException.forVehiclePosition(vehicleId);
+        }
+        return toDto(vehicleId, latest);
+    }
+
+    /**
+     * Latest position of every vehicle that reported since startup.
+     */
+    public List<PositionDto> getLatestPositions() {
+        List<PositionDto> positions = new ArrayList<>();
+        positionStore.forEach((vehicleId, ring) -> {
+            Position latest = ring.latest();
+            if (latest != null) {
+                positions.add(toDto(vehicleId, latest));
+            }
+        });
+        positions.sort(Comparator.comparing(PositionDto::getVehicleId));
+        return positions;
+    }
+
+    /**
+     * Up to {@code limit} of the vehicle's most recent positions, oldest first.
+     */
+    public List<PositionDto> getTrack(Long vehicleId, int limit) {
+        PositionRing ring = positionStore.ring(vehicleId);
+        if (ring == null) {
+            throw ResourceNotFoundException.forVehiclePosition(vehicleId);
+        }
+        return ring.recent(limit).stream().map(position -> toDto(vehicleId, position)).toList();
+    }
+
+    private PositionRing resolveRing(Long vehicleId) {
+        PositionRing ring = positionStore.ring(vehicleId);
+        if (ring != null) {
+            return ring;
+        }
+        if (!vehicleRepository.existsById(vehicleId)) {
+            return null;
+        }
+        log.info("Vehicle ID {} reported its first position", vehicleId);
+        return positionStore.register(vehicleId);
+    }
+
+    private static PositionDto toDto(Long vehicleId, Position position) {
+        return PositionDto.builder()
+                .vehicleId(vehicleId)
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .speedKmh(position.speedKmh())
+                .headingDegrees(position.headingDegrees())
+                .recordedAt(position.recordedAt())
+                .build();
+    }
+}
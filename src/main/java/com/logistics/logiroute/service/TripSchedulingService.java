@@ -0,0 +1,227 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.dispatch.PackageChangedEvent;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.response.TripPlanResponse;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.IntervalTree;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Plans several sequential trips per vehicle and day. Each trip starts with an
+ * empty vehicle (reload at the depot), must fit inside the driver shift and
+ * must not overlap the vehicle's other open routes, which are kept in an
+ * {@link IntervalTree} for fast feasibility checks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TripSchedulingService {
+
+    private final VehicleRepository vehicleRepository;
+    private final PackageRepository packageRepository;
+    private final DeliveryRouteRepository deliveryRouteRepository;
+    private final DeliveryRouteMapper deliveryRouteMapper;
+    private final SchedulingProperties schedulingProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public TripPlanResponse planTrips(Long vehicleId, LocalDate day, List<Long> packageIds) {
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> ResourceNotFoundException.forVehicle(vehicleId));
+
+        List<Package> packages = packageRepository.findAllById(packageIds);
+        if (packages.size() != packageIds.size()) {
+            throw new IllegalArgumentException("Some package IDs were not found");
+        }
+        for (Package pkg : packages) {
+            if (pkg.getStatus() != PackageStatus.CREATED || pkg.getDeliveryRoute() != null) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d is not an unassigned CREATED package", pkg.getId())
+                );
+            }
+            if (!vehicle.servesDepotOf(pkg)) {
+                throw new IllegalArgumentException(
+                        String.format("Package ID %d does not belong to the depot of vehicle %s",
+                                pkg.getId(), vehicle.getLicensePlate())
+                );
+            }
+        }
+
+        IntervalTree bookings = loadBookings(vehicle);
+        long shiftEnd = toEpoch(vehicle.getShiftEndOn(day));
+        long cursor = Math.max(toEpoch(LocalDateTime.now()), toEpoch(vehicle.getShiftStartOn(day)));
+
+        List<Package> pending = new ArrayList<>(packages);
+        pending.sort(Comparator.comparing(Package::getEffectiveLatestDelivery));
+        List<Long> unscheduled = new ArrayList<>();
+        List<DeliveryRouteDto> trips = new ArrayList<>();
+
+        while (!pending.isEmpty()) {
+            List<Package> trip = fillTrip(vehicle, pending);
+            if (trip.isEmpty()) {
+                // Nothing left fits an empty vehicle
+                pending.forEach(pkg -> unscheduled.add(pkg.getId()));
+                break;
+            }
+
+            long start = scheduleTrip(trip, bookings, cursor, shiftEnd, unscheduled);
+            if (start < 0) {
+                // No gap left in the shift for this or any later trip
+                trip.forEach(pkg -> unscheduled.add(pkg.getId()));
+                pending.forEach(pkg -> unscheduled.add(pkg.getId()));
+                break;
+            }
+            if (trip.isEmpty()) {
+                continue;
+            }
+
+            long end = start + schedulingProperties.tripDurationSeconds(trip.size());
+            DeliveryRoute route = DeliveryRoute.builder()
+                    .vehicle(vehicle)
+                    .createdAt(LocalDateTime.now())
+                    .plannedStart(fromEpoch(start))
+                    .plannedEnd(fromEpoch(end))
+                    .build();
+            trip.forEach(route::addPackage);
+            DeliveryRoute saved = deliveryRouteRepository.save(route);
+            // Planned packages stay CREATED, so no status event takes them off the dispatch queue
+            trip.forEach(pkg -> eventPublisher.publishEvent(new PackageChangedEvent(pkg.getId())));
+
+            bookings.insert(start, end, saved.getId());
+            cursor = end;
+            trips.add(deliveryRouteMapper.toDto(saved));
+        }
+
+        log.info("Planned {} trips for vehicle {} on {} ({} packages unscheduled)",
+                trips.size(), vehicle.getLicensePlate(), day, unscheduled.size());
+
+        return TripPlanResponse.builder()
+                .trips(trips)
+                .unscheduledPackageIds(unscheduled)
+                .build();
+    }
+
+    /**
+     * Open routes of the vehicle as booked intervals. Routes without a planned
+     * end are estimated from their stop count and extended to now while open.
+     */
+    private IntervalTree loadBookings(Vehicle vehicle) {
+        IntervalTree bookings = new IntervalTree();
+        long now = toEpoch(LocalDateTime.now());
+
+        for (DeliveryRoute route : deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(vehicle.getId())) {
+            LocalDateTime plannedStart = route.getPlannedStart() != null ? route.getPlannedStart() : route.getCreatedAt();
+            long start = toEpoch(plannedStart);
+            long end = route.getPlannedEnd() != null
+                    ? toEpoch(route.getPlannedEnd())
+                    : start + schedulingProperties.tripDurationSeconds(route.getPackages().size());
+            if (route.getDispatchedAt() != null && end <= now) {
+                end = now + 60L * schedulingProperties.getReturnMinutes();
+            }
+            if (end > start) {
+                bookings.insert(start, end, route.getId());
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Takes packages from the pending list, in order, while they fit the full
+     * capacity of the vehicle.
+     */
+    private List<Package> fillTrip(Vehicle vehicle, List<Package> pending) {
+        double[] remaining = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeCapacity(vehicle, remaining, 0);
+        int vehicleHazmat = CapacityGuard.hazmatMask(vehicle);
+        double[] demand = new double[CapacityGuard.DIMENSIONS];
+
+        List<Package> trip = new ArrayList<>();
+        Iterator<Package> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Package pkg = iterator.next();
+            CapacityGuard.writeDemand(pkg, demand, 0);
+            if (CapacityGuard.fits(remaining, 0, vehicleHazmat, demand, 0, CapacityGuard.hazmatMask(pkg))) {
+                CapacityGuard.consume(remaining, 0, demand, 0);
+                trip.add(pkg);
+                iterator.remove();
+            }
+        }
+        return trip;
+    }
+
+    /**
+     * Finds the earliest feasible start for the trip and drops packages whose
+     * delivery window cannot be met. Dropped packages are added to
+     * {@code unscheduled}.
+     *
+     * @return the trip start in epoch seconds, or -1 if the shift has no gap
+     */
+    private long scheduleTrip(List<Package> trip, IntervalTree bookings, long cursor, long shiftEnd,
+                              List<Long> unscheduled) {
+        // Every pass either succeeds or drops at least one package, so this terminates
+        while (true) {
+            long duration = schedulingProperties.tripDurationSeconds(trip.size());
+            long start = bookings.earliestGap(Math.max(cursor, requiredStart(trip)), duration, shiftEnd);
+            if (start < 0) {
+                return -1;
+            }
+
+            boolean dropped = false;
+            for (int i = trip.size() - 1; i >= 0; i--) {
+                long delivery = start + schedulingProperties.stopOffsetSeconds(i);
+                if (delivery > toEpoch(trip.get(i).getEffectiveLatestDelivery())) {
+                    unscheduled.add(trip.remove(i).getId());
+                    dropped = true;
+                }
+            }
+            if (!dropped || trip.isEmpty()) {
+                return start;
+            }
+        }
+    }
+
+    /**
+     * Earliest start at which no stop is reached before its delivery window opens.
+     */
+    private long requiredStart(List<Package> trip) {
+        long required = Long.MIN_VALUE;
+        for (int i = 0; i < trip.size(); i++) {
+            LocalDateTime earliest = trip.get(i).getEarliestDelivery();
+            if (earliest != null) {
+                required = Math.max(required, toEpoch(earliest) - schedulingProperties.stopOffsetSeconds(i));
+            }
+        }
+        return required;
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -4,14 +4,19 @@ import com.logistics.logiroute.domain.entity.Vehicle;
 import com.logistics.logiroute.domain.enums.VehicleStatus;
 import com.logistics.logiroute.dto.VehicleDto;
 import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.loader.BatchLoader;
 import com.logistics.logiroute.mapper.VehicleMapper;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
 import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.repository.VersionStamp;
+import com.logistics.logiroute.telemetry.PositionStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -19,13 +24,21 @@ import java.util.List;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final DeliveryRouteRepository deliveryRouteRepository;
     private final VehicleMapper vehicleMapper;
+    private final DepotService depotService;
+    private final BatchLoader<Long, VehicleDto> vehicleLoader;
+    private final PositionStore positionStore;
 
     @Transactional
     public VehicleDto createVehicle(VehicleDto vehicleDto) {
         Vehicle vehicle = vehicleMapper.toEntity(vehicleDto);
         vehicle.setCurrentLoadKg(0.0);
+        vehicle.setCurrentLoadM3(0.0);
+        vehicle.setCurrentPalletSlots(0);
+        vehicle.setHazmatCertified(Boolean.TRUE.equals(vehicleDto.getHazmatCertified()));
         vehicle.setStatus(VehicleStatus.AVAILABLE);
+        vehicle.setDepot(depotService.resolveDepot(vehicleDto.getDepotId()));
 
         Vehicle saved = vehicleRepository.save(vehicle);
         log.info("Created vehicle: {}", saved.getLicensePlate());
@@ -33,12 +46,16 @@ public class VehicleService {
         return vehicleMapper.toDto(saved);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Goes through the batch loader; not transactional, so no connection is
+     * held while waiting for the batch.
+     */
     public VehicleDto getVehicle(Long id) {
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> ResourceNotFoundException.forVehicle(id));
-
-        return vehicleMapper.toDto(vehicle);
+        VehicleDto vehicle = vehicleLoader.load(id);
+        if (vehicle == null) {
+            throw ResourceNotFoundException.forVehicle(id);
+        }
+        return vehicle;
     }
 
     @Transactional(readOnly = true)
@@ -53,6 +70,36 @@ public class VehicleService {
         return vehicleMapper.toDtoList(vehicles);
     }
 
+    @Transactional(readOnly = true)
+    public List<VehicleDto> getAvailableVehicles(Long depotId) {
+        List<Vehicle> vehicles = vehicleRepository.findByDepotIdAndStatus(depotId, VehicleStatus.AVAILABLE);
+        return vehicleMapper.toDtoList(vehicles);
+    }
+
+    /**
+     * Version stamp of {@link #getVehicle(Long)}, read without loading the vehicle.
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getVehicleStamp(Long id) {
+        VersionStamp stamp = vehicleRepository.stampById(id);
+        if (stamp.isEmpty()) {
+            throw ResourceNotFoundException.forVehicle(id);
+        }
+        return stamp;
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getAllVehiclesStamp() {
+        return vehicleRepository.stampAll();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getAvailableVehiclesStamp(Long depotId) {
+        return depotId != null
+                ? vehicleRepository.stampByDepotIdAndStatus(depotId, VehicleStatus.AVAILABLE)
+                : vehicleRepository.stampByStatus(VehicleStatus.AVAILABLE);
+    }
+
     @Transactional
     public VehicleDto updateVehicle(Long id, VehicleDto vehicleDto) {
         Vehicle vehicle = vehicleRepository.findById(id)
@@ -60,6 +107,16 @@ public class VehicleService {
 
         vehicle.setLicensePlate(vehicleDto.getLicensePlate());
         vehicle.setCapacityKg(vehicleDto.getCapacityKg());
+        vehicle.setCapacityM3(vehicleDto.getCapacityM3());
+        vehicle.setPalletSlotCapacity(vehicleDto.getPalletSlotCapacity());
+        vehicle.setShiftStart(vehicleDto.getShiftStart());
+        vehicle.setShiftEnd(vehicleDto.getShiftEnd());
+        vehicle.setHazmatCertified(Boolean.TRUE.equals(vehicleDto.getHazmatCertified()));
+        // Open routes and scheduled trips carry packages of the current depot
+        if (!Objects.equals(vehicle.getDepotId(), vehicleDto.getDepotId())
+                && !deliveryRouteRepository.existsByVehicleIdAndCompletedAtIsNull(id)) {
+            vehicle.setDepot(depotService.resolveDepot(vehicleDto.getDepotId()));
+        }
 
         Vehicle updated = vehicleRepository.save(vehicle);
         log.info("Updated vehicle ID {}", id);
@@ -67,6 +124,27 @@ public class VehicleService {
         return vehicleMapper.toDto(updated);
     }
 
+    /**
+     * Brings a vehicle back after a breakdown. Scheduled trips it kept can be
+     * dispatched again.
+     */
+    @Transactional
+    public VehicleDto returnToService(Long id) {
+        Vehicle vehicle = vehicleRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.forVehicle(id));
+        if (vehicle.getStatus() != VehicleStatus.OUT_OF_SERVICE) {
+            throw new IllegalArgumentException(
+                    String.format("Vehicle %s is not out of service", vehicle.getLicensePlate())
+            );
+        }
+
+        vehicle.setStatus(VehicleStatus.AVAILABLE);
+        Vehicle updated = vehicleRepository.save(vehicle);
+        log.info("Vehicle {} returned to service", vehicle.getLicensePlate());
+
+        return vehicleMapper.toDto(updated);
+    }
+
     @Transactional
     public void deleteVehicle(Long id) {
         if (!vehicleRepository.existsById(id)) {
@@ -74,6 +152,7 @@ public class VehicleService {
         }
 
         vehicleRepository.deleteById(id);
+        positionStore.remove(id);
         log.info("Deleted vehicle ID {}", id);
     }
 }
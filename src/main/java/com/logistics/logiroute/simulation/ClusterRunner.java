@@ -0,0 +1,176 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.config.ClusteringProperties;
+import com.logistics.logiroute.dto.request.ClusteringRequest;
+import com.logistics.logiroute.dto.response.ClusteringResultDto;
+import com.logistics.logiroute.dto.response.PackageClusterDto;
+import com.logistics.logiroute.optimization.CapacitatedClustering;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.ClusterMetrics;
+import com.logistics.logiroute.optimization.ClusterPlan;
+import com.logistics.logiroute.optimization.GeoDistance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the clustering pre-pass on a {@link DispatchSnapshot}, one depot shard
+ * per task in parallel. A shard's cluster capacity is the remaining capacity
+ * of its largest available vehicle by weight, so every cluster fits at least
+ * one vehicle; the packages of a shard without vehicles stay unclustered.
+ * Purely in memory; the snapshot is never modified.
+ */
+public final class ClusterRunner {
+
+    private ClusterRunner() {
+    }
+
+    public static ClusteringResultDto run(DispatchSnapshot snapshot, ClusteringRequest request,
+                                          ClusteringProperties properties) {
+        long started = System.nanoTime();
+        CapacitatedClustering.Method method = request.getMethod() != null
+                ? request.getMethod() : CapacitatedClustering.Method.KMEANS;
+        int maxIterations = request.getMaxIterations() != null
+                ? request.getMaxIterations() : properties.getMaxIterations();
+        int onlyDepot = request.getDepotId() != null ? snapshot.depotIndexOf(request.getDepotId()) : 0;
+        boolean allShards = request.getDepotId() == null;
+
+        // Shard index = depot index + 1, so the shared pool (-1) is shard 0
+        Shard[] shards = IntStream.rangeClosed(0, snapshot.depotCount())
+                .parallel()
+                .mapToObj(shard -> {
+                    int depot = shard - 1;
+                    if (!allShards && depot != onlyDepot) {
+                        return null;
+                    }
+                    return clusterShard(snapshot, depot, method, maxIterations, properties);
+                })
+                .toArray(Shard[]::new);
+
+        List<PackageClusterDto> clusters = new ArrayList<>();
+        List<Long> unclustered = new ArrayList<>();
+        int totalPackages = 0;
+        int clustered = 0;
+        int iterations = 0;
+        double totalDistance = 0;
+        double maxRadius = 0;
+        double totalFill = 0;
+        double minFill = Double.NaN;
+        for (Shard shard : shards) {
+            if (shard == null) {
+                continue;
+            }
+            totalPackages += shard.packages().length;
+            if (shard.plan() == null) {
+                for (int source : shard.packages()) {
+                    unclustered.add(snapshot.getPackageIds()[source]);
+                }
+                continue;
+            }
+            addClusters(snapshot, shard, clusters, unclustered);
+            ClusterMetrics metrics = shard.metrics();
+            clustered += metrics.getClusteredPackages();
+            iterations = Math.max(iterations, shard.plan().getIterations());
+            totalDistance += metrics.getTotalDistanceKm();
+            maxRadius = Math.max(maxRadius, metrics.getMaxRadiusKm());
+            totalFill += metrics.getTotalFill();
+            if (!Double.isNaN(metrics.getMinFill())) {
+                minFill = Double.isNaN(minFill) ? metrics.getMinFill() : Math.min(minFill, metrics.getMinFill());
+            }
+        }
+
+        return ClusteringResultDto.builder()
+                .method(method.name())
+                .totalPackages(totalPackages)
+                .clusterCount(clusters.size())
+                .clusteredPackages(clustered)
+                .unclusteredPackageIds(unclustered)
+                .meanDistanceKm(clustered > 0 ? totalDistance / clustered : 0.0)
+                .maxRadiusKm(maxRadius)
+                .meanFill(clusters.isEmpty() ? 0.0 : totalFill / clusters.size())
+                .minFill(Double.isNaN(minFill) ? 0.0 : minFill)
+                .iterations(iterations)
+                .runtimeMs((System.nanoTime() - started) / 1_000_000)
+                .clusters(clusters)
+                .build();
+    }
+
+    private static Shard clusterShard(DispatchSnapshot snapshot, int depot, CapacitatedClustering.Method method,
+                                      int maxIterations, ClusteringProperties properties) {
+        int dims = CapacityGuard.DIMENSIONS;
+        int[] packages = IntStream.range(0, snapshot.packageCount())
+                .filter(p -> snapshot.getPackageDepots()[p] == depot)
+                .toArray();
+
+        int largest = -1;
+        double[] vehicleCapacity = snapshot.getVehicleCapacity();
+        for (int v = 0; v < snapshot.vehicleCount(); v++) {
+            if (snapshot.getVehicleDepots()[v] == depot && (largest < 0
+                    || vehicleCapacity[v * dims + CapacityGuard.WEIGHT] > vehicleCapacity[largest * dims + CapacityGuard.WEIGHT])) {
+                largest = v;
+            }
+        }
+        if (packages.length == 0 || largest < 0) {
+            return new Shard(depot, packages, null, null, null, null, null);
+        }
+        double[] capacity = new double[dims];
+        System.arraycopy(vehicleCapacity, largest * dims, capacity, 0, dims);
+
+        double[] latitudes = new double[packages.length];
+        double[] longitudes = new double[packages.length];
+        double[] demand = new double[packages.length * dims];
+        for (int p = 0; p < packages.length; p++) {
+            int source = packages[p];
+            latitudes[p] = snapshot.getPackageLatitudes()[source];
+            longitudes[p] = snapshot.getPackageLongitudes()[source];
+            System.arraycopy(snapshot.getPackageDemand(), source * dims, demand, p * dims, dims);
+        }
+
+        double depotLat = depot >= 0 ? snapshot.getDepotLatitudes()[depot] : Double.NaN;
+        double depotLon = depot >= 0 ? snapshot.getDepotLongitudes()[depot] : Double.NaN;
+        ClusterPlan plan = CapacitatedClustering.cluster(method, latitudes, longitudes, demand, capacity,
+                depotLat, depotLon, maxIterations, properties.getNearestCentroids(), properties.getMinImprovement());
+        return new Shard(depot, packages, latitudes, longitudes, capacity, plan,
+                ClusterMetrics.evaluate(plan, latitudes, longitudes, capacity));
+    }
+
+    private static void addClusters(DispatchSnapshot snapshot, Shard shard, List<PackageClusterDto> clusters,
+                                    List<Long> unclustered) {
+        ClusterPlan plan = shard.plan();
+        Long depotId = shard.depot() >= 0 ? snapshot.getDepotIds()[shard.depot()] : null;
+        int[][] members = plan.members();
+        for (int c = 0; c < members.length; c++) {
+            List<Long> packageIds = new ArrayList<>(members[c].length);
+            double radius = 0;
+            for (int p : members[c]) {
+                packageIds.add(snapshot.getPackageIds()[shard.packages()[p]]);
+                radius = Math.max(radius, GeoDistance.haversineKm(shard.latitudes()[p], shard.longitudes()[p],
+                        plan.getCentroidLatitudes()[c], plan.getCentroidLongitudes()[c]));
+            }
+            clusters.add(PackageClusterDto.builder()
+                    .depotId(depotId)
+                    .centroidLatitude(plan.getCentroidLatitudes()[c])
+                    .centroidLongitude(plan.getCentroidLongitudes()[c])
+                    .weightKg(plan.getLoad()[c * CapacityGuard.DIMENSIONS + CapacityGuard.WEIGHT])
+                    .fill(ClusterMetrics.fill(plan.getLoad(), c, shard.capacity()))
+                    .radiusKm(radius)
+                    .packageIds(packageIds)
+                    .build());
+        }
+        int[] clusterOf = plan.getClusterOf();
+        for (int p = 0; p < clusterOf.length; p++) {
+            if (clusterOf[p] == ClusterPlan.UNCLUSTERED) {
+                unclustered.add(snapshot.getPackageIds()[shard.packages()[p]]);
+            }
+        }
+    }
+
+    /**
+     * Clustering of one depot shard; {@code packages} maps shard indices to
+     * snapshot indices. Plan and metrics are null when the shard has no vehicle.
+     */
+    private record Shard(int depot, int[] packages, double[] latitudes, double[] longitudes, double[] capacity,
+                         ClusterPlan plan, ClusterMetrics metrics) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.GeoDistance;
+import lombok.Getter;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, compact copy of the dispatchable state: depots, available
+ * vehicles with their remaining capacity, and unassigned packages. All data
+ * lives in parallel primitive arrays so scenarios can be evaluated without
+ * touching JPA. Depot references are indices into the depot arrays, with -1
+ * for the shared pool of entities without a depot.
+ */
+@Getter
+public class DispatchSnapshot {
+
+    public static final int NO_DEPOT = -1;
+
+    private final long takenAtEpochSeconds;
+
+    private final long[] depotIds;
+    private final double[] depotLatitudes;
+    private final double[] depotLongitudes;
+
+    private final long[] vehicleIds;
+    private final int[] vehicleDepots;
+    private final double[] vehicleCapacity;
+    private final int[] vehicleHazmat;
+
+    private final long[] packageIds;
+    private final int[] packageDepots;
+    private final double[] packageDemand;
+    private final int[] packageHazmat;
+    private final long[] packageDeadlines;
+    private final double[] packageLatitudes;
+    private final double[] packageLongitudes;
+
+    DispatchSnapshot(long takenAtEpochSeconds,
+                     long[] depotIds, double[] depotLatitudes, double[] depotLongitudes,
+                     long[] vehicleIds, int[] vehicleDepots, double[] vehicleCapacity, int[] vehicleHazmat,
+                     long[] packageIds, int[] packageDepots, double[] packageDemand, int[] packageHazmat,
+                     long[] packageDeadlines, double[] packageLatitudes, double[] packageLongitudes) {
+        this.takenAtEpochSeconds = takenAtEpochSeconds;
+        this.depotIds = depotIds;
+        this.depotLatitudes = depotLatitudes;
+        this.depotLongitudes = depotLongitudes;
+        this.vehicleIds = vehicleIds;
+        this.vehicleDepots = vehicleDepots;
+        this.vehicleCapacity = vehicleCapacity;
+        this.vehicleHazmat = vehicleHazmat;
+        this.packageIds = packageIds;
+        this.packageDepots = packageDepots;
+        this.packageDemand = packageDemand;
+        this.packageHazmat = packageHazmat;
+        this.packageDeadlines = packageDeadlines;
+        this.packageLatitudes = packageLatitudes;
+        this.packageLongitudes = packageLongitudes;
+    }
+
+    public static DispatchSnapshot of(List<Depot> depots, List<Vehicle> vehicles, List<Package> packages,
+                                      long takenAtEpochSeconds) {
+        Rows rows = new Rows(depots, vehicles.size(), packages.size());
+        vehicles.forEach(rows::addVehicle);
+        packages.forEach(rows::addPackage);
+        return rows.build(takenAtEpochSeconds);
+    }
+
+    /**
+     * Vehicles that take part in dispatch: those currently available.
+     */
+    public static boolean isDispatchable(Vehicle vehicle) {
+        return vehicle.getStatus() == VehicleStatus.AVAILABLE;
+    }
+
+    /**
+     * Packages that take part in dispatch: created and not yet on a route.
+     */
+    public static boolean isDispatchable(Package pkg) {
+        return pkg.getStatus() == PackageStatus.CREATED && pkg.getDeliveryRoute() == null;
+    }
+
+    /**
+     * Applies changed rows to this snapshot. Every changed vehicle and package
+     * replaces its previous entry, or removes it when it is no longer
+     * dispatchable; depots are replaced wholesale and references remapped.
+     */
+    public DispatchSnapshot merge(List<Depot> depots, List<Vehicle> changedVehicles, List<Package> changedPackages,
+                                  long takenAtEpochSeconds) {
+        Set<Long> vehicleChanges = new HashSet<>();
+        changedVehicles.forEach(vehicle -> vehicleChanges.add(vehicle.getId()));
+        Set<Long> packageChanges = new HashSet<>();
+        changedPackages.forEach(pkg -> packageChanges.add(pkg.getId()));
+
+        Rows rows = new Rows(depots, vehicleCount() + changedVehicles.size(),
+                packageCount() + changedPackages.size());
+        int[] depotRemap = new int[depotCount()];
+        for (int d = 0; d < depotRemap.length; d++) {
+            depotRemap[d] = rows.depotIndex.getOrDefault(depotIds[d], NO_DEPOT);
+        }
+
+        for (int v = 0; v < vehicleCount(); v++) {
+            if (!vehicleChanges.contains(vehicleIds[v])) {
+                rows.copyVehicle(this, v, remap(depotRemap, vehicleDepots[v]));
+            }
+        }
+        changedVehicles.stream().filter(DispatchSnapshot::isDispatchable).forEach(rows::addVehicle);
+
+        for (int p = 0; p < packageCount(); p++) {
+            if (!packageChanges.contains(packageIds[p])) {
+                rows.copyPackage(this, p, remap(depotRemap, packageDepots[p]));
+            }
+        }
+        changedPackages.stream().filter(DispatchSnapshot::isDispatchable).forEach(rows::addPackage);
+
+        return rows.build(takenAtEpochSeconds);
+    }
+
+    private static int remap(int[] depotRemap, int depot) {
+        return depot == NO_DEPOT ? NO_DEPOT : depotRemap[depot];
+    }
+
+    public int depotCount() {
+        return depotIds.length;
+    }
+
+    public int vehicleCount() {
+        return vehicleIds.length;
+    }
+
+    public int packageCount() {
+        return packageIds.length;
+    }
+
+    public boolean hasDepot(long depotId) {
+        for (long id : depotIds) {
+            if (id == depotId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int depotIndexOf(Long depotId) {
+        if (depotId == null) {
+            return NO_DEPOT;
+        }
+        for (int d = 0; d < depotIds.length; d++) {
+            if (depotIds[d] == depotId) {
+                return d;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Depot ID %d is not part of the snapshot", depotId));
+    }
+
+    /**
+     * Growable column set used to assemble a snapshot row by row.
+     */
+    private static final class Rows {
+
+        private final long[] depotIds;
+        private final double[] depotLatitudes;
+        private final double[] depotLongitudes;
+        private final Map<Long, Integer> depotIndex;
+
+        private final long[] vehicleIds;
+        private final int[] vehicleDepots;
+        private final double[] vehicleCapacity;
+        private final int[] vehicleHazmat;
+        private int vehicles;
+
+        private final long[] packageIds;
+        private final int[] packageDepots;
+        private final double[] packageDemand;
+        private final int[] packageHazmat;
+        private final long[] packageDeadlines;
+        private final double[] packageLatitudes;
+        private final double[] packageLongitudes;
+        private int packages;
+
+        Rows(List<Depot> depots, int maxVehicles, int maxPackages) {
+            int depotCount = depots.size();
+            depotIds = new long[depotCount];
+            depotLatitudes = new double[depotCount];
+            depotLongitudes = new double[depotCount];
+            depotIndex = new HashMap<>(depotCount * 2);
+            for (int d = 0; d < depotCount; d++) {
+                Depot depot = depots.get(d);
+                depotIds[d] = depot.getId();
+                depotLatitudes[d] = GeoDistance.orNaN(depot.getLatitude());
+                depotLongitudes[d] = GeoDistance.orNaN(depot.getLongitude());
+                depotIndex.put(depot.getId(), d);
+            }
+
+            vehicleIds = new long[maxVehicles];
+            vehicleDepots = new int[maxVehicles];
+            vehicleCapacity = new double[maxVehicles * CapacityGuard.DIMENSIONS];
+            vehicleHazmat = new int[maxVehicles];
+
+            packageIds = new long[maxPackages];
+            packageDepots = new int[maxPackages];
+            packageDemand = new double[maxPackages * CapacityGuard.DIMENSIONS];
+            packageHazmat = new int[maxPackages];
+            packageDeadlines = new long[maxPackages];
+            packageLatitudes = new double[maxPackages];
+            packageLongitudes = new double[maxPackages];
+        }
+
+        void addVehicle(Vehicle vehicle) {
+            int v = vehicles++;
+            vehicleIds[v] = vehicle.getId();
+            vehicleDepots[v] = depotIndex.getOrDefault(vehicle.getDepotId(), NO_DEPOT);
+            CapacityGuard.writeRemaining(vehicle, vehicleCapacity, v);
+            vehicleHazmat[v] = CapacityGuard.hazmatMask(vehicle);
+        }
+
+        void copyVehicle(DispatchSnapshot source, int from, int depot) {
+            int v = vehicles++;
+            vehicleIds[v] = source.vehicleIds[from];
+            vehicleDepots[v] = depot;
+            System.arraycopy(source.vehicleCapacity, from * CapacityGuard.DIMENSIONS,
+                    vehicleCapacity, v * CapacityGuard.DIMENSIONS, CapacityGuard.DIMENSIONS);
+            vehicleHazmat[v] = source.vehicleHazmat[from];
+        }
+
+        void addPackage(Package pkg) {
+            int p = packages++;
+            packageIds[p] = pkg.getId();
+            packageDepots[p] = depotIndex.getOrDefault(pkg.getDepotId(), NO_DEPOT);
+            CapacityGuard.writeDemand(pkg, packageDemand, p);
+            packageHazmat[p] = CapacityGuard.hazmatMask(pkg);
+            packageDeadlines[p] = pkg.getEffectiveLatestDelivery().toEpochSecond(ZoneOffset.UTC);
+            packageLatitudes[p] = GeoDistance.orNaN(pkg.getLatitude());
+            packageLongitudes[p] = GeoDistance.orNaN(pkg.getLongitude());
+        }
+
+        void copyPackage(DispatchSnapshot source, int from, int depot) {
+            int p = packages++;
+            packageIds[p] = source.packageIds[from];
+            packageDepots[p] = depot;
+            System.arraycopy(source.packageDemand, from * CapacityGuard.DIMENSIONS,
+                    packageDemand, p * CapacityGuard.DIMENSIONS, CapacityGuard.DIMENSIONS);
+            packageHazmat[p] = source.packageHazmat[from];
+            packageDeadlines[p] = source.packageDeadlines[from];
+            packageLatitudes[p] = source.packageLatitudes[from];
+            packageLongitudes[p] = source.packageLongitudes[from];
+        }
+
+        DispatchSnapshot build(long takenAtEpochSeconds) {
+            int dims = CapacityGuard.DIMENSIONS;
+            return new DispatchSnapshot(takenAtEpochSeconds,
+                    depotIds, depotLatitudes, depotLongitudes,
+                    Arrays.copyOf(vehicleIds, vehicles), Arrays.copyOf(vehicleDepots, vehicles),
+                    Arrays.copyOf(vehicleCapacity, vehicles * dims), Arrays.copyOf(vehicleHazmat, vehicles),
+                    Arrays.copyOf(packageIds, packages), Arrays.copyOf(packageDepots, packages),
+                    Arrays.copyOf(packageDemand, packages * dims), Arrays.copyOf(packageHazmat, packages),
+                    Arrays.copyOf(packageDeadlines, packages), Arrays.copyOf(packageLatitudes, packages),
+                    Arrays.copyOf(packageLongitudes, packages));
+        }
+    }
+}
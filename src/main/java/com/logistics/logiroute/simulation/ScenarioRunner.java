@@ -0,0 +1,242 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.dto.request.SimulationScenario;
+import com.logistics.logiroute.dto.response.SimulationResultDto;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.optimization.DispatchPlan;
+import com.logistics.logiroute.optimization.DispatchProblem;
+import com.logistics.logiroute.optimization.GeoDistance;
+import com.logistics.logiroute.optimization.GreedyDispatcher;
+import com.logistics.logiroute.optimization.PlanMetrics;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Applies a what-if scenario to a {@link DispatchSnapshot} and runs the dispatch
+ * pipeline per depot shard. Purely in memory; the snapshot is never modified.
+ */
+public final class ScenarioRunner {
+
+    /**
+     * Marks packages whose depot closed with no open depot left to take them.
+     */
+    private static final int DROPPED = -2;
+
+    private ScenarioRunner() {
+    }
+
+    public static SimulationResultDto run(DispatchSnapshot snapshot, SimulationScenario scenario,
+                                          SchedulingProperties properties) {
+        long started = System.nanoTime();
+
+        boolean[] closed = new boolean[snapshot.depotCount()];
+        for (Long depotId : scenario.getClosedDepotIds()) {
+            closed[snapshot.depotIndexOf(depotId)] = true;
+        }
+
+        int[] packageShard = new int[snapshot.packageCount()];
+        int dropped = 0;
+        for (int p = 0; p < packageShard.length; p++) {
+            int depot = snapshot.getPackageDepots()[p];
+            if (depot >= 0 && closed[depot]) {
+                depot = nearestOpenDepot(snapshot, depot, closed);
+            }
+            packageShard[p] = depot;
+            if (depot == DROPPED) {
+                dropped++;
+            }
+        }
+
+        List<SimulationScenario.ExtraVehicles> extras = scenario.getExtraVehicles();
+        int[] extraShard = new int[extras.size()];
+        for (int e = 0; e < extraShard.length; e++) {
+            extraShard[e] = snapshot.depotIndexOf(extras.get(e).getDepotId());
+        }
+
+        // Shard index = depot index + 1, so the shared pool (-1) is shard 0
+        PlanMetrics[] shardMetrics = IntStream.rangeClosed(0, snapshot.depotCount())
+                .parallel()
+                .mapToObj(shard -> {
+                    int depot = shard - 1;
+                    if (depot >= 0 && closed[depot]) {
+                        return null;
+                    }
+                    DispatchProblem problem = buildProblem(snapshot, depot, packageShard, extras, extraShard, properties);
+                    if (problem.getPackageCount() == 0) {
+                        return null;
+                    }
+                    DispatchPlan plan = GreedyDispatcher.solve(problem);
+                    return PlanMetrics.evaluate(problem, plan);
+                })
+                .toArray(PlanMetrics[]::new);
+
+        int vehiclesAvailable = 0;
+        for (int v = 0; v < snapshot.vehicleCount(); v++) {
+            int depot = snapshot.getVehicleDepots()[v];
+            if (depot < 0 || !closed[depot]) {
+                vehiclesAvailable++;
+            }
+        }
+        for (int e = 0; e < extraShard.length; e++) {
+            if (extraShard[e] < 0 || !closed[extraShard[e]]) {
+                vehiclesAvailable += extras.get(e).getCount();
+            }
+        }
+
+        int vehiclesUsed = 0;
+        int late = 0;
+        int unassigned = dropped;
+        double totalKm = 0;
+        double loaded = 0;
+        double usedCapacity = 0;
+        for (PlanMetrics metrics : shardMetrics) {
+            if (metrics == null) {
+                continue;
+            }
+            vehiclesUsed += metrics.getVehiclesUsed();
+            late += metrics.getLatePackages();
+            unassigned += metrics.getUnassignedPackages();
+            totalKm += metrics.getTotalKm();
+            loaded += metrics.getLoadedWeightKg();
+            usedCapacity += metrics.getUsedCapacityKg();
+        }
+
+        return SimulationResultDto.builder()
+                .scenario(scenario.getName())
+                .vehiclesAvailable(vehiclesAvailable)
+                .vehiclesUsed(vehiclesUsed)
+                .totalPackages(snapshot.packageCount())
+                .unassignedPackages(unassigned)
+                .latePackages(late)
+                .totalKm(totalKm)
+                .utilization(usedCapacity > 0 ? loaded / usedCapacity : 0.0)
+                .runtimeMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * The dispatch problem of one depot shard as the snapshot stands, with no
+     * scenario applied.
+     */
+    static DispatchProblem shardProblem(DispatchSnapshot snapshot, int depot, SchedulingProperties properties) {
+        return buildProblem(snapshot, depot, snapshot.getPackageDepots(), List.of(), new int[0], properties);
+    }
+
+    private static DispatchProblem buildProblem(DispatchSnapshot snapshot, int depot, int[] packageShard,
+                                                List<SimulationScenario.ExtraVehicles> extras, int[] extraShard,
+                                                SchedulingProperties properties) {
+        int dims = CapacityGuard.DIMENSIONS;
+
+        int vehicleCount = 0;
+        for (int v = 0; v < snapshot.vehicleCount(); v++) {
+            if (snapshot.getVehicleDepots()[v] == depot) {
+                vehicleCount++;
+            }
+        }
+        for (int e = 0; e < extraShard.length; e++) {
+            if (extraShard[e] == depot) {
+                vehicleCount += extras.get(e).getCount();
+            }
+        }
+
+        long[] vehicleIds = new long[vehicleCount];
+        double[] capacity = new double[vehicleCount * dims];
+        int[] vehicleHazmat = new int[vehicleCount];
+        int v = 0;
+        for (int source = 0; source < snapshot.vehicleCount(); source++) {
+            if (snapshot.getVehicleDepots()[source] == depot) {
+                vehicleIds[v] = snapshot.getVehicleIds()[source];
+                System.arraycopy(snapshot.getVehicleCapacity(), source * dims, capacity, v * dims, dims);
+                vehicleHazmat[v] = snapshot.getVehicleHazmat()[source];
+                v++;
+            }
+        }
+        long virtualId = -1;
+        for (int e = 0; e < extraShard.length; e++) {
+            if (extraShard[e] != depot) {
+                continue;
+            }
+            SimulationScenario.ExtraVehicles extra = extras.get(e);
+            for (int i = 0; i < extra.getCount(); i++) {
+                vehicleIds[v] = virtualId--;
+                capacity[v * dims + CapacityGuard.WEIGHT] = extra.getCapacityKg();
+                capacity[v * dims + CapacityGuard.VOLUME] = extra.getCapacityM3() != null
+                        ? extra.getCapacityM3() : Double.POSITIVE_INFINITY;
+                capacity[v * dims + CapacityGuard.SLOTS] = extra.getPalletSlotCapacity() != null
+                        ? extra.getPalletSlotCapacity() : Double.POSITIVE_INFINITY;
+                vehicleHazmat[v] = Boolean.TRUE.equals(extra.getHazmatCertified()) ? CapacityGuard.ALL_HAZMAT_CLASSES : 0;
+                v++;
+            }
+        }
+
+        int packageCount = 0;
+        for (int shard : packageShard) {
+            if (shard == depot) {
+                packageCount++;
+            }
+        }
+        long[] packageIds = new long[packageCount];
+        double[] demand = new double[packageCount * dims];
+        int[] packageHazmat = new int[packageCount];
+        long[] deadlines = new long[packageCount];
+        double[] latitudes = new double[packageCount];
+        double[] longitudes = new double[packageCount];
+        int p = 0;
+        for (int source = 0; source < packageShard.length; source++) {
+            if (packageShard[source] != depot) {
+                continue;
+            }
+            packageIds[p] = snapshot.getPackageIds()[source];
+            System.arraycopy(snapshot.getPackageDemand(), source * dims, demand, p * dims, dims);
+            packageHazmat[p] = snapshot.getPackageHazmat()[source];
+            deadlines[p] = snapshot.getPackageDeadlines()[source];
+            latitudes[p] = snapshot.getPackageLatitudes()[source];
+            longitudes[p] = snapshot.getPackageLongitudes()[source];
+            p++;
+        }
+
+        return DispatchProblem.builder()
+                .depotLatitude(depot >= 0 ? snapshot.getDepotLatitudes()[depot] : Double.NaN)
+                .depotLongitude(depot >= 0 ? snapshot.getDepotLongitudes()[depot] : Double.NaN)
+                .startEpochSeconds(snapshot.getTakenAtEpochSeconds())
+                .averageSpeedKmh(properties.getAverageSpeedKmh())
+                .loadingSeconds(60L * properties.getLoadingMinutes())
+                .serviceSecondsPerStop(60L * properties.getMinutesPerStop())
+                .vehicleCount(vehicleCount)
+                .vehicleIds(vehicleIds)
+                .vehicleCapacity(capacity)
+                .vehicleHazmat(vehicleHazmat)
+                .packageCount(packageCount)
+                .packageIds(packageIds)
+                .demand(demand)
+                .packageHazmat(packageHazmat)
+                .deadlines(deadlines)
+                .latitudes(latitudes)
+                .longitudes(longitudes)
+                .build();
+    }
+
+    /**
+     * Nearest open depot by coordinates; depots without coordinates fall back
+     * to the first open depot.
+     */
+    private static int nearestOpenDepot(DispatchSnapshot snapshot, int closedDepot, boolean[] closed) {
+        double lat = snapshot.getDepotLatitudes()[closedDepot];
+        double lon = snapshot.getDepotLongitudes()[closedDepot];
+        int best = DROPPED;
+        double bestKm = Double.POSITIVE_INFINITY;
+        for (int d = 0; d < closed.length; d++) {
+            if (closed[d]) {
+                continue;
+            }
+            double km = GeoDistance.haversineKm(lat, lon, snapshot.getDepotLatitudes()[d], snapshot.getDepotLongitudes()[d]);
+            if (best == DROPPED || km < bestKm) {
+                best = d;
+                bestKm = km;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,172 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.optimization.CapacityGuard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file format for {@link DispatchSnapshot}: a fixed header followed by
+ * the column arrays in declaration order and a CRC32C of everything before
+ * it, little-endian. Both directions go through a memory mapping, so loading
+ * is a handful of bulk copies with no per-row parsing.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x4c52_534e; // "LRSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file next to {@code file} and moves
+     * it into place, so a crash mid-write never leaves a torn snapshot.
+     */
+    public static void write(DispatchSnapshot snapshot, Path file) throws IOException {
+        int dims = CapacityGuard.DIMENSIONS;
+        int depots = snapshot.depotCount();
+        int vehicles = snapshot.vehicleCount();
+        int packages = snapshot.packageCount();
+        long size = payloadBytes(depots, vehicles, packages, dims) + Long.BYTES;
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(snapshot.getTakenAtEpochSeconds())
+                        .putInt(depots).putInt(vehicles).putInt(packages).putInt(dims);
+
+                putLongs(buffer, snapshot.getDepotIds());
+                putDoubles(buffer, snapshot.getDepotLatitudes());
+                putDoubles(buffer, snapshot.getDepotLongitudes());
+                putLongs(buffer, snapshot.getVehicleIds());
+                putInts(buffer, snapshot.getVehicleDepots());
+                putDoubles(buffer, snapshot.getVehicleCapacity());
+                putInts(buffer, snapshot.getVehicleHazmat());
+                putLongs(buffer, snapshot.getPackageIds());
+                putInts(buffer, snapshot.getPackageDepots());
+                putDoubles(buffer, snapshot.getPackageDemand());
+                putInts(buffer, snapshot.getPackageHazmat());
+                putLongs(buffer, snapshot.getPackageDeadlines());
+                putDoubles(buffer, snapshot.getPackageLatitudes());
+                putDoubles(buffer, snapshot.getPackageLongitudes());
+
+                buffer.putLong(checksum(buffer, buffer.position()));
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write}.
+     *
+     * @throws IOException if the file is truncated, corrupt or from another
+     *                     format version
+     */
+    public static DispatchSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Long.BYTES) {
+                throw new IOException("Snapshot file is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a dispatch snapshot of version " + VERSION);
+            }
+            long takenAt = buffer.getLong();
+            int depots = buffer.getInt();
+            int vehicles = buffer.getInt();
+            int packages = buffer.getInt();
+            int dims = buffer.getInt();
+            if (dims != CapacityGuard.DIMENSIONS || depots < 0 || vehicles < 0 || packages < 0) {
+                throw new IOException("Snapshot header is invalid");
+            }
+            long payload = payloadBytes(depots, vehicles, packages, dims);
+            if (payload + Long.BYTES != size) {
+                throw new IOException("Snapshot file is truncated");
+            }
+            if (buffer.getLong((int) payload) != checksum(buffer, (int) payload)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            return new DispatchSnapshot(takenAt,
+                    getLongs(buffer, depots), getDoubles(buffer, depots), getDoubles(buffer, depots),
+                    getLongs(buffer, vehicles), getInts(buffer, vehicles),
+                    getDoubles(buffer, vehicles * dims), getInts(buffer, vehicles),
+                    getLongs(buffer, packages), getInts(buffer, packages),
+                    getDoubles(buffer, packages * dims), getInts(buffer, packages),
+                    getLongs(buffer, packages), getDoubles(buffer, packages), getDoubles(buffer, packages));
+        }
+    }
+
+    private static long payloadBytes(int depots, int vehicles, int packages, int dims) {
+        long depotBytes = depots * 24L;
+        long vehicleBytes = vehicles * (8L + 4 + 8L * dims + 4);
+        long packageBytes = packages * (8L + 4 + 8L * dims + 4 + 8 + 8 + 8);
+        long size = HEADER_BYTES + depotBytes + vehicleBytes + packageBytes;
+        if (size + Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot exceeds 2 GB");
+        }
+        return size;
+    }
+
+    private static long checksum(ByteBuffer buffer, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, length));
+        return crc.getValue();
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values) {
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    private static void putDoubles(ByteBuffer buffer, double[] values) {
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Double.BYTES);
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] getDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+}
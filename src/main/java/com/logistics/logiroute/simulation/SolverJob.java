@@ -0,0 +1,286 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SolverProperties;
+import com.logistics.logiroute.dto.request.SolverJobRequest;
+import com.logistics.logiroute.dto.response.PlannedRouteDto;
+import com.logistics.logiroute.dto.response.SolverJobDto;
+import com.logistics.logiroute.optimization.AlnsSolver;
+import com.logistics.logiroute.optimization.DispatchPlan;
+import com.logistics.logiroute.optimization.DispatchProblem;
+import com.logistics.logiroute.optimization.GreedyDispatcher;
+import com.logistics.logiroute.optimization.PlanMetrics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * One metaheuristic planning run over a {@link DispatchSnapshot}. Each depot
+ * shard starts from its greedy plan and is improved by {@code restarts}
+ * independent {@link AlnsSolver} searches with different seeds. A search gets
+ * a share of the total worker time in proportion to its shard's package
+ * count, capped at the time limit, and the largest shards are queued first.
+ * Searches publish every new best and the job keeps the best plan per shard,
+ * so {@link #toDto()} describes the best solution found so far at any time.
+ * Purely in memory; the snapshot is never modified.
+ */
+public class SolverJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final long id;
+    private final Long depotId;
+    private final DispatchSnapshot snapshot;
+    private final int timeLimitSeconds;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final List<Shard> shards;
+    private final List<Runnable> searches = new ArrayList<>();
+
+    private final AtomicInteger searchesFinished = new AtomicInteger();
+    private final LongAdder iterations = new LongAdder();
+    private final AtomicInteger improvements = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile String error;
+    private volatile long elapsedNanos = -1;
+
+    private SolverJob(long id, DispatchSnapshot snapshot, SolverJobRequest request,
+                      SchedulingProperties scheduling, SolverProperties properties) {
+        this.id = id;
+        this.depotId = request.getDepotId();
+        this.snapshot = snapshot;
+        this.timeLimitSeconds = request.getTimeLimitSeconds() != null
+                ? request.getTimeLimitSeconds() : properties.getTimeLimitSeconds();
+        int restarts = request.getRestarts() != null ? request.getRestarts() : properties.getRestarts();
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        AlnsSolver.Settings settings = new AlnsSolver.Settings(properties.getLatePenaltyKm(),
+                properties.getUnassignedPenaltyKm(), properties.getMinRemoved(), properties.getMaxRemoved(),
+                properties.getStallIterations(), seed);
+
+        int onlyDepot = snapshot.depotIndexOf(depotId);
+        // Shard index = depot index + 1, so the shared pool (-1) is shard 0
+        shards = IntStream.rangeClosed(0, snapshot.depotCount())
+                .parallel()
+                .mapToObj(shard -> {
+                    int depot = shard - 1;
+                    if (depotId != null && depot != onlyDepot) {
+                        return null;
+                    }
+                    DispatchProblem problem = ScenarioRunner.shardProblem(snapshot, depot, scheduling);
+                    return problem.getPackageCount() > 0 ? new Shard(depot, problem, settings) : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        long searchedPackages = shards.stream()
+                .filter(shard -> shard.problem.getVehicleCount() > 0)
+                .mapToLong(shard -> shard.problem.getPackageCount())
+                .sum();
+        long limitNanos = TimeUnit.SECONDS.toNanos(timeLimitSeconds);
+        double workerNanos = (double) limitNanos * properties.getThreads();
+        int index = 0;
+        for (Shard shard : shards.stream().sorted(Comparator.comparingInt(s -> -s.problem.getPackageCount())).toList()) {
+            if (shard.problem.getVehicleCount() == 0) {
+                continue;
+            }
+            long budget = (long) Math.min(limitNanos,
+                    workerNanos * shard.problem.getPackageCount() / searchedPackages / restarts);
+            for (int r = 0; r < restarts; r++) {
+                searches.add(search(shard, settings.withSeed(seed + SEED_STEP * index++), budget));
+            }
+        }
+        if (searches.isEmpty()) {
+            elapsedNanos = 0;
+        }
+    }
+
+    public static SolverJob create(long id, DispatchSnapshot snapshot, SolverJobRequest request,
+                                   SchedulingProperties scheduling, SolverProperties properties) {
+        return new SolverJob(id, snapshot, request, scheduling, properties);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Independent searches to run on the worker pool, largest shards first.
+     */
+    public List<Runnable> getSearches() {
+        return searches;
+    }
+
+    public boolean isFinished() {
+        return elapsedNanos >= 0;
+    }
+
+    public Status getStatus() {
+        if (error != null) {
+            return Status.FAILED;
+        }
+        if (!isFinished()) {
+            return Status.RUNNING;
+        }
+        return cancelled ? Status.CANCELLED : Status.COMPLETED;
+    }
+
+    /**
+     * Stops every search at its next iteration; searches still queued return
+     * at once. The best plan found so far is kept.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private Runnable search(Shard shard, AlnsSolver.Settings settings, long budgetNanos) {
+        AlnsSolver.Listener listener = new AlnsSolver.Listener() {
+            @Override
+            public void improved(DispatchPlan plan, double objective) {
+                if (shard.offer(plan, objective)) {
+                    improvements.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void iterated(int count) {
+                iterations.add(count);
+            }
+        };
+        return () -> {
+            try {
+                if (!cancelled) {
+                    AlnsSolver.solve(shard.problem, shard.greedy, settings, System.nanoTime() + budgetNanos,
+                            () -> cancelled, listener);
+                }
+            } catch (RuntimeException e) {
+                error = e.toString();
+                cancelled = true;
+            } finally {
+                if (searchesFinished.incrementAndGet() == searches.size()) {
+                    elapsedNanos = System.nanoTime() - startedNanos;
+                }
+            }
+        };
+    }
+
+    public SolverJobDto toDto() {
+        int totalPackages = 0;
+        double greedyKm = 0;
+        int greedyLate = 0;
+        int greedyUnassigned = 0;
+        double bestKm = 0;
+        int late = 0;
+        int unassigned = 0;
+        int vehiclesUsed = 0;
+        List<PlannedRouteDto> routes = new ArrayList<>();
+        List<Long> unassignedIds = new ArrayList<>();
+        for (Shard shard : shards) {
+            DispatchProblem problem = shard.problem;
+            DispatchPlan best = shard.best();
+            PlanMetrics metrics = PlanMetrics.evaluate(problem, best);
+            totalPackages += problem.getPackageCount();
+            greedyKm += shard.greedyMetrics.getTotalKm();
+            greedyLate += shard.greedyMetrics.getLatePackages();
+            greedyUnassigned += shard.greedyMetrics.getUnassignedPackages();
+            bestKm += metrics.getTotalKm();
+            late += metrics.getLatePackages();
+            unassigned += metrics.getUnassignedPackages();
+            vehiclesUsed += metrics.getVehiclesUsed();
+
+            Long shardDepotId = shard.depot >= 0 ? snapshot.getDepotIds()[shard.depot] : null;
+            int[][] plannedRoutes = best.getRoutes();
+            for (int v = 0; v < plannedRoutes.length; v++) {
+                if (plannedRoutes[v].length > 0) {
+                    routes.add(PlannedRouteDto.builder()
+                            .depotId(shardDepotId)
+                            .vehicleId(problem.getVehicleIds()[v])
+                            .packageIds(Arrays.stream(plannedRoutes[v])
+                                    .mapToObj(p -> problem.getPackageIds()[p])
+                                    .toList())
+                            .build());
+                }
+            }
+            for (int p : best.getUnassigned()) {
+                unassignedIds.add(problem.getPackageIds()[p]);
+            }
+        }
+
+        long elapsed = isFinished() ? elapsedNanos : System.nanoTime() - startedNanos;
+        return SolverJobDto.builder()
+                .jobId(id)
+                .status(getStatus().name())
+                .depotId(depotId)
+                .startedAt(startedAt)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .timeLimitSeconds(timeLimitSeconds)
+                .searches(searches.size())
+                .searchesFinished(searchesFinished.get())
+                .iterations(iterations.sum())
+                .improvements(improvements.get())
+                .totalPackages(totalPackages)
+                .greedyKm(greedyKm)
+                .greedyLatePackages(greedyLate)
+                .greedyUnassignedPackages(greedyUnassigned)
+                .bestKm(bestKm)
+                .latePackages(late)
+                .unassignedPackages(unassigned)
+                .vehiclesUsed(vehiclesUsed)
+                .kmSavedPercent(greedyKm > 0 ? 100.0 * (greedyKm - bestKm) / greedyKm : 0.0)
+                .error(error)
+                .routes(routes)
+                .unassignedPackageIds(unassignedIds)
+                .build();
+    }
+
+    /**
+     * One depot's problem, its greedy plan and the best plan any of its
+     * searches has reported.
+     */
+    private static final class Shard {
+
+        private final int depot;
+        private final DispatchProblem problem;
+        private final DispatchPlan greedy;
+        private final PlanMetrics greedyMetrics;
+        private DispatchPlan best;
+        private double bestObjective;
+
+        private Shard(int depot, DispatchProblem problem, AlnsSolver.Settings settings) {
+            this.depot = depot;
+            this.problem = problem;
+            this.greedy = GreedyDispatcher.solve(problem);
+            this.greedyMetrics = PlanMetrics.evaluate(problem, greedy);
+            this.best = greedy;
+            this.bestObjective = AlnsSolver.objective(greedyMetrics, settings);
+        }
+
+        private synchronized boolean offer(DispatchPlan plan, double objective) {
+            if (objective >= bestObjective) {
+                return false;
+            }
+            best = plan;
+            bestObjective = objective;
+            return true;
+        }
+
+        private synchronized DispatchPlan best() {
+            return best;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.logistics.logiroute.telemetry;
+
+import java.time.LocalDateTime;
+
+/**
+ * One GPS fix of a vehicle. Speed and heading are null when the device does
+ * not report them.
+ */
+public record Position(LocalDateTime recordedAt, double latitude, double longitude, Double speedKmh,
+                       Double headingDegrees) {
+}
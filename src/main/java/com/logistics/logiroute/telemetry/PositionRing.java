@@ -0,0 +1,122 @@
+package com.logistics.logiroute.telemetry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last {@code capacity} positions of one vehicle. Lock-free: a writer
+ * claims a sequence number with one atomic increment and publishes into the
+ * slot it maps to, overwriting the oldest position; readers never block
+ * writers. Each slot remembers its sequence number, so a reader can tell
+ * slots that were overwritten while it was reading from slots that are
+ * claimed but not yet published.
+ * <p>
+ * Devices may deliver fixes out of order, so the latest position is the one
+ * with the newest {@code recordedAt}, not the last one added.
+ */
+public final class PositionRing {
+
+    private static final Comparator<Position> BY_TIME = Comparator.comparing(Position::recordedAt);
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<Position> latest = new AtomicReference<>();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public PositionRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public void add(Position position) {
+        publish(claim(), position);
+    }
+
+    long claim() {
+        return sequence.getAndIncrement();
+    }
+
+    void publish(long seq, Position position) {
+        slots.set((int) (seq & mask), new Slot(seq, position));
+        latest.accumulateAndGet(position, (current, added) ->
+                current == null || !added.recordedAt().isBefore(current.recordedAt()) ? added : current);
+    }
+
+    /**
+     * The newest position, or null if none was added.
+     */
+    public Position latest() {
+        return latest.get();
+    }
+
+    /**
+     * Up to {@code limit} of the most recently added positions, oldest first.
+     */
+    public List<Position> recent(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.min(limit, capacity()));
+        List<Position> track = readRange(start, end);
+        track.sort(BY_TIME);
+        return track;
+    }
+
+    /**
+     * Number of positions added so far; pass it to {@link #since} to read
+     * only what is added afterwards.
+     */
+    public long sequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Positions added from sequence number {@code from} up to
+     * {@link #sequence()}, in the order they were added, with the sequence to
+     * continue from. Positions already overwritten are skipped. The batch stops
+     * at a slot that is claimed but not yet published, and its sequence is the
+     * one returned, so the next call picks the position up.
+     */
+    public Batch since(long from) {
+        long end = sequence.get();
+        long start = Math.max(from, end - capacity());
+        List<Position> positions = new ArrayList<>((int) Math.max(0, end - start));
+        for (long seq = start; seq < end; seq++) {
+            Slot slot = slots.get((int) (seq & mask));
+            if (slot == null || slot.sequence < seq) {
+                return new Batch(positions, seq);
+            }
+            if (slot.sequence == seq) {
+                positions.add(slot.position);
+            }
+        }
+        return new Batch(positions, end);
+    }
+
+    private List<Position> readRange(long start, long end) {
+        List<Position> positions = new ArrayList<>((int) Math.max(0, end - start));
+        for (long seq = start; seq < end; seq++) {
+            Slot slot = slots.get((int) (seq & mask));
+            if (slot != null && slot.sequence == seq) {
+                positions.add(slot.position);
+            }
+        }
+        return positions;
+    }
+
+    public record Batch(List<Position> positions, long sequence) {
+    }
+
+    private record Slot(long sequence, Position position) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.logistics.logiroute.telemetry;
+
+import com.logistics.logiroute.config.TelemetryProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * One {@link PositionRing} per vehicle that has reported a position since
+ * startup. Nothing here touches the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionStore {
+
+    private final TelemetryProperties telemetryProperties;
+    private final Map<Long, PositionRing> rings = new ConcurrentHashMap<>();
+
+    /**
+     * The vehicle's ring, or null if it has not been registered.
+     */
+    public PositionRing ring(Long vehicleId) {
+        return rings.get(vehicleId);
+    }
+
+    public PositionRing register(Long vehicleId) {
+        return rings.computeIfAbsent(vehicleId, id -> new PositionRing(telemetryProperties.getBufferSize()));
+    }
+
+    public void remove(Long vehicleId) {
+        rings.remove(vehicleId);
+    }
+
+    public void forEach(BiConsumer<Long, PositionRing> action) {
+        rings.forEach(action);
+    }
+}
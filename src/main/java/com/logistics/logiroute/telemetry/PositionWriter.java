@@ -0,0 +1,133 @@
+package com.logistics.logiroute.telemetry;
+
+import com.logistics.logiroute.config.TelemetryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downsamples the position rings to {@code vehicle_positions}: each flush
+ * reads what was added since the last one and keeps a position only if it is
+ * at least {@code sampleIntervalMs} newer than the last one kept for its
+ * vehicle. Positions overwritten in a ring before a flush are not written.
+ * At most {@code queueCapacity} sampled positions wait to be written; while
+ * the database is unreachable, newer ones are dropped and counted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PositionWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO vehicle_positions "
+            + "(vehicle_id, recorded_at, latitude, longitude, speed_kmh, heading_degrees) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PositionStore positionStore;
+    private final TelemetryProperties telemetryProperties;
+
+    // Guarded by this
+    private final Map<Long, Cursor> cursors = new HashMap<>();
+    private final List<PositionRow> pending = new ArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Sampled positions lost because the pending list was full since startup.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Scheduled(fixedDelayString = "${logiroute.telemetry.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdownFlush() {
+        flush();
+    }
+
+    /**
+     * Samples the rings and writes the result. A failed batch stays pending
+     * and is retried on the next flush.
+     */
+    public synchronized int flush() {
+        sample();
+        int written = 0;
+        int batchSize = telemetryProperties.getBatchSize();
+        while (written < pending.size()) {
+            List<PositionRow> batch = pending.subList(written, Math.min(pending.size(), written + batchSize));
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                    Position position = row.position();
+                    ps.setLong(1, row.vehicleId());
+                    ps.setTimestamp(2, Timestamp.valueOf(position.recordedAt()));
+                    ps.setDouble(3, position.latitude());
+                    ps.setDouble(4, position.longitude());
+                    ps.setObject(5, position.speedKmh(), Types.DOUBLE);
+                    ps.setObject(6, position.headingDegrees(), Types.DOUBLE);
+                });
+            } catch (RuntimeException ex) {
+                log.error("Failed to write {} vehicle positions, will retry", pending.size() - written, ex);
+                break;
+            }
+            written += batch.size();
+        }
+        pending.subList(0, written).clear();
+
+        if (written > 0) {
+            log.debug("Flushed {} vehicle positions", written);
+        }
+        return written;
+    }
+
+    private void sample() {
+        long interval = telemetryProperties.getSampleIntervalMs();
+        positionStore.forEach((vehicleId, ring) -> {
+            Cursor cursor = cursors.computeIfAbsent(vehicleId, id -> new Cursor());
+            PositionRing.Batch batch = ring.since(cursor.sequence);
+            cursor.sequence = batch.sequence();
+            for (Position position : batch.positions()) {
+                if (cursor.lastKept == null
+                        || !position.recordedAt().isBefore(cursor.lastKept.plusNanos(interval * 1_000_000))) {
+                    if (pending.size() >= telemetryProperties.getQueueCapacity()) {
+                        drop();
+                        continue;
+                    }
+                    pending.add(new PositionRow(vehicleId, position));
+                    cursor.lastKept = position.recordedAt();
+                }
+            }
+        });
+        cursors.keySet().removeIf(vehicleId -> positionStore.ring(vehicleId) == null);
+    }
+
+    private void drop() {
+        long total = dropped.incrementAndGet();
+        // Log the first drop and then every thousandth, not every position
+        if (total % 1000 == 1) {
+            log.warn("Vehicle position buffer is full ({} positions), {} positions dropped so far",
+                    telemetryProperties.getQueueCapacity(), total);
+        }
+    }
+
+    private record PositionRow(Long vehicleId, Position position) {
+    }
+
+    private static final class Cursor {
+        private long sequence;
+        private LocalDateTime lastKept;
+    }
+}
@@ -0,0 +1,165 @@
+package com.logistics.logiroute.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.logistics.logiroute.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private AdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setBurst(3);
+        properties.setRequestsPerSecond(1);
+        properties.setExpensiveCost(2);
+        properties.setInitialLimit(10);
+        properties.setPriorityReserve(0.2);
+    }
+
+    @Test
+    @DisplayName("ADMISSION: Should answer 429 once a client's bucket is empty, per client")
+    void filter_RateLimitsPerClient() throws Exception {
+        AdmissionFilter filter = filter();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(call(filter, "GET", "/api/vehicles", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse limited = call(filter, "GET", "/api/vehicles", "10.0.0.1");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(limited.getContentAsString()).contains("\"status\":429");
+        assertThat(call(filter, "GET", "/api/vehicles", "10.0.0.2").getStatus()).isEqualTo(200);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(call(filter, "GET", "/api/vehicles", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(registry.get("logiroute.admission.rejected").tags("reason", "rate-limit", "lane", "STANDARD")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ADMISSION: Should charge expensive requests more and leave non-API paths alone")
+    void filter_ChargesExpensiveRequests() throws Exception {
+        AdmissionFilter filter = filter();
+
+        assertThat(call(filter, "GET", "/api/packages", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "POST", "/api/delivery/assign", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(call(filter, "GET", "/index.html", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "GET", "/api/packages/7", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("ADMISSION: Should shed with 503 at the concurrency limit but keep a lane for status updates")
+    void filter_ShedsAtConcurrencyLimit() throws Exception {
+        properties.setBurst(100);
+        properties.setMaxLimit(10);
+        AdmissionFilter filter = filter();
+        List<Integer> statuses = new ArrayList<>();
+
+        // Each admitted request holds its slot while the next one arrives
+        hold(filter, "GET", "/api/vehicles", 9, statuses);
+
+        assertThat(statuses).containsExactly(200, 200, 200, 200, 200, 200, 200, 200, 503);
+        statuses.clear();
+        hold(filter, "PATCH", "/api/packages/1/status", 11, statuses);
+        assertThat(statuses).containsExactly(200, 200, 200, 200, 200, 200, 200, 200, 200, 200, 503);
+        assertThat(registry.get("logiroute.admission.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("ADMISSION: Should back off multiplicatively on slow requests and grow by one when busy")
+    void limiter_AdjustsToLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 12, 0.5, 100, 0);
+        long fast = 10;
+        long slow = 1_000;
+
+        limiter.tryAcquire(false);
+        limiter.release(fast);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(false);
+        }
+        limiter.release(fast);
+        assertThat(limiter.getLimit()).isEqualTo(11);
+
+        limiter.release(slow);
+        limiter.release(slow);
+        limiter.release(slow);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("ADMISSION: Should classify driver status updates as priority and dispatch planning as expensive")
+    void lane_ClassifiesRequests() {
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("PATCH", "/api/delivery/routes/3/complete")))
+                .isEqualTo(AdmissionLane.PRIORITY);
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("PUT", "/api/packages/3/status")))
+                .isEqualTo(AdmissionLane.STANDARD);
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("POST", "/api/delivery/schedule")))
+                .isEqualTo(AdmissionLane.EXPENSIVE);
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("GET", "/api/packages/unassigned")))
+                .isEqualTo(AdmissionLane.STANDARD);
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("POST", "/api/simulation/solver-jobs")))
+                .isEqualTo(AdmissionLane.EXPENSIVE);
+        assertThat(AdmissionLane.of(new MockHttpServletRequest("GET", "/api/simulation/solver-jobs/7")))
+                .isEqualTo(AdmissionLane.STANDARD);
+    }
+
+    private AdmissionFilter filter() {
+        return new AdmissionFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()), registry,
+                clock::get);
+    }
+
+    private static MockHttpServletResponse call(AdmissionFilter filter, String method, String path, String client)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+
+    private static void hold(AdmissionFilter filter, String method, String path, int remaining, List<Integer> statuses)
+            throws Exception {
+        if (remaining == 0) {
+            return;
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        int index = statuses.size();
+        statuses.add(0);
+        FilterChain chain = (req, res) -> {
+            try {
+                hold(filter, method, path, remaining - 1, statuses);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        filter.doFilter(request, response, chain);
+        statuses.set(index, response.getStatus());
+        if (response.getStatus() != 200) {
+            // Rejected requests never reach the chain; keep filling the list
+            hold(filter, method, path, remaining - 1, statuses);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.logistics.logiroute.benchmark;
+
+import com.logistics.logiroute.loader.BatchLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Compares 64 threads looking packages up one query each with the same
+ * lookups going through a {@link BatchLoader}, against an in-memory H2
+ * database behind a pool of 10 connections.
+ * <ul>
+ *   <li>{@code findById}: takes a connection, selects one row, returns it.</li>
+ *   <li>{@code batchLoader}: waits up to 1 ms for other lookups and selects
+ *   the whole batch with one {@code IN} query.</li>
+ * </ul>
+ * Every query pays a simulated 300 µs network round trip on top of H2, and
+ * the number of queries per lookup is printed at the end of each trial.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.logistics.logiroute.benchmark.BatchLoaderBenchmark}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchLoaderBenchmark {
+
+    private static final int PACKAGES = 100_000;
+    private static final int POOL_SIZE = 10;
+    private static final long ROUND_TRIP_NANOS = 300_000L;
+
+    private final BlockingQueue<Connection> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private BatchLoader<Long, String> loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:batch-loader-bench;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS packages (id BIGINT PRIMARY KEY, delivery_address VARCHAR(255))");
+            statement.execute("DELETE FROM packages");
+            statement.execute("INSERT INTO packages SELECT X, 'Address ' || X FROM SYSTEM_RANGE(1, " + PACKAGES + ")");
+        }
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.add(DriverManager.getConnection(url, "sa", ""));
+        }
+        loader = new BatchLoader<>("bench", this::selectAll, 1_000, 100, 4);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%.3f queries per lookup%n", queries.getAndSet(0) / (double) Math.max(1, lookups.getAndSet(0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        loader.close();
+        for (Connection connection : pool) {
+            connection.close();
+        }
+        pool.clear();
+    }
+
+    @Benchmark
+    public String findById() throws Exception {
+        lookups.incrementAndGet();
+        long id = ThreadLocalRandom.current().nextLong(1, PACKAGES + 1);
+        Connection connection = pool.take();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT delivery_address FROM packages WHERE id = ?")) {
+            select.setLong(1, id);
+            roundTrip();
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getString(1) : null;
+            }
+        } finally {
+            pool.put(connection);
+        }
+    }
+
+    @Benchmark
+    public String batchLoader() {
+        lookups.incrementAndGet();
+        return loader.load(ThreadLocalRandom.current().nextLong(1, PACKAGES + 1));
+    }
+
+    private Map<Long, String> selectAll(Collection<Long> ids) {
+        String in = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        Map<Long, String> addresses = new HashMap<>();
+        Connection connection = null;
+        try {
+            connection = pool.take();
+            try (Statement select = connection.createStatement()) {
+                roundTrip();
+                try (ResultSet rows = select.executeQuery(
+                        "SELECT id, delivery_address FROM packages WHERE id IN (" + in + ")")) {
+                    while (rows.next()) {
+                        addresses.put(rows.getLong(1), rows.getString(2));
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            if (connection != null) {
+                pool.add(connection);
+            }
+        }
+        return addresses;
+    }
+
+    private void roundTrip() {
+        queries.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchLoaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
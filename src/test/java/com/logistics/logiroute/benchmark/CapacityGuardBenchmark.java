@@ -0,0 +1,136 @@
+package com.logistics.logiroute.benchmark;
+
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the weight-only capacity guard with the multi-dimensional
+ * {@link CapacityGuard}. Scores are per package.
+ * <ul>
+ *   <li>{@code guardWeightOnly} / {@code guardMultiDimensional}: the guard as
+ *   {@code DeliveryService} runs it over a list of package entities.</li>
+ *   <li>{@code firstFitWeightOnly} / {@code firstFitMultiDimensional}: first-fit
+ *   search over a packed fleet. Volume and slots never bind, so both variants
+ *   scan the same vehicles and only the check itself differs.</li>
+ * </ul>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.logistics.logiroute.benchmark.CapacityGuardBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapacityGuardBenchmark {
+
+    private static final int PACKAGES = 1_000;
+    private static final int VEHICLES = 50;
+
+    private List<Package> packages;
+    private Vehicle vehicle;
+
+    private double[] weights;
+    private double[] remainingWeights;
+    private double[] demand;
+    private int[] packageHazmat;
+    private double[] remaining;
+    private int[] vehicleHazmat;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        packages = new ArrayList<>(PACKAGES);
+        weights = new double[PACKAGES];
+        demand = new double[PACKAGES * CapacityGuard.DIMENSIONS];
+        packageHazmat = new int[PACKAGES];
+        for (int p = 0; p < PACKAGES; p++) {
+            Package pkg = Package.builder()
+                    .weightKg(1 + random.nextDouble() * 500)
+                    .volumeM3(random.nextDouble() * 3)
+                    .palletSlots(random.nextInt(3))
+                    .build();
+            packages.add(pkg);
+            weights[p] = pkg.getWeightKg();
+            CapacityGuard.writeDemand(pkg, demand, p);
+        }
+
+        vehicle = Vehicle.builder()
+                .capacityKg(Double.MAX_VALUE)
+                .capacityM3(Double.MAX_VALUE)
+                .palletSlotCapacity(Integer.MAX_VALUE)
+                .build();
+
+        remainingWeights = new double[VEHICLES];
+        remaining = new double[VEHICLES * CapacityGuard.DIMENSIONS];
+        vehicleHazmat = new int[VEHICLES];
+        for (int v = 0; v < VEHICLES; v++) {
+            remainingWeights[v] = random.nextDouble() * 1500;
+            remaining[v * CapacityGuard.DIMENSIONS + CapacityGuard.WEIGHT] = remainingWeights[v];
+            remaining[v * CapacityGuard.DIMENSIONS + CapacityGuard.VOLUME] = 100;
+            remaining[v * CapacityGuard.DIMENSIONS + CapacityGuard.SLOTS] = 100;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKAGES)
+    public boolean guardWeightOnly() {
+        double total = packages.stream()
+                .mapToDouble(Package::getWeightKg)
+                .sum();
+        return vehicle.canLoad(total);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKAGES)
+    public boolean guardMultiDimensional() {
+        double[] total = CapacityGuard.totalDemand(packages);
+        double[] fleet = new double[CapacityGuard.DIMENSIONS];
+        CapacityGuard.writeRemaining(vehicle, fleet, 0);
+        return CapacityGuard.fits(fleet, 0, CapacityGuard.hazmatMask(vehicle),
+                total, 0, CapacityGuard.totalHazmatMask(packages));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKAGES)
+    public int firstFitWeightOnly() {
+        int placed = 0;
+        for (int p = 0; p < PACKAGES; p++) {
+            for (int v = 0; v < VEHICLES; v++) {
+                if (remainingWeights[v] >= weights[p]) {
+                    placed++;
+                    break;
+                }
+            }
+        }
+        return placed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKAGES)
+    public int firstFitMultiDimensional() {
+        int placed = 0;
+        for (int p = 0; p < PACKAGES; p++) {
+            if (CapacityGuard.firstFitting(remaining, vehicleHazmat, VEHICLES, demand, p, packageHazmat[p]) >= 0) {
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CapacityGuardBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
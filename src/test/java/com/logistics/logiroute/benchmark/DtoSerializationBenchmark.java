@@ -0,0 +1,132 @@
+package com.logistics.logiroute.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+import com.logistics.logiroute.json.DtoJsonWriter;
+import com.logistics.logiroute.json.JsonBuffer;
+import com.logistics.logiroute.proto.DtoProtoCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Jackson with {@link DtoJsonWriter} and the protobuf encoding
+ * ({@link DtoProtoCodec}) for the two hottest responses: a single package
+ * ({@code GET /api/packages/{id}}) and a route with 20 packages
+ * ({@code GET /api/delivery/routes/{id}}). The two JSON sides produce the same
+ * bytes; the hand-written side includes acquiring and releasing the pooled
+ * buffer and the final copy.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.logistics.logiroute.benchmark.DtoSerializationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .timeZone("UTC")
+            .build();
+
+    private PackageDto pkg;
+    private DeliveryRouteDto route;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 8, 0, 12, 345_000_000);
+        pkg = pkg(1, now);
+        List<PackageDto> packages = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            packages.add(pkg(i, now));
+        }
+        route = DeliveryRouteDto.builder()
+                .id(7L)
+                .vehicleId(3L)
+                .vehicleLicensePlate("34-ABC-123")
+                .packages(packages)
+                .createdAt(now)
+                .totalWeight(412.5)
+                .plannedStart(now.plusHours(1))
+                .plannedEnd(now.plusHours(6))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] jacksonPackage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pkg);
+    }
+
+    @Benchmark
+    public byte[] handWrittenPackage() {
+        JsonBuffer buffer = JsonBuffer.acquire();
+        DtoJsonWriter.write(buffer, pkg);
+        byte[] bytes = buffer.toByteArray();
+        buffer.release();
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] jacksonRoute() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(route);
+    }
+
+    @Benchmark
+    public byte[] handWrittenRoute() {
+        JsonBuffer buffer = JsonBuffer.acquire();
+        DtoJsonWriter.write(buffer, route);
+        byte[] bytes = buffer.toByteArray();
+        buffer.release();
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] protobufPackage() {
+        return DtoProtoCodec.encodePackage(pkg);
+    }
+
+    @Benchmark
+    public byte[] protobufRoute() {
+        return DtoProtoCodec.encodeRoute(route);
+    }
+
+    private static PackageDto pkg(int id, LocalDateTime now) {
+        return PackageDto.builder()
+                .id((long) id)
+                .deliveryAddress(id + " Bağdat Caddesi, Kadıköy, İstanbul")
+                .addressKey(id + " bagdat caddesi kadikoy istanbul")
+                .weightKg(12.5 + id)
+                .volumeM3(0.25)
+                .palletSlots(1)
+                .status(PackageStatus.LOADED)
+                .deliveryDeadline(now.plusHours(8))
+                .latitude(40.9637 + id * 1e-4)
+                .longitude(29.0654)
+                .earliestDelivery(now.plusHours(2))
+                .latestDelivery(now.plusHours(4))
+                .deliveryRouteId(7L)
+                .stopSequence(id)
+                .depotId(1L)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,216 @@
+package com.logistics.logiroute.benchmark;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import com.logistics.logiroute.simulation.SnapshotFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the dispatch snapshot from the database with loading the
+ * snapshot file and reconciling it, against an in-memory H2 database.
+ * <ul>
+ *   <li>{@code coldStart}: selects available vehicles and unassigned packages
+ *   and builds the snapshot from them, as the first request did before.</li>
+ *   <li>{@code warmStart}: maps the snapshot file, fetches the 1% of rows
+ *   touched since it was written, merges them and runs the two count checks.</li>
+ * </ul>
+ * Both sides use plain JDBC, so the cold figure leaves out Hibernate and is a
+ * lower bound for the real cold path.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.logistics.logiroute.benchmark.SnapshotWarmStartBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotWarmStartBenchmark {
+
+    private static final int VEHICLES = 500;
+    private static final LocalDateTime SNAPSHOT_TIME = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Param({"10000", "100000"})
+    public int packages;
+
+    private Connection connection;
+    private Path snapshotFile;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:snapshot-bench-" + packages, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE depots (id BIGINT PRIMARY KEY, latitude DOUBLE, longitude DOUBLE)");
+            statement.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, capacity_kg DOUBLE, "
+                    + "current_load_kg DOUBLE, status VARCHAR(20), depot_id BIGINT, updated_at TIMESTAMP)");
+            statement.execute("CREATE TABLE packages (id BIGINT PRIMARY KEY, weight_kg DOUBLE, volumem3 DOUBLE, "
+                    + "status VARCHAR(20), delivery_deadline TIMESTAMP, latitude DOUBLE, longitude DOUBLE, "
+                    + "depot_id BIGINT, delivery_route_id BIGINT, updated_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_vehicles_updated_at ON vehicles (updated_at)");
+            statement.execute("CREATE INDEX idx_packages_updated_at ON packages (updated_at)");
+            statement.execute("INSERT INTO depots VALUES (1, 29.76, -95.37), (2, 32.78, -96.80)");
+        }
+
+        Random random = new Random(42);
+        Timestamp before = Timestamp.valueOf(SNAPSHOT_TIME.minusHours(1));
+        Timestamp after = Timestamp.valueOf(SNAPSHOT_TIME.plusMinutes(10));
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO vehicles VALUES (?, 1000, ?, 'AVAILABLE', ?, ?)")) {
+            for (int v = 1; v <= VEHICLES; v++) {
+                insert.setLong(1, v);
+                insert.setDouble(2, random.nextDouble() * 500);
+                insert.setLong(3, 1 + v % 2);
+                insert.setTimestamp(4, v % 100 == 0 ? after : before);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO packages VALUES (?, ?, ?, 'CREATED', ?, ?, ?, ?, NULL, ?)")) {
+            for (int p = 1; p <= packages; p++) {
+                insert.setLong(1, p);
+                insert.setDouble(2, 1 + random.nextDouble() * 50);
+                insert.setDouble(3, random.nextDouble());
+                insert.setTimestamp(4, Timestamp.valueOf(SNAPSHOT_TIME.plusHours(1 + random.nextInt(12))));
+                insert.setDouble(5, 29 + random.nextDouble() * 4);
+                insert.setDouble(6, -97 + random.nextDouble() * 2);
+                insert.setLong(7, 1 + p % 2);
+                insert.setTimestamp(8, p % 100 == 0 ? after : before);
+                insert.addBatch();
+                if (p % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        snapshotFile = Files.createTempFile("dispatch", ".snapshot");
+        SnapshotFile.write(coldStart(), snapshotFile);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        connection.close();
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public DispatchSnapshot coldStart() throws SQLException {
+        List<Depot> depots = depots();
+        return DispatchSnapshot.of(depots,
+                vehicles("SELECT * FROM vehicles WHERE status = 'AVAILABLE'", depots, null),
+                packages("SELECT * FROM packages WHERE status = 'CREATED' AND delivery_route_id IS NULL",
+                        depots, null),
+                SNAPSHOT_TIME.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Benchmark
+    public DispatchSnapshot warmStart() throws SQLException, IOException {
+        DispatchSnapshot stored = SnapshotFile.read(snapshotFile);
+        Timestamp since = Timestamp.valueOf(SNAPSHOT_TIME.minusSeconds(5));
+        List<Depot> depots = depots();
+        DispatchSnapshot merged = stored.merge(depots,
+                vehicles("SELECT * FROM vehicles WHERE updated_at >= ?", depots, since),
+                packages("SELECT * FROM packages WHERE updated_at >= ?", depots, since),
+                SNAPSHOT_TIME.plusMinutes(15).toEpochSecond(ZoneOffset.UTC));
+        if (merged.vehicleCount() != count("SELECT COUNT(*) FROM vehicles WHERE status = 'AVAILABLE'")
+                || merged.packageCount() != count("SELECT COUNT(*) FROM packages "
+                + "WHERE status = 'CREATED' AND delivery_route_id IS NULL")) {
+            throw new IllegalStateException("Snapshot drifted");
+        }
+        return merged;
+    }
+
+    private List<Depot> depots() throws SQLException {
+        List<Depot> depots = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT * FROM depots")) {
+            while (rows.next()) {
+                depots.add(Depot.builder().id(rows.getLong("id"))
+                        .latitude(rows.getDouble("latitude")).longitude(rows.getDouble("longitude")).build());
+            }
+        }
+        return depots;
+    }
+
+    private List<Vehicle> vehicles(String sql, List<Depot> depots, Timestamp since) throws SQLException {
+        List<Vehicle> vehicles = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (since != null) {
+                statement.setTimestamp(1, since);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    vehicles.add(Vehicle.builder()
+                            .id(rows.getLong("id"))
+                            .capacityKg(rows.getDouble("capacity_kg"))
+                            .currentLoadKg(rows.getDouble("current_load_kg"))
+                            .depot(depots.get((int) rows.getLong("depot_id") - 1))
+                            .build());
+                }
+            }
+        }
+        return vehicles;
+    }
+
+    private List<Package> packages(String sql, List<Depot> depots, Timestamp since) throws SQLException {
+        List<Package> packages = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (since != null) {
+                statement.setTimestamp(1, since);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    packages.add(Package.builder()
+                            .id(rows.getLong("id"))
+                            .weightKg(rows.getDouble("weight_kg"))
+                            .volumeM3(rows.getDouble("volumem3"))
+                            .status(PackageStatus.valueOf(rows.getString("status")))
+                            .deliveryDeadline(rows.getTimestamp("delivery_deadline").toLocalDateTime())
+                            .latitude(rows.getDouble("latitude"))
+                            .longitude(rows.getDouble("longitude"))
+                            .depot(depots.get((int) rows.getLong("depot_id") - 1))
+                            .build());
+                }
+            }
+        }
+        return packages;
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SnapshotWarmStartBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
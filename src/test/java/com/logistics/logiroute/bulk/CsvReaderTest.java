@@ -0,0 +1,107 @@
+package com.logistics.logiroute.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("BULK IMPORT: Should parse quoted fields, CRLF and blank lines across tiny buffers")
+    void next_ParsesRfc4180() throws IOException {
+        String csv = "﻿address,weight\r\n"
+                + "\"12 Elm St, Boston\",10.5\r\n"
+                + "\r\n"
+                + "\"Say \"\"hi\"\"\nat the door\",3\n"
+                + "Çiçek Sk. No:5 İstanbul,\n";
+
+        List<List<String>> records = readAll(csv, 8);
+
+        assertThat(records).containsExactly(
+                List.of("address", "weight"),
+                List.of("12 Elm St, Boston", "10.5"),
+                List.of("Say \"hi\"\nat the door", "3"),
+                List.of("Çiçek Sk. No:5 İstanbul", "")
+        );
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should report the line a record starts on")
+    void lineNumber_TracksRecordStart() throws IOException {
+        CsvReader reader = reader("a\n\n\"multi\nline\"\nlast", 64);
+
+        reader.next();
+        assertThat(reader.lineNumber()).isEqualTo(1);
+        reader.next();
+        assertThat(reader.lineNumber()).isEqualTo(3);
+        reader.next();
+        assertThat(reader.lineNumber()).isEqualTo(5);
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should reject an unterminated quoted field")
+    void next_UnterminatedQuote() throws IOException {
+        CsvReader reader = reader("ok\n\"never closed,1\n", 64);
+        reader.next();
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should reject bytes that are not valid in the charset as bad input")
+    void next_MalformedInput() throws IOException {
+        byte[] bytes = {'a', '\n', 'b', (byte) 0xC3, '(', '\n'};
+        CsvReader reader = new CsvReader(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                StandardCharsets.UTF_8, 2);
+        reader.next();
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not valid UTF-8")
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    @DisplayName("BULK EXPORT: Written records read back unchanged")
+    void writer_RoundTrip() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.record("plain", "with, comma", "with \"quote\"", null, 42);
+        writer.flush();
+
+        assertThat(readAll(out.toString(), 16)).containsExactly(
+                List.of("plain", "with, comma", "with \"quote\"", "", "42"));
+    }
+
+    private static CsvReader reader(String csv, int bufferSize) {
+        return new CsvReader(Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))),
+                StandardCharsets.UTF_8, bufferSize);
+    }
+
+    private static List<List<String>> readAll(String csv, int bufferSize) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = reader(csv, bufferSize)) {
+            while (reader.next()) {
+                List<String> record = new ArrayList<>();
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    record.add(reader.field(i));
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,101 @@
+package com.logistics.logiroute.controller;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.exception.GlobalExceptionHandler;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.service.DeliveryService;
+import com.logistics.logiroute.service.EtaService;
+import com.logistics.logiroute.service.PackageBulkService;
+import com.logistics.logiroute.service.PackageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the package endpoints through MVC and the exception handler against
+ * the real state machine in {@link DeliveryService}.
+ */
+@DisplayName("PackageController Tests")
+class PackageControllerTest {
+
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private MockMvc mockMvc;
+    private Package pkg;
+
+    @BeforeEach
+    void setUp() {
+        DeliveryService deliveryService = new DeliveryService(mock(VehicleRepository.class), packageRepository,
+                mock(DeliveryRouteRepository.class), mock(PackageMapper.class), mock(DeliveryRouteMapper.class),
+                new SchedulingProperties(), eventPublisher);
+        PackageController controller = new PackageController(mock(PackageService.class), deliveryService,
+                mock(PackageBulkService.class), mock(EtaService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        pkg = Package.builder()
+                .id(1L)
+                .deliveryAddress("Address 1")
+                .weightKg(10.0)
+                .status(PackageStatus.LOADED)
+                .deliveryDeadline(LocalDateTime.now().plusHours(2))
+                .deliveryRoute(DeliveryRoute.builder().id(5L).build())
+                .build();
+        when(packageRepository.findById(1L)).thenReturn(Optional.of(pkg));
+    }
+
+    @Test
+    @DisplayName("STATE MACHINE: Should reject IN_TRANSFER as a target with 400")
+    void updatePackageStatus_ToInTransfer_BadRequest() throws Exception {
+        mockMvc.perform(patch("/api/packages/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_TRANSFER\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Status Transition"));
+
+        assertThat(pkg.getStatus()).isEqualTo(PackageStatus.LOADED);
+        verify(packageRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("STATE MACHINE: Should reject any change of an IN_TRANSFER package with 400")
+    void updatePackageStatus_FromInTransfer_BadRequest() throws Exception {
+        pkg.setStatus(PackageStatus.IN_TRANSFER);
+
+        for (String target : new String[]{"CREATED", "LOADED", "CANCELLED", "IN_TRANSFER"}) {
+            mockMvc.perform(patch("/api/packages/1/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"" + target + "\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        assertThat(pkg.getStatus()).isEqualTo(PackageStatus.IN_TRANSFER);
+        verify(packageRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,135 @@
+package com.logistics.logiroute.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded H2 databases that stand in for the primary and
+ * a replica; each holds one row naming itself.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", database("replica-0"));
+        replicas.put("replica-1", database("replica-1"));
+        routing = new ReplicaRoutingDataSource(database("primary"), replicas, 500);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.close();
+    }
+
+    @Test
+    @DisplayName("REPLICA: Should send read-only transactions to a measured replica and writes to the primary")
+    void route_ReadOnlyToReplica() {
+        assertThat(readOnlySource()).isEqualTo("primary");
+
+        routing.recordLag("replica-0", 10);
+
+        assertThat(readOnlySource()).isEqualTo("replica-0");
+        assertThat(readWriteSource()).isEqualTo("primary");
+        assertThat(source()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("REPLICA: Should skip replicas that lag too far or cannot be queried")
+    void route_LagGuard() {
+        jdbc(routing.getReplicas().get("replica-0")).execute("UPDATE lag SET millis = 2000");
+        jdbc(routing.getReplicas().get("replica-1")).execute("UPDATE lag SET millis = 20");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(routing, "SELECT millis FROM lag");
+
+        monitor.check();
+        for (int i = 0; i < 4; i++) {
+            assertThat(readOnlySource()).isEqualTo("replica-1");
+        }
+
+        jdbc(routing.getReplicas().get("replica-1")).execute("DROP TABLE lag");
+        monitor.check();
+        assertThat(readOnlySource()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("REPLICA: Should keep reads on the primary for the rest of a request that wrote")
+    void route_StickyAfterWrite() {
+        routing.recordLag("replica-0", 0);
+        ReplicaRouting.open();
+
+        assertThat(readOnlySource()).isEqualTo("replica-0");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE source SET name = 'primary (written)'"));
+
+        assertThat(ReplicaRouting.isPinnedToPrimary()).isTrue();
+        assertThat(readOnlySource()).isEqualTo("primary (written)");
+
+        ReplicaRouting.close();
+        ReplicaRouting.open();
+        assertThat(readOnlySource()).isEqualTo("replica-0");
+    }
+
+    @Test
+    @DisplayName("REPLICA: Should not pin threads outside a request")
+    void route_NoPinOutsideRequest() {
+        routing.recordLag("replica-0", 0);
+
+        readWrite.executeWithoutResult(status -> source());
+
+        assertThat(ReplicaRouting.isPinnedToPrimary()).isFalse();
+        assertThat(readOnlySource()).isEqualTo("replica-0");
+    }
+
+    private String readOnlySource() {
+        return readOnly.execute(status -> source());
+    }
+
+    private String readWriteSource() {
+        return readWrite.execute(status -> source());
+    }
+
+    private String source() {
+        return jdbc.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = jdbc(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE source (name VARCHAR(50))");
+        jdbc.update("INSERT INTO source VALUES (?)", name);
+        jdbc.execute("CREATE TABLE lag (millis BIGINT)");
+        jdbc.execute("INSERT INTO lag VALUES (0)");
+        return dataSource;
+    }
+
+    private static JdbcTemplate jdbc(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+}
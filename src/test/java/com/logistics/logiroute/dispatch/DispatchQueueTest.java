@@ -0,0 +1,129 @@
+package com.logistics.logiroute.dispatch;
+
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import com.logistics.logiroute.repository.QueueCandidate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DispatchQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 8, 0);
+    private static final double[] UNLIMITED = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+
+    private final DispatchQueue queue = new DispatchQueue();
+
+    @Test
+    @DisplayName("DISPATCH QUEUE: Should put a same-day package ahead of a standard one due a few hours earlier")
+    void score_TierOutweighsSmallSlackDifference() {
+        QueuedPackage standard = queued(1L, ServiceTier.STANDARD, NOW.plusHours(6), NOW, 10.0, null);
+        QueuedPackage sameDay = queued(2L, ServiceTier.SAME_DAY, NOW.plusHours(10), NOW, 10.0, null);
+        QueuedPackage lateSameDay = queued(3L, ServiceTier.SAME_DAY, NOW.plusHours(30), NOW, 10.0, null);
+        queue.rebuild(List.of(standard, sameDay, lateSameDay));
+
+        assertThat(ids(queue.pollFitting(null, UNLIMITED.clone(), 0, 3, 0))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("DISPATCH QUEUE: Should keep its order as time passes and favour the package that waited longer")
+    void score_TimeInvariantAndRewardsWaiting() {
+        QueuedPackage waited = queued(1L, ServiceTier.EXPRESS, NOW.plusHours(8), NOW.minusHours(4), 10.0, null);
+        QueuedPackage fresh = queued(2L, ServiceTier.EXPRESS, NOW.plusHours(8), NOW, 10.0, null);
+        // Scored a day later, the entries are the same
+        QueuedPackage waitedLater = QueuedPackage.of(candidate(1L, ServiceTier.EXPRESS, NOW.plusHours(8),
+                NOW.minusHours(4), 10.0, null), 1.0, 0.25, NOW.plusDays(1));
+
+        assertThat(waited.before(fresh)).isTrue();
+        assertThat(waitedLater.priority()).isEqualTo(waited.priority());
+    }
+
+    @Test
+    @DisplayName("DISPATCH QUEUE: Should skip packages that do not fit and leave them queued")
+    void pollFitting_SkipsMisfits() {
+        queue.rebuild(List.of(
+                queued(1L, ServiceTier.SAME_DAY, NOW.plusHours(2), NOW, 900.0, null),
+                queued(2L, ServiceTier.EXPRESS, NOW.plusHours(2), NOW, 300.0, HazmatClass.FLAMMABLE_LIQUIDS),
+                queued(3L, ServiceTier.STANDARD, NOW.plusHours(2), NOW, 300.0, null),
+                queued(4L, ServiceTier.STANDARD, NOW.plusHours(3), NOW, 300.0, null)));
+        double[] remaining = {500.0, 10.0, 10.0};
+
+        List<QueuedPackage> taken = queue.pollFitting(null, remaining, 0, 10, 10);
+
+        assertThat(ids(taken)).containsExactly(3L);
+        assertThat(remaining[CapacityGuard.WEIGHT]).isEqualTo(200.0);
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(ids(queue.pollFitting(null, UNLIMITED.clone(), CapacityGuard.ALL_HAZMAT_CLASSES, 10, 0)))
+                .containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("DISPATCH QUEUE: Should keep depots apart and move a package whose depot changed")
+    void offer_SeparatesDepots() {
+        queue.offer(queued(1L, 10L, ServiceTier.STANDARD, NOW.plusHours(1)));
+        queue.offer(queued(2L, 20L, ServiceTier.STANDARD, NOW.plusHours(2)));
+        queue.offer(queued(1L, 20L, ServiceTier.STANDARD, NOW.plusHours(1)));
+
+        assertThat(queue.size(10L)).isZero();
+        assertThat(ids(queue.pollFitting(20L, UNLIMITED.clone(), 0, 10, 0))).containsExactly(1L, 2L);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("DISPATCH QUEUE: Should match a full sort after random offers, re-scores and removals")
+    void randomOperations_MatchSortedOrder() {
+        Random random = new Random(42);
+        List<QueuedPackage> expected = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            expected.add(queued(id, null, ServiceTier.values()[random.nextInt(3)], NOW.plusMinutes(random.nextInt(2000))));
+        }
+        queue.rebuild(expected);
+        for (int i = 0; i < 1000; i++) {
+            int index = random.nextInt(expected.size());
+            QueuedPackage pkg = expected.get(index);
+            if (random.nextBoolean()) {
+                QueuedPackage rescored = queued(pkg.id(), null, ServiceTier.values()[random.nextInt(3)],
+                        NOW.plusMinutes(random.nextInt(2000)));
+                expected.set(index, rescored);
+                queue.offer(rescored);
+            } else if (expected.size() > 100) {
+                expected.remove(index);
+                assertThat(queue.remove(pkg.id())).isTrue();
+            }
+        }
+        expected.sort(Comparator.comparingDouble(QueuedPackage::priority).reversed()
+                .thenComparingLong(QueuedPackage::id));
+
+        List<QueuedPackage> polled = queue.pollFitting(null, UNLIMITED.clone(), 0, Integer.MAX_VALUE, 0);
+
+        assertThat(ids(polled)).containsExactlyElementsOf(ids(expected));
+        assertThat(queue.remove(expected.get(0).id())).isFalse();
+    }
+
+    private static QueuedPackage queued(long id, ServiceTier tier, LocalDateTime deadline, LocalDateTime since,
+                                        double weightKg, HazmatClass hazmat) {
+        return QueuedPackage.of(candidate(id, tier, deadline, since, weightKg, hazmat), 1.0, 0.25, NOW);
+    }
+
+    private static QueuedPackage queued(long id, Long depotId, ServiceTier tier, LocalDateTime deadline) {
+        return QueuedPackage.of(new QueueCandidate(id, depotId, tier, deadline, NOW, 10.0, null, null, null),
+                1.0, 0.25, NOW);
+    }
+
+    private static QueueCandidate candidate(long id, ServiceTier tier, LocalDateTime deadline, LocalDateTime since,
+                                            double weightKg, HazmatClass hazmat) {
+        return new QueueCandidate(id, null, tier, deadline, since, weightKg, null, null, hazmat);
+    }
+
+    private static List<Long> ids(List<QueuedPackage> packages) {
+        return packages.stream().map(QueuedPackage::id).toList();
+    }
+}
@@ -0,0 +1,96 @@
+package com.logistics.logiroute.eta;
+
+import com.logistics.logiroute.optimization.GeoDistance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteEtaTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 8, 0);
+    private static final long SERVICE_SECONDS = 600;
+
+    // Roughly 11.1 km apart along a meridian
+    private static final double LON = 29.0;
+    private static final double[] LATS = {41.0, 41.1, 41.2, 41.3};
+
+    private final SpeedProfile speeds = new SpeedProfile(40.0, 0.05, 3, 10, 900);
+
+    @Test
+    @DisplayName("ETA: Should add drive time and service time stop by stop at the default speed")
+    void recompute_DefaultSpeed() {
+        RouteEta route = route();
+
+        List<PackageEta> etas = route.recompute(speeds, SERVICE_SECONDS);
+
+        double legSeconds = GeoDistance.haversineKm(LATS[0], LON, LATS[1], LON) / 40.0 * 3600;
+        assertThat(etas).extracting(PackageEta::packageId).containsExactly(1L, 2L, 3L);
+        assertThat(etas).extracting(PackageEta::stopsAhead).containsExactly(0, 1, 2);
+        assertThat(seconds(etas.get(0))).isCloseTo(legSeconds, within(2.0));
+        assertThat(seconds(etas.get(2))).isCloseTo(3 * legSeconds + 2 * SERVICE_SECONDS, within(5.0));
+        assertThat(etas.get(0).onTime()).isTrue();
+        assertThat(etas.get(2).onTime()).isFalse();
+    }
+
+    @Test
+    @DisplayName("ETA: Should restart from the delivered stop and drop it from the route")
+    void remove_DeliveredMovesOrigin() {
+        RouteEta route = route();
+        LocalDateTime deliveredAt = T0.plusMinutes(30);
+
+        assertThat(route.remove(1L, deliveredAt, true)).isTrue();
+        List<PackageEta> etas = route.recompute(speeds, SERVICE_SECONDS);
+
+        assertThat(etas).extracting(PackageEta::packageId).containsExactly(2L, 3L);
+        assertThat(etas.get(0).basedOn()).isEqualTo(deliveredAt);
+        assertThat(etas.get(0).estimatedArrival()).isAfter(deliveredAt.plusMinutes(16));
+        assertThat(etas.get(0).estimatedArrival()).isBefore(deliveredAt.plusMinutes(18));
+        assertThat(route.remove(1L, deliveredAt, true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("ETA: Should ignore fixes older than what the route already knows")
+    void moveTo_IgnoresOlderFix() {
+        RouteEta route = route();
+
+        assertThat(route.moveTo(LATS[1], LON, T0.plusMinutes(20))).isTrue();
+        assertThat(route.moveTo(LATS[0], LON, T0.plusMinutes(10))).isFalse();
+        assertThat(route.recompute(speeds, SERVICE_SECONDS).get(0).estimatedArrival())
+                .isEqualTo(T0.plusMinutes(20));
+    }
+
+    @Test
+    @DisplayName("ETA: Should use a learned cell speed once it has enough samples")
+    void speedProfile_LearnsPerCell() {
+        // 11.1 km in 10 minutes: about 67 km/h
+        for (int i = 0; i < 3; i++) {
+            assertThat(speeds.record(LATS[0], LON, T0, LATS[1], LON, T0.plusMinutes(10))).isTrue();
+        }
+        // Parked, and a GPS jump: both ignored
+        assertThat(speeds.record(LATS[0], LON, T0, LATS[0], LON, T0.plusMinutes(5))).isFalse();
+        assertThat(speeds.record(LATS[0], LON, T0, 45.0, LON, T0.plusMinutes(5))).isFalse();
+
+        assertThat(speeds.speedKmh(LATS[0], LON, LATS[1], LON, 8)).isCloseTo(66.7, within(0.5));
+        // Other cells fall back to the hour's fleet-wide speed, other hours to the default
+        assertThat(speeds.speedKmh(LATS[2], LON, LATS[3], LON, 8)).isCloseTo(66.7, within(0.5));
+        assertThat(speeds.speedKmh(LATS[0], LON, LATS[1], LON, 15)).isEqualTo(40.0);
+    }
+
+    private static RouteEta route() {
+        List<RouteEta.Stop> stops = List.of(
+                new RouteEta.Stop(1L, LATS[1], LON, T0.plusHours(2)),
+                new RouteEta.Stop(2L, LATS[2], LON, T0.plusHours(2)),
+                new RouteEta.Stop(3L, LATS[3], LON, T0.plusMinutes(45)));
+        return new RouteEta(10L, 7L, stops, LATS[0], LON, T0);
+    }
+
+    private static double seconds(PackageEta eta) {
+        return Duration.between(T0, eta.estimatedArrival()).getSeconds();
+    }
+}
@@ -0,0 +1,69 @@
+package com.logistics.logiroute.geocoding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeocodeCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("GEOCODING: Should fold case, accents, punctuation and street types into one key")
+    void normalize_SharesKeyAcrossSpellings() {
+        String key = AddressNormalizer.normalize("123 Main Street, New York, NY 10001, USA");
+
+        assertThat(key).isEqualTo("123 main st new york ny 10001");
+        assertThat(AddressNormalizer.normalize("123  MAIN st. new-york ny 10001")).isEqualTo(key);
+        assertThat(AddressNormalizer.normalize("Çiçek Sokağı No:5, İSTANBUL"))
+                .isEqualTo(AddressNormalizer.normalize("cicek sk 5 istanbul"));
+        assertThat(AddressNormalizer.normalize(" ,. ")).isNull();
+    }
+
+    @Test
+    @DisplayName("GEOCODING: Should keep hits and misses across reopening the cache file")
+    void open_PersistsEntries() throws IOException {
+        Path file = dir.resolve("geocode.cache");
+        try (GeocodeCache cache = GeocodeCache.open(file, 64)) {
+            cache.put("123 main st new york", new GeoPoint(40.75, -73.99));
+            cache.put("nowhere", GeocodeCache.NOT_FOUND);
+        }
+
+        try (GeocodeCache cache = GeocodeCache.open(file, 64)) {
+            assertThat(cache.get("123 main st new york")).isEqualTo(new GeoPoint(40.75, -73.99));
+            assertThat(cache.get("nowhere")).isSameAs(GeocodeCache.NOT_FOUND);
+            assertThat(cache.get("456 oak ave")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("GEOCODING: Should stay within its file size by evicting when full")
+    void put_EvictsWhenFull() throws IOException {
+        Path file = dir.resolve("geocode.cache");
+        try (GeocodeCache cache = GeocodeCache.open(file, 16)) {
+            for (int i = 0; i < 1000; i++) {
+                cache.put("address " + i, new GeoPoint(i, -i));
+            }
+
+            assertThat(cache.capacity()).isEqualTo(16);
+            assertThat(cache.get("address 999")).isEqualTo(new GeoPoint(999, -999));
+            int cached = 0;
+            for (int i = 0; i < 1000; i++) {
+                GeoPoint point = cache.get("address " + i);
+                if (point != null) {
+                    assertThat(point).isEqualTo(new GeoPoint(i, -i));
+                    cached++;
+                }
+            }
+            assertThat(cached).isLessThanOrEqualTo(16);
+        }
+        assertThat(Files.size(file)).isEqualTo(32 + 16 * 24);
+    }
+}
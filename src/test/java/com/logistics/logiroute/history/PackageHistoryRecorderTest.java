@@ -0,0 +1,66 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.config.HistoryProperties;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PackageHistoryRecorder Unit Tests")
+class PackageHistoryRecorderTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private PackageHistoryRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        HistoryProperties properties = new HistoryProperties();
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(2);
+        recorder = new PackageHistoryRecorder(jdbcTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("STATUS HISTORY: Should drop and count events once the buffer is full")
+    void onStatusChanged_DropsWhenFull() {
+        for (long id = 1; id <= 5; id++) {
+            recorder.onStatusChanged(event(id));
+        }
+
+        assertThat(recorder.getPendingCount()).isEqualTo(3);
+        assertThat(recorder.getDroppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("STATUS HISTORY: Should keep a failed batch for the next flush")
+    void flush_RequeuesFailedBatch() {
+        when(jdbcTemplate.batchUpdate(anyString(), ArgumentMatchers.<Collection<StatusEventRow>>any(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<StatusEventRow>>any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        recorder.onStatusChanged(event(1L));
+        recorder.onStatusChanged(event(2L));
+
+        assertThat(recorder.flush()).isZero();
+
+        assertThat(recorder.getPendingCount()).isEqualTo(2);
+        assertThat(recorder.getDroppedCount()).isZero();
+    }
+
+    private static PackageStatusChangedEvent event(long packageId) {
+        return new PackageStatusChangedEvent(packageId, null, PackageStatus.CREATED, PackageStatus.LOADED,
+                LocalDateTime.now(), null, null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.logistics.logiroute.history;
+
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusSegmentCodecTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 14);
+
+    @Test
+    @DisplayName("STATUS HISTORY: Segment encoding round-trips every column")
+    void encodeDecode_RoundTrip() {
+        List<StatusEventRow> rows = List.of(
+                new StatusEventRow(1200L, 7L, 31L, PackageStatus.CREATED, PackageStatus.LOADED,
+                        DAY.atTime(6, 5, 12), 86_400L),
+                new StatusEventRow(1187L, 7L, 31L, PackageStatus.CREATED, PackageStatus.LOADED,
+                        DAY.atTime(6, 5, 12), null),
+                new StatusEventRow(1200L, 7L, 31L, PackageStatus.LOADED, PackageStatus.DELIVERED,
+                        DAY.atTime(9, 41, 0), 12_948L),
+                new StatusEventRow(990L, 7L, null, PackageStatus.LOADED, PackageStatus.CANCELLED,
+                        DAY.atTime(23, 59, 59), 0L)
+        );
+
+        byte[] payload = StatusSegmentCodec.encode(DAY, rows);
+
+        assertThat(StatusSegmentCodec.decode(DAY, 7L, payload)).containsExactlyElementsOf(rows);
+        assertThat(payload.length).isLessThan(rows.size() * 12);
+    }
+
+    @Test
+    @DisplayName("STATUS HISTORY: Segments store the stable status codes, not ordinals")
+    void encode_UsesStatusCodes() {
+        List<StatusEventRow> rows = List.of(new StatusEventRow(
+                1L, null, null, PackageStatus.IN_TRANSFER, PackageStatus.LOADED, DAY.atTime(8, 0), null));
+
+        byte[] payload = StatusSegmentCodec.encode(DAY, rows);
+
+        // version, count, package id delta, route id delta, then the status byte
+        assertThat(payload[4]).isEqualTo((byte) 0x41);
+        assertThat(PackageStatus.values())
+                .extracting(PackageStatus::getCode)
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(PackageStatus.values())
+                .allSatisfy(status -> assertThat(PackageStatus.fromCode(status.getCode())).isEqualTo(status));
+        assertThatThrownBy(() -> PackageStatus.fromCode(PackageStatus.MAX_CODE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("STATUS HISTORY: Sub-second precision is dropped")
+    void encodeDecode_TruncatesToSeconds() {
+        LocalDateTime occurredAt = DAY.atTime(12, 0, 1, 999_000_000);
+        List<StatusEventRow> rows = List.of(new StatusEventRow(
+                5L, null, null, PackageStatus.CREATED, PackageStatus.CANCELLED, occurredAt, 3L));
+
+        List<StatusEventRow> decoded = StatusSegmentCodec.decode(DAY, null, StatusSegmentCodec.encode(DAY, rows));
+
+        assertThat(decoded).singleElement()
+                .extracting(StatusEventRow::occurredAt)
+                .isEqualTo(DAY.atTime(12, 0, 1));
+    }
+
+    @Test
+    @DisplayName("STATUS HISTORY: Dwell percentiles use the nearest rank")
+    void dwellStatistics_Percentiles() {
+        DwellStatistics statistics = new DwellStatistics();
+        for (long seconds = 100; seconds >= 1; seconds--) {
+            statistics.add(seconds);
+        }
+        statistics.sorted();
+
+        assertThat(statistics.size()).isEqualTo(100);
+        assertThat(statistics.percentile(50)).isEqualTo(50L);
+        assertThat(statistics.percentile(90)).isEqualTo(90L);
+        assertThat(statistics.percentile(99)).isEqualTo(99L);
+        assertThat(statistics.max()).isEqualTo(100L);
+    }
+}
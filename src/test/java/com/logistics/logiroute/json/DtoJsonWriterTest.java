@@ -0,0 +1,133 @@
+package com.logistics.logiroute.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoJsonWriterTest {
+
+    // Configured like spring.jackson in application.yml
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .timeZone("UTC")
+            .build();
+
+    private final Random random = new Random(7);
+
+    @Test
+    @DisplayName("FAST JSON: Should write packages byte-identical to Jackson")
+    void write_Package_MatchesJackson() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            PackageDto pkg = randomPackage();
+
+            JsonBuffer buffer = JsonBuffer.acquire();
+            DtoJsonWriter.write(buffer, pkg);
+            byte[] fast = buffer.toByteArray();
+            buffer.release();
+
+            assertThat(fast).isEqualTo(objectMapper.writeValueAsBytes(pkg));
+        }
+    }
+
+    @Test
+    @DisplayName("FAST JSON: Should write routes and route lists byte-identical to Jackson")
+    void write_Routes_MatchesJackson() throws Exception {
+        List<DeliveryRouteDto> routes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            List<PackageDto> packages = new ArrayList<>();
+            for (int p = random.nextInt(5); p > 0; p--) {
+                packages.add(randomPackage());
+            }
+            routes.add(DeliveryRouteDto.builder()
+                    .id((long) i)
+                    .vehicleId(random.nextBoolean() ? 3L : null)
+                    .vehicleLicensePlate("ABC-" + i)
+                    .packages(i == 0 ? null : packages)
+                    .createdAt(randomDateTime())
+                    .completedAt(random.nextBoolean() ? randomDateTime() : null)
+                    .totalWeight(random.nextDouble() * 1000)
+                    .plannedStart(randomDateTime())
+                    .plannedEnd(null)
+                    .dispatchedAt(randomDateTime())
+                    .build());
+        }
+
+        JsonBuffer buffer = JsonBuffer.acquire();
+        DtoJsonWriter.writeRoutes(buffer, routes);
+        byte[] fast = buffer.toByteArray();
+        buffer.release();
+
+        assertThat(fast).isEqualTo(objectMapper.writeValueAsBytes(routes));
+    }
+
+    private PackageDto randomPackage() {
+        return PackageDto.builder()
+                .id(random.nextBoolean() ? random.nextLong() : null)
+                .deliveryAddress(randomText())
+                .addressKey(random.nextBoolean() ? randomText() : null)
+                .weightKg(randomDouble())
+                .volumeM3(random.nextBoolean() ? randomDouble() : null)
+                .palletSlots(random.nextBoolean() ? random.nextInt() : null)
+                .hazmatClass(random.nextBoolean() ? pick(HazmatClass.values()) : null)
+                .status(pick(PackageStatus.values()))
+                .deliveryDeadline(randomDateTime())
+                .latitude(random.nextBoolean() ? randomDouble() : null)
+                .longitude(random.nextBoolean() ? -randomDouble() : null)
+                .earliestDelivery(random.nextBoolean() ? randomDateTime() : null)
+                .latestDelivery(random.nextBoolean() ? randomDateTime() : null)
+                .deliveryRouteId(random.nextBoolean() ? (long) random.nextInt(1000) : null)
+                .stopSequence(random.nextBoolean() ? random.nextInt(50) : null)
+                .depotId(random.nextBoolean() ? 1L : null)
+                .archived(random.nextBoolean())
+                .build();
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String randomText() {
+        String[] pieces = {"12 Main St", ", ", "\"quoted\"", "back\\slash", "new\nline", "\t", "\u0001\u001f",
+                "Çiçek Sokağı İstanbul", "東京都", "emoji 🚚", "lone \uD83D", "\uDE9A", "/", " ", "\u007f", ""};
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(5); i >= 0; i--) {
+            text.append(pick(pieces));
+        }
+        return text.toString();
+    }
+
+    private double randomDouble() {
+        return switch (random.nextInt(8)) {
+            case 0 -> random.nextInt(1000);
+            case 1 -> random.nextDouble() * 1e-5;
+            case 2 -> random.nextDouble() * 1e12;
+            case 3 -> Double.NaN;
+            case 4 -> Double.POSITIVE_INFINITY;
+            case 5 -> -0.0;
+            default -> random.nextDouble() * 500;
+        };
+    }
+
+    private LocalDateTime randomDateTime() {
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(random.nextInt(200_000_000));
+        return switch (random.nextInt(4)) {
+            case 0 -> base;
+            case 1 -> base.withNano(random.nextInt(1000) * 1_000_000);
+            case 2 -> base.withNano(random.nextInt(1_000_000) * 1000);
+            default -> base.withNano(random.nextInt(1_000_000_000));
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.logistics.logiroute.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchLoaderTest {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private BatchLoader<Long, String> loader;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        loader.close();
+    }
+
+    @Test
+    @DisplayName("BATCH LOADER: Should load concurrent lookups in one batch and share duplicate keys")
+    void load_CoalescesConcurrentLookups() throws Exception {
+        loader = new BatchLoader<>("test", recording(ids -> values(ids)), 200_000, 1000, 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            long id = i % 16;
+            results.add(callers.submit(() -> {
+                start.await();
+                return loader.load(id);
+            }));
+        }
+
+        start.countDown();
+
+        for (int i = 0; i < 32; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("value-" + (i % 16));
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(16).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("BATCH LOADER: Should load a full batch without waiting for the window")
+    void load_DispatchesFullBatchImmediately() throws Exception {
+        loader = new BatchLoader<>("test", recording(ids -> values(ids)), 60_000_000, 4, 1);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            futures.add(loader.loadAsync(id));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(batches).containsExactly(List.of(1L, 2L, 3L, 4L));
+    }
+
+    @Test
+    @DisplayName("BATCH LOADER: Should not join a batch that started loading before the lookup")
+    void load_RequeuesKeyWhoseBatchIsLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        loader = new BatchLoader<>("test", recording(ids -> {
+            loading.countDown();
+            await(release);
+            return values(ids);
+        }), 1_000, 100, 2);
+
+        CompletableFuture<String> first = loader.loadAsync(7L);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = loader.loadAsync(7L);
+        release.countDown();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value-7");
+        assertThat(batches).containsExactly(List.of(7L), List.of(7L));
+    }
+
+    @Test
+    @DisplayName("BATCH LOADER: Should fail every lookup of a batch whose load failed, and return null for missing keys")
+    void load_PropagatesFailureAndMisses() {
+        loader = new BatchLoader<>("test", ids -> {
+            throw new IllegalStateException("database down");
+        }, 1_000, 100, 1);
+
+        assertThatThrownBy(() -> loader.load(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database down");
+
+        BatchLoader<Long, String> missing = new BatchLoader<>("test", ids -> Map.of(), 1_000, 100, 1);
+        assertThat(missing.load(1L)).isNull();
+        missing.close();
+    }
+
+    @Test
+    @DisplayName("BATCH LOADER: Should call straight through on the caller thread with a batch size of 1")
+    void load_CallsThroughWithoutBatching() {
+        List<String> threads = new ArrayList<>();
+        loader = new BatchLoader<>("test", ids -> {
+            threads.add(Thread.currentThread().getName());
+            return values(ids);
+        }, 1_000, 1, 1);
+
+        assertThat(loader.load(3L)).isEqualTo("value-3");
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    private Function<Collection<Long>, Map<Long, String>> recording(Function<Collection<Long>, Map<Long, String>> load) {
+        return ids -> {
+            batches.add(List.copyOf(ids));
+            return load.apply(ids);
+        };
+    }
+
+    private static Map<Long, String> values(Collection<Long> ids) {
+        Map<Long, String> values = new HashMap<>();
+        ids.forEach(id -> values.put(id, "value-" + id));
+        return values;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.logistics.logiroute.optimization;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("AlnsSolver Unit Tests")
+class AlnsSolverTest {
+
+    private static final int DIMS = CapacityGuard.DIMENSIONS;
+    private static final long START = 1_700_000_000L;
+
+    private final AlnsSolver.Settings settings = new AlnsSolver.Settings(100.0, 1000.0, 4, 30, 1_000, 42L);
+
+    @Test
+    @DisplayName("ALNS: Should cut the distance of the greedy plan while keeping capacity and hazmat")
+    void solve_ImprovesGreedyPlan() {
+        DispatchProblem problem = problem(300, 12, 5);
+        DispatchPlan greedy = GreedyDispatcher.solve(problem);
+        PlanMetrics greedyMetrics = PlanMetrics.evaluate(problem, greedy);
+
+        AlnsSolver.Result result = AlnsSolver.solve(problem, greedy, settings,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(20), () -> false, (plan, objective) -> { });
+
+        PlanMetrics metrics = PlanMetrics.evaluate(problem, result.plan());
+        assertThat(result.objective()).isCloseTo(AlnsSolver.objective(metrics, settings), within(1e-6));
+        assertThat(result.objective()).isLessThan(AlnsSolver.objective(greedyMetrics, settings));
+        assertThat(metrics.getTotalKm()).isLessThan(0.9 * greedyMetrics.getTotalKm());
+        assertThat(metrics.getLatePackages()).isLessThanOrEqualTo(greedyMetrics.getLatePackages());
+        assertThat(metrics.getUnassignedPackages()).isLessThanOrEqualTo(greedyMetrics.getUnassignedPackages());
+        assertThat(result.improvements()).isPositive();
+        assertFeasible(problem, result.plan());
+    }
+
+    @Test
+    @DisplayName("ALNS: Should report every new best and return the initial plan when cancelled")
+    void solve_AnytimeAndCancellable() {
+        DispatchProblem problem = problem(80, 4, 9);
+        DispatchPlan greedy = GreedyDispatcher.solve(problem);
+        double greedyObjective = AlnsSolver.objective(PlanMetrics.evaluate(problem, greedy), settings);
+
+        AlnsSolver.Result cancelled = AlnsSolver.solve(problem, greedy, settings,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(20), () -> true, (plan, objective) -> { });
+        assertThat(cancelled.iterations()).isZero();
+        assertThat(cancelled.objective()).isCloseTo(greedyObjective, within(1e-6));
+
+        double[] lastReported = {greedyObjective};
+        AlnsSolver.Result result = AlnsSolver.solve(problem, greedy, settings,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(20), () -> false, (plan, objective) -> {
+                    assertThat(objective).isLessThan(lastReported[0]);
+                    assertFeasible(problem, plan);
+                    lastReported[0] = objective;
+                });
+        assertThat(result.objective()).isEqualTo(lastReported[0]);
+    }
+
+    /**
+     * Packages scattered around a depot with 6-10 hour deadlines; every fifth
+     * vehicle is hazmat certified and every twentieth package is hazmat.
+     */
+    private static DispatchProblem problem(int packages, int vehicles, long seed) {
+        Random random = new Random(seed);
+        double[] capacity = new double[vehicles * DIMS];
+        int[] vehicleHazmat = new int[vehicles];
+        for (int v = 0; v < vehicles; v++) {
+            capacity[v * DIMS + CapacityGuard.WEIGHT] = 1000.0;
+            capacity[v * DIMS + CapacityGuard.VOLUME] = Double.POSITIVE_INFINITY;
+            capacity[v * DIMS + CapacityGuard.SLOTS] = Double.POSITIVE_INFINITY;
+            vehicleHazmat[v] = v % 5 == 0 ? CapacityGuard.ALL_HAZMAT_CLASSES : 0;
+        }
+        double[] demand = new double[packages * DIMS];
+        int[] packageHazmat = new int[packages];
+        long[] deadlines = new long[packages];
+        double[] latitudes = new double[packages];
+        double[] longitudes = new double[packages];
+        for (int p = 0; p < packages; p++) {
+            demand[p * DIMS + CapacityGuard.WEIGHT] = 5 + random.nextInt(40);
+            packageHazmat[p] = p % 20 == 0 ? 1 : 0;
+            deadlines[p] = START + 6 * 3600 + random.nextInt(4 * 3600);
+            latitudes[p] = 41.0 + (random.nextDouble() - 0.5) * 0.6;
+            longitudes[p] = 29.0 + (random.nextDouble() - 0.5) * 0.8;
+        }
+        return DispatchProblem.builder()
+                .depotLatitude(41.0)
+                .depotLongitude(29.0)
+                .startEpochSeconds(START)
+                .averageSpeedKmh(40.0)
+                .loadingSeconds(20 * 60)
+                .serviceSecondsPerStop(5 * 60)
+                .vehicleCount(vehicles)
+                .vehicleIds(new long[vehicles])
+                .vehicleCapacity(capacity)
+                .vehicleHazmat(vehicleHazmat)
+                .packageCount(packages)
+                .packageIds(new long[packages])
+                .demand(demand)
+                .packageHazmat(packageHazmat)
+                .deadlines(deadlines)
+                .latitudes(latitudes)
+                .longitudes(longitudes)
+                .build();
+    }
+
+    private static void assertFeasible(DispatchProblem problem, DispatchPlan plan) {
+        int[] seen = new int[problem.getPackageCount()];
+        int[][] routes = plan.getRoutes();
+        for (int v = 0; v < routes.length; v++) {
+            double weight = 0;
+            for (int p : routes[v]) {
+                seen[p]++;
+                weight += problem.getDemand()[p * DIMS + CapacityGuard.WEIGHT];
+                assertThat(problem.getPackageHazmat()[p] & ~problem.getVehicleHazmat()[v]).isZero();
+            }
+            assertThat(weight).isLessThanOrEqualTo(problem.getVehicleCapacity()[v * DIMS + CapacityGuard.WEIGHT] + 1e-9);
+        }
+        for (int p : plan.getUnassigned()) {
+            seen[p]++;
+        }
+        assertThat(seen).containsOnly(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.logistics.logiroute.optimization;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CapacitatedClustering Unit Tests")
+class CapacitatedClusteringTest {
+
+    private static final int DIMS = CapacityGuard.DIMENSIONS;
+
+    @ParameterizedTest
+    @EnumSource(CapacitatedClustering.Method.class)
+    @DisplayName("CLUSTERING: Should never load a cluster beyond capacity")
+    void cluster_RespectsCapacity(CapacitatedClustering.Method method) {
+        int n = 5_000;
+        Random random = new Random(7);
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        double[] demand = new double[n * DIMS];
+        for (int p = 0; p < n; p++) {
+            latitudes[p] = 41.0 + random.nextGaussian() * 0.2;
+            longitudes[p] = 29.0 + random.nextGaussian() * 0.2;
+            demand[p * DIMS + CapacityGuard.WEIGHT] = 5 + random.nextInt(50);
+            demand[p * DIMS + CapacityGuard.VOLUME] = random.nextDouble();
+        }
+        double[] capacity = {1000.0, 20.0, Double.POSITIVE_INFINITY};
+
+        ClusterPlan plan = CapacitatedClustering.cluster(method, latitudes, longitudes, demand, capacity,
+                41.0, 29.0, 20, 8, 0.01);
+
+        double[] load = new double[plan.getClusterCount() * DIMS];
+        for (int p = 0; p < n; p++) {
+            int cluster = plan.getClusterOf()[p];
+            assertThat(cluster).isBetween(0, plan.getClusterCount() - 1);
+            for (int d = 0; d < DIMS; d++) {
+                load[cluster * DIMS + d] += demand[p * DIMS + d];
+            }
+        }
+        for (int c = 0; c < plan.getClusterCount(); c++) {
+            assertThat(load[c * DIMS + CapacityGuard.WEIGHT]).isLessThanOrEqualTo(1000.0 + 1e-6);
+            assertThat(load[c * DIMS + CapacityGuard.VOLUME]).isLessThanOrEqualTo(20.0 + 1e-6);
+            assertThat(plan.getLoad()[c * DIMS + CapacityGuard.WEIGHT]).isEqualTo(load[c * DIMS + CapacityGuard.WEIGHT]);
+        }
+    }
+
+    @Test
+    @DisplayName("CLUSTERING: Should leave packages without coordinates or bigger than a cluster unclustered")
+    void cluster_Unclusterable() {
+        double[] latitudes = {41.0, Double.NaN, 41.01, 41.02};
+        double[] longitudes = {29.0, 29.0, 29.01, 29.02};
+        double[] demand = {10, 0, 0, 10, 0, 0, 2000, 0, 0, 10, 0, 0};
+        double[] capacity = {1000.0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+
+        ClusterPlan plan = CapacitatedClustering.cluster(CapacitatedClustering.Method.KMEANS, latitudes, longitudes,
+                demand, capacity, Double.NaN, Double.NaN, 20, 8, 0.01);
+
+        assertThat(plan.getClusterOf()).containsExactly(0, ClusterPlan.UNCLUSTERED, ClusterPlan.UNCLUSTERED, 0);
+        assertThat(plan.getClusterCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CLUSTERING: K-means should keep distant groups apart and tighten the sweep")
+    void kMeans_SeparatesGroups() {
+        // Two towns east and west of the depot, each filling exactly two vehicles
+        int perTown = 40;
+        double[] latitudes = new double[2 * perTown];
+        double[] longitudes = new double[2 * perTown];
+        double[] demand = new double[2 * perTown * DIMS];
+        Random random = new Random(11);
+        for (int p = 0; p < 2 * perTown; p++) {
+            double townLon = p < perTown ? 28.5 : 29.5;
+            latitudes[p] = 41.0 + (random.nextDouble() - 0.5) * 0.05;
+            longitudes[p] = townLon + (random.nextDouble() - 0.5) * 0.05;
+            demand[p * DIMS + CapacityGuard.WEIGHT] = 50;
+        }
+        double[] capacity = {1000.0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+
+        ClusterPlan sweep = CapacitatedClustering.cluster(CapacitatedClustering.Method.SWEEP, latitudes, longitudes,
+                demand, capacity, 41.0, 29.0, 20, 8, 0.01);
+        ClusterPlan kMeans = CapacitatedClustering.cluster(CapacitatedClustering.Method.KMEANS, latitudes, longitudes,
+                demand, capacity, 41.0, 29.0, 20, 8, 0.01);
+
+        for (ClusterPlan plan : new ClusterPlan[]{sweep, kMeans}) {
+            for (int[] members : plan.members()) {
+                boolean west = members[0] < perTown;
+                for (int p : members) {
+                    assertThat(p < perTown).isEqualTo(west);
+                }
+            }
+        }
+        ClusterMetrics sweepMetrics = ClusterMetrics.evaluate(sweep, latitudes, longitudes, capacity);
+        ClusterMetrics kMeansMetrics = ClusterMetrics.evaluate(kMeans, latitudes, longitudes, capacity);
+        assertThat(kMeansMetrics.getMeanDistanceKm()).isLessThanOrEqualTo(sweepMetrics.getMeanDistanceKm() + 1e-9);
+        assertThat(kMeansMetrics.getMeanFill()).isGreaterThan(0.0);
+        assertThat(kMeans.getIterations()).isPositive();
+    }
+}
@@ -0,0 +1,118 @@
+package com.logistics.logiroute.proto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.PackageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoProtoCodecTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0, 12, 345_000_000);
+
+    @Test
+    @DisplayName("PROTOBUF: Should round-trip routes with delta-encoded ids and null fields")
+    void encodeRoutes_RoundTrips() {
+        List<DeliveryRouteDto> routes = List.of(route(1_000_000L, 40), route(999_990L, 0), route(null, 3));
+
+        List<DeliveryRouteDto> decoded = DtoProtoCodec.decodeRoutes(DtoProtoCodec.encodeRoutes(routes));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(routes);
+    }
+
+    @Test
+    @DisplayName("PROTOBUF: Should round-trip a single package with negative and extreme values")
+    void encodePackage_RoundTrips() {
+        PackageDto pkg = pkg(Long.MIN_VALUE, 0);
+        pkg.setPalletSlots(-1);
+        pkg.setLatitude(-Double.MAX_VALUE);
+        pkg.setDeliveryDeadline(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1_000_000));
+        pkg.setArchived(true);
+
+        assertThat(DtoProtoCodec.decodePackage(DtoProtoCodec.encodePackage(pkg)))
+                .usingRecursiveComparison().isEqualTo(pkg);
+    }
+
+    @Test
+    @DisplayName("PROTOBUF: Should be well under half the size of the JSON for a loaded route")
+    void encodeRoute_SmallerThanJson() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        DeliveryRouteDto route = route(7L, 20);
+
+        byte[] binary = DtoProtoCodec.encodeRoute(route);
+
+        assertThat(binary.length).isLessThan(objectMapper.writeValueAsBytes(route).length / 2);
+    }
+
+    @Test
+    @DisplayName("PROTOBUF: Should keep enum numbers in the schema in step with the Java enums")
+    void schema_MatchesEnums() throws IOException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/proto/logiroute.proto")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        for (PackageStatus status : PackageStatus.values()) {
+            assertThat(schema).contains("PACKAGE_STATUS_" + status.name() + " = " + (status.ordinal() + 1) + ";");
+        }
+        for (HazmatClass hazmat : HazmatClass.values()) {
+            assertThat(schema).contains("HAZMAT_CLASS_" + hazmat.name() + " = " + (hazmat.ordinal() + 1) + ";");
+        }
+    }
+
+    private static DeliveryRouteDto route(Long id, int packageCount) {
+        List<PackageDto> packages = new ArrayList<>();
+        for (int i = 0; i < packageCount; i++) {
+            // Mostly ascending ids with the odd step back, as after a manual reorder
+            packages.add(pkg(i % 7 == 6 ? null : 5_000_000L + i * 3L - (i % 5 == 4 ? 20 : 0), i));
+        }
+        return DeliveryRouteDto.builder()
+                .id(id)
+                .vehicleId(id == null ? null : 12L)
+                .vehicleLicensePlate("34-ABC-" + id)
+                .packages(packages)
+                .createdAt(NOW)
+                .completedAt(null)
+                .totalWeight(412.5)
+                .plannedStart(NOW.plusHours(1))
+                .plannedEnd(NOW.plusHours(6))
+                .dispatchedAt(id == null ? null : NOW.plusMinutes(75))
+                .build();
+    }
+
+    private static PackageDto pkg(Long id, int stop) {
+        return PackageDto.builder()
+                .id(id)
+                .deliveryAddress(stop + " Bağdat Caddesi, Kadıköy, İstanbul")
+                .addressKey(stop + " bagdat caddesi kadikoy istanbul")
+                .weightKg(12.5 + stop)
+                .volumeM3(stop % 2 == 0 ? 0.25 : null)
+                .palletSlots(1)
+                .hazmatClass(stop % 4 == 0 ? HazmatClass.CORROSIVE : null)
+                .status(PackageStatus.LOADED)
+                .deliveryDeadline(NOW.plusHours(8))
+                .latitude(40.9637 + stop * 1e-4)
+                .longitude(29.0654)
+                .earliestDelivery(NOW.plusHours(2))
+                .latestDelivery(stop % 3 == 0 ? null : NOW.plusHours(4))
+                .deliveryRouteId(7L)
+                .stopSequence(stop)
+                .depotId(1L)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.logistics.logiroute.repository;
+
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("PackageRepository Tests")
+class PackageRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Test
+    @DisplayName("UNASSIGNED: Should leave out packages cancelled off their route")
+    void findUnassigned_ExcludesCancelled() {
+        Depot depot = entityManager.persist(Depot.builder().code("IST").name("Istanbul").build());
+        Package waiting = entityManager.persist(pkg(depot, "Waiting"));
+        Package cancelled = entityManager.persist(pkg(depot, "Cancelled"));
+
+        // The state DeliveryService.removePackage leaves behind
+        cancelled.setStatus(PackageStatus.CANCELLED);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(packageRepository.findUnassigned()).extracting(Package::getId).containsExactly(waiting.getId());
+        assertThat(packageRepository.findUnassignedByDepotId(depot.getId()))
+                .extracting(Package::getId).containsExactly(waiting.getId());
+        assertThat(packageRepository.stampUnassigned().count()).isEqualTo(1L);
+        assertThat(packageRepository.stampUnassignedByDepotId(depot.getId()).count()).isEqualTo(1L);
+    }
+
+    private static Package pkg(Depot depot, String address) {
+        return Package.builder()
+                .deliveryAddress(address)
+                .weightKg(5.0)
+                .deliveryDeadline(LocalDateTime.now().plusDays(1))
+                .depot(depot)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.logistics.logiroute.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionStampTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2030, 1, 1, 8, 0, 0, 123_456_789);
+
+    @Test
+    @DisplayName("ETAG: Should change when any component of the stamp changes")
+    void eTag_ChangesWithEachComponent() {
+        VersionStamp stamp = new VersionStamp(3L, 12L, 7L, T);
+
+        assertThat(stamp.eTag()).startsWith("W/\"").endsWith("\"")
+                .isEqualTo(new VersionStamp(3L, 12L, 7L, T).eTag())
+                .isNotEqualTo(new VersionStamp(4L, 12L, 7L, T).eTag())
+                .isNotEqualTo(new VersionStamp(3L, 13L, 7L, T).eTag())
+                .isNotEqualTo(new VersionStamp(3L, 12L, 8L, T).eTag())
+                .isNotEqualTo(new VersionStamp(3L, 12L, 7L, T.plusNanos(1_000)).eTag());
+    }
+
+    @Test
+    @DisplayName("ETAG: Should combine row sets by summing counts and keeping the newest update")
+    void and_SumsAndKeepsNewest() {
+        VersionStamp route = new VersionStamp(1L, 5L, 2L, T);
+        VersionStamp packages = new VersionStamp(2L, 9L, 4L, T.plusMinutes(1));
+        VersionStamp none = new VersionStamp(0L, null, null, null);
+
+        assertThat(route.and(packages).and(none)).isEqualTo(new VersionStamp(3L, 14L, 6L, T.plusMinutes(1)));
+        assertThat(none.isEmpty()).isTrue();
+        assertThat(none.lastModifiedMillis()).isEqualTo(-1L);
+        assertThat(route.and(none).lastModifiedMillis()).isEqualTo(route.lastModifiedMillis());
+    }
+}
@@ -0,0 +1,75 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.analytics.KpiDelta;
+import com.logistics.logiroute.domain.entity.KpiRollup;
+import com.logistics.logiroute.domain.enums.RollupGranularity;
+import com.logistics.logiroute.dto.response.VehicleKpiDto;
+import com.logistics.logiroute.repository.KpiRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private KpiRollupRepository kpiRollupRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    @DisplayName("KPI ROLLUPS: Should increment the hour bucket and create the missing day bucket")
+    void applyDelta_UpdatesOrInserts() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 2, 14, 37);
+        KpiDelta delta = KpiDelta.forDelivery(true);
+
+        when(kpiRollupRepository.increment(7L, RollupGranularity.HOUR, LocalDateTime.of(2024, 5, 2, 14, 0), delta))
+                .thenReturn(1);
+        when(kpiRollupRepository.increment(7L, RollupGranularity.DAY, LocalDateTime.of(2024, 5, 2, 0, 0), delta))
+                .thenReturn(0);
+
+        analyticsService.applyDelta(7L, at, delta);
+
+        ArgumentCaptor<KpiRollup> rollupCaptor = ArgumentCaptor.forClass(KpiRollup.class);
+        verify(kpiRollupRepository, times(1)).saveAndFlush(rollupCaptor.capture());
+        assertThat(rollupCaptor.getValue().getGranularity()).isEqualTo(RollupGranularity.DAY);
+        assertThat(rollupCaptor.getValue().getBucketStart()).isEqualTo(LocalDateTime.of(2024, 5, 2, 0, 0));
+        assertThat(rollupCaptor.getValue().getPackagesOnTime()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("KPI ROLLUPS: Should derive ratios from the summed counters")
+    void getVehicleKpis_DerivesRatios() {
+        KpiRollup rollup = KpiRollup.of(7L, RollupGranularity.DAY, LocalDateTime.of(2024, 5, 2, 0, 0),
+                new KpiDelta(4, 36, 30, 27, 2400.0, 4000.0, 4 * 5400L));
+        when(kpiRollupRepository.findBuckets(eq(RollupGranularity.DAY), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(null))).thenReturn(List.of(rollup));
+
+        List<VehicleKpiDto> kpis = analyticsService.getVehicleKpis(
+                LocalDate.of(2024, 2, 3), LocalDate.of(2024, 5, 2), RollupGranularity.DAY, null);
+
+        assertThat(kpis).singleElement().satisfies(kpi -> {
+            assertThat(kpi.getPackagesPerRoute()).isEqualTo(9.0);
+            assertThat(kpi.getOnTimeRate()).isCloseTo(0.9, within(1e-9));
+            assertThat(kpi.getUtilization()).isCloseTo(0.6, within(1e-9));
+            assertThat(kpi.getAverageRouteMinutes()).isEqualTo(90.0);
+        });
+        verify(kpiRollupRepository).findBuckets(RollupGranularity.DAY,
+                LocalDateTime.of(2024, 2, 3, 0, 0), LocalDateTime.of(2024, 5, 3, 0, 0), null);
+    }
+}
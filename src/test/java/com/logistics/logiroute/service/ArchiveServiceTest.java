@@ -0,0 +1,122 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.ArchiveProperties;
+import com.logistics.logiroute.domain.entity.ArchivedDeliveryRoute;
+import com.logistics.logiroute.domain.entity.ArchivedPackage;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.mapper.ArchiveMapper;
+import com.logistics.logiroute.mapper.ArchiveMapperImpl;
+import com.logistics.logiroute.repository.ArchivedDeliveryRouteRepository;
+import com.logistics.logiroute.repository.ArchivedPackageRepository;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveServiceTest {
+
+    @Mock
+    private DeliveryRouteRepository deliveryRouteRepository;
+
+    @Mock
+    private PackageRepository packageRepository;
+
+    @Mock
+    private ArchivedDeliveryRouteRepository archivedDeliveryRouteRepository;
+
+    @Mock
+    private ArchivedPackageRepository archivedPackageRepository;
+
+    @Spy
+    private ArchiveMapper archiveMapper = new ArchiveMapperImpl();
+
+    @Spy
+    private ArchiveProperties archiveProperties = new ArchiveProperties();
+
+    @InjectMocks
+    private ArchiveService archiveService;
+
+    @Test
+    @DisplayName("ARCHIVAL: Should copy a completed route and its packages before deleting the live rows")
+    @SuppressWarnings("unchecked")
+    void archiveBatch_CopiesThenDeletes() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        Vehicle vehicle = Vehicle.builder().id(3L).licensePlate("TRUCK-003").capacityKg(1000.0).build();
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(11L)
+                .vehicle(vehicle)
+                .createdAt(cutoff.minusDays(1))
+                .completedAt(cutoff.minusHours(20))
+                .build();
+        Package pkg = Package.builder()
+                .id(21L)
+                .deliveryAddress("Address")
+                .weightKg(120.0)
+                .status(PackageStatus.DELIVERED)
+                .deliveryDeadline(cutoff.minusHours(18))
+                .build();
+        route.addPackage(pkg);
+
+        when(deliveryRouteRepository.findIdsCompletedBefore(eq(cutoff), any(Pageable.class))).thenReturn(List.of(11L));
+        when(deliveryRouteRepository.findAllById(List.of(11L))).thenReturn(List.of(route));
+        when(packageRepository.findByDeliveryRouteIdIn(List.of(11L))).thenReturn(List.of(pkg));
+
+        int archived = archiveService.archiveBatch(cutoff);
+
+        assertThat(archived).isEqualTo(1);
+
+        ArgumentCaptor<List<ArchivedDeliveryRoute>> routeCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<ArchivedPackage>> packageCaptor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(archivedDeliveryRouteRepository, archivedPackageRepository,
+                packageRepository, deliveryRouteRepository);
+        inOrder.verify(archivedDeliveryRouteRepository).saveAll(routeCaptor.capture());
+        inOrder.verify(archivedPackageRepository).saveAll(packageCaptor.capture());
+        inOrder.verify(packageRepository).deleteByDeliveryRouteIdIn(List.of(11L));
+        inOrder.verify(deliveryRouteRepository).deleteByIdIn(List.of(11L));
+
+        ArchivedDeliveryRoute archivedRoute = routeCaptor.getValue().get(0);
+        assertThat(archivedRoute.getId()).isEqualTo(11L);
+        assertThat(archivedRoute.getVehicleId()).isEqualTo(3L);
+        assertThat(archivedRoute.getPackageCount()).isEqualTo(1);
+        assertThat(archivedRoute.getTotalWeight()).isEqualTo(120.0);
+        assertThat(archivedRoute.isNew()).isTrue();
+
+        ArchivedPackage archivedPackage = packageCaptor.getValue().get(0);
+        assertThat(archivedPackage.getId()).isEqualTo(21L);
+        assertThat(archivedPackage.getDeliveryRouteId()).isEqualTo(11L);
+        assertThat(archivedPackage.getStatus()).isEqualTo(PackageStatus.DELIVERED);
+        assertThat(archivedPackage.getArchivedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("ARCHIVAL: Should do nothing when no route is old enough")
+    void archiveBatch_NothingToArchive() {
+        when(deliveryRouteRepository.findIdsCompletedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertThat(archiveService.archiveBatch(LocalDateTime.now())).isZero();
+
+        verify(archivedPackageRepository, never()).saveAll(anyList());
+        verify(packageRepository, never()).deleteByDeliveryRouteIdIn(anyList());
+    }
+}
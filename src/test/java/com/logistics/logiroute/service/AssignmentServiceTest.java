@@ -0,0 +1,253 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.AssignmentProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.exception.InvalidStatusTransitionException;
+import com.logistics.logiroute.exception.VehicleOverloadedException;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.AssignmentCandidate;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AssignmentService Unit Tests")
+class AssignmentServiceTest {
+
+    private static final long ROUTE_ID = 99L;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PackageRepository packageRepository;
+
+    @Mock
+    private DeliveryRouteRepository deliveryRouteRepository;
+
+    @Mock
+    private PackageMapper packageMapper;
+
+    @Mock
+    private DeliveryRouteMapper deliveryRouteMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeliveryService deliveryService;
+    private AssignmentService assignmentService;
+    private Vehicle vehicle;
+    private final Map<Long, Package> packages = new LinkedHashMap<>();
+    private DeliveryRoute savedRoute;
+
+    @BeforeEach
+    void setUp() {
+        deliveryService = spy(new DeliveryService(vehicleRepository, packageRepository, deliveryRouteRepository,
+                packageMapper, deliveryRouteMapper, new SchedulingProperties(), eventPublisher));
+        AssignmentProperties properties = new AssignmentProperties();
+        properties.setChunkSize(2);
+        properties.setMaxPackages(10);
+        assignmentService = new AssignmentService(deliveryService, vehicleRepository, packageRepository,
+                deliveryRouteRepository, deliveryRouteMapper, properties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        vehicle = Vehicle.builder()
+                .id(1L)
+                .licensePlate("TEST-123")
+                .capacityKg(1000.0)
+                .currentLoadKg(0.0)
+                .status(VehicleStatus.AVAILABLE)
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 5; id++) {
+            packages.put(id, Package.builder()
+                    .id(id)
+                    .deliveryAddress("Address " + id)
+                    .weightKg(100.0)
+                    .status(PackageStatus.CREATED)
+                    // Package 5 is due first, package 1 last
+                    .deliveryDeadline(now.plusHours(10 - id))
+                    .build());
+        }
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(packageRepository.findAssignmentCandidates(anyList())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(packages::get)
+                        .map(pkg -> new AssignmentCandidate(pkg.getId(), pkg.getStatus(), pkg.getDepotId(),
+                                pkg.getDeliveryRoute() != null ? pkg.getDeliveryRoute().getId() : null,
+                                pkg.getWeightKg(), pkg.getVolumeM3(), pkg.getPalletSlots(), pkg.getHazmatClass(),
+                                pkg.getDeliveryDeadline()))
+                        .toList());
+        when(packageRepository.findAllById(anyList())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(packages::get).toList());
+        when(deliveryRouteRepository.save(any(DeliveryRoute.class))).thenAnswer(invocation -> {
+            savedRoute = invocation.getArgument(0);
+            savedRoute.setId(ROUTE_ID);
+            return savedRoute;
+        });
+        when(deliveryRouteRepository.getReferenceById(ROUTE_ID)).thenAnswer(invocation -> savedRoute);
+        when(deliveryRouteRepository.findById(ROUTE_ID)).thenAnswer(invocation -> Optional.of(savedRoute));
+        when(deliveryRouteMapper.toDto(any(DeliveryRoute.class))).thenReturn(new DeliveryRouteDto());
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should run requests up to one chunk in a single DeliveryService transaction")
+    void assign_SmallRequest_Delegates() {
+        doReturn(new DeliveryRouteDto()).when(deliveryService).assignPackagesToVehicle(1L, List.of(1L, 2L));
+
+        assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L));
+
+        verify(deliveryService).assignPackagesToVehicle(1L, List.of(1L, 2L));
+        verify(packageRepository, never()).findAssignmentCandidates(anyList());
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should reject requests over the maximum size before reading anything")
+    void assign_OverMaximum_Rejected() {
+        List<Long> ids = LongStream.rangeClosed(1, 11).boxed().toList();
+
+        assertThatThrownBy(() -> assignmentService.assignPackagesToVehicle(1L, ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 10 packages");
+
+        verifyNoInteractions(vehicleRepository, packageRepository, deliveryRouteRepository);
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should load chunk by chunk in deadline order and reserve the vehicle once")
+    void assign_LargeRequest_LoadsInChunks() {
+        assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L, 3L, 4L, 5L));
+
+        verify(packageRepository, times(3)).findAssignmentCandidates(anyList());
+        verify(packageRepository).findAllById(List.of(5L, 4L));
+        verify(packageRepository).findAllById(List.of(3L, 2L));
+        verify(packageRepository).findAllById(List.of(1L));
+        assertThat(packages.values()).allSatisfy(pkg -> {
+            assertThat(pkg.getStatus()).isEqualTo(PackageStatus.LOADED);
+            assertThat(pkg.getDeliveryRoute()).isSameAs(savedRoute);
+        });
+        assertThat(packages.get(5L).getStopSequence()).isZero();
+        assertThat(packages.get(1L).getStopSequence()).isEqualTo(4);
+        assertThat(vehicle.getCurrentLoadKg()).isEqualTo(500.0);
+        assertThat(vehicle.getStatus()).isEqualTo(VehicleStatus.IN_TRANSIT);
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should stop validating at the first chunk that breaks the rules")
+    void assign_InvalidPackage_RejectedEarly() {
+        packages.get(3L).setStatus(PackageStatus.DELIVERED);
+
+        assertThatThrownBy(() -> assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Package ID 3 is not in CREATED status");
+
+        verify(packageRepository, times(2)).findAssignmentCandidates(anyList());
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should reject CREATED packages already planned on a scheduled trip")
+    void assign_PackageOnScheduledTrip_Rejected() {
+        packages.get(4L).setDeliveryRoute(DeliveryRoute.builder().id(7L).build());
+
+        assertThatThrownBy(() -> assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Package ID 4 is already planned on route ID 7");
+
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should reject a capacity breach as soon as the running demand exceeds the vehicle")
+    void assign_CapacityBreach_RejectedEarly() {
+        vehicle.setCapacityKg(150.0);
+
+        assertThatThrownBy(() -> assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .isInstanceOf(VehicleOverloadedException.class);
+
+        verify(packageRepository, times(1)).findAssignmentCandidates(anyList());
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CHUNKING: Should undo loaded chunks and the reservation when a later chunk fails")
+    void assign_LaterChunkFails_Compensates() {
+        // Assigned elsewhere between validation and loading
+        when(packageRepository.findAllById(List.of(3L, 2L))).thenAnswer(invocation -> {
+            packages.get(3L).setStatus(PackageStatus.LOADED);
+            return List.of(packages.get(3L), packages.get(2L));
+        });
+
+        assertThatThrownBy(() -> assignmentService.assignPackagesToVehicle(1L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Package ID 3 is not in CREATED status");
+
+        for (long id : new long[]{5L, 4L, 2L, 1L}) {
+            assertThat(packages.get(id).getStatus()).isEqualTo(PackageStatus.CREATED);
+            assertThat(packages.get(id).getDeliveryRoute()).isNull();
+            assertThat(packages.get(id).getStopSequence()).isNull();
+        }
+        assertThat(vehicle.getCurrentLoadKg()).isZero();
+        assertThat(vehicle.getStatus()).isEqualTo(VehicleStatus.AVAILABLE);
+        verify(deliveryRouteRepository).deleteById(ROUTE_ID);
+
+        ArgumentCaptor<PackageStatusChangedEvent> events = ArgumentCaptor.forClass(PackageStatusChangedEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .filteredOn(event -> event.toStatus() == PackageStatus.CREATED)
+                .extracting(PackageStatusChangedEvent::packageId)
+                .containsExactlyInAnyOrder(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("STATE MACHINE: Should allow LOADED -> CREATED only as the rollback of a failed assignment")
+    void rollBack_OnlyUndoesLoading() {
+        Package loaded = packages.get(1L);
+        loaded.setStatus(PackageStatus.LOADED);
+        Package delivered = packages.get(2L);
+        delivered.setStatus(PackageStatus.DELIVERED);
+
+        assertThat(loaded.canTransitionTo(PackageStatus.CREATED)).isFalse();
+        deliveryService.rollBackPackageStatus(loaded, PackageStatus.CREATED);
+
+        assertThat(loaded.getStatus()).isEqualTo(PackageStatus.CREATED);
+        assertThatThrownBy(() -> deliveryService.rollBackPackageStatus(delivered, PackageStatus.CREATED))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+        assertThat(delivered.getStatus()).isEqualTo(PackageStatus.DELIVERED);
+    }
+}
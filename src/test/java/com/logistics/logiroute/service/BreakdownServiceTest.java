@@ -0,0 +1,245 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.RedispatchProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.TelemetryProperties;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.dto.response.BreakdownResultDto;
+import com.logistics.logiroute.dto.response.PackageTransferDto;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import com.logistics.logiroute.telemetry.Position;
+import com.logistics.logiroute.telemetry.PositionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BreakdownService Unit Tests")
+class BreakdownServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PackageRepository packageRepository;
+
+    @Mock
+    private DeliveryRouteRepository deliveryRouteRepository;
+
+    @Mock
+    private PackageMapper packageMapper;
+
+    @Mock
+    private DeliveryRouteMapper deliveryRouteMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeliveryService deliveryService;
+    private BreakdownService breakdownService;
+    private PositionStore positionStore;
+    private final AtomicLong ids = new AtomicLong(100);
+    private final List<DeliveryRoute> activeRoutes = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        deliveryService = new DeliveryService(vehicleRepository, packageRepository,
+                deliveryRouteRepository, packageMapper, deliveryRouteMapper, new SchedulingProperties(), eventPublisher);
+        positionStore = new PositionStore(new TelemetryProperties());
+        breakdownService = new BreakdownService(deliveryService, vehicleRepository, deliveryRouteRepository,
+                positionStore, new RedispatchProperties(), eventPublisher);
+        when(deliveryRouteRepository.findByCompletedAtIsNull()).thenReturn(activeRoutes);
+    }
+
+    @Test
+    @DisplayName("BREAKDOWN: Should move loaded packages to a vehicle with room and return the rest to the pool")
+    void breakdown_MovesLoadedPackages() {
+        Vehicle failed = vehicle(1L, 1000.0);
+        DeliveryRoute failedRoute = route(10L, failed);
+        Package delivered = load(failedRoute, failed, pkg(41.00, 29.00, 100.0, 1));
+        delivered.setStatus(PackageStatus.DELIVERED);
+        Package first = load(failedRoute, failed, pkg(41.01, 29.01, 100.0, 2));
+        Package heavy = load(failedRoute, failed, pkg(41.02, 29.02, 600.0, 3));
+
+        Vehicle other = vehicle(2L, 500.0);
+        DeliveryRoute otherRoute = route(20L, other);
+        Package existing = load(otherRoute, other, pkg(41.05, 29.05, 100.0, 4));
+
+        BreakdownResultDto result = breakdownService.reportBreakdown(1L);
+
+        assertThat(failed.getStatus()).isEqualTo(VehicleStatus.OUT_OF_SERVICE);
+        assertThat(failed.getCurrentLoadKg()).isZero();
+        assertThat(failedRoute.getCompletedAt()).isNotNull();
+        assertThat(failedRoute.getPackages()).containsExactly(delivered);
+        assertThat(result.getClosedRouteIds()).containsExactly(10L);
+
+        assertThat(first.getStatus()).isEqualTo(PackageStatus.LOADED);
+        assertThat(first.getDeliveryRoute()).isSameAs(otherRoute);
+        assertThat(otherRoute.getPackages()).containsExactlyInAnyOrder(existing, first);
+        assertThat(other.getCurrentLoadKg()).isEqualTo(200.0);
+        assertThat(result.getTransferred()).singleElement().satisfies(transfer -> {
+            assertThat(transfer.getPackageId()).isEqualTo(first.getId());
+            assertThat(transfer.getRouteId()).isEqualTo(20L);
+            assertThat(transfer.getStopSequence()).isEqualTo(first.getStopSequence());
+        });
+
+        assertThat(heavy.getStatus()).isEqualTo(PackageStatus.CREATED);
+        assertThat(heavy.getDeliveryRoute()).isNull();
+        assertThat(result.getReturnedPackageIds()).containsExactly(heavy.getId());
+    }
+
+    @Test
+    @DisplayName("BREAKDOWN: Should prefer the vehicle closest to the package by its latest GPS fix")
+    void breakdown_PrefersNearestVehicle() {
+        Vehicle failed = vehicle(1L, 1000.0);
+        DeliveryRoute failedRoute = route(10L, failed);
+        Package stranded = load(failedRoute, failed, pkg(41.00, 29.00, 100.0, 5));
+
+        Vehicle far = vehicle(2L, 1000.0);
+        route(20L, far);
+        Vehicle near = vehicle(3L, 1000.0);
+        DeliveryRoute nearRoute = route(30L, near);
+        positionStore.register(2L).add(new Position(now, 41.50, 29.50, null, null));
+        positionStore.register(3L).add(new Position(now, 41.01, 29.01, null, null));
+        RedispatchProperties properties = new RedispatchProperties();
+        properties.setCandidateVehicles(1);
+        breakdownService = new BreakdownService(new DeliveryService(vehicleRepository, packageRepository,
+                deliveryRouteRepository, packageMapper, deliveryRouteMapper, new SchedulingProperties(), eventPublisher),
+                vehicleRepository, deliveryRouteRepository, positionStore, properties, eventPublisher);
+
+        breakdownService.reportBreakdown(1L);
+
+        assertThat(stranded.getDeliveryRoute()).isSameAs(nearRoute);
+    }
+
+    @Test
+    @DisplayName("BREAKDOWN: Should spread a 200-stop route over the vehicles with room, keeping stop sequences dense")
+    void breakdown_LargeRoute() {
+        Vehicle failed = vehicle(1L, 10_000.0);
+        DeliveryRoute failedRoute = route(10L, failed);
+        for (int i = 0; i < 200; i++) {
+            load(failedRoute, failed, pkg(41.0 + (i % 20) * 0.01, 29.0 + (i / 20) * 0.01, 10.0, 1 + i % 8));
+        }
+        List<DeliveryRoute> receiving = new ArrayList<>();
+        for (long id = 2; id <= 5; id++) {
+            Vehicle other = vehicle(id, 600.0);
+            DeliveryRoute route = route(id * 10, other);
+            for (int i = 0; i < 10; i++) {
+                load(route, other, pkg(41.0 + id * 0.02, 29.0 + i * 0.02, 10.0, 8));
+            }
+            receiving.add(route);
+        }
+
+        BreakdownResultDto result = breakdownService.reportBreakdown(1L);
+
+        assertThat(result.getTransferred()).hasSize(200);
+        assertThat(result.getReturnedPackageIds()).isEmpty();
+        assertThat(result.getTransferred()).extracting(PackageTransferDto::getRouteId).doesNotContain(10L);
+        for (DeliveryRoute route : receiving) {
+            assertThat(route.getVehicle().getCurrentLoadKg()).isLessThanOrEqualTo(600.0);
+            for (int i = 0; i < route.getPackages().size(); i++) {
+                assertThat(route.getPackages().get(i).getStopSequence()).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("BREAKDOWN: Should reject a vehicle that is already out of service")
+    void breakdown_AlreadyOutOfService_Rejected() {
+        Vehicle failed = vehicle(1L, 1000.0);
+        failed.setStatus(VehicleStatus.OUT_OF_SERVICE);
+
+        assertThatThrownBy(() -> breakdownService.reportBreakdown(1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already out of service");
+    }
+
+    @Test
+    @DisplayName("BREAKDOWN: Should refuse to complete a route the breakdown closed, keeping the vehicle out of service")
+    void breakdown_ClosedRouteCannotBeCompleted() {
+        Vehicle failed = vehicle(1L, 1000.0);
+        DeliveryRoute failedRoute = route(10L, failed);
+        Package delivered = load(failedRoute, failed, pkg(41.00, 29.00, 100.0, 1));
+        delivered.setStatus(PackageStatus.DELIVERED);
+        load(failedRoute, failed, pkg(41.01, 29.01, 100.0, 2));
+        when(deliveryRouteRepository.findById(10L)).thenReturn(Optional.of(failedRoute));
+
+        breakdownService.reportBreakdown(1L);
+        // Load picked up since must not be released by the closed route
+        failed.addLoad(50.0, 0.0, 0);
+
+        assertThatThrownBy(() -> deliveryService.completeRoute(10L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already completed");
+        assertThat(failed.getStatus()).isEqualTo(VehicleStatus.OUT_OF_SERVICE);
+        assertThat(failed.getCurrentLoadKg()).isEqualTo(50.0);
+    }
+
+    private Vehicle vehicle(Long id, double capacityKg) {
+        Vehicle vehicle = Vehicle.builder()
+                .id(id)
+                .licensePlate("TEST-" + id)
+                .capacityKg(capacityKg)
+                .currentLoadKg(0.0)
+                .status(VehicleStatus.IN_TRANSIT)
+                .build();
+        when(vehicleRepository.findById(id)).thenReturn(Optional.of(vehicle));
+        return vehicle;
+    }
+
+    private DeliveryRoute route(Long id, Vehicle vehicle) {
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(id)
+                .vehicle(vehicle)
+                .createdAt(now.minusHours(1))
+                .dispatchedAt(now.minusHours(1))
+                .build();
+        activeRoutes.add(route);
+        when(deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(vehicle.getId())).thenReturn(List.of(route));
+        return route;
+    }
+
+    private Package pkg(double latitude, double longitude, double weightKg, int deadlineHours) {
+        return Package.builder()
+                .id(ids.incrementAndGet())
+                .deliveryAddress("Address")
+                .latitude(latitude)
+                .longitude(longitude)
+                .weightKg(weightKg)
+                .status(PackageStatus.CREATED)
+                .deliveryDeadline(now.plusHours(deadlineHours))
+                .build();
+    }
+
+    private Package load(DeliveryRoute route, Vehicle vehicle, Package pkg) {
+        route.addPackage(pkg);
+        pkg.setStatus(PackageStatus.LOADED);
+        vehicle.addLoad(pkg.getWeightKg(), 0.0, 0);
+        return pkg;
+    }
+}
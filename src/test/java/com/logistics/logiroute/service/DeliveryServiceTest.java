@@ -1,6 +1,9 @@
 package com.logistics.logiroute.service;
 
+import com.logistics.logiroute.analytics.RouteCompletedEvent;
+import com.logistics.logiroute.config.SchedulingProperties;
 import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Depot;
 import com.logistics.logiroute.domain.entity.Package;
 import com.logistics.logiroute.domain.entity.Vehicle;
 import com.logistics.logiroute.domain.enums.PackageStatus;
@@ -10,6 +13,7 @@ import com.logistics.logiroute.dto.PackageDto;
 import com.logistics.logiroute.exception.InvalidStatusTransitionException;
 import com.logistics.logiroute.exception.ResourceNotFoundException;
 import com.logistics.logiroute.exception.VehicleOverloadedException;
+import com.logistics.logiroute.history.PackageStatusChangedEvent;
 import com.logistics.logiroute.mapper.DeliveryRouteMapper;
 import com.logistics.logiroute.mapper.PackageMapper;
 import com.logistics.logiroute.repository.DeliveryRouteRepository;
@@ -22,7 +26,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -52,6 +58,12 @@ class DeliveryServiceTest {
     @Mock
     private DeliveryRouteMapper deliveryRouteMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SchedulingProperties schedulingProperties = new SchedulingProperties();
+
     @InjectMocks
     private DeliveryService deliveryService;
 
@@ -224,6 +236,7 @@ class DeliveryServiceTest {
                 .deliveryAddress("Address")
                 .weightKg(100.0)
                 .status(PackageStatus.LOADED)
+                .statusChangedAt(LocalDateTime.now().minusMinutes(90))
                 .deliveryDeadline(LocalDateTime.now().plusHours(1))
                 .build();
 
@@ -235,6 +248,13 @@ class DeliveryServiceTest {
 
         assertThat(pkg.getStatus()).isEqualTo(PackageStatus.DELIVERED);
         verify(packageRepository).save(pkg);
+
+        // STATUS HISTORY: the transition is published with the time spent LOADED
+        ArgumentCaptor<PackageStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(PackageStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().fromStatus()).isEqualTo(PackageStatus.LOADED);
+        assertThat(eventCaptor.getValue().toStatus()).isEqualTo(PackageStatus.DELIVERED);
+        assertThat(eventCaptor.getValue().dwellSeconds()).isBetween(5400L, 5460L);
     }
 
     @Test
@@ -320,6 +340,60 @@ class DeliveryServiceTest {
         assertThat(testVehicle.getStatus()).isEqualTo(VehicleStatus.AVAILABLE);
         assertThat(testVehicle.getCurrentLoadKg()).isEqualTo(0.0);
         verify(vehicleRepository).save(testVehicle);
+
+        // KPI ROLLUPS: completion is published with the route's load and duration
+        ArgumentCaptor<RouteCompletedEvent> eventCaptor = ArgumentCaptor.forClass(RouteCompletedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().packageCount()).isEqualTo(2);
+        assertThat(eventCaptor.getValue().loadKg()).isEqualTo(500.0);
+        assertThat(eventCaptor.getValue().toDelta().routeSeconds()).isBetween(7200L, 7260L);
+    }
+
+    @Test
+    @DisplayName("KPI ROLLUPS: Should reject completing a route twice")
+    void completeRoute_AlreadyCompleted() {
+        LocalDateTime completedAt = LocalDateTime.now().minusMinutes(5);
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .createdAt(LocalDateTime.now().minusHours(2))
+                .completedAt(completedAt)
+                .build();
+        route.addPackage(package1);
+        testVehicle.setCurrentLoadKg(300.0);
+        testVehicle.setStatus(VehicleStatus.IN_TRANSIT);
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(route));
+
+        assertThatThrownBy(() -> deliveryService.completeRoute(1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already completed");
+
+        assertThat(route.getCompletedAt()).isEqualTo(completedAt);
+        assertThat(testVehicle.getCurrentLoadKg()).isEqualTo(300.0);
+        assertThat(testVehicle.getStatus()).isEqualTo(VehicleStatus.IN_TRANSIT);
+        verifyNoInteractions(eventPublisher, vehicleRepository);
+    }
+
+    @Test
+    @DisplayName("Should complete a route without bringing an out-of-service vehicle back")
+    void completeRoute_KeepsVehicleOutOfService() {
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .createdAt(LocalDateTime.now().minusHours(2))
+                .build();
+        route.addPackage(package1);
+        testVehicle.setCurrentLoadKg(200.0);
+        testVehicle.setStatus(VehicleStatus.OUT_OF_SERVICE);
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(route));
+
+        deliveryService.completeRoute(1L);
+
+        assertThat(route.getCompletedAt()).isNotNull();
+        assertThat(testVehicle.getCurrentLoadKg()).isZero();
+        assertThat(testVehicle.getStatus()).isEqualTo(VehicleStatus.OUT_OF_SERVICE);
     }
 
     @Test
@@ -337,4 +411,217 @@ class DeliveryServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("not in CREATED status");
     }
+
+    @Test
+    @DisplayName("Should throw exception when a CREATED package is already planned on a scheduled trip")
+    void assignPackagesToVehicle_PackageOnScheduledTrip() {
+        DeliveryRoute trip = DeliveryRoute.builder().id(7L).plannedStart(LocalDateTime.now().plusHours(1)).build();
+        package1.setDeliveryRoute(trip);
+
+        List<Long> packageIds = Arrays.asList(1L);
+        List<Package> packages = Arrays.asList(package1);
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages);
+
+        assertThatThrownBy(() -> deliveryService.assignPackagesToVehicle(1L, packageIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already planned on route ID 7");
+
+        assertThat(package1.getDeliveryRoute()).isSameAs(trip);
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("DEPOT SHARDING: Should reject packages that belong to another depot")
+    void assignPackagesToVehicle_PackageFromOtherDepot() {
+        testVehicle.setDepot(Depot.builder().id(1L).code("HOU").name("Houston").build());
+        package1.setDepot(Depot.builder().id(2L).code("CHI").name("Chicago").build());
+
+        List<Long> packageIds = Arrays.asList(1L);
+        List<Package> packages = Arrays.asList(package1);
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages);
+
+        assertThatThrownBy(() -> deliveryService.assignPackagesToVehicle(1L, packageIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong to the depot");
+
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CAPACITY GUARD: Should reject packages that exceed volume even when weight fits")
+    void assignPackagesToVehicle_CapacityGuard_VolumeExceeded() {
+        testVehicle.setCapacityM3(10.0);
+        package1.setVolumeM3(6.0);
+        package2.setVolumeM3(5.0);
+
+        List<Long> packageIds = Arrays.asList(1L, 2L);
+        List<Package> packages = Arrays.asList(package1, package2);
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages);
+
+        assertThatThrownBy(() -> deliveryService.assignPackagesToVehicle(1L, packageIds))
+                .isInstanceOf(VehicleOverloadedException.class)
+                .hasMessageContaining("volume")
+                .hasMessageContaining("11.00");
+
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("INCREMENTAL ROUTING: Should insert a late package at the cheapest position of an active route")
+    void insertPackages_CheapestInsertion() {
+        testVehicle.setDepot(Depot.builder().id(1L).code("NYC").name("New York").latitude(40.70).longitude(-74.00).build());
+        package1.setDepot(testVehicle.getDepot());
+        package2.setDepot(testVehicle.getDepot());
+        package3.setDepot(testVehicle.getDepot());
+
+        package1.setLatitude(40.80);
+        package1.setLongitude(-74.00);
+        package2.setLatitude(41.00);
+        package2.setLongitude(-74.00);
+        package1.setDeliveryDeadline(LocalDateTime.now().plusHours(8));
+        package2.setDeliveryDeadline(LocalDateTime.now().plusHours(8));
+
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .dispatchedAt(LocalDateTime.now())
+                .build();
+        route.addPackage(package1);
+        route.addPackage(package2);
+        package1.setStatus(PackageStatus.LOADED);
+        package2.setStatus(PackageStatus.LOADED);
+        testVehicle.setCurrentLoadKg(500.0);
+
+        package3.setWeightKg(100.0);
+        package3.setLatitude(40.90);
+        package3.setLongitude(-74.00);
+        package3.setDeliveryDeadline(LocalDateTime.now().plusHours(8));
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(route));
+        when(packageRepository.findAllById(List.of(3L))).thenReturn(List.of(package3));
+        when(deliveryRouteMapper.toDto(any(DeliveryRoute.class))).thenReturn(new DeliveryRouteDto());
+
+        deliveryService.insertPackages(1L, List.of(3L));
+
+        assertThat(route.getPackages()).extracting(Package::getId).containsExactly(1L, 3L, 2L);
+        assertThat(route.getPackages()).extracting(Package::getStopSequence).containsExactly(0, 1, 2);
+        assertThat(package3.getStatus()).isEqualTo(PackageStatus.LOADED);
+        assertThat(testVehicle.getCurrentLoadKg()).isEqualTo(600.0);
+    }
+
+    @Test
+    @DisplayName("INCREMENTAL ROUTING: Should push out the planned end of a scheduled trip")
+    void insertPackages_ScheduledTrip_ExtendsPlannedEnd() {
+        DeliveryRoute trip = scheduledTrip(LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withNano(0));
+        package3.setDeliveryDeadline(trip.getPlannedStart().plusHours(8));
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(trip));
+        when(packageRepository.findAllById(List.of(3L))).thenReturn(List.of(package3));
+        when(deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(1L)).thenReturn(List.of(trip));
+        when(deliveryRouteMapper.toDto(any(DeliveryRoute.class))).thenReturn(new DeliveryRouteDto());
+
+        deliveryService.insertPackages(1L, List.of(3L));
+
+        assertThat(trip.getPackages()).hasSize(3);
+        assertThat(trip.getPlannedEnd())
+                .isEqualTo(trip.getPlannedStart().plusSeconds(schedulingProperties.tripDurationSeconds(3)));
+        assertThat(package3.getStatus()).isEqualTo(PackageStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("INCREMENTAL ROUTING: Should reject an insertion that runs a scheduled trip into the next one")
+    void insertPackages_ScheduledTrip_OverlapsNextTrip() {
+        DeliveryRoute trip = scheduledTrip(LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withNano(0));
+        DeliveryRoute next = DeliveryRoute.builder()
+                .id(2L)
+                .vehicle(testVehicle)
+                .plannedStart(trip.getPlannedEnd())
+                .build();
+        LocalDateTime plannedEnd = trip.getPlannedEnd();
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(trip));
+        when(packageRepository.findAllById(List.of(3L))).thenReturn(List.of(package3));
+        when(deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(1L)).thenReturn(List.of(trip, next));
+
+        assertThatThrownBy(() -> deliveryService.insertPackages(1L, List.of(3L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("after route ID 2");
+
+        assertThat(trip.getPackages()).hasSize(2);
+        assertThat(trip.getPlannedEnd()).isEqualTo(plannedEnd);
+        verify(deliveryRouteRepository, never()).save(any());
+    }
+
+    private DeliveryRoute scheduledTrip(LocalDateTime plannedStart) {
+        DeliveryRoute trip = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .plannedStart(plannedStart)
+                .plannedEnd(plannedStart.plusSeconds(schedulingProperties.tripDurationSeconds(2)))
+                .build();
+        trip.addPackage(package1);
+        trip.addPackage(package2);
+        package3.setWeightKg(100.0);
+        return trip;
+    }
+
+    @Test
+    @DisplayName("INCREMENTAL ROUTING: Should cancel a removed package and release its load")
+    void removePackage_CancelsAndReleasesLoad() {
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .dispatchedAt(LocalDateTime.now())
+                .build();
+        route.addPackage(package1);
+        route.addPackage(package2);
+        package1.setStatus(PackageStatus.LOADED);
+        package2.setStatus(PackageStatus.LOADED);
+        testVehicle.setCurrentLoadKg(500.0);
+
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(route));
+        when(deliveryRouteMapper.toDto(any(DeliveryRoute.class))).thenReturn(new DeliveryRouteDto());
+
+        deliveryService.removePackage(1L, 1L);
+
+        assertThat(route.getPackages()).containsExactly(package2);
+        assertThat(package2.getStopSequence()).isZero();
+        assertThat(package1.getStatus()).isEqualTo(PackageStatus.CANCELLED);
+        assertThat(package1.getDeliveryRoute()).isNull();
+        assertThat(testVehicle.getCurrentLoadKg()).isEqualTo(300.0);
+        verify(packageRepository).save(package1);
+    }
+
+    @Test
+    @DisplayName("LIVE ROUTES: Should take a package cancelled by status update off its route")
+    void updatePackageStatus_CancelRoutedPackage_RemovesFromRoute() {
+        DeliveryRoute route = DeliveryRoute.builder()
+                .id(1L)
+                .vehicle(testVehicle)
+                .dispatchedAt(LocalDateTime.now())
+                .build();
+        route.addPackage(package1);
+        route.addPackage(package2);
+        package1.setStatus(PackageStatus.LOADED);
+        package2.setStatus(PackageStatus.LOADED);
+        testVehicle.setCurrentLoadKg(500.0);
+
+        when(packageRepository.findById(1L)).thenReturn(Optional.of(package1));
+        when(deliveryRouteRepository.findById(1L)).thenReturn(Optional.of(route));
+
+        deliveryService.updatePackageStatus(1L, PackageStatus.CANCELLED);
+
+        assertThat(package1.getStatus()).isEqualTo(PackageStatus.CANCELLED);
+        assertThat(package1.getDeliveryRoute()).isNull();
+        assertThat(route.getPackages()).containsExactly(package2);
+        assertThat(route.getTotalWeight()).isEqualTo(300.0);
+        assertThat(package2.getStopSequence()).isZero();
+        assertThat(testVehicle.getCurrentLoadKg()).isEqualTo(300.0);
+    }
 }
@@ -0,0 +1,218 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.bulk.CsvCursorExporter;
+import com.logistics.logiroute.bulk.CsvReader;
+import com.logistics.logiroute.config.BulkProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.repository.DepotRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs imports against the test database. The writer thread commits its own
+ * transactions, so tests run outside a test transaction and clean up after
+ * themselves.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("PackageBulkService Tests")
+class PackageBulkServiceTest {
+
+    private static final String HEADER = "deliveryAddress,weightKg,volumeM3,palletSlots,hazmatClass,serviceTier,"
+            + "deliveryDeadline,latitude,longitude,depotId\n";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DepotRepository depotRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final GeocodingService geocodingService = mock(GeocodingService.class);
+    private final DispatchQueueService dispatchQueueService = mock(DispatchQueueService.class);
+    private final BulkProperties bulkProperties = new BulkProperties();
+    private PackageBulkService packageBulkService;
+    private Depot depot;
+
+    @BeforeEach
+    void setUp() {
+        bulkProperties.setBatchSize(2);
+        bulkProperties.setQueueCapacity(1);
+        packageBulkService = service(new TransactionTemplate(transactionManager));
+        depot = depotRepository.save(Depot.builder()
+                .code("IST").name("Istanbul").latitude(41.0).longitude(29.0).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        packageBulkService.shutdown();
+        packageRepository.deleteAll();
+        depotRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should import valid rows, report rejected ones and export them back unchanged")
+    void importPackages_RoundTrip() throws IOException {
+        String manifest = HEADER
+                + "\"Bağdat Cd. 5, Kadıköy\",12.5,0.4,1,FLAMMABLE_LIQUIDS,EXPRESS,2030-01-02T10:00,40.98,29.06,"
+                + depot.getId() + "\n"
+                + "Missing weight,,,,,,2030-01-02T10:00,,," + depot.getId() + "\n"
+                + "Unknown depot,3,,,,,2030-01-02T11:00,,,999999\n"
+                + "İstiklal Cd. 1,3,,,,,2030-01-02T12:00,41.03,28.98,\n"
+                + "Bad deadline,3,,,,,tomorrow,,,\n"
+                + "Moda Cd. 20,7.25,1.5,,,,2030-01-03T09:30,40.98,29.03," + depot.getId() + "\n";
+
+        ImportResultDto result = packageBulkService.importPackages(channel(manifest));
+
+        assertThat(result.getRowsRead()).isEqualTo(6);
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        assertThat(result.getRowsRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactly(
+                "line 3: weightKg: Weight is required",
+                "line 4: depotId: depot 999999 does not exist",
+                "line 6: deliveryDeadline: invalid value 'tomorrow'");
+        verify(dispatchQueueService).rebuild();
+
+        // Columns the entity writes implicitly must be filled by the JDBC insert too
+        List<Package> saved = packageRepository.findAll();
+        saved.sort(Comparator.comparing(Package::getId));
+        assertThat(saved).allSatisfy(pkg -> {
+            assertThat(pkg.getVersion()).isZero();
+            assertThat(pkg.getUpdatedAt()).isNotNull();
+            assertThat(pkg.getAddressKey()).isNotNull();
+        });
+        assertThat(saved).extracting(Package::getVolumeM3).containsExactly(0.4, null, 1.5);
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                packageBulkService.exportPackages(export);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        List<List<String>> records = readAll(export.toByteArray());
+        assertThat(records.get(0)).containsExactly("id", "deliveryAddress", "weightKg", "volumeM3", "palletSlots",
+                "hazmatClass", "status", "deliveryDeadline", "earliestDelivery", "latestDelivery", "latitude",
+                "longitude", "depotId", "deliveryRouteId", "stopSequence", "serviceTier");
+        assertThat(records.subList(1, records.size())).containsExactly(
+                List.of(saved.get(0).getId().toString(), "Bağdat Cd. 5, Kadıköy", "12.5", "0.4", "1",
+                        "FLAMMABLE_LIQUIDS", "CREATED", "2030-01-02T10:00", "", "", "40.98", "29.06",
+                        depot.getId().toString(), "", "", "EXPRESS"),
+                List.of(saved.get(1).getId().toString(), "İstiklal Cd. 1", "3.0", "", "", "", "CREATED",
+                        "2030-01-02T12:00", "", "", "41.03", "28.98", "", "", "", "STANDARD"),
+                List.of(saved.get(2).getId().toString(), "Moda Cd. 20", "7.25", "1.5", "", "", "CREATED",
+                        "2030-01-03T09:30", "", "", "40.98", "29.03", depot.getId().toString(), "", "", "STANDARD"));
+
+        // The export is itself a valid manifest
+        ImportResultDto reimport = packageBulkService.importPackages(channel(new String(export.toByteArray(),
+                StandardCharsets.UTF_8)));
+        assertThat(reimport.getRowsImported()).isEqualTo(3);
+        assertThat(reimport.getRowsRejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should surface a writer failure instead of waiting on the full queue")
+    void importPackages_WriterFails() {
+        TransactionTemplate failing = mock(TransactionTemplate.class);
+        doThrow(new IllegalStateException("disk full")).when(failing).executeWithoutResult(any());
+        PackageBulkService failingService = service(failing);
+
+        StringBuilder manifest = new StringBuilder(HEADER);
+        for (int i = 0; i < 50; i++) {
+            manifest.append("Address ").append(i).append(",1,,,,,2030-01-02T10:00,41.0,29.0,\n");
+        }
+
+        try {
+            assertThatThrownBy(() -> failingService.importPackages(channel(manifest.toString())))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("disk full");
+        } finally {
+            failingService.shutdown();
+        }
+        verifyNoInteractions(dispatchQueueService);
+        assertThat(packageRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should stop the writer and reject the upload when the input is not UTF-8")
+    void importPackages_MalformedInputCancelsWriter() {
+        byte[] head = (HEADER + "First,1,,,,,2030-01-02T10:00,41.0,29.0,\n"
+                + "Second,1,,,,,2030-01-02T10:00,41.0,29.0,\n"
+                + "Third,1,,,,,2030-01-02T10:00,41.0,29.0,\n").getBytes(StandardCharsets.UTF_8);
+        byte[] manifest = new byte[head.length + 2];
+        System.arraycopy(head, 0, manifest, 0, head.length);
+        manifest[head.length] = (byte) 0xC3;
+        manifest[head.length + 1] = '(';
+
+        assertThatThrownBy(() -> packageBulkService.importPackages(
+                Channels.newChannel(new ByteArrayInputStream(manifest))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not valid UTF-8");
+
+        verifyNoInteractions(dispatchQueueService);
+        // Only whole batches handed off before the failure can have been written
+        assertThat(packageRepository.count()).isIn(0L, 2L);
+    }
+
+    private PackageBulkService service(TransactionTemplate transactionTemplate) {
+        return new PackageBulkService(jdbcTemplate, transactionTemplate, depotRepository, validator, bulkProperties,
+                new CsvCursorExporter(jdbcTemplate, bulkProperties), geocodingService, dispatchQueueService);
+    }
+
+    private static ReadableByteChannel channel(String csv) {
+        return Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<List<String>> readAll(byte[] csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(Channels.newChannel(new ByteArrayInputStream(csv)),
+                StandardCharsets.UTF_8)) {
+            while (reader.next()) {
+                List<String> record = new ArrayList<>();
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    record.add(reader.field(i));
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,132 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.enums.HazmatClass;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.PackageDto;
+import com.logistics.logiroute.loader.BatchLoader;
+import com.logistics.logiroute.mapper.ArchiveMapper;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.ArchivedPackageRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PackageService Unit Tests")
+class PackageServiceTest {
+
+    @Mock
+    private PackageRepository packageRepository;
+
+    @Mock
+    private PackageMapper packageMapper;
+
+    @Mock
+    private DepotService depotService;
+
+    @Mock
+    private ArchivedPackageRepository archivedPackageRepository;
+
+    @Mock
+    private BatchLoader<Long, PackageDto> packageLoader;
+
+    @Mock
+    private ArchiveMapper archiveMapper;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PackageService packageService;
+    private Package pkg;
+    private PackageDto update;
+
+    @BeforeEach
+    void setUp() {
+        packageService = new PackageService(packageRepository, packageMapper, depotService,
+                archivedPackageRepository, packageLoader, archiveMapper, geocodingService, eventPublisher);
+        LocalDateTime deadline = LocalDateTime.now().plusHours(4);
+        pkg = Package.builder()
+                .id(1L)
+                .deliveryAddress("Address 1")
+                .weightKg(100.0)
+                .volumeM3(0.5)
+                .status(PackageStatus.LOADED)
+                .deliveryDeadline(deadline)
+                .build();
+        update = PackageDto.builder()
+                .deliveryAddress("Address 1, back door")
+                .weightKg(100.0)
+                .volumeM3(0.5)
+                .deliveryDeadline(deadline)
+                .build();
+        when(packageRepository.findById(1L)).thenReturn(Optional.of(pkg));
+    }
+
+    @Test
+    @DisplayName("CAPACITY GUARD: Should reject a hazmat class on a loaded package")
+    void updatePackage_LoadedHazmatChange_Rejected() {
+        update.setHazmatClass(HazmatClass.FLAMMABLE_LIQUIDS);
+
+        assertThatThrownBy(() -> packageService.updatePackage(1L, update))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no longer unassigned");
+
+        assertThat(pkg.getHazmatClass()).isNull();
+        assertThat(pkg.getDeliveryAddress()).isEqualTo("Address 1");
+        verify(packageRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CAPACITY GUARD: Should reject a new volume on a loaded package")
+    void updatePackage_LoadedVolumeChange_Rejected() {
+        update.setVolumeM3(2.0);
+
+        assertThatThrownBy(() -> packageService.updatePackage(1L, update))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(pkg.getVolumeM3()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should update a loaded package whose weight, dimensions and hazmat class stay the same")
+    void updatePackage_LoadedSameDemand_Updated() {
+        when(packageRepository.save(pkg)).thenReturn(pkg);
+
+        packageService.updatePackage(1L, update);
+
+        assertThat(pkg.getDeliveryAddress()).isEqualTo("Address 1, back door");
+    }
+
+    @Test
+    @DisplayName("Should update the dimensions of an unassigned package")
+    void updatePackage_CreatedDimensionsChange_Updated() {
+        pkg.setStatus(PackageStatus.CREATED);
+        update.setVolumeM3(2.0);
+        update.setHazmatClass(HazmatClass.FLAMMABLE_LIQUIDS);
+        when(packageRepository.save(pkg)).thenReturn(pkg);
+
+        packageService.updatePackage(1L, update);
+
+        assertThat(pkg.getVolumeM3()).isEqualTo(2.0);
+        assertThat(pkg.getHazmatClass()).isEqualTo(HazmatClass.FLAMMABLE_LIQUIDS);
+    }
+}
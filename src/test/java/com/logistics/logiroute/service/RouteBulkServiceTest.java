@@ -0,0 +1,160 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.bulk.CsvCursorExporter;
+import com.logistics.logiroute.bulk.CsvReader;
+import com.logistics.logiroute.config.AssignmentProperties;
+import com.logistics.logiroute.config.BulkProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.dto.response.ImportResultDto;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.mapper.PackageMapper;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Imports routes through the real assignment path against the test database,
+ * then reads them back through the export.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("RouteBulkService Tests")
+class RouteBulkServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private DeliveryRouteRepository deliveryRouteRepository;
+
+    private RouteBulkService routeBulkService;
+    private final List<Long> packageIds = new ArrayList<>();
+    private Vehicle van;
+    private Vehicle truck;
+
+    @BeforeEach
+    void setUp() {
+        DeliveryRouteMapper deliveryRouteMapper = mock(DeliveryRouteMapper.class);
+        DeliveryService deliveryService = new DeliveryService(vehicleRepository, packageRepository,
+                deliveryRouteRepository, mock(PackageMapper.class), deliveryRouteMapper, new SchedulingProperties(),
+                mock(ApplicationEventPublisher.class));
+        AssignmentProperties assignmentProperties = new AssignmentProperties();
+        assignmentProperties.setChunkSize(2);
+        AssignmentService assignmentService = new AssignmentService(deliveryService, vehicleRepository,
+                packageRepository, deliveryRouteRepository, deliveryRouteMapper, assignmentProperties,
+                new TransactionTemplate(transactionManager));
+        BulkProperties bulkProperties = new BulkProperties();
+        routeBulkService = new RouteBulkService(assignmentService, new CsvCursorExporter(jdbcTemplate, bulkProperties),
+                bulkProperties);
+
+        Depot depot = entityManager.persist(Depot.builder().code("IST").name("Istanbul").build());
+        van = entityManager.persist(Vehicle.builder().licensePlate("VAN-1").capacityKg(500.0).depot(depot).build());
+        truck = entityManager.persist(Vehicle.builder().licensePlate("TRK-1").capacityKg(500.0).depot(depot).build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            Package pkg = entityManager.persist(Package.builder()
+                    .deliveryAddress("Address " + i)
+                    .weightKg(50.0)
+                    .depot(depot)
+                    // Package 3 is due first, package 1 last
+                    .deliveryDeadline(now.plusHours(i == 3 ? 1 : 10 - i))
+                    .build());
+            packageIds.add(pkg.getId());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("BULK IMPORT: Should group rows by routeRef, report rejected rows and export the routes back")
+    void importRoutes_RoundTrip() throws IOException {
+        String file = "routeRef,vehicleId,packageId\n"
+                + "A," + van.getId() + "," + packageIds.get(0) + "\n"
+                + "A," + van.getId() + "," + packageIds.get(1) + "\n"
+                + "A," + van.getId() + "," + packageIds.get(2) + "\n"
+                + "B," + truck.getId() + "," + packageIds.get(3) + "\n"
+                + "B," + van.getId() + "," + packageIds.get(4) + "\n"
+                + "C,truck," + packageIds.get(4) + "\n"
+                + "D," + truck.getId() + ",999999\n";
+
+        ImportResultDto result = routeBulkService.importRoutes(
+                Channels.newChannel(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(result.getRowsRead()).isEqualTo(7);
+        assertThat(result.getRowsImported()).isEqualTo(4);
+        assertThat(result.getRowsRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactly(
+                "line 6: route B already uses vehicle " + truck.getId(),
+                "line 7: vehicleId and packageId must be numeric",
+                "line 8: route D: Some package IDs were not found");
+
+        entityManager.flush();
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        routeBulkService.exportRoutes(export);
+        List<List<String>> records = readAll(export.toByteArray());
+
+        assertThat(records.get(0)).containsExactly(RouteBulkService.EXPORT_COLUMNS);
+        // vehicleId, stopSequence, packageId, packageStatus per stop
+        assertThat(records.subList(1, records.size()))
+                .extracting(record -> List.of(record.get(1), record.get(5), record.get(6), record.get(7)))
+                .containsExactly(
+                        List.of(van.getId().toString(), "0", packageIds.get(2).toString(), "LOADED"),
+                        List.of(van.getId().toString(), "1", packageIds.get(1).toString(), "LOADED"),
+                        List.of(van.getId().toString(), "2", packageIds.get(0).toString(), "LOADED"),
+                        List.of(truck.getId().toString(), "0", packageIds.get(3).toString(), "LOADED"));
+        assertThat(records.subList(1, 4)).extracting(record -> record.get(0)).containsOnly(records.get(1).get(0));
+        assertThat(records.get(4).get(0)).isNotEqualTo(records.get(1).get(0));
+    }
+
+    private static List<List<String>> readAll(byte[] csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(Channels.newChannel(new ByteArrayInputStream(csv)),
+                StandardCharsets.UTF_8)) {
+            while (reader.next()) {
+                List<String> record = new ArrayList<>();
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    record.add(reader.field(i));
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
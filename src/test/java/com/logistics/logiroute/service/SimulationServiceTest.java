@@ -0,0 +1,70 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.ClusteringProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SimulationProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.dto.request.SimulationScenario;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SimulationService Unit Tests")
+class SimulationServiceTest {
+
+    private final DispatchSnapshotService dispatchSnapshotService = mock(DispatchSnapshotService.class);
+
+    @Test
+    @DisplayName("SIMULATION: Should reject a scenario adding more vehicles than configured")
+    void simulate_TooManyExtraVehicles() {
+        SimulationProperties simulationProperties = new SimulationProperties();
+        simulationProperties.setMaxExtraVehicles(10);
+        SimulationService simulationService = new SimulationService(dispatchSnapshotService,
+                new SchedulingProperties(), new ClusteringProperties(), simulationProperties);
+        SimulationScenario scenario = SimulationScenario.builder()
+                .name("Peak season")
+                .extraVehicles(List.of(
+                        SimulationScenario.ExtraVehicles.builder().count(6).capacityKg(500.0).build(),
+                        SimulationScenario.ExtraVehicles.builder().count(5).capacityKg(500.0).build()))
+                .build();
+
+        assertThatThrownBy(() -> simulationService.simulate(List.of(scenario)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Scenario 'Peak season' adds 11 vehicles, at most 10 are allowed");
+        verifyNoInteractions(dispatchSnapshotService);
+    }
+
+    @Test
+    @DisplayName("SIMULATION: Should report a closed or extra-vehicle depot outside the snapshot as not found")
+    void simulate_UnknownDepot() {
+        Depot depot = Depot.builder().id(1L).code("HOU").name("Houston").latitude(29.76).longitude(-95.37).build();
+        when(dispatchSnapshotService.takeSnapshot()).thenReturn(DispatchSnapshot.of(List.of(depot), List.of(),
+                List.of(), 0L));
+        SimulationService simulationService = new SimulationService(dispatchSnapshotService,
+                new SchedulingProperties(), new ClusteringProperties(), new SimulationProperties());
+        SimulationScenario closed = SimulationScenario.builder()
+                .name("Close Austin")
+                .closedDepotIds(List.of(99L))
+                .build();
+        SimulationScenario extra = SimulationScenario.builder()
+                .name("Trucks for Austin")
+                .extraVehicles(List.of(
+                        SimulationScenario.ExtraVehicles.builder().depotId(98L).count(1).capacityKg(500.0).build()))
+                .build();
+
+        assertThatThrownBy(() -> simulationService.simulate(List.of(closed)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("99");
+        assertThatThrownBy(() -> simulationService.simulate(List.of(extra)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("98");
+    }
+}
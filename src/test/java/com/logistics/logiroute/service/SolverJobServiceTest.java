@@ -0,0 +1,36 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SolverProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.dto.request.SolverJobRequest;
+import com.logistics.logiroute.exception.ResourceNotFoundException;
+import com.logistics.logiroute.simulation.DispatchSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SolverJobService Unit Tests")
+class SolverJobServiceTest {
+
+    private final DispatchSnapshotService dispatchSnapshotService = mock(DispatchSnapshotService.class);
+    private final SolverJobService solverJobService = new SolverJobService(dispatchSnapshotService,
+            new SchedulingProperties(), new SolverProperties());
+
+    @Test
+    @DisplayName("SOLVER: Should report an unknown depot as not found")
+    void start_UnknownDepot() {
+        Depot depot = Depot.builder().id(1L).code("HOU").name("Houston").latitude(29.76).longitude(-95.37).build();
+        when(dispatchSnapshotService.takeSnapshot()).thenReturn(DispatchSnapshot.of(List.of(depot), List.of(),
+                List.of(), 0L));
+
+        assertThatThrownBy(() -> solverJobService.start(SolverJobRequest.builder().depotId(99L).build()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("99");
+    }
+}
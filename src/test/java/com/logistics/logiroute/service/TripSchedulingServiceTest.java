@@ -0,0 +1,174 @@
+package com.logistics.logiroute.service;
+
+import com.logistics.logiroute.config.DispatchQueueProperties;
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.dispatch.PackageChangedEvent;
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.dto.DeliveryRouteDto;
+import com.logistics.logiroute.dto.response.TripPlanResponse;
+import com.logistics.logiroute.domain.enums.ServiceTier;
+import com.logistics.logiroute.mapper.DeliveryRouteMapper;
+import com.logistics.logiroute.repository.DeliveryRouteRepository;
+import com.logistics.logiroute.repository.PackageRepository;
+import com.logistics.logiroute.repository.QueueCandidate;
+import com.logistics.logiroute.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripSchedulingService Unit Tests")
+class TripSchedulingServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PackageRepository packageRepository;
+
+    @Mock
+    private DeliveryRouteRepository deliveryRouteRepository;
+
+    @Mock
+    private DeliveryRouteMapper deliveryRouteMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TripSchedulingService tripSchedulingService;
+
+    private Vehicle vehicle;
+    private LocalDate tomorrow;
+    private final List<Package> packages = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tripSchedulingService = new TripSchedulingService(vehicleRepository, packageRepository,
+                deliveryRouteRepository, deliveryRouteMapper, new SchedulingProperties(), eventPublisher);
+
+        vehicle = Vehicle.builder()
+                .id(1L)
+                .licensePlate("TRIP-1")
+                .capacityKg(500.0)
+                .currentLoadKg(0.0)
+                .status(VehicleStatus.AVAILABLE)
+                .shiftStart(LocalTime.of(8, 0))
+                .shiftEnd(LocalTime.of(18, 0))
+                .build();
+
+        tomorrow = LocalDate.now().plusDays(1);
+        for (long id = 1; id <= 4; id++) {
+            packages.add(Package.builder()
+                    .id(id)
+                    .deliveryAddress("Address " + id)
+                    .weightKg(200.0)
+                    .status(PackageStatus.CREATED)
+                    .deliveryDeadline(tomorrow.atTime(23, 0).minusHours(id))
+                    .build());
+        }
+
+        AtomicLong ids = new AtomicLong(100);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(deliveryRouteRepository.findByVehicleIdAndCompletedAtIsNull(1L)).thenReturn(List.of());
+        lenient().when(deliveryRouteRepository.save(any(DeliveryRoute.class))).thenAnswer(i -> {
+            DeliveryRoute route = i.getArgument(0);
+            route.setId(ids.incrementAndGet());
+            return route;
+        });
+        lenient().when(deliveryRouteMapper.toDto(any(DeliveryRoute.class))).thenReturn(new DeliveryRouteDto());
+    }
+
+    @Test
+    @DisplayName("SCHEDULING: Should split packages into sequential reload trips inside the shift")
+    void planTrips_SplitsIntoSequentialTrips() {
+        List<Long> packageIds = List.of(1L, 2L, 3L, 4L);
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages);
+
+        TripPlanResponse plan = tripSchedulingService.planTrips(1L, tomorrow, packageIds);
+
+        ArgumentCaptor<DeliveryRoute> captor = ArgumentCaptor.forClass(DeliveryRoute.class);
+        verify(deliveryRouteRepository, times(2)).save(captor.capture());
+        List<DeliveryRoute> trips = captor.getAllValues();
+
+        assertThat(plan.getTrips()).hasSize(2);
+        assertThat(plan.getUnscheduledPackageIds()).isEmpty();
+        assertThat(trips.get(0).getPlannedStart()).isEqualTo(tomorrow.atTime(8, 0));
+        assertThat(trips.get(1).getPlannedStart()).isEqualTo(trips.get(0).getPlannedEnd());
+        assertThat(trips.get(0).getPackages()).extracting(Package::getId).containsExactly(4L, 3L);
+        assertThat(trips.get(0).isScheduled()).isTrue();
+        assertThat(packages).allMatch(pkg -> pkg.getStatus() == PackageStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("SCHEDULING: Should wait for delivery windows and skip packages that cannot make their deadline")
+    void planTrips_RespectsDeliveryWindows() {
+        packages.get(0).setEarliestDelivery(tomorrow.atTime(12, 0));
+        packages.get(1).setLatestDelivery(tomorrow.atTime(7, 0));
+        List<Long> packageIds = List.of(1L, 2L);
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages.subList(0, 2));
+
+        TripPlanResponse plan = tripSchedulingService.planTrips(1L, tomorrow, packageIds);
+
+        ArgumentCaptor<DeliveryRoute> captor = ArgumentCaptor.forClass(DeliveryRoute.class);
+        verify(deliveryRouteRepository).save(captor.capture());
+        DeliveryRoute trip = captor.getValue();
+
+        assertThat(plan.getUnscheduledPackageIds()).containsExactly(2L);
+        assertThat(trip.getPackages()).extracting(Package::getId).containsExactly(1L);
+        assertThat(trip.getPlannedStart()).isEqualTo(LocalDateTime.of(tomorrow, LocalTime.of(11, 25)));
+    }
+
+    @Test
+    @DisplayName("SCHEDULING: Should take planned packages off the dispatch queue so dispatch-next skips them")
+    void planTrips_RemovesPackagesFromDispatchQueue() {
+        AssignmentService assignmentService = mock(AssignmentService.class);
+        DispatchQueueService dispatchQueueService = new DispatchQueueService(packageRepository, vehicleRepository,
+                assignmentService, new DispatchQueueProperties());
+        when(packageRepository.findQueueCandidates()).thenReturn(packages.subList(0, 2).stream()
+                .map(pkg -> new QueueCandidate(pkg.getId(), null, ServiceTier.STANDARD, pkg.getDeliveryDeadline(),
+                        pkg.getStatusChangedAt(), pkg.getWeightKg(), null, null, null))
+                .toList());
+        dispatchQueueService.rebuild();
+        assertThat(dispatchQueueService.getQueuedCount()).isEqualTo(2);
+
+        List<Long> packageIds = List.of(1L, 2L);
+        when(packageRepository.findAllById(packageIds)).thenReturn(packages.subList(0, 2));
+        tripSchedulingService.planTrips(1L, tomorrow, packageIds);
+
+        // Re-reads find the packages on their trip and no longer queued
+        ArgumentCaptor<PackageChangedEvent> events = ArgumentCaptor.forClass(PackageChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        when(packageRepository.findQueueCandidates(anyList())).thenReturn(List.of());
+        events.getAllValues().forEach(dispatchQueueService::onPackageChanged);
+
+        assertThat(events.getAllValues()).extracting(PackageChangedEvent::packageId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(dispatchQueueService.getQueuedCount()).isZero();
+        assertThatThrownBy(() -> dispatchQueueService.dispatchNext(1L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No queued package fits");
+        verifyNoInteractions(assignmentService);
+    }
+}
@@ -0,0 +1,99 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.request.SimulationScenario;
+import com.logistics.logiroute.dto.response.SimulationResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ScenarioRunner Unit Tests")
+class ScenarioRunnerTest {
+
+    private final SchedulingProperties properties = new SchedulingProperties();
+
+    private DispatchSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Depot houston = Depot.builder().id(1L).code("HOU").name("Houston").latitude(29.76).longitude(-95.37).build();
+        Depot dallas = Depot.builder().id(2L).code("DAL").name("Dallas").latitude(32.78).longitude(-96.80).build();
+
+        List<Vehicle> vehicles = List.of(
+                Vehicle.builder().id(1L).licensePlate("HOU-1").capacityKg(1000.0).depot(houston).build(),
+                Vehicle.builder().id(2L).licensePlate("DAL-1").capacityKg(1000.0).depot(dallas).build()
+        );
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Package> packages = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            Depot depot = id <= 3 ? houston : dallas;
+            packages.add(Package.builder()
+                    .id(id)
+                    .deliveryAddress("Address " + id)
+                    .weightKg(400.0)
+                    .status(PackageStatus.CREATED)
+                    .deliveryDeadline(now.plusHours(8))
+                    .depot(depot)
+                    .latitude(depot.getLatitude() + id * 0.01)
+                    .longitude(depot.getLongitude())
+                    .build());
+        }
+
+        snapshot = DispatchSnapshot.of(List.of(houston, dallas), vehicles, packages,
+                now.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("SIMULATION: Baseline leaves packages that exceed depot capacity unassigned")
+    void run_Baseline() {
+        SimulationResultDto result = ScenarioRunner.run(snapshot, SimulationScenario.builder().name("baseline").build(), properties);
+
+        assertThat(result.getVehiclesUsed()).isEqualTo(2);
+        assertThat(result.getUnassignedPackages()).isEqualTo(2);
+        assertThat(result.getUtilization()).isEqualTo(0.8);
+        assertThat(result.getTotalKm()).isPositive();
+    }
+
+    @Test
+    @DisplayName("SIMULATION: Extra trucks absorb the overflow of their depot")
+    void run_ExtraVehicles() {
+        SimulationScenario scenario = SimulationScenario.builder()
+                .name("add trucks")
+                .extraVehicles(List.of(SimulationScenario.ExtraVehicles.builder()
+                        .depotId(1L).count(1).capacityKg(1000.0).build()))
+                .build();
+
+        SimulationResultDto result = ScenarioRunner.run(snapshot, scenario, properties);
+
+        assertThat(result.getVehiclesAvailable()).isEqualTo(3);
+        assertThat(result.getVehiclesUsed()).isEqualTo(3);
+        assertThat(result.getUnassignedPackages()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SIMULATION: Closing a depot moves its packages to the nearest open depot")
+    void run_ClosedDepot() {
+        SimulationScenario scenario = SimulationScenario.builder()
+                .name("close Houston")
+                .closedDepotIds(List.of(1L))
+                .build();
+
+        SimulationResultDto result = ScenarioRunner.run(snapshot, scenario, properties);
+
+        assertThat(result.getVehiclesAvailable()).isEqualTo(1);
+        assertThat(result.getVehiclesUsed()).isEqualTo(1);
+        assertThat(result.getUnassignedPackages()).isEqualTo(4);
+    }
+}
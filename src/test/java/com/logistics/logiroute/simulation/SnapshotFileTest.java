@@ -0,0 +1,113 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.domain.entity.DeliveryRoute;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.domain.enums.VehicleStatus;
+import com.logistics.logiroute.optimization.CapacityGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    private Depot houston;
+    private Depot dallas;
+    private DispatchSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        houston = Depot.builder().id(1L).code("HOU").name("Houston").latitude(29.76).longitude(-95.37).build();
+        dallas = Depot.builder().id(2L).code("DAL").name("Dallas").latitude(32.78).longitude(-96.80).build();
+
+        List<Vehicle> vehicles = List.of(
+                Vehicle.builder().id(1L).licensePlate("HOU-1").capacityKg(1000.0).currentLoadKg(250.0)
+                        .depot(houston).build(),
+                Vehicle.builder().id(2L).licensePlate("DAL-1").capacityKg(800.0).depot(dallas).build());
+
+        List<Package> packages = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            packages.add(pkg(id, id % 2 == 0 ? dallas : houston));
+        }
+        snapshot = DispatchSnapshot.of(List.of(houston, dallas), vehicles, packages, 1_700_000_000L);
+    }
+
+    @Test
+    @DisplayName("WARM START: Should read back exactly what was written")
+    void write_RoundTrips() throws IOException {
+        Path file = dir.resolve("dispatch.snapshot");
+
+        SnapshotFile.write(snapshot, file);
+        DispatchSnapshot read = SnapshotFile.read(file);
+
+        assertThat(read).usingRecursiveComparison().isEqualTo(snapshot);
+    }
+
+    @Test
+    @DisplayName("WARM START: Should reject a snapshot whose bytes changed")
+    void read_RejectsCorruption() throws IOException {
+        Path file = dir.resolve("dispatch.snapshot");
+        SnapshotFile.write(snapshot, file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(40);
+            raf.write(0x7f);
+        }
+
+        assertThatThrownBy(() -> SnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    @DisplayName("WARM START: Should replace changed rows and drop rows that left dispatch")
+    void merge_AppliesDelta() {
+        Vehicle dispatched = Vehicle.builder().id(2L).licensePlate("DAL-1").capacityKg(800.0)
+                .status(VehicleStatus.IN_TRANSIT).depot(dallas).build();
+        Package assigned = pkg(1L, houston);
+        assigned.setDeliveryRoute(new DeliveryRoute());
+        Package heavier = pkg(2L, dallas);
+        heavier.setWeightKg(90.0);
+        Package created = pkg(5L, null);
+
+        // Houston is gone, so its remaining references fall back to the shared pool
+        DispatchSnapshot merged = snapshot.merge(List.of(dallas), List.of(dispatched),
+                List.of(assigned, heavier, created), 1_700_000_100L);
+
+        assertThat(merged.getVehicleIds()).containsExactly(1L);
+        assertThat(merged.getVehicleDepots()).containsExactly(DispatchSnapshot.NO_DEPOT);
+        assertThat(merged.getPackageIds()).containsExactly(3L, 4L, 2L, 5L);
+        assertThat(merged.getPackageDepots()).containsExactly(DispatchSnapshot.NO_DEPOT, 0, 0,
+                DispatchSnapshot.NO_DEPOT);
+        assertThat(merged.getPackageDemand()[2 * CapacityGuard.DIMENSIONS + CapacityGuard.WEIGHT]).isEqualTo(90.0);
+        assertThat(merged.getTakenAtEpochSeconds()).isEqualTo(1_700_000_100L);
+    }
+
+    private static Package pkg(long id, Depot depot) {
+        return Package.builder()
+                .id(id)
+                .deliveryAddress("Address " + id)
+                .weightKg(10.0 * id)
+                .status(PackageStatus.CREATED)
+                .deliveryDeadline(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .depot(depot)
+                .latitude(30.0 + id)
+                .longitude(-95.0)
+                .build();
+    }
+}
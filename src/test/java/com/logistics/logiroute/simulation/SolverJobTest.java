@@ -0,0 +1,103 @@
+package com.logistics.logiroute.simulation;
+
+import com.logistics.logiroute.config.SchedulingProperties;
+import com.logistics.logiroute.config.SolverProperties;
+import com.logistics.logiroute.domain.entity.Depot;
+import com.logistics.logiroute.domain.entity.Package;
+import com.logistics.logiroute.domain.entity.Vehicle;
+import com.logistics.logiroute.domain.enums.PackageStatus;
+import com.logistics.logiroute.dto.request.SolverJobRequest;
+import com.logistics.logiroute.dto.response.PlannedRouteDto;
+import com.logistics.logiroute.dto.response.SolverJobDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SolverJob Unit Tests")
+class SolverJobTest {
+
+    private final SchedulingProperties scheduling = new SchedulingProperties();
+    private final SolverProperties properties = new SolverProperties();
+
+    private DispatchSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        properties.setThreads(1);
+        properties.setRestarts(2);
+        properties.setStallIterations(500);
+
+        Depot houston = Depot.builder().id(1L).code("HOU").name("Houston").latitude(29.76).longitude(-95.37).build();
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            vehicles.add(Vehicle.builder().id(id).licensePlate("HOU-" + id).capacityKg(500.0).depot(houston).build());
+        }
+
+        // Packages ordered by deadline alternate between the two ends of town
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(5);
+        List<Package> packages = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            double side = id % 2 == 0 ? 0.3 : -0.3;
+            packages.add(Package.builder()
+                    .id(id)
+                    .deliveryAddress("Address " + id)
+                    .weightKg(40.0)
+                    .status(PackageStatus.CREATED)
+                    .deliveryDeadline(now.plusHours(12).plusMinutes(id))
+                    .depot(houston)
+                    .latitude(houston.getLatitude() + random.nextDouble() * 0.05)
+                    .longitude(houston.getLongitude() + side + random.nextDouble() * 0.05)
+                    .build());
+        }
+
+        snapshot = DispatchSnapshot.of(List.of(houston), vehicles, packages, now.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("SOLVER: Should complete with a plan shorter than the greedy one that covers every package")
+    void run_ImprovesOnGreedy() {
+        SolverJob job = SolverJob.create(1L, snapshot, SolverJobRequest.builder().timeLimitSeconds(10).seed(3L).build(),
+                scheduling, properties);
+        assertThat(job.getStatus()).isEqualTo(SolverJob.Status.RUNNING);
+        assertThat(job.getSearches()).hasSize(2);
+
+        job.getSearches().forEach(Runnable::run);
+
+        SolverJobDto result = job.toDto();
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getSearchesFinished()).isEqualTo(2);
+        assertThat(result.getIterations()).isPositive();
+        assertThat(result.getBestKm()).isLessThan(result.getGreedyKm());
+        assertThat(result.getKmSavedPercent()).isPositive();
+        assertThat(result.getLatePackages()).isLessThanOrEqualTo(result.getGreedyLatePackages());
+        assertThat(result.getUnassignedPackages()).isZero();
+        assertThat(result.getRoutes())
+                .flatMap(PlannedRouteDto::getPackageIds)
+                .hasSize(40)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("SOLVER: Should keep the greedy plan when cancelled before any search runs")
+    void cancel_KeepsBestSoFar() {
+        SolverJob job = SolverJob.create(2L, snapshot, SolverJobRequest.builder().build(), scheduling, properties);
+
+        job.cancel();
+        job.getSearches().forEach(Runnable::run);
+
+        SolverJobDto result = job.toDto();
+        assertThat(result.getStatus()).isEqualTo("CANCELLED");
+        assertThat(result.getIterations()).isZero();
+        assertThat(result.getBestKm()).isEqualTo(result.getGreedyKm());
+        assertThat(result.getRoutes()).flatMap(PlannedRouteDto::getPackageIds).hasSize(40);
+    }
+}
@@ -0,0 +1,123 @@
+package com.logistics.logiroute.telemetry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionRingTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Test
+    @DisplayName("POSITION RING: Should keep only the newest positions once it wraps around")
+    void add_WrapsAround() {
+        PositionRing ring = new PositionRing(5);
+        for (int i = 0; i < 20; i++) {
+            ring.add(at(i));
+        }
+
+        assertThat(ring.capacity()).isEqualTo(8);
+        assertThat(seconds(ring.recent(100))).containsExactly(12, 13, 14, 15, 16, 17, 18, 19);
+        assertThat(seconds(ring.recent(3))).containsExactly(17, 18, 19);
+        assertThat(ring.latest().recordedAt()).isEqualTo(T0.plusSeconds(19));
+    }
+
+    @Test
+    @DisplayName("POSITION RING: Should order the track by fix time and keep the newest fix as latest")
+    void add_OutOfOrderFixes() {
+        PositionRing ring = new PositionRing(8);
+        ring.add(at(5));
+        ring.add(at(9));
+        ring.add(at(7));
+
+        assertThat(seconds(ring.recent(10))).containsExactly(5, 7, 9);
+        assertThat(ring.latest().recordedAt()).isEqualTo(T0.plusSeconds(9));
+    }
+
+    @Test
+    @DisplayName("POSITION RING: Should hand out only new positions after a cursor and skip overwritten ones")
+    void since_ReadsFromCursor() {
+        PositionRing ring = new PositionRing(4);
+        ring.add(at(0));
+        ring.add(at(1));
+        PositionRing.Batch first = ring.since(0);
+        for (int i = 2; i < 8; i++) {
+            ring.add(at(i));
+        }
+
+        PositionRing.Batch second = ring.since(first.sequence());
+
+        assertThat(seconds(first.positions())).containsExactly(0, 1);
+        assertThat(seconds(second.positions())).containsExactly(4, 5, 6, 7);
+        assertThat(second.sequence()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("POSITION RING: Should stop at a claimed but unpublished slot and resume there")
+    void since_StopsAtUnpublishedSlot() {
+        PositionRing ring = new PositionRing(8);
+        ring.add(at(0));
+        long claimed = ring.claim();
+        ring.add(at(2));
+
+        PositionRing.Batch first = ring.since(0);
+        ring.publish(claimed, at(1));
+        PositionRing.Batch second = ring.since(first.sequence());
+
+        assertThat(seconds(first.positions())).containsExactly(0);
+        assertThat(first.sequence()).isEqualTo(claimed);
+        assertThat(seconds(second.positions())).containsExactly(1, 2);
+        assertThat(second.sequence()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POSITION RING: Should lose no position to concurrent writers")
+    void add_ConcurrentWriters() throws Exception {
+        PositionRing ring = new PositionRing(1 << 16);
+        int writers = 8;
+        int perWriter = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int offset = w * perWriter;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    ring.add(at(offset + i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<Position> all = ring.since(0).positions();
+        assertThat(all).hasSize(writers * perWriter);
+        assertThat(all.stream().map(Position::recordedAt).distinct()).hasSize(writers * perWriter);
+        assertThat(ring.latest().recordedAt()).isEqualTo(T0.plusSeconds(writers * perWriter - 1));
+    }
+
+    private static Position at(int second) {
+        return new Position(T0.plusSeconds(second), 41.0, 29.0, null, null);
+    }
+
+    private static List<Integer> seconds(List<Position> positions) {
+        return positions.stream()
+                .map(position -> (int) Duration.between(T0, position.recordedAt()).getSeconds())
+                .toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.logistics.logiroute.telemetry;
+
+import com.logistics.logiroute.config.TelemetryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PositionWriter Unit Tests")
+class PositionWriterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TelemetryProperties properties;
+    private PositionStore positionStore;
+    private PositionWriter positionWriter;
+    private final List<Object> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new TelemetryProperties();
+        properties.setSampleIntervalMs(30_000);
+        properties.setBufferSize(64);
+        positionStore = new PositionStore(properties);
+        positionWriter = new PositionWriter(jdbcTemplate, positionStore, properties);
+    }
+
+    @Test
+    @DisplayName("TELEMETRY: Should write at most one position per vehicle and sample interval")
+    void flush_Downsamples() {
+        recordBatches();
+        PositionRing ring = positionStore.register(1L);
+        for (int second = 0; second < 100; second += 5) {
+            ring.add(at(second));
+        }
+
+        assertThat(positionWriter.flush()).isEqualTo(4);
+        assertThat(written).extracting("position.recordedAt")
+                .containsExactly(T0, T0.plusSeconds(30), T0.plusSeconds(60), T0.plusSeconds(90));
+
+        // Continues from the last kept position, not from the start of the flush
+        ring.add(at(110));
+        ring.add(at(125));
+        assertThat(positionWriter.flush()).isEqualTo(1);
+        assertThat(written).last().extracting("position.recordedAt").isEqualTo(T0.plusSeconds(125));
+    }
+
+    @Test
+    @DisplayName("TELEMETRY: Should keep positions of a failed batch for the next flush")
+    void flush_RetriesFailedBatch() {
+        positionStore.register(1L).add(at(0));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThat(positionWriter.flush()).isZero();
+
+        reset(jdbcTemplate);
+        recordBatches();
+        assertThat(positionWriter.flush()).isEqualTo(1);
+        assertThat(positionWriter.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("TELEMETRY: Should drop and count sampled positions beyond the queue capacity during an outage")
+    void flush_BoundsPendingDuringOutage() {
+        properties.setQueueCapacity(2);
+        PositionRing ring = positionStore.register(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        ring.add(at(0));
+        ring.add(at(30));
+        assertThat(positionWriter.flush()).isZero();
+        ring.add(at(60));
+        ring.add(at(90));
+        assertThat(positionWriter.flush()).isZero();
+        assertThat(positionWriter.getDroppedCount()).isEqualTo(2);
+
+        reset(jdbcTemplate);
+        recordBatches();
+        assertThat(positionWriter.flush()).isEqualTo(2);
+        assertThat(written).extracting("position.recordedAt").containsExactly(T0, T0.plusSeconds(30));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    written.addAll((Collection<Object>) invocation.getArgument(1));
+                    return new int[0][];
+                });
+    }
+
+    private static Position at(int second) {
+        return new Position(T0.plusSeconds(second), 41.0, 29.0, 50.0, 90.0);
+    }
+}